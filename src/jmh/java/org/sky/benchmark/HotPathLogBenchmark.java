@@ -0,0 +1,50 @@
+package org.sky.benchmark;
+
+import org.jboss.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sky.util.HotPathLog;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por llamada de un log de depuración en el hot path con el nivel de producción (INFO): el log eager
+ * concatena el mensaje aunque se descarte, HotPathLog.debug no lo construye.
+ * ./gradlew jmh -PjmhInclude=HotPathLog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotPathLogBenchmark {
+
+    private static final Logger log = Logger.getLogger(HotPathLogBenchmark.class);
+    private static final HotPathLog hotLog = HotPathLog.get(HotPathLogBenchmark.class);
+
+    private long sellerId;
+    private int attempt;
+
+    @Setup
+    public void setUp() {
+        if (hotLog.isDebugEnabled()) {
+            throw new IllegalStateException("DEBUG habilitado para " + HotPathLogBenchmark.class.getName()
+                + ": el benchmark mide el nivel de producción");
+        }
+        sellerId = 42;
+    }
+
+    @Benchmark
+    public void eagerDebug() {
+        log.debug("🔍 Attempting to send notification to seller " + sellerId + " #" + attempt++);
+    }
+
+    @Benchmark
+    public void lazyDebug() {
+        int current = attempt++;
+        hotLog.debug(() -> "🔍 Attempting to send notification to seller " + sellerId + " #" + current);
+    }
+}
@@ -0,0 +1,81 @@
+package org.sky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sky.dto.response.payment.PaymentNotificationResponse;
+import org.sky.service.YapeDecryptionService;
+import org.sky.service.hubnotifications.PaymentNotificationMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot path de una notificación: parseo de la notificación Yape y codificación del frame JSON para el vendedor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotificationCodecBenchmark {
+
+    private static final String DEVICE_FINGERPRINT = "a1b2c3d4e5f6-android-14-pixel7";
+    private static final String NOTIFICATION_JSON =
+        "{\"packageName\":\"com.bcp.innovacxion.yapeapp\",\"title\":\"Confirmación de Pago\","
+            + "\"text\":\"Yape! Carlos Orbegoso Lopez te envió un pago por S/ 25.5. El cód. de seguridad es: 148\","
+            + "\"postTime\":1719763200000}";
+
+    private YapeDecryptionService decryptionService;
+    private String encryptedNotification;
+    private PaymentNotificationResponse notification;
+    private List<PaymentNotificationResponse> groupedNotifications;
+
+    @Setup
+    public void setUp() {
+        decryptionService = new YapeDecryptionService();
+        encryptedNotification = encrypt(NOTIFICATION_JSON, DEVICE_FINGERPRINT);
+
+        LocalDateTime now = LocalDateTime.of(2025, 6, 30, 13, 5);
+        notification = new PaymentNotificationResponse(123_456L, 25.5, "Carlos Orbegoso Lopez", "148",
+            "PENDING", now, "Pending payment confirmation");
+        groupedNotifications = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            groupedNotifications.add(new PaymentNotificationResponse(123_456L + i, 10.0 + i, "Cliente " + i,
+                String.valueOf(100 + i), "PENDING", now.plusSeconds(i), "Pending payment confirmation"));
+        }
+    }
+
+    @Benchmark
+    public Object decryptNotification() {
+        return decryptionService.decryptYapeNotification(encryptedNotification, DEVICE_FINGERPRINT);
+    }
+
+    @Benchmark
+    public String encodeIndividualFrame() {
+        return PaymentNotificationMapper.TO_INDIVIDUAL_JSON.apply(notification);
+    }
+
+    @Benchmark
+    public String encodeGroupedFrame() {
+        return PaymentNotificationMapper.TO_GROUPED_JSON.apply(groupedNotifications);
+    }
+
+    /**
+     * Inverso de YapeDecryptionService: XOR con el fingerprint y Base64, como lo envía la app
+     */
+    private static String encrypt(String plain, String fingerprint) {
+        byte[] key = fingerprint.getBytes(StandardCharsets.UTF_8);
+        StringBuilder xored = new StringBuilder(plain.length());
+        for (int i = 0; i < plain.length(); i++) {
+            xored.append((char) (plain.charAt(i) ^ key[i % key.length]));
+        }
+        return Base64.getEncoder().encodeToString(xored.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
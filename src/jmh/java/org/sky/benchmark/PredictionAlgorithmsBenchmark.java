@@ -0,0 +1,78 @@
+package org.sky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sky.service.stats.algorithms.OptimizedPredictionAlgorithms;
+import org.sky.service.stats.algorithms.OptimizedPredictionAlgorithms.AdvancedStatistics;
+import org.sky.service.stats.algorithms.OptimizedPredictionAlgorithms.AnomalyDetection;
+import org.sky.service.stats.algorithms.OptimizedPredictionAlgorithms.TimeSeriesPrediction;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Rutinas de OptimizedPredictionAlgorithms sobre series diarias de ventas.
+ * La caché interna se vacía antes de cada invocación para medir el cálculo y no el hit de caché.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PredictionAlgorithmsBenchmark {
+
+    private static final int PERIODS = 30;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rows;
+
+    private List<Double> series;
+    private List<Double> index;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticPayments.dailySeries(rows);
+        index = IntStream.range(0, rows).mapToObj(i -> (double) i).toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        OptimizedPredictionAlgorithms.CacheManager.clearAllCache();
+    }
+
+    @Benchmark
+    public Object linearRegression() {
+        return new OptimizedPredictionAlgorithms.OptimizedLinearRegression(index, series).predict(rows + PERIODS);
+    }
+
+    @Benchmark
+    public Object comprehensiveStats() {
+        return AdvancedStatistics.calculateComprehensiveStats(series);
+    }
+
+    @Benchmark
+    public Object outliers() {
+        return AdvancedStatistics.detectOutliers(series);
+    }
+
+    @Benchmark
+    public Object arima() {
+        return TimeSeriesPrediction.predictWithARIMA(series, PERIODS);
+    }
+
+    @Benchmark
+    public Object exponentialSmoothing() {
+        return TimeSeriesPrediction.predictWithExponentialSmoothing(series, PERIODS);
+    }
+
+    @Benchmark
+    public Object zScoreAnomalies() {
+        return AnomalyDetection.detectAnomaliesWithZScore(series, 3.0);
+    }
+}
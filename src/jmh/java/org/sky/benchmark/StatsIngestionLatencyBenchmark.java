@@ -0,0 +1,123 @@
+package org.sky.benchmark;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.jboss.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sky.model.PaymentNotificationEntity;
+import org.sky.service.stats.StatsComputeExecutor;
+import org.sky.service.stats.calculators.template.StatsCalculationTemplate;
+import org.sky.service.stats.calculators.template.StatsTemplateFixture;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencia de la ingesta de un pago en un event loop real de Vert.x mientras analytics grandes se disparan desde
+ * ese mismo event loop, como desde el endpoint de analytics. Con los cálculos en StatsComputeExecutor el p99 con
+ * analytics=3 debe quedar cerca del de analytics=0; SampleTime reporta p50/p99/p99.9 de cada configuración.
+ * ./gradlew jmh -PjmhInclude=StatsIngestionLatency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsIngestionLatencyBenchmark {
+
+    private static final Logger log = Logger.getLogger(StatsIngestionLatencyBenchmark.class);
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"0", "3"})
+    int analytics;
+
+    private Vertx vertx;
+    private Context eventLoop;
+    private StatsComputeExecutor computeExecutor;
+    private StatsCalculationTemplate template;
+    private List<PaymentNotificationEntity> payments;
+    private volatile boolean running;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong completedAnalytics = new AtomicLong();
+    private final AtomicLong failedAnalytics = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        eventLoop = vertx.getOrCreateContext();
+        computeExecutor = new StatsComputeExecutor(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 64, 60_000);
+        template = StatsTemplateFixture.create(computeExecutor);
+        payments = SyntheticPayments.generate(rows);
+        running = true;
+        for (int i = 0; i < analytics; i++) {
+            launchAnalytics();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        running = false;
+        log.infof("📊 Con %d analytics concurrentes: %d cálculos completos, %d fallidos",
+            analytics, completedAnalytics.get(), failedAnalytics.get());
+        computeExecutor.shutdown();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    /**
+     * Desde que la tarea se encola en el event loop hasta que termina
+     */
+    @Benchmark
+    public byte[] ingest() throws ExecutionException, InterruptedException {
+        int index = sequence.incrementAndGet();
+        CompletableFuture<byte[]> done = new CompletableFuture<>();
+        eventLoop.runOnContext(v -> done.complete(simulateIngestion(index)));
+        return done.get();
+    }
+
+    /**
+     * Mantiene un cálculo en curso por slot mientras dure la medición: al terminar uno se lanza el siguiente
+     */
+    private void launchAnalytics() {
+        eventLoop.runOnContext(v -> template.calculateAllStats(payments, SyntheticPayments.startDate(),
+                SyntheticPayments.endDate(), SyntheticPayments.ADMIN_ID)
+            .subscribe().with(
+                result -> {
+                    completedAnalytics.incrementAndGet();
+                    relaunch();
+                },
+                failure -> {
+                    failedAnalytics.incrementAndGet();
+                    relaunch();
+                }));
+    }
+
+    private void relaunch() {
+        if (running) {
+            launchAnalytics();
+        }
+    }
+
+    private static byte[] simulateIngestion(int index) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(("yape-notification-" + index).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
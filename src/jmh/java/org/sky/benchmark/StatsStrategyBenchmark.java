@@ -0,0 +1,80 @@
+package org.sky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sky.model.PaymentNotificationEntity;
+import org.sky.service.stats.calculators.strategy.BasicStatsStrategy;
+import org.sky.service.stats.calculators.strategy.CalculationStrategy;
+import org.sky.service.stats.calculators.strategy.ComplianceSecurityStrategy;
+import org.sky.service.stats.calculators.strategy.DailySalesStrategy;
+import org.sky.service.stats.calculators.strategy.FinancialOverviewStrategy;
+import org.sky.service.stats.calculators.strategy.HourlySalesStrategy;
+import org.sky.service.stats.calculators.strategy.MonthlySalesStrategy;
+import org.sky.service.stats.calculators.strategy.PerformanceMetricsStrategy;
+import org.sky.service.stats.calculators.strategy.SellerGoalsStrategy;
+import org.sky.service.stats.calculators.strategy.SellerPerformanceStrategy;
+import org.sky.service.stats.calculators.strategy.SystemMetricsStrategy;
+import org.sky.service.stats.calculators.strategy.TopSellersStrategy;
+import org.sky.service.stats.calculators.strategy.WeeklySalesStrategy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Costo de cada CalculationStrategy sobre el mismo set de pagos, tal como las ejecuta StatsCalculationTemplate
+ * (síncronas, una por hilo del pool de cálculo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatsStrategyBenchmark {
+
+    private static final Map<String, Supplier<CalculationStrategy<?>>> STRATEGIES = Map.ofEntries(
+        Map.entry("BasicStats", BasicStatsStrategy::new),
+        Map.entry("PerformanceMetrics", PerformanceMetricsStrategy::new),
+        Map.entry("DailySales", DailySalesStrategy::new),
+        Map.entry("HourlySales", HourlySalesStrategy::new),
+        Map.entry("WeeklySales", WeeklySalesStrategy::new),
+        Map.entry("MonthlySales", MonthlySalesStrategy::new),
+        Map.entry("TopSellers", TopSellersStrategy::new),
+        Map.entry("SellerGoals", SellerGoalsStrategy::new),
+        Map.entry("SellerPerformance", SellerPerformanceStrategy::new),
+        Map.entry("SystemMetrics", SystemMetricsStrategy::new),
+        Map.entry("FinancialOverview", FinancialOverviewStrategy::new),
+        Map.entry("ComplianceSecurity", ComplianceSecurityStrategy::new)
+    );
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rows;
+
+    @Param({"BasicStats", "PerformanceMetrics", "DailySales", "HourlySales", "WeeklySales", "MonthlySales",
+        "TopSellers", "SellerGoals", "SellerPerformance", "SystemMetrics", "FinancialOverview", "ComplianceSecurity"})
+    String strategy;
+
+    private CalculationStrategy<?> calculation;
+    private List<PaymentNotificationEntity> payments;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        calculation = STRATEGIES.get(strategy).get();
+        payments = SyntheticPayments.generate(rows);
+        startDate = SyntheticPayments.startDate();
+        endDate = SyntheticPayments.endDate();
+    }
+
+    @Benchmark
+    public Object calculate() {
+        return calculation.calculate(payments, startDate, endDate, SyntheticPayments.ADMIN_ID).await().indefinitely();
+    }
+}
@@ -0,0 +1,44 @@
+package org.sky.service.stats.calculators.template;
+
+import org.sky.service.stats.StatsComputeExecutor;
+import org.sky.service.stats.StatsStrategyMetrics;
+import org.sky.service.stats.calculators.strategy.BasicStatsStrategy;
+import org.sky.service.stats.calculators.strategy.ComplianceSecurityStrategy;
+import org.sky.service.stats.calculators.strategy.DailySalesStrategy;
+import org.sky.service.stats.calculators.strategy.FinancialOverviewStrategy;
+import org.sky.service.stats.calculators.strategy.HourlySalesStrategy;
+import org.sky.service.stats.calculators.strategy.MonthlySalesStrategy;
+import org.sky.service.stats.calculators.strategy.PerformanceMetricsStrategy;
+import org.sky.service.stats.calculators.strategy.SellerGoalsStrategy;
+import org.sky.service.stats.calculators.strategy.SellerPerformanceStrategy;
+import org.sky.service.stats.calculators.strategy.SystemMetricsStrategy;
+import org.sky.service.stats.calculators.strategy.TopSellersStrategy;
+import org.sky.service.stats.calculators.strategy.WeeklySalesStrategy;
+
+/**
+ * StatsCalculationTemplate armado sin CDI para los benchmarks (sus dependencias son package-private)
+ */
+public final class StatsTemplateFixture {
+
+    private StatsTemplateFixture() {
+    }
+
+    public static StatsCalculationTemplate create(StatsComputeExecutor computeExecutor) {
+        StatsCalculationTemplate template = new StatsCalculationTemplate();
+        template.computeExecutor = computeExecutor;
+        template.strategyMetrics = new StatsStrategyMetrics();
+        template.basicStatsStrategy = new BasicStatsStrategy();
+        template.performanceMetricsStrategy = new PerformanceMetricsStrategy();
+        template.dailySalesStrategy = new DailySalesStrategy();
+        template.hourlySalesStrategy = new HourlySalesStrategy();
+        template.weeklySalesStrategy = new WeeklySalesStrategy();
+        template.monthlySalesStrategy = new MonthlySalesStrategy();
+        template.topSellersStrategy = new TopSellersStrategy();
+        template.sellerGoalsStrategy = new SellerGoalsStrategy();
+        template.sellerPerformanceStrategy = new SellerPerformanceStrategy();
+        template.systemMetricsStrategy = new SystemMetricsStrategy();
+        template.financialOverviewStrategy = new FinancialOverviewStrategy();
+        template.complianceSecurityStrategy = new ComplianceSecurityStrategy();
+        return template;
+    }
+}
@@ -0,0 +1,123 @@
+package org.sky.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cliente HTTP de caja negra contra la API pública. Cada llamada queda registrada en EndpointStats
+ * bajo el nombre lógico del endpoint; el semáforo acota las peticiones en vuelo para que la carga
+ * la fije el rate configurado y no la cola del cliente.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final EndpointStats stats;
+    private final Semaphore inFlight;
+
+    ApiClient(String baseUrl, EndpointStats stats, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.inFlight = new Semaphore(concurrency);
+        this.http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    HttpClient http() {
+        return http;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Respuesta ya parseada; status y body quedan disponibles para el llamador
+     */
+    record ApiResult(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300 && body.path("success").asBoolean(true);
+        }
+
+        JsonNode data() {
+            return body.path("data");
+        }
+    }
+
+    CompletableFuture<ApiResult> post(String endpoint, String path, Object payload, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(payload == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(write(payload)));
+        return send(endpoint, request, token);
+    }
+
+    CompletableFuture<ApiResult> get(String endpoint, String path, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET(), token);
+    }
+
+    /**
+     * Versión bloqueante para la fase de siembra
+     */
+    ApiResult postSync(String endpoint, String path, Object payload, String token) {
+        ApiResult result = post(endpoint, path, payload, token).join();
+        if (!result.ok()) {
+            throw new IllegalStateException(endpoint + " respondió " + result.status() + ": " + result.body());
+        }
+        return result;
+    }
+
+    private CompletableFuture<ApiResult> send(String endpoint, HttpRequest.Builder request, String token) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        inFlight.acquireUninterruptibly();
+        long start = System.nanoTime();
+        return http.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> new ApiResult(response.statusCode(), read(response.body())))
+            .whenComplete((result, failure) -> {
+                inFlight.release();
+                stats.record(endpoint, start, failure == null && result.ok());
+            });
+    }
+
+    private String write(Object payload) {
+        try {
+            return mapper.writeValueAsString(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se pudo serializar el payload", e);
+        }
+    }
+
+    private JsonNode read(String body) {
+        if (body == null || body.isBlank()) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
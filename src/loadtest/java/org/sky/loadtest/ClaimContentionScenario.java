@@ -0,0 +1,78 @@
+package org.sky.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carrera de reclamos: N reclamos simultáneos sobre cada pago pendiente. Con la transición condicional
+ * (UPDATE ... WHERE status = 'PENDING' RETURNING) debe haber exactamente un ganador por pago, los demás
+ * reciben 400 "is not pending" y ninguno debería terminar en 5xx por deadlock o timeout de lock.
+ */
+final class ClaimContentionScenario {
+
+    static final String CONTENDED_CLAIM = "POST payments/claim (contended)";
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+
+    ClaimContentionScenario(LoadTestOptions options, ApiClient api) {
+        this.options = options;
+        this.api = api;
+    }
+
+    String run(Seeder.SeededAdmin admin) {
+        List<Long> paymentIds = createPayments(admin);
+        System.out.printf("⚔️ %d pagos x %d reclamos concurrentes%n", paymentIds.size(), options.claimers());
+
+        Map<Integer, AtomicInteger> statusCounts = new ConcurrentHashMap<>();
+        int exactlyOne = 0;
+        int noWinner = 0;
+        int multipleWinners = 0;
+        long start = System.nanoTime();
+        for (long paymentId : paymentIds) {
+            List<CompletableFuture<ApiClient.ApiResult>> claims = new ArrayList<>(options.claimers());
+            for (int c = 0; c < options.claimers(); c++) {
+                Seeder.SeededSeller seller = admin.sellers().get(c % admin.sellers().size());
+                claims.add(api.post(CONTENDED_CLAIM, "/api/payments/claim",
+                    Map.of("sellerId", seller.sellerId(), "paymentId", paymentId), seller.token()));
+            }
+            int winners = 0;
+            for (CompletableFuture<ApiClient.ApiResult> claim : claims) {
+                ApiClient.ApiResult result = claim.exceptionally(failure -> null).join();
+                int status = result == null ? -1 : result.status();
+                statusCounts.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+                if (result != null && result.ok()) {
+                    winners++;
+                }
+            }
+            if (winners == 1) {
+                exactlyOne++;
+            } else if (winners == 0) {
+                noWinner++;
+            } else {
+                multipleWinners++;
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        return String.format("Pagos con un ganador: %d, sin ganador: %d, con varios ganadores: %d%n",
+                exactlyOne, noWinner, multipleWinners)
+            + "Respuestas por status HTTP (-1 = error de red): " + new TreeMap<>(statusCounts) + "\n"
+            + String.format("Reclamos/s: %.1f%n", paymentIds.size() * options.claimers() / elapsed);
+    }
+
+    private List<Long> createPayments(Seeder.SeededAdmin admin) {
+        List<Long> paymentIds = new ArrayList<>(options.payments());
+        for (int i = 0; i < options.payments(); i++) {
+            ApiClient.ApiResult result = api.postSync(LoadDriver.YAPE_NOTIFICATION, "/api/notifications/yape-notifications",
+                LoadDriver.yapeNotification(admin, i), admin.token());
+            paymentIds.add(result.data().path("notificationId").asLong());
+        }
+        return paymentIds;
+    }
+}
@@ -0,0 +1,113 @@
+package org.sky.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entrega entre réplicas: los vendedores se conectan a la segunda réplica y los pagos entran por la primera,
+ * así que cada frame tiene que pasar por ws_outbox + NOTIFY (ClusterDeliveryBus) y todos deberían llegar.
+ * El vendedor que recibe el pago lo reclama en la segunda réplica, que no lo despachó: esa réplica avisa por
+ * payment_resolved para que la primera libere la carga del ruteo. Antes de conectar a nadie se envían pagos
+ * que no deben llegar a ningún vendedor (sin presencia remota no se encolan).
+ */
+final class CrossNodeScenario {
+
+    static final String CROSS_NODE_CLAIM = "POST payments/claim (cross-node)";
+
+    /** Margen para que la primera réplica lea la presencia publicada por la segunda */
+    private static final long PRESENCE_SETTLE_MILLIS = 2_000;
+    /** Por debajo del rate limit de ingesta por admin (10/s) */
+    private static final long PACE_MILLIS = 120;
+    private static final int OFFLINE_PAYMENTS = 5;
+
+    private final LoadTestOptions options;
+    private final ApiClient ingress;
+    private final ApiClient edge;
+    private final DeliveryTracker tracker;
+    private final List<CompletableFuture<ApiClient.ApiResult>> claims = new ArrayList<>();
+    private final Map<Integer, AtomicInteger> claimStatuses = new ConcurrentHashMap<>();
+
+    CrossNodeScenario(LoadTestOptions options, ApiClient ingress, ApiClient edge, EndpointStats stats) {
+        this.options = options;
+        this.ingress = ingress;
+        this.edge = edge;
+        this.tracker = new DeliveryTracker(stats);
+    }
+
+    String run(Seeder.SeededAdmin admin) throws InterruptedException {
+        List<Long> offline = new ArrayList<>(OFFLINE_PAYMENTS);
+        for (int i = 0; i < OFFLINE_PAYMENTS; i++) {
+            offline.add(postPayment(admin, i, false));
+        }
+
+        List<SellerSocket> sockets = connect(admin);
+        TimeUnit.MILLISECONDS.sleep(PRESENCE_SETTLE_MILLIS);
+
+        System.out.printf("🛰️ %d pagos por %s, vendedores en %s%n", options.payments(), ingress.baseUrl(), edge.baseUrl());
+        for (int i = 0; i < options.payments(); i++) {
+            postPayment(admin, OFFLINE_PAYMENTS + i, true);
+        }
+
+        // Margen para los últimos frames y reclamos en vuelo
+        TimeUnit.SECONDS.sleep(5);
+        List<CompletableFuture<ApiClient.ApiResult>> inFlight;
+        synchronized (claims) {
+            inFlight = List.copyOf(claims);
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+        long open = sockets.stream().filter(SellerSocket::isOpen).count();
+        sockets.forEach(SellerSocket::close);
+
+        long offlineDelivered = offline.stream().filter(tracker::wasDelivered).count();
+        return String.format("WebSockets abiertos al final: %d/%d%n", open, sockets.size())
+            + String.format("Pagos entregados entre réplicas: %d/%d, sin entregar: %d%n",
+                tracker.deliveredPayments() - offlineDelivered, options.payments(), tracker.undelivered())
+            + String.format("Pagos enviados sin vendedores conectados que igual llegaron: %d/%d%n", offlineDelivered, offline.size())
+            + "Reclamos en la otra réplica por status HTTP (-1 = error de red): " + new TreeMap<>(claimStatuses) + "\n";
+    }
+
+    private List<SellerSocket> connect(Seeder.SeededAdmin admin) {
+        List<SellerSocket> sockets = new ArrayList<>();
+        List<CompletableFuture<?>> connecting = new ArrayList<>();
+        for (Seeder.SeededSeller seller : admin.sellers()) {
+            SellerSocket socket = new SellerSocket(seller, edge.mapper(), tracker, paymentId -> claim(seller, paymentId));
+            sockets.add(socket);
+            connecting.add(socket.connect(edge.http(), edge.baseUrl()));
+        }
+        CompletableFuture.allOf(connecting.toArray(CompletableFuture[]::new))
+            .exceptionally(failure -> null)
+            .join();
+        System.out.printf("🔌 WebSockets conectados a %s: %d/%d%n", edge.baseUrl(),
+            sockets.stream().filter(SellerSocket::isOpen).count(), sockets.size());
+        return sockets;
+    }
+
+    private long postPayment(Seeder.SeededAdmin admin, long seq, boolean tracked) throws InterruptedException {
+        long sentNanos = System.nanoTime();
+        ApiClient.ApiResult result = ingress.postSync(LoadDriver.YAPE_NOTIFICATION, "/api/notifications/yape-notifications",
+            LoadDriver.yapeNotification(admin, seq), admin.token());
+        long paymentId = result.data().path("notificationId").asLong();
+        if (tracked) {
+            tracker.posted(paymentId, sentNanos);
+        }
+        TimeUnit.MILLISECONDS.sleep(PACE_MILLIS);
+        return paymentId;
+    }
+
+    private void claim(Seeder.SeededSeller seller, long paymentId) {
+        CompletableFuture<ApiClient.ApiResult> claim = edge.post(CROSS_NODE_CLAIM, "/api/payments/claim",
+                Map.of("sellerId", seller.sellerId(), "paymentId", paymentId), seller.token())
+            .whenComplete((result, failure) -> claimStatuses
+                .computeIfAbsent(result == null ? -1 : result.status(), key -> new AtomicInteger())
+                .incrementAndGet());
+        synchronized (claims) {
+            claims.add(claim);
+        }
+    }
+}
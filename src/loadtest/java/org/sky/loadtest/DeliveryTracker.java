@@ -0,0 +1,78 @@
+package org.sky.loadtest;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retraso de entrega: desde que se envía el POST de la notificación Yape hasta que el primer vendedor
+ * recibe el frame con ese paymentId. El frame puede llegar antes que la respuesta del POST
+ * (el paymentId solo se conoce con la respuesta), así que se empareja en cualquier orden.
+ */
+final class DeliveryTracker {
+
+    static final String DELIVERY_LAG = "ws.deliveryLag";
+
+    /** Primer evento visto para un paymentId: envío del POST o llegada del frame */
+    private record Half(boolean posted, long nanos) {
+    }
+
+    private final ConcurrentHashMap<Long, Half> pending = new ConcurrentHashMap<>();
+    private final Set<Long> delivered = ConcurrentHashMap.newKeySet();
+    private final LongAdder frames = new LongAdder();
+    private final EndpointStats stats;
+
+    DeliveryTracker(EndpointStats stats) {
+        this.stats = stats;
+    }
+
+    void posted(long paymentId, long sentNanos) {
+        pending.compute(paymentId, (id, half) -> {
+            if (half == null) {
+                return new Half(true, sentNanos);
+            }
+            recordLag(half.nanos() - sentNanos);
+            return null;
+        });
+    }
+
+    /**
+     * @return true si es la primera entrega de este pago (ese vendedor es quien lo reclama o rechaza)
+     */
+    boolean frame(long paymentId, long arrivedNanos) {
+        frames.increment();
+        if (!delivered.add(paymentId)) {
+            return false;
+        }
+        pending.compute(paymentId, (id, half) -> {
+            if (half == null) {
+                return new Half(false, arrivedNanos);
+            }
+            recordLag(arrivedNanos - half.nanos());
+            return null;
+        });
+        return true;
+    }
+
+    boolean wasDelivered(long paymentId) {
+        return delivered.contains(paymentId);
+    }
+
+    long deliveredPayments() {
+        return delivered.size();
+    }
+
+    long frames() {
+        return frames.sum();
+    }
+
+    /** Pagos aceptados por la API cuyo frame nunca llegó a ningún vendedor */
+    long undelivered() {
+        return pending.values().stream().filter(Half::posted).count();
+    }
+
+    private void recordLag(long nanos) {
+        stats.recordMicros(DELIVERY_LAG, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
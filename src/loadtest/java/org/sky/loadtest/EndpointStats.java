@@ -0,0 +1,58 @@
+package org.sky.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, microsegundos) y errores por endpoint durante la fase de carga.
+ */
+final class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Series> series = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long startNanos, boolean success) {
+        Series target = series.computeIfAbsent(endpoint, key -> new Series());
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        target.histogram.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+        if (!success) {
+            target.errors.increment();
+        }
+    }
+
+    /**
+     * Latencia medida fuera de un request (p. ej. retraso de entrega POST → frame WebSocket)
+     */
+    void recordMicros(String name, long micros) {
+        Series target = series.computeIfAbsent(name, key -> new Series());
+        target.histogram.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+    }
+
+    void error(String endpoint) {
+        series.computeIfAbsent(endpoint, key -> new Series()).errors.increment();
+    }
+
+    String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder(String.format("%-28s %9s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        series.forEach((name, s) -> {
+            Histogram h = s.histogram.copy();
+            out.append(String.format("%-28s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), s.errors.sum(), h.getTotalCount() / elapsedSeconds,
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0));
+        });
+        return out.toString();
+    }
+
+    private static final class Series {
+        final Histogram histogram = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,161 @@
+package org.sky.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fase de carga: notificaciones Yape a ritmo abierto (open-loop, no espera respuestas para enviar la siguiente),
+ * claim/reject concurrentes por el vendedor que recibe cada frame y consultas periódicas de estadísticas.
+ */
+final class LoadDriver {
+
+    static final String YAPE_NOTIFICATION = "POST yape-notifications";
+    static final String CLAIM = "POST payments/claim";
+    static final String REJECT = "POST payments/reject";
+    static final String STATS = "GET stats/analytics";
+
+    private static final long TICK_MILLIS = 10;
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final DeliveryTracker tracker;
+    private final List<Seeder.SeededAdmin> admins;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder notificationErrors = new LongAdder();
+    private final ExecutorService actions = Executors.newVirtualThreadPerTaskExecutor();
+
+    LoadDriver(LoadTestOptions options, ApiClient api, DeliveryTracker tracker, List<Seeder.SeededAdmin> admins) {
+        this.options = options;
+        this.api = api;
+        this.tracker = tracker;
+        this.admins = admins;
+    }
+
+    /**
+     * Callback de SellerSocket: el vendedor que recibió primero el pago lo reclama o lo rechaza
+     */
+    void onFirstDelivery(Seeder.SeededSeller seller, long paymentId) {
+        actions.execute(() -> {
+            boolean claim = ThreadLocalRandom.current().nextDouble() < options.claimRatio();
+            if (claim) {
+                api.post(CLAIM, "/api/payments/claim",
+                    Map.of("sellerId", seller.sellerId(), "paymentId", paymentId), seller.token());
+            } else {
+                api.post(REJECT, "/api/payments/reject",
+                    Map.of("sellerId", seller.sellerId(), "paymentId", paymentId, "reason", "Monto no coincide"),
+                    seller.token());
+            }
+        });
+    }
+
+    void run() throws InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        double perTick = options.rate() * TICK_MILLIS / 1000.0;
+        double[] credit = {0};
+        scheduler.scheduleAtFixedRate(() -> {
+            credit[0] += perTick;
+            int toSend = (int) credit[0];
+            credit[0] -= toSend;
+            for (int i = 0; i < toSend; i++) {
+                sendNotification();
+            }
+        }, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (!options.statsPollInterval().isZero()) {
+            long interval = options.statsPollInterval().toMillis();
+            scheduler.scheduleAtFixedRate(this::pollStats, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        Thread.sleep(options.duration().toMillis());
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void drain() throws InterruptedException {
+        actions.shutdown();
+        actions.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    long notificationErrors() {
+        return notificationErrors.sum();
+    }
+
+    private void sendNotification() {
+        long seq = sequence.incrementAndGet();
+        Seeder.SeededAdmin admin = admins.get((int) (seq % admins.size()));
+        Map<String, Object> payload = yapeNotification(admin, seq);
+
+        long sentNanos = System.nanoTime();
+        api.post(YAPE_NOTIFICATION, "/api/notifications/yape-notifications", payload, admin.token())
+            .whenComplete((result, failure) -> {
+                if (failure != null || !result.ok()) {
+                    notificationErrors.increment();
+                    return;
+                }
+                long paymentId = result.data().path("notificationId").asLong();
+                if (paymentId > 0) {
+                    tracker.posted(paymentId, sentNanos);
+                }
+            });
+    }
+
+    /**
+     * Payload de POST /api/notifications/yape-notifications como lo arma la app Android del admin
+     */
+    static Map<String, Object> yapeNotification(Seeder.SeededAdmin admin, long seq) {
+        String fingerprint = String.format("%016x", admin.adminId() * 0x9E3779B97F4A7C15L >>> 1);
+        double amount = Math.round((1 + ThreadLocalRandom.current().nextDouble(99)) * 10) / 10.0;
+        String text = "Yape! Cliente Carga Prueba te envió un pago por S/ " + amount
+            + ". El cód. de seguridad es: " + (100 + seq % 900);
+        String json = "{\"packageName\":\"com.bcp.innovacxion.yapeapp\",\"title\":\"Confirmación de Pago\","
+            + "\"text\":\"" + text + "\",\"postTime\":" + System.currentTimeMillis() + "}";
+
+        return Map.of(
+            "adminId", admin.adminId(),
+            "encryptedNotification", encrypt(json, fingerprint),
+            "deviceFingerprint", fingerprint,
+            "timestamp", System.currentTimeMillis(),
+            "deduplicationHash", HexFormat.of().formatHex(longBytes(seq ^ System.nanoTime())) + Long.toHexString(seq)
+        );
+    }
+
+    private void pollStats() {
+        LocalDate today = LocalDate.now();
+        for (Seeder.SeededAdmin admin : admins) {
+            api.get(STATS, "/api/stats/analytics?adminId=" + admin.adminId()
+                + "&startDate=" + today.minusDays(30) + "&endDate=" + today, admin.token());
+        }
+    }
+
+    /**
+     * Mismo cifrado que la app Android: XOR con el fingerprint y Base64 (inverso de YapeDecryptionService)
+     */
+    static String encrypt(String plain, String fingerprint) {
+        byte[] key = fingerprint.getBytes(StandardCharsets.UTF_8);
+        StringBuilder xored = new StringBuilder(plain.length());
+        for (int i = 0; i < plain.length(); i++) {
+            xored.append((char) (plain.charAt(i) ^ key[i % key.length]));
+        }
+        return Base64.getEncoder().encodeToString(xored.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+}
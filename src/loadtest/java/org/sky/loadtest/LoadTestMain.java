@@ -0,0 +1,118 @@
+package org.sky.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de extremo a extremo: siembra admins/vendedores, abre un WebSocket por vendedor,
+ * envía notificaciones Yape al ritmo configurado con claim/reject y polling de estadísticas concurrentes,
+ * y reporta throughput, p50/p99/p999 por endpoint y el retraso de entrega al vendedor.
+ *
+ * <pre>
+ * ./gradlew loadTest -PloadArgs="--admins=500 --sellers-per-admin=2 --rate=300 --duration=120"
+ * ./gradlew loadTest -PloadArgs="--base-url=http://localhost:8080 --admins=20"   (app ya levantada)
+ * ./gradlew loadTest -PloadArgs="--scenario=claim-contention --payments=200 --claimers=50"
+ * ./gradlew loadTest -PloadArgs="--scenario=cross-node --payments=100 --sellers-per-admin=3"   (dos réplicas)
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        EndpointStats stats = new EndpointStats();
+
+        try (LocalEnvironment environment = new LocalEnvironment(options)) {
+            environment.start();
+            ApiClient api = new ApiClient(options.baseUrl(), stats, options.concurrency());
+
+            String report;
+            if (LoadTestOptions.SCENARIO_CLAIM_CONTENTION.equals(options.scenario())) {
+                report = runClaimContention(options, api, stats);
+            } else if (options.crossNode()) {
+                report = runCrossNode(options, api, stats);
+            } else {
+                report = runLoad(options, api, stats);
+            }
+            System.out.println();
+            System.out.println(report);
+
+            Path out = Files.createDirectories(Path.of("build", "loadtest")).resolve("report.txt");
+            Files.writeString(out, report);
+            System.out.println("📄 Reporte en " + out);
+        }
+    }
+
+    private static String runLoad(LoadTestOptions options, ApiClient api, EndpointStats stats) throws Exception {
+        System.out.printf("🌱 Sembrando %d admins x %d vendedores%n", options.admins(), options.sellersPerAdmin());
+        long seedStart = System.nanoTime();
+        List<Seeder.SeededAdmin> admins = new Seeder(api).seed(options.admins(), options.sellersPerAdmin());
+        System.out.printf("🌱 Siembra lista en %.1f s%n", (System.nanoTime() - seedStart) / 1e9);
+
+        DeliveryTracker tracker = new DeliveryTracker(stats);
+        LoadDriver driver = new LoadDriver(options, api, tracker, admins);
+        List<SellerSocket> sockets = connectSellers(api, admins, tracker, driver);
+
+        System.out.printf("🔥 Carga: %d notificaciones/s durante %d s%n", options.rate(), options.duration().toSeconds());
+        long loadStart = System.nanoTime();
+        driver.run();
+        double elapsed = (System.nanoTime() - loadStart) / 1e9;
+
+        // Margen para que lleguen los últimos frames y terminen los claim/reject en vuelo
+        TimeUnit.SECONDS.sleep(5);
+        driver.drain();
+
+        long open = sockets.stream().filter(SellerSocket::isOpen).count();
+        sockets.forEach(SellerSocket::close);
+
+        return stats.report(elapsed)
+            + String.format("%nWebSockets abiertos al final: %d/%d%n", open, sockets.size())
+            + String.format("Pagos entregados: %d (frames: %d), sin entregar: %d, notificaciones fallidas: %d%n",
+                tracker.deliveredPayments(), tracker.frames(), tracker.undelivered(), driver.notificationErrors());
+    }
+
+    private static String runClaimContention(LoadTestOptions options, ApiClient api, EndpointStats stats) throws Exception {
+        System.out.printf("🌱 Sembrando 1 admin x %d vendedores%n", options.sellersPerAdmin());
+        Seeder.SeededAdmin admin = new Seeder(api).seed(1, options.sellersPerAdmin()).getFirst();
+
+        long start = System.nanoTime();
+        String result = new ClaimContentionScenario(options, api).run(admin);
+        return stats.report((System.nanoTime() - start) / 1e9) + "\n" + result;
+    }
+
+    private static String runCrossNode(LoadTestOptions options, ApiClient api, EndpointStats stats) throws Exception {
+        System.out.printf("🌱 Sembrando 1 admin x %d vendedores%n", options.sellersPerAdmin());
+        Seeder.SeededAdmin admin = new Seeder(api).seed(1, options.sellersPerAdmin()).getFirst();
+        ApiClient edge = new ApiClient(options.secondBaseUrl(), stats, options.concurrency());
+
+        long start = System.nanoTime();
+        String result = new CrossNodeScenario(options, api, edge, stats).run(admin);
+        return stats.report((System.nanoTime() - start) / 1e9) + "\n" + result;
+    }
+
+    private static List<SellerSocket> connectSellers(ApiClient api, List<Seeder.SeededAdmin> admins,
+                                                     DeliveryTracker tracker, LoadDriver driver) {
+        List<SellerSocket> sockets = new ArrayList<>();
+        List<CompletableFuture<?>> connecting = new ArrayList<>();
+        for (Seeder.SeededAdmin admin : admins) {
+            for (Seeder.SeededSeller seller : admin.sellers()) {
+                SellerSocket socket = new SellerSocket(seller, api.mapper(), tracker,
+                    paymentId -> driver.onFirstDelivery(seller, paymentId));
+                sockets.add(socket);
+                connecting.add(socket.connect(api.http(), api.baseUrl()));
+            }
+        }
+        CompletableFuture.allOf(connecting.toArray(CompletableFuture[]::new))
+            .exceptionally(failure -> null)
+            .join();
+        long open = sockets.stream().filter(SellerSocket::isOpen).count();
+        System.out.printf("🔌 WebSockets conectados: %d/%d%n", open, sockets.size());
+        return sockets;
+    }
+}
@@ -0,0 +1,122 @@
+package org.sky.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opciones del harness, en formato --clave=valor.
+ *
+ * @param baseUrl           URL de la app (si no se arranca con --boot)
+ * @param secondBaseUrl     URL de la segunda réplica para cross-node; con --boot se levanta en app-port + 1
+ * @param bootJar           quarkus-run.jar a levantar contra el Postgres local; null = usar una app ya levantada
+ * @param startPostgres     levanta un contenedor postgres:16 desechable antes de arrancar la app
+ * @param postgresPort      puerto local del contenedor
+ * @param admins            administradores a registrar
+ * @param sellersPerAdmin   vendedores afiliados por administrador (el plan gratuito limita este número)
+ * @param rate              notificaciones Yape por segundo (total, repartidas entre admins)
+ * @param duration          duración de la fase de carga
+ * @param claimRatio        fracción de pagos recibidos que el vendedor reclama (el resto los rechaza)
+ * @param statsPollInterval intervalo entre consultas a /api/stats/analytics por admin; cero lo desactiva
+ * @param concurrency       peticiones HTTP en vuelo como máximo
+ * @param scenario          "load" (carga mixta), "claim-contention" (carrera de reclamos sobre el mismo pago)
+ *                          o "cross-node" (pagos por una réplica, vendedores y reclamos en la otra)
+ * @param payments          pagos a disputar en claim-contention o a enviar en cross-node
+ * @param claimers          reclamos concurrentes por pago en claim-contention
+ */
+record LoadTestOptions(
+    String baseUrl,
+    String secondBaseUrl,
+    Path bootJar,
+    boolean startPostgres,
+    int postgresPort,
+    int admins,
+    int sellersPerAdmin,
+    int rate,
+    Duration duration,
+    double claimRatio,
+    Duration statsPollInterval,
+    int concurrency,
+    String scenario,
+    int payments,
+    int claimers
+) {
+
+    static final String SCENARIO_LOAD = "load";
+    static final String SCENARIO_CLAIM_CONTENTION = "claim-contention";
+    static final String SCENARIO_CROSS_NODE = "cross-node";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String bootJar = values.get("boot");
+        int port = Integer.parseInt(values.getOrDefault("app-port", "18080"));
+        String defaultUrl = bootJar != null ? "http://localhost:" + port : "http://localhost:8080";
+        String defaultSecondUrl = bootJar != null ? "http://localhost:" + (port + 1) : null;
+        String secondUrl = values.getOrDefault("second-url", defaultSecondUrl);
+
+        LoadTestOptions options = new LoadTestOptions(
+            values.getOrDefault("base-url", defaultUrl).replaceAll("/$", ""),
+            secondUrl != null ? secondUrl.replaceAll("/$", "") : null,
+            bootJar != null ? Path.of(bootJar) : null,
+            Boolean.parseBoolean(values.getOrDefault("postgres", String.valueOf(bootJar != null))),
+            Integer.parseInt(values.getOrDefault("postgres-port", "55432")),
+            Integer.parseInt(values.getOrDefault("admins", "50")),
+            Integer.parseInt(values.getOrDefault("sellers-per-admin", "2")),
+            Integer.parseInt(values.getOrDefault("rate", "200")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+            Double.parseDouble(values.getOrDefault("claim-ratio", "0.8")),
+            Duration.ofMillis(Long.parseLong(values.getOrDefault("stats-poll-ms", "5000"))),
+            Integer.parseInt(values.getOrDefault("concurrency", "256")),
+            values.getOrDefault("scenario", SCENARIO_LOAD),
+            Integer.parseInt(values.getOrDefault("payments", "200")),
+            Integer.parseInt(values.getOrDefault("claimers", "50"))
+        );
+        if (options.admins() <= 0 || options.sellersPerAdmin() <= 0 || options.rate() <= 0) {
+            throw new IllegalArgumentException("admins, sellers-per-admin y rate deben ser mayores a cero");
+        }
+        if (options.claimRatio() < 0 || options.claimRatio() > 1) {
+            throw new IllegalArgumentException("claim-ratio debe estar entre 0 y 1");
+        }
+        if (!SCENARIO_LOAD.equals(options.scenario()) && !SCENARIO_CLAIM_CONTENTION.equals(options.scenario())
+            && !SCENARIO_CROSS_NODE.equals(options.scenario())) {
+            throw new IllegalArgumentException("scenario debe ser load, claim-contention o cross-node");
+        }
+        if (SCENARIO_CROSS_NODE.equals(options.scenario()) && options.secondBaseUrl() == null) {
+            throw new IllegalArgumentException("cross-node necesita --second-url o --boot");
+        }
+        return options;
+    }
+
+    int appPort() {
+        return port(baseUrl);
+    }
+
+    int secondAppPort() {
+        return port(secondBaseUrl);
+    }
+
+    boolean crossNode() {
+        return SCENARIO_CROSS_NODE.equals(scenario);
+    }
+
+    private static int port(String url) {
+        return Integer.parseInt(url.substring(url.lastIndexOf(':') + 1));
+    }
+
+    int totalSellers() {
+        return admins * sellersPerAdmin;
+    }
+}
@@ -0,0 +1,143 @@
+package org.sky.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Postgres desechable en Docker + la app (quarkus-run.jar) con perfil dev apuntando a él.
+ * El perfil dev usa hibernate generation=update, así que el esquema se crea al arrancar.
+ * H2 no es una opción: la app usa el cliente reactivo de Postgres (vertx-pg-client), sin equivalente para H2.
+ * En el escenario cross-node se levanta una segunda réplica contra el mismo Postgres en app-port + 1.
+ */
+final class LocalEnvironment implements AutoCloseable {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final String DB_NAME = "yapechamo";
+    private static final String DB_USER = "yapechamo";
+    private static final String DB_PASSWORD = "yapechamo123";
+
+    private final LoadTestOptions options;
+    private final String containerName = "yape-hub-loadtest-" + ProcessHandle.current().pid();
+    private boolean containerStarted;
+    private final List<Process> apps = new ArrayList<>();
+
+    LocalEnvironment(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    void start() throws IOException, InterruptedException {
+        if (options.startPostgres()) {
+            startPostgres();
+        }
+        if (options.bootJar() != null) {
+            startApp(options.baseUrl(), options.appPort(), "app.log");
+            if (options.crossNode()) {
+                // Una después de la otra: la segunda encuentra el esquema (generation=update y migraciones) ya creado
+                startApp(options.secondBaseUrl(), options.secondAppPort(), "app-2.log");
+            }
+        }
+    }
+
+    private void startPostgres() throws IOException, InterruptedException {
+        System.out.println("🐘 Levantando " + POSTGRES_IMAGE + " en el puerto " + options.postgresPort());
+        run(List.of("docker", "run", "-d", "--rm", "--name", containerName,
+            "-e", "POSTGRES_DB=" + DB_NAME, "-e", "POSTGRES_USER=" + DB_USER, "-e", "POSTGRES_PASSWORD=" + DB_PASSWORD,
+            "-p", options.postgresPort() + ":5432", POSTGRES_IMAGE,
+            "-c", "max_connections=200"));
+        containerStarted = true;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            Process ready = new ProcessBuilder("docker", "exec", containerName, "pg_isready", "-U", DB_USER, "-d", DB_NAME)
+                .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            if (ready.waitFor() == 0) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Postgres no quedó listo en 60 s");
+    }
+
+    private void startApp(String baseUrl, int port, String logName) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(options.bootJar())) {
+            throw new IllegalStateException("No existe " + options.bootJar() + " (ejecutar ./gradlew quarkusBuild)");
+        }
+        Path log = Files.createDirectories(Path.of("build", "loadtest")).resolve(logName);
+        System.out.println("🚀 Arrancando la app en " + baseUrl + " (log: " + log + ")");
+
+        List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-Xms1g", "-Xmx1g",
+            "-Dquarkus.profile=dev",
+            "-Dquarkus.http.port=" + port,
+            "-Dquarkus.datasource.reactive.url=postgresql://localhost:" + options.postgresPort() + "/" + DB_NAME,
+            "-Dquarkus.datasource.username=" + DB_USER,
+            "-Dquarkus.datasource.password=" + DB_PASSWORD,
+            "-Dquarkus.datasource.reactive.max-size=40",
+            "-Dquarkus.log.level=WARN",
+            "-jar", options.bootJar().toString()));
+        Process app = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        apps.add(app);
+
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/q/health/ready"))
+            .timeout(Duration.ofSeconds(2)).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("La app terminó al arrancar, revisar " + log);
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Todavía no escucha en el puerto
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("La app no respondió /q/health/ready en 120 s, revisar " + log);
+    }
+
+    @Override
+    public void close() {
+        for (Process app : apps) {
+            app.destroy();
+            try {
+                if (!app.waitFor(20, TimeUnit.SECONDS)) {
+                    app.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                app.destroyForcibly();
+            }
+        }
+        if (containerStarted) {
+            try {
+                run(List.of("docker", "stop", containerName));
+            } catch (IOException | InterruptedException | IllegalStateException e) {
+                System.err.println("⚠️ No se pudo detener el contenedor " + containerName + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " falló: " + output.trim());
+        }
+    }
+}
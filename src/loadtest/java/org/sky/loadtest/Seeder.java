@@ -0,0 +1,80 @@
+package org.sky.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Siembra admins, sucursales y vendedores por la API pública, el mismo camino que
+ * AuthService.registerAdmin (sucursal por defecto + plan gratuito) y SellerService.affiliateSeller.
+ */
+final class Seeder {
+
+    record SeededSeller(long sellerId, String token) {
+    }
+
+    record SeededAdmin(long adminId, String token, List<SeededSeller> sellers) {
+    }
+
+    private static final int PARALLEL_ADMINS = 16;
+
+    private final ApiClient api;
+    private final long runId = System.currentTimeMillis() % 1_000_000_000L;
+
+    Seeder(ApiClient api) {
+        this.api = api;
+    }
+
+    List<SeededAdmin> seed(int admins, int sellersPerAdmin) throws Exception {
+        List<SeededAdmin> seeded = new ArrayList<>(admins);
+        try (ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_ADMINS)) {
+            List<Future<SeededAdmin>> futures = new ArrayList<>(admins);
+            for (int i = 0; i < admins; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> seedAdmin(index, sellersPerAdmin)));
+            }
+            for (Future<SeededAdmin> future : futures) {
+                seeded.add(future.get());
+            }
+        }
+        return seeded;
+    }
+
+    private SeededAdmin seedAdmin(int index, int sellersPerAdmin) {
+        String suffix = runId + "-" + index;
+        JsonNode login = api.postSync("seed.registerAdmin", "/api/auth/admin/register", Map.of(
+            "businessName", "Carga " + suffix,
+            "businessType", "RETAIL",
+            "ruc", String.format("20%09d", (runId * 1_000 + index) % 1_000_000_000L),
+            "email", "loadtest-" + suffix + "@example.com",
+            "password", "LoadTest-" + suffix,
+            "phone", String.format("+517%010d", (runId * 1_000 + index) % 10_000_000_000L),
+            "address", "Av. Prueba " + index,
+            "contactName", "Admin " + index
+        ), null).data();
+
+        String token = login.path("accessToken").asText();
+        long adminId = login.path("user").path("id").asLong();
+
+        JsonNode code = api.postSync("seed.affiliationCode",
+            "/api/generate-affiliation-code-protected?adminId=" + adminId
+                + "&expirationHours=24&maxUses=" + sellersPerAdmin, null, token).data();
+        String affiliationCode = code.path("affiliationCode").asText();
+
+        List<SeededSeller> sellers = new ArrayList<>(sellersPerAdmin);
+        for (int s = 0; s < sellersPerAdmin; s++) {
+            JsonNode seller = api.postSync("seed.registerSeller", "/api/seller/register", Map.of(
+                "sellerName", "Vendedor " + suffix + "-" + s,
+                "phone", String.format("+518%010d", (runId * 100_000 + index * 100L + s) % 10_000_000_000L),
+                "affiliationCode", affiliationCode
+            ), null).data();
+            sellers.add(new SeededSeller(seller.path("sellerId").asLong(), seller.path("token").asText()));
+        }
+        return new SeededAdmin(adminId, token, sellers);
+    }
+}
@@ -0,0 +1,91 @@
+package org.sky.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongConsumer;
+
+/**
+ * Conexión WebSocket de un vendedor a /ws/payments/{sellerId}. Cada paymentId recibido
+ * (frame individual o agrupado) se entrega al tracker; si es la primera entrega, el vendedor actúa sobre él.
+ */
+final class SellerSocket implements WebSocket.Listener {
+
+    private final Seeder.SeededSeller seller;
+    private final ObjectMapper mapper;
+    private final DeliveryTracker tracker;
+    private final LongConsumer onFirstDelivery;
+    private final StringBuilder partial = new StringBuilder();
+    private volatile WebSocket socket;
+
+    SellerSocket(Seeder.SeededSeller seller, ObjectMapper mapper, DeliveryTracker tracker, LongConsumer onFirstDelivery) {
+        this.seller = seller;
+        this.mapper = mapper;
+        this.tracker = tracker;
+        this.onFirstDelivery = onFirstDelivery;
+    }
+
+    CompletableFuture<WebSocket> connect(HttpClient http, String baseUrl) {
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws")
+            + "/ws/payments/" + seller.sellerId() + "?token=" + seller.token());
+        return http.newWebSocketBuilder()
+            .connectTimeout(Duration.ofSeconds(20))
+            .buildAsync(uri, this)
+            .thenApply(ws -> socket = ws);
+    }
+
+    boolean isOpen() {
+        WebSocket ws = socket;
+        return ws != null && !ws.isInputClosed();
+    }
+
+    void close() {
+        WebSocket ws = socket;
+        if (ws != null && !ws.isOutputClosed()) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "fin de carga");
+        }
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        long arrivedNanos = System.nanoTime();
+        partial.append(data);
+        if (last) {
+            String frame = partial.toString();
+            partial.setLength(0);
+            handleFrame(frame, arrivedNanos);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    private void handleFrame(String frame, long arrivedNanos) {
+        JsonNode root;
+        try {
+            root = mapper.readTree(frame);
+        } catch (Exception e) {
+            return;
+        }
+        JsonNode data = root.path("data");
+        switch (root.path("type").asText()) {
+            case "PAYMENT_NOTIFICATION" -> deliver(data.path("paymentId").asLong(), arrivedNanos);
+            case "GROUPED_PAYMENT_NOTIFICATION" -> data.path("payments")
+                .forEach(payment -> deliver(payment.path("paymentId").asLong(), arrivedNanos));
+            default -> {
+                // Frames de conexión/estado: no cuentan como entrega
+            }
+        }
+    }
+
+    private void deliver(long paymentId, long arrivedNanos) {
+        if (paymentId > 0 && tracker.frame(paymentId, arrivedNanos)) {
+            onFirstDelivery.accept(paymentId);
+        }
+    }
+}
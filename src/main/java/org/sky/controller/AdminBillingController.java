@@ -12,8 +12,11 @@ import org.sky.dto.response.ApiResponse;
 import org.sky.dto.response.stats.AdminAnalyticsResponse;
 import org.sky.repository.ManualPaymentRepository;
 import org.sky.repository.PaymentCodeRepository;
+import org.sky.service.blob.BlobStore;
 import org.sky.service.security.SecurityService;
 import org.sky.service.StatsService;
+import org.sky.util.ByteRange;
+import org.jboss.resteasy.reactive.PathPart;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -37,6 +40,9 @@ public class AdminBillingController {
     
     @Inject
     StatsService statsService;
+
+    @Inject
+    BlobStore blobStore;
     
 
     @GET
@@ -242,26 +248,30 @@ public class AdminBillingController {
 
     @GET
     @Path("/payments/{paymentId}/image")
-    @Operation(summary = "Get payment image", description = "Obtiene la imagen del comprobante de pago")
+    @Produces({"image/png", "image/jpeg", "image/webp", MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON})
+    @Operation(summary = "Get payment image", description = "Devuelve los bytes del comprobante de pago (sendFile, ETag y Range)")
     public Uni<Response> getPaymentImage(@PathParam("paymentId") Long paymentId,
                                        @QueryParam("adminId") Long adminId,
-                                       @HeaderParam("Authorization") String authorization) {
+                                       @HeaderParam("Authorization") String authorization,
+                                       @HeaderParam("If-None-Match") String ifNoneMatch,
+                                       @HeaderParam("Range") String range) {
         Log.info("📸 AdminBillingController.getPaymentImage() - PaymentId: " + paymentId + ", AdminId: " + adminId);
         
         return securityService.validateAdminAuthorization(authorization, adminId)
-                .chain(userId -> {
-                    Log.info("✅ Autorización exitosa para adminId: " + adminId);
-                    return manualPaymentRepository.findById(paymentId);
-                })
-                .map(payment -> {
+                .chain(userId -> manualPaymentRepository.findById(paymentId))
+                .chain(payment -> {
                     if (payment == null) {
                         Log.warn("❌ Pago no encontrado: " + paymentId);
-                        return Response.status(404)
-                                .entity(ApiResponse.error("Pago no encontrado")).build();
+                        return Uni.createFrom().item(Response.status(404)
+                                .entity(ApiResponse.error("Pago no encontrado")).build());
                     }
-                    
-                    Log.info("✅ Imagen de pago obtenida exitosamente");
-                    return Response.ok(ApiResponse.success("Imagen de pago obtenida exitosamente", payment.imageBase64)).build();
+                    if (payment.imageBlobKey == null) {
+                        return Uni.createFrom().item(legacyImageResponse(payment.imageBase64));
+                    }
+                    return blobStore.open(payment.imageBlobKey)
+                            .map(blob -> blob == null
+                                    ? Response.status(404).entity(ApiResponse.error("Imagen de pago no encontrada")).build()
+                                    : blobResponse(blob, payment.imageContentType, ifNoneMatch, range));
                 })
                 .onFailure().recoverWithItem(throwable -> {
                     Log.warn("❌ Error obteniendo imagen de pago: " + throwable.getMessage());
@@ -269,6 +279,51 @@ public class AdminBillingController {
                 });
     }
 
+    /**
+     * Sirve el blob con sendFile (PathPart), sin copiar los bytes al heap
+     */
+    private Response blobResponse(BlobStore.BlobFile blob, String contentType, String ifNoneMatch, String rangeHeader) {
+        if (blob.etag().equals(ifNoneMatch)) {
+            return Response.notModified().header("ETag", blob.etag()).build();
+        }
+        String type = contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM;
+        ByteRange range;
+        try {
+            range = ByteRange.parse(rangeHeader, blob.size());
+        } catch (ByteRange.Unsatisfiable e) {
+            return Response.status(416).header("Content-Range", "bytes */" + blob.size()).build();
+        }
+        if (range == null) {
+            return Response.ok(new PathPart(java.nio.file.Path.of(blob.path()), 0, blob.size()), type)
+                    .header("ETag", blob.etag())
+                    .header("Accept-Ranges", "bytes")
+                    .header("Cache-Control", "private, max-age=86400, immutable")
+                    .build();
+        }
+        return Response.status(206)
+                .entity(new PathPart(java.nio.file.Path.of(blob.path()), range.start(), range.length()))
+                .type(type)
+                .header("ETag", blob.etag())
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Range", range.contentRange(blob.size()))
+                .build();
+    }
+
+    /**
+     * Filas anteriores al BlobStore: la imagen sigue en image_base64 como data URL
+     */
+    private Response legacyImageResponse(String imageBase64) {
+        if (imageBase64 == null) {
+            return Response.status(404).entity(ApiResponse.error("Imagen de pago no encontrada")).build();
+        }
+        int marker = imageBase64.indexOf(";base64,");
+        if (!imageBase64.startsWith("data:") || marker < 0) {
+            return Response.ok(java.util.Base64.getDecoder().decode(imageBase64), MediaType.APPLICATION_OCTET_STREAM).build();
+        }
+        return Response.ok(java.util.Base64.getDecoder().decode(imageBase64.substring(marker + ";base64,".length())),
+                imageBase64.substring("data:".length(), marker)).build();
+    }
+
     @GET
     @Path("/payments/codes")
     @Operation(summary = "Get payment codes", description = "Obtiene todos los códigos de pago generados")
@@ -4,7 +4,9 @@ import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -121,6 +123,28 @@ public class BillingController {
                 .onFailure().recoverWithItem(throwable -> securityService.handleSecurityException(throwable));
     }
 
+    @POST
+    @Path("/payments/upload/stream")
+    @Consumes({"image/png", "image/jpeg", "image/webp", MediaType.APPLICATION_OCTET_STREAM})
+    @Operation(summary = "Stream payment image", description = "Sube el comprobante como binario (no base64): se valida y se guarda mientras llega, con límite de tamaño por petición y global")
+    public Uni<Response> streamPaymentImage(@QueryParam("adminId") Long adminId,
+                                           @QueryParam("paymentCode") String paymentCode,
+                                           @HeaderParam("Authorization") String authorization,
+                                           @HeaderParam("Content-Length") Long contentLength,
+                                           @Context HttpServerRequest request) {
+        // Nada del cuerpo se lee hasta validar el token y el código
+        request.pause();
+        if (paymentCode == null) {
+            return Uni.createFrom().item(Response.status(400)
+                    .entity(ApiResponse.error("paymentCode es requerido")).build());
+        }
+        
+        return securityService.validateAdminAuthorization(authorization, adminId)
+                .chain(userId -> paymentUploadService.uploadPaymentImageStream(adminId, paymentCode, request, contentLength))
+                .map(uploadResponse -> Response.ok(ApiResponse.success("Imagen de pago subida exitosamente", uploadResponse)).build())
+                .onFailure().recoverWithItem(throwable -> securityService.handleSecurityException(throwable));
+    }
+
     @GET
     @Path("/payments/status/{paymentCode}")
     @Operation(summary = "Get payment status", description = "Obtiene el estado de un pago por código")
@@ -136,10 +160,29 @@ public class BillingController {
 
     @GET
     @Path("/plans")
-    @Operation(summary = "Get available plans", description = "Obtiene los planes de suscripción disponibles")
-    public Uni<Response> getAvailablePlans() {
-        return billingPlansService.getAvailablePlans("details")
-                .map(response -> Response.ok(response).build());
+    @Operation(summary = "Get available plans", description = "Obtiene los planes de suscripción disponibles (JSON pre-serializado, soporta If-None-Match)")
+    public Uni<Response> getAvailablePlans(@HeaderParam("If-None-Match") String ifNoneMatch) {
+        return billingPlansService.getSerializedPlans()
+                .map(plans -> {
+                    if (plans.etag().equals(ifNoneMatch)) {
+                        return Response.notModified().header("ETag", plans.etag()).build();
+                    }
+                    return Response.ok(plans.json(), MediaType.APPLICATION_JSON)
+                            .header("ETag", plans.etag())
+                            .header("Cache-Control", "public, max-age=60")
+                            .build();
+                });
+    }
+
+    @POST
+    @Path("/plans/refresh")
+    @Operation(summary = "Refresh plan catalog", description = "Recarga el catálogo de planes en memoria tras editar subscription_plans")
+    public Uni<Response> refreshPlans(@QueryParam("adminId") Long adminId,
+                                     @HeaderParam("Authorization") String authorization) {
+        return securityService.validateAdminAuthorization(authorization, adminId)
+                .chain(userId -> billingPlansService.refreshPlans())
+                .map(response -> Response.ok(response).build())
+                .onFailure().recoverWithItem(throwable -> securityService.handleSecurityException(throwable));
     }
 
     @GET
@@ -7,15 +7,20 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.sky.dto.request.notification.YapeNotificationRequest;
+import org.sky.dto.response.ApiResponse;
 import org.sky.service.notification.yape.NotificationQueryService;
 import org.sky.service.notification.yape.NotificationUpdateService;
 import org.sky.service.notification.yape.YapeNotificationProcessor;
 import org.sky.service.notification.yape.YapeAuditService;
+import org.sky.service.ratelimit.RateLimitClass;
+import org.sky.service.ratelimit.TenantRateLimiter;
 import org.sky.service.security.SecurityService;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 
+import java.util.Map;
+
 @Path("/api/notifications")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -37,24 +42,33 @@ public class NotificationController {
     
     @Inject
     SecurityService securityService;
+
+    @Inject
+    TenantRateLimiter tenantRateLimiter;
     
     @GET
-    @Operation(summary = "Get notifications", description = "Get user notifications with pagination")
+    @Operation(summary = "Get notifications", description = "Get user notifications with pagination. Pass the X-Next-Cursor header value as cursor to fetch the next page")
     public Uni<Response> getNotifications(@QueryParam("userId") Long userId,
                                     @QueryParam("userRole") String userRole,
                                     @QueryParam("startDate") String startDateStr,
                                     @QueryParam("endDate") String endDateStr,
                                     @QueryParam("page") @DefaultValue("1") int page,
                                     @QueryParam("limit") @DefaultValue("20") int limit,
-                                    @QueryParam("unreadOnly") Boolean unreadOnly) {
-        return notificationQueryService.getNotifications(userId, userRole, page, limit, unreadOnly, startDateStr, endDateStr)
-                .map(response -> {
-                    if (response.isSuccess()) {
-                        return Response.ok(response).build();
-                    } else {
-                        return Response.status(400).entity(response).build();
-                    }
-                });
+                                    @QueryParam("unreadOnly") Boolean unreadOnly,
+                                    @QueryParam("cursor") String cursor) {
+        return notificationQueryService.getNotifications(userId, userRole, page, limit, unreadOnly, startDateStr, endDateStr, cursor)
+                .map(result -> withNextCursor(
+                        Response.ok(ApiResponse.success("Notifications retrieved successfully", result.items())),
+                        result.nextCursor()));
+    }
+
+    @GET
+    @Path("/unread-count")
+    @Operation(summary = "Get unread notifications count", description = "Unread badge counter for a user")
+    public Uni<Response> getUnreadCount(@QueryParam("userId") Long userId,
+                                        @QueryParam("userRole") String userRole) {
+        return notificationQueryService.getUnreadCount(userId, userRole)
+                .map(count -> Response.ok(ApiResponse.success("Unread count retrieved successfully", Map.of("unreadCount", count))).build());
     }
     
     @POST
@@ -77,6 +91,7 @@ public class NotificationController {
     public Uni<Response> processYapeNotification(@Valid YapeNotificationRequest request,
                                                 @HeaderParam("Authorization") String authorization) {
         return securityService.validateAdminAuthorization(authorization, request.adminId())
+                .invoke(userId -> tenantRateLimiter.acquire(RateLimitClass.YAPE_INGESTION, userId))
                 .chain(userId -> yapeNotificationProcessor.processYapeNotification(request))
                 .map(response -> {
                     if (response.isSuccess()) {
@@ -90,20 +105,27 @@ public class NotificationController {
     
     @GET
     @Path("/yape-audit")
-    @Operation(summary = "Get Yape notification audit", description = "Get audit trail of Yape notifications for an admin")
+    @Operation(summary = "Get Yape notification audit", description = "Get audit trail of Yape notifications for an admin; archivedMonth (yyyy-MM) reads an archived month")
     public Uni<Response> getYapeNotificationAudit(@QueryParam("adminId") Long adminId,
                                             @QueryParam("page") @DefaultValue("0") int page,
                                             @QueryParam("size") @DefaultValue("20") int size,
+                                            @QueryParam("cursor") String cursor,
+                                            @QueryParam("archivedMonth") String archivedMonth,
                                             @HeaderParam("Authorization") String authorization) {
         return securityService.validateAdminAuthorization(authorization, adminId)
-                .chain(userId -> yapeAuditService.getYapeNotificationAudit(adminId, page, size))
-                .map(response -> {
-                    if (response.isSuccess()) {
-                        return Response.ok(response).build();
-                    } else {
-                        return Response.status(400).entity(response).build();
-                    }
-                })
+                .chain(userId -> archivedMonth != null && !archivedMonth.isBlank()
+                        ? yapeAuditService.getArchivedYapeNotificationAudit(adminId, archivedMonth, page, size, cursor)
+                        : yapeAuditService.getYapeNotificationAudit(adminId, page, size, cursor))
+                .map(result -> withNextCursor(
+                        Response.ok(ApiResponse.success("Yape audit retrieved successfully", result.items())),
+                        result.nextCursor()))
                 .onFailure().recoverWithItem(throwable -> securityService.handleSecurityException(throwable));
     }
-}
\ No newline at end of file
+
+    private static Response withNextCursor(Response.ResponseBuilder builder, String nextCursor) {
+        if (nextCursor != null) {
+            builder.header("X-Next-Cursor", nextCursor);
+        }
+        return builder.build();
+    }
+}
@@ -52,7 +52,7 @@ public class PaymentController {
     public Uni<Response> claimPayment(@Valid PaymentClaimRequest request,
                                      @HeaderParam("Authorization") String authorization) {
         return securityService.validateJwtToken(authorization)
-                .chain(userId -> hubNotificationControllerService.claimPayment(request, userId, null))
+                .chain(userId -> hubNotificationControllerService.claimPayment(request, userId))
                 .map(response -> Response.ok(ApiResponse.success("Payment claimed successfully", response)).build())
                 .onFailure().recoverWithItem(ControllerErrorHandler::handleControllerError);
     }
@@ -63,7 +63,7 @@ public class PaymentController {
     public Uni<Response> rejectPayment(@Valid PaymentRejectRequest request,
                                       @HeaderParam("Authorization") String authorization) {
         return securityService.validateJwtToken(authorization)
-                .chain(userId -> hubNotificationControllerService.rejectPayment(request, userId, null))
+                .chain(userId -> hubNotificationControllerService.rejectPayment(request, userId))
                 .map(response -> Response.ok(ApiResponse.success("Payment rejected successfully", response)).build())
                 .onFailure().recoverWithItem(ControllerErrorHandler::handleControllerError);
     }
@@ -6,9 +6,12 @@ import jakarta.websocket.*;
 import jakarta.websocket.server.PathParam;
 import jakarta.websocket.server.ServerEndpoint;
 import org.jboss.logging.Logger;
+import org.sky.util.HotPathLog;
 import org.sky.service.websocket.WebSocketMessageHandler;
 import org.sky.service.websocket.WebSocketSessionManager;
 
+import java.util.concurrent.TimeUnit;
+
 @ServerEndpoint("/ws/payments/{sellerId}")
 @ApplicationScoped
 public class PaymentWebSocketController {
@@ -20,23 +23,21 @@ public class PaymentWebSocketController {
   WebSocketSessionManager sessionManager;
 
   private static final Logger log = Logger.getLogger(PaymentWebSocketController.class);
+  private static final HotPathLog hotLog = HotPathLog.get(PaymentWebSocketController.class);
+  private static final HotPathLog.Sampler connectedLog = hotLog.sampled(1, TimeUnit.SECONDS);
 
   @OnOpen
   public void onOpen(Session session, @PathParam("sellerId") String sellerIdParam) {
-    log.info("🔌 Attempting to open WebSocket connection");
-    log.info("🔍 Seller ID Parameter: " + sellerIdParam);
-    log.info("🔍 Full Session Details: " +
-        "Query String: " + session.getQueryString() +
+    hotLog.debug(() -> "🔍 Opening WebSocket for seller param " + sellerIdParam +
+        ". Query String: " + session.getQueryString() +
         ", Request Parameters: " + session.getRequestParameterMap());
 
     try {
       Long sellerId = Long.parseLong(sellerIdParam);
 
-      log.info("🔐 Initiating WebSocket connection for seller: " + sellerId);
-
       sessionManager.handleConnection(session, sellerIdParam)
           .subscribe().with(
-              success -> log.info("✅ WebSocket connection established for seller " + sellerId),
+              success -> connectedLog.info(() -> "✅ WebSocket connection established for seller " + sellerId),
               error -> {
                 log.error("❌ WebSocket connection failed for seller " + sellerId + ": " + error.getMessage());
                 // Log the full error stack trace
@@ -17,7 +17,7 @@ import org.sky.exception.ValidationException;
 import org.sky.service.QrService;
 import org.sky.service.security.SecurityService;
 import org.sky.service.SellerService;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
@@ -151,7 +151,7 @@ public class QrController {
     @POST
     @Path("/seller/register")
     @PermitAll
-    @WithTransaction
+    @WithSession
     @Operation(summary = "Register seller with affiliation code", description = "Register a new seller using ONLY an affiliation code (no direct registration allowed)")
     @APIResponses(value = {
         @APIResponse(responseCode = "201", description = "Seller registered successfully"),
@@ -235,6 +235,42 @@ public class QrController {
                 });
     }
 
+    @GET
+    @Path("/qr/{affiliationCode}.png")
+    @PermitAll
+    @Produces("image/png")
+    @Operation(summary = "Get QR code as PNG", description = "Returns the affiliation QR as raw image/png bytes (cacheable, supports If-None-Match)")
+    @APIResponses(value = {
+        @APIResponse(responseCode = "200", description = "QR PNG"),
+        @APIResponse(responseCode = "304", description = "Not modified"),
+        @APIResponse(responseCode = "400", description = "Bad request - invalid affiliation code")
+    })
+    public Uni<Response> getQrPng(@PathParam("affiliationCode") String affiliationCode,
+                                  @HeaderParam("If-None-Match") String ifNoneMatch) {
+        return qrService.generateQrPng(affiliationCode)
+                .map(qr -> {
+                    if (qr.etag().equals(ifNoneMatch)) {
+                        return Response.notModified().header("ETag", qr.etag()).build();
+                    }
+                    return Response.ok(qr.png(), "image/png")
+                            .header("ETag", qr.etag())
+                            .header("Cache-Control", "private, max-age=300")
+                            .header("Content-Length", qr.png().length)
+                            .build();
+                })
+                .onFailure().recoverWithItem(throwable -> {
+                    log.error("❌ Error generando QR PNG: " + throwable.getMessage());
+                    return Response.status(400)
+                            .type(MediaType.APPLICATION_JSON)
+                            .entity(new ErrorResponse(
+                                "Error generando QR: " + throwable.getMessage(),
+                                "QR_GENERATION_ERROR",
+                                java.util.Map.of("error", throwable.getMessage()),
+                                java.time.Instant.now()
+                            )).build();
+                });
+    }
+
     @POST
     @Path("/login-with-qr")
     @PermitAll
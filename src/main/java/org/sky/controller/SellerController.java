@@ -6,13 +6,13 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.annotation.security.PermitAll;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import org.sky.dto.response.ErrorResponse;
 import org.sky.exception.ValidationException;
 import org.sky.service.SellerService;
 import org.sky.service.SubscriptionService;
 import org.sky.service.security.SecurityService;
-import org.sky.repository.SellerRepository;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -35,9 +35,6 @@ public class SellerController {
     @Inject
     SubscriptionService subscriptionService;
     
-    @Inject
-    SellerRepository sellerRepository;
-    
     @Inject
     SecurityService securityService;
     
@@ -100,14 +97,16 @@ public class SellerController {
     }
     
     @GET
-    @Operation(summary = "List sellers", description = "Get list of sellers with pagination")
+    @Operation(summary = "List sellers", description = "Get list of sellers with pagination. sort: id | name | newest. Pass nextCursor as cursor for keyset paging")
     public Uni<Response> listSellers(@QueryParam("page") @DefaultValue("1") int page,
                                @QueryParam("limit") @DefaultValue("20") int limit,
                                @QueryParam("branchId") Long branchId,
-                               @QueryParam("status") @DefaultValue("all") String status) {
+                               @QueryParam("status") @DefaultValue("all") String status,
+                               @QueryParam("sort") @DefaultValue("id") String sort,
+                               @QueryParam("cursor") String cursor) {
         try {
             Long userId = getCurrentUserId();
-            return sellerService.listSellers(userId, page, limit, branchId, status)
+            return sellerService.listSellers(userId, page, limit, branchId, status, sort, cursor)
                     .map(response -> {
                         if (response.isSuccess()) {
                             return Response.ok(response).build();
@@ -127,7 +126,6 @@ public class SellerController {
     @PUT
     @Path("/{sellerId}")
     @PermitAll
-    @WithTransaction
     @Operation(summary = "Update seller", description = "Update seller information")
     public Uni<Response> updateSeller(@QueryParam("adminId") Long adminId,
                                 @PathParam("sellerId") Long sellerId,
@@ -168,7 +166,6 @@ public class SellerController {
     @DELETE
     @Path("/{sellerId}")
     @PermitAll
-    @WithTransaction
     @Operation(summary = "Delete/Pause seller", description = "Delete or pause a seller (soft delete by default)")
     public Uni<Response> deleteSeller(@QueryParam("adminId") Long adminId,
                                 @PathParam("sellerId") Long sellerId,
@@ -208,7 +205,7 @@ public class SellerController {
     @GET
     @Path("/limits")
     @PermitAll
-    @WithTransaction
+    @WithSession
     @Operation(summary = "Get seller limits", description = "Get current seller limits based on subscription plan")
     public Uni<Response> getSellerLimits(@QueryParam("adminId") Long adminId,
                                         @HeaderParam("Authorization") String authorization) {
@@ -220,25 +217,20 @@ public class SellerController {
                     log.info("✅ Autorización exitosa para adminId: " + adminId);
                     return subscriptionService.getSellerLimitsInfo(adminId);
                 })
-                .chain(limitsInfo -> {
-                    // Obtener el número actual de vendedores usando el repositorio directamente
-                    return sellerRepository.findByAdminId(adminId)
-                            .map(sellers -> {
-                                int currentSellers = sellers != null ? sellers.size() : 0;
-                                
-                                var response = java.util.Map.of(
-                                    "adminId", adminId,
-                                    "planName", limitsInfo.planName(),
-                                    "maxSellers", limitsInfo.maxSellers(),
-                                    "currentSellers", currentSellers,
-                                    "remainingSlots", Math.max(0, limitsInfo.maxSellers() - currentSellers),
-                                    "isActive", limitsInfo.isActive(),
-                                    "canAddMore", currentSellers < limitsInfo.maxSellers(),
-                                    "timestamp", java.time.LocalDateTime.now()
-                                );
-                                
-                                return Response.ok(org.sky.dto.response.ApiResponse.success("Límites de vendedores obtenidos exitosamente", response)).build();
-                            });
+                .map(limitsInfo -> {
+                    // currentSellers viene del contador por admin, sin listar vendedores
+                    var response = java.util.Map.of(
+                        "adminId", adminId,
+                        "planName", limitsInfo.planName(),
+                        "maxSellers", limitsInfo.maxSellers(),
+                        "currentSellers", limitsInfo.currentSellers(),
+                        "remainingSlots", limitsInfo.remainingSlots(),
+                        "isActive", limitsInfo.isActive(),
+                        "canAddMore", limitsInfo.canAdd(1),
+                        "timestamp", java.time.LocalDateTime.now()
+                    );
+                    
+                    return Response.ok(org.sky.dto.response.ApiResponse.success("Límites de vendedores obtenidos exitosamente", response)).build();
                 })
                 .onFailure().recoverWithItem(throwable -> {
                     log.warn("❌ Error al obtener límites: " + throwable.getMessage());
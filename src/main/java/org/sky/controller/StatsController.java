@@ -10,11 +10,15 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import org.sky.dto.response.ApiResponse;
 import org.sky.service.security.SecurityService;
 import org.sky.service.StatsService;
+import org.sky.service.ratelimit.RateLimitClass;
+import org.sky.service.ratelimit.TenantRateLimiter;
+import org.sky.service.stats.StatsTimingReport;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
@@ -38,6 +42,12 @@ public class StatsController {
     
     @Inject
     SecurityService securityService;
+
+    @Inject
+    TenantRateLimiter tenantRateLimiter;
+
+    @ConfigProperty(name = "yapechamo.stats.timing.debug-header", defaultValue = "false")
+    boolean timingHeaderEnabled;
     
     private static final Logger log = Logger.getLogger(StatsController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -665,7 +675,8 @@ public class StatsController {
         @APIResponse(responseCode = "200", description = "Analytics completos obtenidos exitosamente"),
         @APIResponse(responseCode = "401", description = "No autorizado"),
         @APIResponse(responseCode = "400", description = "Parámetros inválidos"),
-        @APIResponse(responseCode = "403", description = "Solo administradores pueden acceder")
+        @APIResponse(responseCode = "403", description = "Solo administradores pueden acceder"),
+        @APIResponse(responseCode = "429", description = "Demasiadas peticiones de este admin, ver Retry-After")
     })
     public Uni<Response> getCompleteAnalytics(@QueryParam("adminId") Long adminId,
                                                @QueryParam("startDate") String startDateStr,
@@ -690,7 +701,12 @@ public class StatsController {
                     .entity(ApiResponse.error("Formato de fecha inválido. Use yyyy-MM-dd")).build());
         }
         
+        // Tiempos por estrategia para el header de depuración X-Stats-Timing
+        StatsTimingReport timingReport = timingHeaderEnabled ? StatsTimingReport.bind() : null;
+        
         return securityService.validateJwtToken(authorization)
+                // Antes de consultar el rol: un admin que satura analytics no llega ni a la BD
+                .invoke(userId -> tenantRateLimiter.acquire(RateLimitClass.STATS_ANALYTICS, userId))
                 .chain(userId -> {
                     log.info("✅ Token válido para userId: " + userId);
                     
@@ -720,7 +736,11 @@ public class StatsController {
                 })
                 .map(analytics -> {
                     log.info("✅ Analytics completos obtenidos exitosamente");
-                    return Response.ok(ApiResponse.success("Analytics completos obtenidos exitosamente", analytics)).build();
+                    Response.ResponseBuilder response = Response.ok(ApiResponse.success("Analytics completos obtenidos exitosamente", analytics));
+                    if (timingReport != null && !timingReport.isEmpty()) {
+                        response.header(StatsTimingReport.HEADER, timingReport.headerValue());
+                    }
+                    return response.build();
                 })
                 .onFailure().recoverWithItem(throwable -> {
                     log.warn("❌ Error obteniendo analytics completos: " + throwable.getMessage());
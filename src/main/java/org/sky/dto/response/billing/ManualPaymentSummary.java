@@ -0,0 +1,25 @@
+package org.sky.dto.response.billing;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pago manual para listados: sin la imagen del comprobante (se descarga aparte por /payments/{id}/image)
+ */
+@RegisterForReflection
+public record ManualPaymentSummary(
+    Long id,
+    Long paymentCodeId,
+    Long adminId,
+    BigDecimal amountPen,
+    String yapeNumber,
+    String status,
+    Long adminReviewerId,
+    String reviewNotes,
+    LocalDateTime reviewedAt,
+    LocalDateTime createdAt,
+    String imageContentType,
+    Long imageSize
+) {}
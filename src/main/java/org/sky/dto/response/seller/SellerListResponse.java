@@ -9,5 +9,10 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 @RegisterForReflection
 public record SellerListResponse(
     List<SellerResponse> sellers,
-    PaginationInfo pagination
-) {}
+    PaginationInfo pagination,
+    String nextCursor
+) {
+    public SellerListResponse(List<SellerResponse> sellers, PaginationInfo pagination) {
+        this(sellers, pagination, null);
+    }
+}
@@ -0,0 +1,33 @@
+package org.sky.exception;
+
+import jakarta.ws.rs.core.Response;
+
+import java.util.Map;
+
+public class RateLimitedException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    protected RateLimitedException(String message, String errorCode, Map<String, Object> details, long retryAfterSeconds) {
+        super(message, errorCode, details);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public Response.Status getStatus() {
+        return Response.Status.TOO_MANY_REQUESTS;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public static RateLimitedException tooManyRequests(String endpoint, long retryAfterSeconds) {
+        return new RateLimitedException(
+            String.format("Demasiadas peticiones a %s, intenta nuevamente en %d segundos", endpoint, retryAfterSeconds),
+            "RATE_LIMITED",
+            Map.of("endpoint", endpoint, "retryAfterSeconds", retryAfterSeconds),
+            retryAfterSeconds
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package org.sky.exception;
+
+import jakarta.ws.rs.core.Response;
+
+import java.util.Map;
+
+public class UploadRejectedException extends DomainException {
+
+    private final Response.Status status;
+
+    protected UploadRejectedException(String message, String errorCode, Map<String, Object> details, Response.Status status) {
+        super(message, errorCode, details);
+        this.status = status;
+    }
+
+    @Override
+    public Response.Status getStatus() {
+        return status;
+    }
+
+    public static UploadRejectedException tooLarge(long maxBytes) {
+        return new UploadRejectedException(
+            String.format("La imagen supera el máximo permitido de %d bytes", maxBytes),
+            "UPLOAD_TOO_LARGE",
+            Map.of("maxBytes", maxBytes),
+            Response.Status.REQUEST_ENTITY_TOO_LARGE
+        );
+    }
+
+    public static UploadRejectedException budgetExhausted() {
+        return new UploadRejectedException(
+            "Demasiadas subidas en curso, intenta nuevamente en unos segundos",
+            "UPLOAD_BUDGET_EXHAUSTED",
+            Map.of(),
+            Response.Status.SERVICE_UNAVAILABLE
+        );
+    }
+
+    public static UploadRejectedException unsupportedImage() {
+        return new UploadRejectedException(
+            "El archivo no es una imagen PNG, JPEG o WEBP válida",
+            "UNSUPPORTED_IMAGE",
+            Map.of(),
+            Response.Status.UNSUPPORTED_MEDIA_TYPE
+        );
+    }
+}
@@ -19,9 +19,21 @@ public class ManualPaymentEntity extends PanacheEntityBase {
     @Column(name = "admin_id", nullable = false)
     public Long adminId;
 
+    /**
+     * Solo filas antiguas: los comprobantes nuevos viven en el BlobStore (imageBlobKey)
+     */
     @Column(name = "image_base64", columnDefinition = "TEXT")
     public String imageBase64;
 
+    @Column(name = "image_blob_key", length = 64)
+    public String imageBlobKey;
+
+    @Column(name = "image_content_type", length = 50)
+    public String imageContentType;
+
+    @Column(name = "image_size")
+    public Long imageSize;
+
     @Column(name = "amount_pen", nullable = false, precision = 10, scale = 2)
     public BigDecimal amountPen;
 
@@ -9,7 +9,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_target_created", columnList = "target_type, target_id, created_at, id"),
+    @Index(name = "idx_notifications_target_unread", columnList = "target_type, target_id, is_read")
+})
 public class NotificationEntity extends PanacheEntityBase {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
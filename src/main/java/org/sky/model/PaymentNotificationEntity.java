@@ -25,7 +25,8 @@ public class PaymentNotificationEntity extends PanacheEntityBase {
     @Column(name = "yape_code", nullable = false)
     public String yapeCode;
     
-    @Column(name = "deduplication_hash", nullable = false, unique = true)
+    // Tabla particionada por created_at: la unicidad la garantiza el trigger de V5 contra la tabla *_dedup
+    @Column(name = "deduplication_hash", nullable = false)
     public String deduplicationHash;
     
     @Column(name = "status", nullable = false)
@@ -43,6 +43,9 @@ public class UserEntityEntity extends PanacheEntityBase {
     
     @Column(name = "device_fingerprint")
     public String deviceFingerprint;
+
+    @Column(name = "logged_out_at")
+    public LocalDateTime loggedOutAt;
     
     @CreationTimestamp
     @Column(name = "created_at")
@@ -7,7 +7,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "yape_notification_audit")
+@Table(name = "yape_notification_audit", indexes = {
+    @Index(name = "idx_yape_audit_admin_created", columnList = "admin_id, created_at, id")
+})
 public class YapeNotificationAuditEntity extends PanacheEntityBase {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,7 +27,8 @@ public class YapeNotificationAuditEntity extends PanacheEntityBase {
     @Column(name = "timestamp", nullable = false)
     public Long timestamp;
     
-    @Column(name = "deduplication_hash", nullable = false, unique = true)
+    // Tabla particionada por created_at: la unicidad la garantiza el trigger de V5 contra la tabla *_dedup
+    @Column(name = "deduplication_hash", nullable = false)
     public String deduplicationHash;
     
     @Column(name = "decryption_status", nullable = false)
@@ -12,4 +12,14 @@ public class AffiliationCodeRepository implements PanacheRepository<AffiliationC
         return find("SELECT a FROM AffiliationCodeEntity a JOIN FETCH a.branch b JOIN FETCH b.admin WHERE a.affiliationCode = ?1", affiliationCode).firstResult();
     }
 
+    /**
+     * Reserva el siguiente número de bloque para el asignador de códigos (una llamada por bloque, no por código).
+     * La secuencia la crea la migración V7.
+     */
+    public Uni<Long> nextCodeBlock() {
+        return getSession()
+                .chain(session -> session.createNativeQuery("SELECT nextval('affiliation_code_block_seq')", Long.class)
+                        .getSingleResult());
+    }
+
 }
@@ -3,6 +3,7 @@ package org.sky.repository;
 import io.quarkus.hibernate.reactive.panache.PanacheRepository;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.sky.dto.response.billing.ManualPaymentSummary;
 import org.sky.model.ManualPaymentEntity;
 
 import java.time.LocalDate;
@@ -11,27 +12,35 @@ import java.util.List;
 @ApplicationScoped
 public class ManualPaymentRepository implements PanacheRepository<ManualPaymentEntity> {
 
+    private static final int MAX_LISTING = 100;
+
     public Uni<List<ManualPaymentEntity>> findByAdminId(Long adminId) {
         return find("adminId = ?1 order by createdAt desc", adminId).range(0, 100).list(); // Limited to 100 for low-resource efficiency
     }
 
-    public Uni<List<ManualPaymentEntity>> findByAdminId(Long adminId, LocalDate startDate, LocalDate endDate) {
+    // Los listados proyectan a ManualPaymentSummary: nunca arrastran la imagen del comprobante
+
+    public Uni<List<ManualPaymentSummary>> findByAdminId(Long adminId, LocalDate startDate, LocalDate endDate) {
         return find("adminId = ?1 and createdAt >= ?2 and createdAt <= ?3 order by createdAt desc", 
-                adminId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59)).list();
+                adminId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
+                .project(ManualPaymentSummary.class).range(0, MAX_LISTING - 1).list();
     }
 
-  public Uni<List<ManualPaymentEntity>> findPendingPayments(LocalDate startDate, LocalDate endDate) {
+  public Uni<List<ManualPaymentSummary>> findPendingPayments(LocalDate startDate, LocalDate endDate) {
         return find("status = 'pending' and createdAt >= ?1 and createdAt <= ?2 order by createdAt asc", 
-                startDate.atStartOfDay(), endDate.atTime(23, 59, 59)).list();
+                startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
+                .project(ManualPaymentSummary.class).range(0, MAX_LISTING - 1).list();
     }
 
-    public Uni<List<ManualPaymentEntity>> findByStatus(String status) {
-        return find("status = ?1 order by createdAt desc", status).list();
+    public Uni<List<ManualPaymentSummary>> findByStatus(String status) {
+        return find("status = ?1 order by createdAt desc", status)
+                .project(ManualPaymentSummary.class).range(0, MAX_LISTING - 1).list();
     }
 
-    public Uni<List<ManualPaymentEntity>> findByStatus(String status, LocalDate startDate, LocalDate endDate) {
+    public Uni<List<ManualPaymentSummary>> findByStatus(String status, LocalDate startDate, LocalDate endDate) {
         return find("status = ?1 and createdAt >= ?2 and createdAt <= ?3 order by createdAt desc", 
-                status, startDate.atStartOfDay(), endDate.atTime(23, 59, 59)).list();
+                status, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
+                .project(ManualPaymentSummary.class).range(0, MAX_LISTING - 1).list();
     }
 
     public Uni<Long> countPendingPayments(LocalDate startDate, LocalDate endDate) {
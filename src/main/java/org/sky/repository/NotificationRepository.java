@@ -4,6 +4,7 @@ import io.quarkus.hibernate.reactive.panache.PanacheRepository;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.sky.model.NotificationEntity;
+import org.sky.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,30 +13,43 @@ import java.util.List;
 @ApplicationScoped
 public class NotificationRepository implements PanacheRepository<NotificationEntity> {
 
-    public Uni<List<NotificationEntity>> findByTargetTypeAndUserId(NotificationEntity.TargetType targetType, Long userId,
-                                                                   Boolean unreadOnly, LocalDateTime startDate, LocalDateTime endDate) {
-        if (unreadOnly != null && unreadOnly) {
-            return find("targetType = ?1 and targetId = ?2 and isRead = false and createdAt >= ?3 and createdAt <= ?4 order by createdAt desc", 
-                targetType, userId, startDate, endDate).list();
-        } else {
-            return find("targetType = ?1 and targetId = ?2 and createdAt >= ?3 and createdAt <= ?4 order by createdAt desc", 
-                targetType, userId, startDate, endDate).list();
+    private static final List<NotificationEntity.TargetType> BOTH_ROLES =
+        List.of(NotificationEntity.TargetType.ADMIN, NotificationEntity.TargetType.SELLER);
+
+    /**
+     * Página de notificaciones ordenada por (createdAt desc, id desc).
+     * Con cursor usa keyset; sin cursor cae a OFFSET en BD por compatibilidad con el parámetro page.
+     * Trae limit + 1 filas para saber si hay página siguiente.
+     */
+    public Uni<List<NotificationEntity>> findPage(List<NotificationEntity.TargetType> targetTypes, Long userId,
+                                                  Boolean unreadOnly, LocalDateTime startDate, LocalDateTime endDate,
+                                                  KeysetCursor cursor, int offset, int limit) {
+        StringBuilder query = new StringBuilder("targetType in ?1 and targetId = ?2 and createdAt >= ?3 and createdAt <= ?4");
+        List<Object> params = new ArrayList<>(List.of(targetTypes, userId, startDate, endDate));
+        if (Boolean.TRUE.equals(unreadOnly)) {
+            query.append(" and isRead = false");
+        }
+        if (cursor != null) {
+            query.append(" and (createdAt < ?5 or (createdAt = ?5 and id < ?6))");
+            params.add(cursor.createdAt());
+            params.add(cursor.id());
         }
+        query.append(" order by createdAt desc, id desc");
+
+        int firstRow = cursor != null ? 0 : offset;
+        return find(query.toString(), params.toArray()).range(firstRow, firstRow + limit).list();
+    }
+
+    public Uni<List<NotificationEntity>> findPageForBothRoles(Long userId, Boolean unreadOnly,
+                                                              LocalDateTime startDate, LocalDateTime endDate,
+                                                              KeysetCursor cursor, int offset, int limit) {
+        return findPage(BOTH_ROLES, userId, unreadOnly, startDate, endDate, cursor, offset, limit);
     }
 
-    public Uni<List<NotificationEntity>> findByUserIdForBothRoles(Long userId, Boolean unreadOnly,
-                                                                  LocalDateTime startDate, LocalDateTime endDate) {
-        Uni<List<NotificationEntity>> adminNotifications = findByTargetTypeAndUserId(
-            NotificationEntity.TargetType.ADMIN, userId, unreadOnly, startDate, endDate);
-        Uni<List<NotificationEntity>> sellerNotifications = findByTargetTypeAndUserId(
-            NotificationEntity.TargetType.SELLER, userId, unreadOnly, startDate, endDate);
-
-        return Uni.combine().all().unis(adminNotifications, sellerNotifications)
-                .with((admin, seller) -> {
-                    List<NotificationEntity> all = new ArrayList<>();
-                    all.addAll(admin);
-                    all.addAll(seller);
-                    return all;
-                });
+    /**
+     * Conteo de no leídas; resuelto por idx_notifications_target_unread
+     */
+    public Uni<Long> countUnread(NotificationEntity.TargetType targetType, Long userId) {
+        return count("targetType = ?1 and targetId = ?2 and isRead = false", targetType, userId);
     }
-}
\ No newline at end of file
+}
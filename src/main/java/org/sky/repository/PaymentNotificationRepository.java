@@ -4,21 +4,16 @@ import io.quarkus.hibernate.reactive.panache.PanacheRepository;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.sky.model.PaymentNotificationEntity;
-import org.sky.util.DeadlockRetryService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class PaymentNotificationRepository implements PanacheRepository<PaymentNotificationEntity> {
     
-    @Inject
-    DeadlockRetryService deadlockRetryService;
-    
     /**
      * Find pending payments for seller with pagination
      */
@@ -63,37 +58,52 @@ public class PaymentNotificationRepository implements PanacheRepository<PaymentN
     }
 
     /**
-     * Update payment status
+     * Transición PENDING → CLAIMED en una sola sentencia: el primer vendedor que llega gana.
+     * Sin cargar la entidad ni reintentos; si el pago ya no está pendiente, no existe o es de otro admin
+     * no hay fila y se devuelve null.
      */
-    public Uni<PaymentNotificationEntity> updatePaymentStatus(Long paymentId, String status) {
-        return deadlockRetryService.executeWithRetry(
-            () -> updatePaymentStatusInternal(paymentId, status),
-            "updatePaymentStatus(id=" + paymentId + ", status=" + status + ")"
-        );
+    public Uni<PaymentNotificationEntity> claimIfPending(Long paymentId, Long sellerId, Long adminId) {
+        LocalDateTime now = LocalDateTime.now();
+        return getSession()
+            .chain(session -> session.createNativeQuery(
+                    "UPDATE payment_notifications SET status = 'CLAIMED', confirmed_by = ?1, confirmed_at = ?2, updated_at = ?2 " +
+                    "WHERE id = ?3 AND admin_id = ?4 AND status = 'PENDING' RETURNING *", PaymentNotificationEntity.class)
+                .setParameter(1, sellerId)
+                .setParameter(2, now)
+                .setParameter(3, paymentId)
+                .setParameter(4, adminId)
+                .getSingleResultOrNull());
     }
-    
+
     /**
-     * Implementación interna del update payment status con retry automático
+     * Transición PENDING → REJECTED en una sola sentencia, con la misma semántica que claimIfPending
      */
-    private Uni<PaymentNotificationEntity> updatePaymentStatusInternal(Long paymentId, String status) {
-        return findById(paymentId)
-            .chain(payment -> {
-                if (payment != null) {
-                    payment.status = status;
-                    
-                    // Actualizar campos específicos según el estado
-                    if ("CLAIMED".equals(status)) {
-                        payment.confirmedAt = java.time.LocalDateTime.now();
-                        // confirmedBy se puede establecer desde el servicio si es necesario
-                    } else if ("REJECTED".equals(status)) {
-                        payment.rejectedAt = java.time.LocalDateTime.now();
-                        // rejectedBy se puede establecer desde el servicio si es necesario
-                    }
-                    
-                    return persist(payment);
-                }
-                return Uni.createFrom().nullItem();
-            });
+    public Uni<PaymentNotificationEntity> rejectIfPending(Long paymentId, Long sellerId, Long adminId, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        return getSession()
+            .chain(session -> session.createNativeQuery(
+                    "UPDATE payment_notifications SET status = 'REJECTED', rejected_by = ?1, rejected_at = ?2, " +
+                    "rejection_reason = ?3, updated_at = ?2 WHERE id = ?4 AND admin_id = ?5 AND status = 'PENDING' RETURNING *",
+                    PaymentNotificationEntity.class)
+                .setParameter(1, sellerId)
+                .setParameter(2, now)
+                .setParameter(3, reason)
+                .setParameter(4, paymentId)
+                .setParameter(5, adminId)
+                .getSingleResultOrNull());
+    }
+
+    /**
+     * Estado actual sin cargar la entidad; solo se consulta cuando una transición condicional no afectó filas.
+     * Un pago de otro admin se reporta como inexistente.
+     */
+    public Uni<String> findStatusById(Long paymentId, Long adminId) {
+        return getSession()
+            .chain(session -> session.createNativeQuery(
+                    "SELECT status FROM payment_notifications WHERE id = ?1 AND admin_id = ?2", String.class)
+                .setParameter(1, paymentId)
+                .setParameter(2, adminId)
+                .getSingleResultOrNull());
     }
     
     // ==================================================================================
@@ -250,6 +260,45 @@ public class PaymentNotificationRepository implements PanacheRepository<PaymentN
         );
     }
     
+    /**
+     * Todos los pagos pendientes, para la carga inicial del índice en memoria de pendientes
+     */
+    public Uni<List<PaymentNotificationEntity>> findAllPending() {
+        return find("status = 'PENDING' ORDER BY id").list();
+    }
+
+    /**
+     * Pendientes de un admin, para corregir su parte del índice en memoria
+     */
+    public Uni<List<PaymentNotificationEntity>> findAllPendingForAdmin(Long adminId) {
+        return find("adminId = ?1 AND status = 'PENDING' ORDER BY id", adminId).list();
+    }
+
+    /**
+     * El pago si sigue pendiente; null si no existe o ya se resolvió
+     */
+    public Uni<PaymentNotificationEntity> findPendingById(Long paymentId) {
+        return find("id = ?1 AND status = 'PENDING'", paymentId).firstResult();
+    }
+
+    /**
+     * Cantidad y suma de ids de los pendientes de cada admin: basta para saber qué admins del índice en memoria
+     * difieren de la base sin cargar las entidades
+     */
+    public Uni<List<PendingDigest>> digestPendingByAdmin() {
+        return getSession()
+            .chain(session -> session.createQuery(
+                    "SELECT p.adminId, count(p.id), sum(p.id) FROM PaymentNotificationEntity p " +
+                    "WHERE p.status = 'PENDING' GROUP BY p.adminId", Object[].class)
+                .getResultList())
+            .map(rows -> rows.stream()
+                .map(row -> new PendingDigest((Long) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue()))
+                .toList());
+    }
+
+    public record PendingDigest(Long adminId, long count, long idSum) {
+    }
+
     /**
      * Find payments for admin by specific status(es)
      * Supports single status or multiple comma-separated statuses (e.g., "PENDING,CLAIMED")
@@ -1,11 +1,15 @@
 package org.sky.repository;
 
 import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.sky.exception.ValidationException;
 import org.sky.model.SellerEntity;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 import static io.smallrye.config._private.ConfigLogging.log;
@@ -22,7 +26,8 @@ public class SellerRepository implements PanacheRepository<SellerEntity> {
     }
 
     public Uni<List<SellerEntity>> findByAdminId(Long adminId) {
-        return find("SELECT s FROM SellerEntity s JOIN FETCH s.branch b WHERE b.admin.id = ?1 ORDER BY s.id", adminId).range(0, 50).list(); // Limited to 50 for low-resource efficiency
+        // Sin tope: el plan de suscripción ya limita los vendedores por admin y el despacho necesita a todos
+        return find("SELECT s FROM SellerEntity s JOIN FETCH s.branch b WHERE b.admin.id = ?1 ORDER BY s.id", adminId).list();
     }
 
   public Uni<SellerPaginationResult> findSellersByAdminWithPagination(
@@ -92,5 +97,140 @@ public class SellerRepository implements PanacheRepository<SellerEntity> {
                 );
     }
     
+    /**
+     * Página de vendedores con filtros, orden y keyset resueltos en SQL (JOIN FETCH branch, sin tope silencioso).
+     * Con cursor continúa tras la última fila vista; sin cursor usa offset. Trae limit + 1 filas para detectar hasNext.
+     */
+    public Uni<List<SellerEntity>> findSellerPage(Long adminId, Long branchId, Boolean active, SellerSort sort,
+                                                  SellerCursor cursor, int offset, int limit) {
+        StringBuilder query = new StringBuilder("SELECT s FROM SellerEntity s JOIN FETCH s.branch b WHERE b.admin.id = :adminId");
+        Parameters params = Parameters.with("adminId", adminId);
+        if (branchId != null) {
+            query.append(" AND b.id = :branchId");
+            params.and("branchId", branchId);
+        }
+        if (active != null) {
+            query.append(" AND s.isActive = :active");
+            params.and("active", active);
+        }
+        if (cursor != null) {
+            Object cursorValue = sort.parseCursorValue(cursor.value());
+            params.and("cursorId", cursor.id());
+            if (sort == SellerSort.ID) {
+                query.append(" AND ").append(sort.keysetPredicate);
+            } else if (cursorValue != null) {
+                query.append(" AND ").append(sort.keysetPredicate);
+                params.and("cursorValue", cursorValue);
+            } else {
+                query.append(" AND ").append(sort.nullKeysetPredicate);
+            }
+        }
+        query.append(" ORDER BY ").append(sort.orderBy);
+
+        int firstRow = cursor != null ? 0 : offset;
+        return find(query.toString(), params).range(firstRow, firstRow + limit).list();
+    }
+
+    public Uni<Long> countByAdminId(Long adminId) {
+        return count("branch.admin.id = ?1", adminId);
+    }
+
+    public Uni<Long> countActiveByAdminId(Long adminId) {
+        return count("branch.admin.id = ?1 and isActive = true", adminId);
+    }
+
+    public Uni<Long> countByBranchId(Long branchId) {
+        return count("branch.id = ?1", branchId);
+    }
+
+    /**
+     * Orden del listado con su predicado de keyset. sellerName y affiliationDate admiten null: esas filas van al
+     * final (NULLS LAST) ordenadas por id, y un cursor parado en una de ellas usa nullKeysetPredicate.
+     */
+    public enum SellerSort {
+        ID("s.id ASC", "s.id > :cursorId", "s.id > :cursorId"),
+        NAME("s.sellerName ASC NULLS LAST, s.id ASC",
+             "(s.sellerName > :cursorValue OR (s.sellerName = :cursorValue AND s.id > :cursorId) OR s.sellerName IS NULL)",
+             "(s.sellerName IS NULL AND s.id > :cursorId)"),
+        NEWEST("s.affiliationDate DESC NULLS LAST, s.id DESC",
+               "(s.affiliationDate < :cursorValue OR (s.affiliationDate = :cursorValue AND s.id < :cursorId) OR s.affiliationDate IS NULL)",
+               "(s.affiliationDate IS NULL AND s.id < :cursorId)");
+
+        final String orderBy;
+        final String keysetPredicate;
+        final String nullKeysetPredicate;
+
+        SellerSort(String orderBy, String keysetPredicate, String nullKeysetPredicate) {
+            this.orderBy = orderBy;
+            this.keysetPredicate = keysetPredicate;
+            this.nullKeysetPredicate = nullKeysetPredicate;
+        }
+
+        public static SellerSort from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            return switch (value.trim().toLowerCase()) {
+                case "name" -> NAME;
+                case "newest", "affiliationdate" -> NEWEST;
+                default -> ID;
+            };
+        }
+
+        /**
+         * Valor de la clave de orden para el cursor; null si la columna es null
+         */
+        public String cursorValueOf(SellerEntity seller) {
+            return switch (this) {
+                case ID -> "";
+                case NAME -> seller.sellerName;
+                case NEWEST -> seller.affiliationDate != null ? seller.affiliationDate.toString() : null;
+            };
+        }
+
+        Object parseCursorValue(String value) {
+            if (value == null) {
+                return null;
+            }
+            return switch (this) {
+                case ID -> "";
+                case NAME -> value;
+                case NEWEST -> LocalDateTime.parse(value);
+            };
+        }
+    }
+
+    /**
+     * Cursor opaco: orden + id de la última fila + valor de la clave de orden (sin valor si era null)
+     */
+    public record SellerCursor(SellerSort sort, String value, Long id) {
+
+        public String encode() {
+            String raw = value != null ? sort.name() + "|" + id + "|" + value : sort.name() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static SellerCursor of(SellerSort sort, SellerEntity seller) {
+            return new SellerCursor(sort, sort.cursorValueOf(seller), seller.id);
+        }
+
+        public static SellerCursor decode(String cursor, SellerSort expectedSort) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 3);
+                SellerSort sort = SellerSort.valueOf(parts[0]);
+                if (sort != expectedSort) {
+                    throw new IllegalArgumentException("sort mismatch");
+                }
+                return new SellerCursor(sort, parts.length > 2 ? parts[2] : null, Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw ValidationException.invalidField("cursor", cursor, "Cursor de paginación inválido");
+            }
+        }
+    }
+
     public record SellerPaginationResult(List<SellerEntity> sellers, Long totalCount) {}
 }
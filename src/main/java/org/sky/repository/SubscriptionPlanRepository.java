@@ -5,6 +5,8 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.sky.model.SubscriptionPlanEntity;
 
+import java.util.List;
+
 @ApplicationScoped
 public class SubscriptionPlanRepository implements PanacheRepository<SubscriptionPlanEntity> {
 
@@ -14,4 +16,21 @@ public class SubscriptionPlanRepository implements PanacheRepository<Subscriptio
         return find("name = ?1", name).firstResult();
     }
 
-}
\ No newline at end of file
+    public Uni<List<SubscriptionPlanEntity>> findAllOrdered() {
+        return list("order by id");
+    }
+
+    /**
+     * Huella del contenido de la tabla: cambia con cualquier alta, baja o edición de un plan.
+     * Permite comprobar si el catálogo en memoria está vigente con una sola fila de respuesta.
+     */
+    public Uni<String> catalogVersion() {
+        return getSession()
+                .chain(session -> session.createNativeQuery(
+                        "SELECT coalesce(md5(string_agg(concat_ws(':', id, name, description, price_pen, billing_cycle, " +
+                        "max_admins, max_sellers, features, is_active), '|' ORDER BY id)), 'empty') FROM subscription_plans",
+                        String.class)
+                        .getSingleResult());
+    }
+
+}
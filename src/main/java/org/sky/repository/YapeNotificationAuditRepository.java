@@ -1,21 +1,33 @@
 package org.sky.repository;
 
 import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.sky.model.YapeNotificationAuditEntity;
+import org.sky.util.KeysetCursor;
+
+import java.util.List;
 
 @ApplicationScoped
 public class YapeNotificationAuditRepository implements PanacheRepository<YapeNotificationAuditEntity> {
-    
-
 
-    public io.smallrye.mutiny.Uni<java.util.List<YapeNotificationAuditEntity>> findByAdminId(Long adminId) {
-        return find("adminId = ?1 order by createdAt desc", adminId).range(0, 100).list(); // LIMIT 100
-    }
-    
-    public io.smallrye.mutiny.Uni<java.util.List<YapeNotificationAuditEntity>> findByAdminIdWithLimit(Long adminId, int limit) {
+    public Uni<List<YapeNotificationAuditEntity>> findByAdminIdWithLimit(Long adminId, int limit) {
         return find("adminId = ?1 order by createdAt desc", adminId).range(0, Math.min(limit, 1000)).list(); // MAX 1000
     }
-    
 
+    /**
+     * Página de auditoría por admin (createdAt desc, id desc) resuelta por idx_yape_audit_admin_created.
+     * Trae limit + 1 filas para saber si hay página siguiente.
+     */
+    public Uni<List<YapeNotificationAuditEntity>> findPageByAdminId(Long adminId, KeysetCursor cursor, int offset, int limit) {
+        if (cursor != null) {
+            return find("adminId = ?1 and (createdAt < ?2 or (createdAt = ?2 and id < ?3)) order by createdAt desc, id desc",
+                    adminId, cursor.createdAt(), cursor.id())
+                .range(0, limit)
+                .list();
+        }
+        return find("adminId = ?1 order by createdAt desc, id desc", adminId)
+            .range(offset, offset + limit)
+            .list();
+    }
 }
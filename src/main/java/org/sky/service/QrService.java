@@ -14,21 +14,13 @@ import org.sky.repository.BranchRepository;
 import org.sky.repository.AffiliationCodeRepository;
 
 import java.time.LocalDateTime;
-import java.util.Random;
 import java.util.Base64;
 import java.nio.charset.StandardCharsets;
 import org.sky.dto.response.auth.SellerLoginWithAffiliationResponse;
 
-// Imports para generar imagen QR
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import org.sky.service.auth.AuthService;
-
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import org.sky.service.affiliation.AffiliationCodeAllocator;
+import org.sky.service.qr.QrImageCache;
 
 @ApplicationScoped
 public class QrService {
@@ -42,6 +34,12 @@ public class QrService {
   @Inject
   AuthService authService;
 
+  @Inject
+  QrImageCache qrImageCache;
+
+  @Inject
+  AffiliationCodeAllocator affiliationCodeAllocator;
+
 
   @WithTransaction
   public Uni<ApiResponse<AffiliationCodeResponse>> generateAffiliationCode(Long adminId,
@@ -70,10 +68,7 @@ public class QrService {
           });
     }
 
-    return branchUni.chain(branch -> {
-      // Generate affiliation code
-      String affiliationCode = generateAffiliationCodeString();
-
+    return branchUni.chain(branch -> affiliationCodeAllocator.nextCode().chain(affiliationCode -> {
       // Calculate expiration
       LocalDateTime expiresAt = null;
       if (expirationHours != null && expirationHours > 0) {
@@ -96,7 +91,7 @@ public class QrService {
             );
             return ApiResponse.success("Código de afiliación generado exitosamente", response);
           });
-    });
+    }));
   }
 
   public Uni<ApiResponse<ValidateAffiliationCodeResponse>> validateAffiliationCode(String affiliationCode) {
@@ -123,13 +118,6 @@ public class QrService {
   }
 
 
-  private String generateAffiliationCodeString() {
-    // Generar código más corto: AFF + 6 dígitos aleatorios
-    Random random = new Random();
-    int randomNumber = random.nextInt(900000) + 100000; // Genera número entre 100000 y 999999
-    return "AFF" + randomNumber;
-  }
-
   /**
    * Obtiene el adminId asociado a un código de afiliación
    */
@@ -156,6 +144,34 @@ public class QrService {
    */
   @WithTransaction
   public Uni<ApiResponse<QrBase64Response>> generateQrBase64(String affiliationCode) {
+    return findUsableCode(affiliationCode)
+        .map(code -> {
+          QrImageCache.RenderedQr qr = qrImageCache.getOrRender(buildQrPayload(code));
+
+          QrBase64Response response = new QrBase64Response(
+            code.affiliationCode,
+            Base64.getEncoder().encodeToString(qr.png()),
+            code.expiresAt != null ? code.expiresAt.toString() : null,
+            code.maxUses,
+            code.remainingUses,
+            code.branch.name,
+            code.branch.admin.businessName
+          );
+
+          return ApiResponse.success("QR generado exitosamente", response);
+        });
+  }
+
+  /**
+   * Genera el QR como bytes PNG (para servir image/png directamente)
+   */
+  @WithTransaction
+  public Uni<QrImageCache.RenderedQr> generateQrPng(String affiliationCode) {
+    return findUsableCode(affiliationCode)
+        .map(code -> qrImageCache.getOrRender(buildQrPayload(code)));
+  }
+
+  private Uni<AffiliationCodeEntity> findUsableCode(String affiliationCode) {
     return affiliationCodeRepository.findByAffiliationCode(affiliationCode)
         .chain(code -> {
           if (code == null || !code.isActive) {
@@ -170,49 +186,22 @@ public class QrService {
             return Uni.createFrom().failure(new RuntimeException("Código de afiliación expirado"));
           }
 
-          // Crear datos del QR (JSON con información del código de afiliación)
-          String qrData = String.format(
-            "{\"affiliationCode\":\"%s\",\"branchId\":%d,\"adminId\":%d,\"expiresAt\":\"%s\",\"maxUses\":%d}",
-            code.affiliationCode,
-            code.branch.id,
-            code.branch.admin.id,
-            code.expiresAt != null ? code.expiresAt.toString() : "null",
-            code.maxUses
-          );
-
-          try {
-            // Generar imagen QR real
-            String qrBase64 = generateQRCodeImage(qrData);
-            
-            QrBase64Response response = new QrBase64Response(
-              code.affiliationCode,
-              qrBase64,
-              code.expiresAt != null ? code.expiresAt.toString() : null,
-              code.maxUses,
-              code.remainingUses,
-              code.branch.name,
-              code.branch.admin.businessName
-            );
-
-            return Uni.createFrom().item(ApiResponse.success("QR generado exitosamente", response));
-          } catch (Exception e) {
-            return Uni.createFrom().failure(new RuntimeException("Error generando imagen QR: " + e.getMessage()));
-          }
+          return Uni.createFrom().item(code);
         });
   }
 
   /**
-   * Genera una imagen QR real y la convierte a Base64
+   * Datos del QR (JSON con información del código de afiliación); estable mientras el código no cambie
    */
-  private String generateQRCodeImage(String data) throws WriterException, IOException {
-    QRCodeWriter qrCodeWriter = new QRCodeWriter();
-    BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, 300, 300);
-    
-    ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
-    MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
-    byte[] pngData = pngOutputStream.toByteArray();
-    
-    return Base64.getEncoder().encodeToString(pngData);
+  private String buildQrPayload(AffiliationCodeEntity code) {
+    return String.format(
+      "{\"affiliationCode\":\"%s\",\"branchId\":%d,\"adminId\":%d,\"expiresAt\":\"%s\",\"maxUses\":%d}",
+      code.affiliationCode,
+      code.branch.id,
+      code.branch.admin.id,
+      code.expiresAt != null ? code.expiresAt.toString() : "null",
+      code.maxUses
+    );
   }
 
   /**
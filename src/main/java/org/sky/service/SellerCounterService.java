@@ -0,0 +1,132 @@
+package org.sky.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.sky.repository.SellerRepository;
+import org.sky.service.cluster.CacheInvalidationBus;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de vendedores por admin (total / activos) mantenidos en memoria.
+ * Se siembran con COUNT la primera vez y se ajustan en alta, baja y cambio de estado,
+ * así los totales de paginación no cuestan un count(*) por petición.
+ * Las demás réplicas no pueden aplicar el ajuste: descartan su contador y lo vuelven a sembrar.
+ */
+@ApplicationScoped
+public class SellerCounterService {
+
+    static final String NAMESPACE = "seller-counts";
+
+    @Inject
+    SellerRepository sellerRepository;
+
+    @Inject
+    CacheInvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "yapechamo.sellers.counter-ttl-ms", defaultValue = "600000")
+    long ttlMs;
+
+    private final Map<Long, SellerCounts> countsByAdmin = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        invalidationBus.subscribe(NAMESPACE, this::evict);
+    }
+
+    public Uni<SellerCounts> getCounts(Long adminId) {
+        SellerCounts counts = countsByAdmin.get(adminId);
+        if (counts != null && System.currentTimeMillis() - counts.seededAt < ttlMs) {
+            return Uni.createFrom().item(counts);
+        }
+        long generation = invalidationBus.generation(NAMESPACE);
+        return sellerRepository.countByAdminId(adminId)
+            .chain(total -> sellerRepository.countActiveByAdminId(adminId)
+                .map(active -> {
+                    SellerCounts seeded = new SellerCounts(total, active);
+                    if (generation == invalidationBus.generation(NAMESPACE)) {
+                        countsByAdmin.put(adminId, seeded);
+                    }
+                    return seeded;
+                }));
+    }
+
+    public void onSellerCreated(Long adminId, boolean active) {
+        SellerCounts counts = countsByAdmin.get(adminId);
+        if (counts != null) {
+            counts.total.incrementAndGet();
+            if (active) {
+                counts.active.incrementAndGet();
+            }
+        }
+        invalidationBus.publishNow(NAMESPACE, adminId);
+    }
+
+    public void onSellerDeleted(Long adminId, boolean wasActive) {
+        SellerCounts counts = countsByAdmin.get(adminId);
+        if (counts != null) {
+            decrement(counts.total);
+            if (wasActive) {
+                decrement(counts.active);
+            }
+        }
+        invalidationBus.publishNow(NAMESPACE, adminId);
+    }
+
+    public void onSellerStatusChanged(Long adminId, boolean wasActive, boolean isActive) {
+        if (wasActive == isActive) {
+            return;
+        }
+        SellerCounts counts = countsByAdmin.get(adminId);
+        if (counts != null) {
+            if (isActive) {
+                counts.active.incrementAndGet();
+            } else {
+                decrement(counts.active);
+            }
+        }
+        invalidationBus.publishNow(NAMESPACE, adminId);
+    }
+
+    private void evict(Set<String> adminIds) {
+        if (adminIds.contains(CacheInvalidationBus.ALL)) {
+            countsByAdmin.clear();
+            return;
+        }
+        adminIds.forEach(adminId -> countsByAdmin.remove(Long.valueOf(adminId)));
+    }
+
+    private static void decrement(AtomicLong counter) {
+        counter.updateAndGet(v -> v > 0 ? v - 1 : 0);
+    }
+
+    public static final class SellerCounts {
+        final AtomicLong total;
+        final AtomicLong active;
+        final long seededAt;
+
+        SellerCounts(long total, long active) {
+            this.total = new AtomicLong(total);
+            this.active = new AtomicLong(active);
+            this.seededAt = System.currentTimeMillis();
+        }
+
+        public long total() {
+            return total.get();
+        }
+
+        public long active() {
+            return active.get();
+        }
+
+        public long inactive() {
+            return Math.max(0, total.get() - active.get());
+        }
+    }
+}
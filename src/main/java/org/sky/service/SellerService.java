@@ -3,7 +3,8 @@ package org.sky.service;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import org.mindrot.jbcrypt.BCrypt;
 
 import org.sky.dto.request.seller.AffiliateSellerRequest;
@@ -19,7 +20,9 @@ import org.sky.repository.AffiliationCodeRepository;
 import org.sky.repository.BranchRepository;
 import org.sky.repository.SellerRepository;
 import org.sky.repository.UserRepository;
+import org.sky.service.cache.CacheService;
 import org.sky.exception.ValidationException;
+import org.sky.util.AfterCommit;
 import org.sky.util.jwt.JwtExtractor;
 import org.sky.util.jwt.JwtValidator;
 import org.sky.util.jwt.JwtGenerator;
@@ -53,9 +56,18 @@ public class SellerService {
     @Inject
     JwtGenerator jwtGenerator;
 
-  @WithTransaction
+    @Inject
+    CacheService cacheService;
+
+    @Inject
+    SellerCounterService sellerCounterService;
+
+    /**
+     * Los contadores en memoria se ajustan recién después del commit (AfterCommit): un rollback no los desfasa
+     */
     public Uni<ApiResponse<SellerRegistrationResponse>> affiliateSeller(Long adminId, AffiliateSellerRequest request) {
-        return affiliationCodeRepository.findByAffiliationCode(request.affiliationCode())
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> affiliationCodeRepository.findByAffiliationCode(request.affiliationCode())
                 .chain(affiliationCode -> {
                     if (affiliationCode == null || !affiliationCode.isActive) {
                         return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Código de afiliación inválido"));
@@ -65,154 +77,166 @@ public class SellerService {
                         return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Código de afiliación agotado"));
                     }
                     
-                    // Verificar límites de vendedores según el plan
-                    return sellerRepository.findByAdminId(adminId)
-                            .chain(existingSellers -> {
-                                int currentSellerCount = existingSellers.size();
+                    // Verificar límites de vendedores según el plan (entitlement + contador en memoria)
+                    return subscriptionService.getSellerLimitsInfo(adminId)
+                            .chain(limitsInfo -> {
+                                int currentSellerCount = limitsInfo.currentSellers();
                                 int newSellerCount = currentSellerCount + 1;
-
-                                return subscriptionService.checkSubscriptionLimits(adminId, newSellerCount)
-                                        .chain(withinLimits -> {
-                                            log.info("🔍 SubscriptionService.checkSubscriptionLimits() - AdminId: " + adminId + ", SellersNeeded: " + newSellerCount + ", WithinLimits: " + withinLimits);
-                                            if (!withinLimits) {
-                                                // Obtener información detallada del límite para el mensaje de error
-                                                return subscriptionService.getSellerLimitsInfo(adminId)
-                                                        .map(limitsInfo -> {
-                                                            String errorMessage = String.format(
-                                                                "Límite de vendedores excedido. Plan actual: %s (máximo %d vendedores). " +
-                                                                "Intenta agregar %d vendedores pero ya tienes %d. " +
-                                                                "Considera actualizar tu plan de suscripción.",
-                                                                limitsInfo.planName(),
-                                                                limitsInfo.maxSellers(),
-                                                                newSellerCount,
-                                                                currentSellerCount
-                                                            );
-                                                            return ApiResponse.<SellerRegistrationResponse>error(errorMessage);
-                                                        });
+                                if (!limitsInfo.canAdd(1)) {
+                                    log.info("🔍 Límite de vendedores alcanzado - AdminId: " + adminId + ", SellersNeeded: " + newSellerCount + ", Max: " + limitsInfo.maxSellers());
+                                    String errorMessage = String.format(
+                                        "Límite de vendedores excedido. Plan actual: %s (máximo %d vendedores). " +
+                                        "Intenta agregar %d vendedores pero ya tienes %d. " +
+                                        "Considera actualizar tu plan de suscripción.",
+                                        limitsInfo.planName(),
+                                        limitsInfo.maxSellers(),
+                                        newSellerCount,
+                                        currentSellerCount
+                                    );
+                                    return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error(errorMessage));
+                                }
+                                
+                                // Verificar si el teléfono ya existe
+                                return sellerRepository.findByPhone(request.phone())
+                                        .chain(existingSeller -> {
+                                            if (existingSeller != null) {
+                                                return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("El número de teléfono ya está registrado"));
                                             }
-                                            
-                                            // Verificar si el teléfono ya existe
-                                            return sellerRepository.findByPhone(request.phone())
-                                                    .chain(existingSeller -> {
-                                                        if (existingSeller != null) {
-                                                            return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("El número de teléfono ya está registrado"));
+
+                                            // Generar email automático basado en el teléfono
+                                            String autoEmail = "seller_" + request.phone().replaceAll("[^0-9]", "") + "@yapechamo.com";
+
+                                            return userRepository.findByEmail(autoEmail)
+                                                    .chain(existingUser -> {
+                                                        if (existingUser != null) {
+                                                            return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Error interno: email automático ya existe"));
                                                         }
-                                                        
-                                                        // Generar email automático basado en el teléfono
-                                                        String autoEmail = "seller_" + request.phone().replaceAll("[^0-9]", "") + "@yapechamo.com";
-                                                        
-                                                        return userRepository.findByEmail(autoEmail)
-                                        .chain(existingUser -> {
-                                            if (existingUser != null) {
-                                                return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Error interno: email automático ya existe"));
-                                            }
-                                            
-                                            return branchRepository.findById(affiliationCode.branch.id)
-                                        .chain(branch -> {
-                                            if (branch == null || !branch.admin.id.equals(adminId)) {
-                                                return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Sucursal no encontrada"));
-                                            }
-                                            
-                                            // Create user with auto-generated credentials
-                                            UserEntityEntity user = new UserEntityEntity();
-                                            user.email = autoEmail;
-                                            user.password = BCrypt.hashpw("auto_password_" + request.phone(), BCrypt.gensalt());
-                                            user.role = UserRole.SELLER;
-                                            user.isVerified = true;
-                                            
-                                            return userRepository.persist(user)
-                                                    .chain(persistedUser -> {
-                                                        // Create seller
-                                                        SellerEntity seller = new SellerEntity();
-                                                        seller.user = persistedUser;
-                                                        seller.sellerName = request.sellerName();
-                                                        seller.email = autoEmail;
-                                                        seller.phone = request.phone();
-                                                        seller.branch = branch;
-                                                        seller.affiliationCode = request.affiliationCode();
-                                                        seller.affiliationDate = java.time.LocalDateTime.now();
-                                                        
-                                                        return sellerRepository.persist(seller)
-                                                                .chain(persistedSeller -> {
-                                                                    // Update affiliation code usage
-                                                                    affiliationCode.remainingUses--;
-                                                                    return affiliationCodeRepository.persist(affiliationCode)
-                                                                            .map(updatedCode -> {
-                                                                                // Generar token JWT para el seller
-                                                                                String token = jwtGenerator.generateAccessToken(
-                                                                                    persistedUser.id,
-                                                                                    UserRole.SELLER,
-                                                                                    persistedSeller.id
-                                                                                );
-                                                                                
-                                                                                SellerRegistrationResponse response = new SellerRegistrationResponse(
-                                                                                        persistedSeller.id, persistedSeller.sellerName, 
-                                                                                        persistedSeller.email, persistedSeller.phone,
-                                                                                        persistedSeller.branch.id, persistedSeller.branch.name, 
-                                                                                        persistedSeller.isActive, persistedSeller.isOnline,
-                                                                                        persistedSeller.totalPayments, persistedSeller.totalAmount, 
-                                                                                        persistedSeller.lastPayment, persistedSeller.affiliationDate,
-                                                                                        token
-                                                                                );
-                                                                                return ApiResponse.success("Vendedor registrado exitosamente con token", response);
+
+                                                        return branchRepository.findById(affiliationCode.branch.id)
+                                                                .chain(branch -> {
+                                                                    if (branch == null || !branch.admin.id.equals(adminId)) {
+                                                                        return Uni.createFrom().item(ApiResponse.<SellerRegistrationResponse>error("Sucursal no encontrada"));
+                                                                    }
+
+                                                                    // Create user with auto-generated credentials
+                                                                    UserEntityEntity user = new UserEntityEntity();
+                                                                    user.email = autoEmail;
+                                                                    user.password = BCrypt.hashpw("auto_password_" + request.phone(), BCrypt.gensalt());
+                                                                    user.role = UserRole.SELLER;
+                                                                    user.isVerified = true;
+
+                                                                    return userRepository.persist(user)
+                                                                            .chain(persistedUser -> {
+                                                                                // Create seller
+                                                                                SellerEntity seller = new SellerEntity();
+                                                                                seller.user = persistedUser;
+                                                                                seller.sellerName = request.sellerName();
+                                                                                seller.email = autoEmail;
+                                                                                seller.phone = request.phone();
+                                                                                seller.branch = branch;
+                                                                                seller.affiliationCode = request.affiliationCode();
+                                                                                seller.affiliationDate = java.time.LocalDateTime.now();
+
+                                                                                return sellerRepository.persist(seller)
+                                                                                        .invoke(persistedSeller -> afterCommit.add(() -> sellerCounterService.onSellerCreated(adminId, true)))
+                                                                                        .chain(persistedSeller -> {
+                                                                                            // Update affiliation code usage
+                                                                                            affiliationCode.remainingUses--;
+                                                                                            return affiliationCodeRepository.persist(affiliationCode)
+                                                                                                    .map(updatedCode -> {
+                                                                                                        // Generar token JWT para el seller
+                                                                                                        String token = jwtGenerator.generateAccessToken(
+                                                                                                            persistedUser.id,
+                                                                                                            UserRole.SELLER,
+                                                                                                            persistedSeller.id
+                                                                                                        );
+
+                                                                                                        SellerRegistrationResponse response = new SellerRegistrationResponse(
+                                                                                                                persistedSeller.id, persistedSeller.sellerName,
+                                                                                                                persistedSeller.email, persistedSeller.phone,
+                                                                                                                persistedSeller.branch.id, persistedSeller.branch.name,
+                                                                                                                persistedSeller.isActive, persistedSeller.isOnline,
+                                                                                                                persistedSeller.totalPayments, persistedSeller.totalAmount,
+                                                                                                                persistedSeller.lastPayment, persistedSeller.affiliationDate,
+                                                                                                                token
+                                                                                                        );
+                                                                                                        return ApiResponse.success("Vendedor registrado exitosamente con token", response);
+                                                                                                    });
+                                                                                        });
                                                                             });
                                                                 });
                                                     });
                                         });
-                                                    });
-                                            });
-                                        });
                             });
-                });
+                }))
+                .invoke(afterCommit::run);
     }
     
-    public Uni<ApiResponse<SellerListResponse>> listSellers(Long adminId, int page, int limit, Long branchId, String status) {
-        Uni<List<SellerEntity>> sellersUni;
-        
+    /**
+     * Listado paginado en SQL: filtros de sucursal/estado, orden y keyset en la consulta.
+     * El total sale del contador por admin (SellerCounterService); con filtro de sucursal se cuenta esa sucursal.
+     */
+    @WithSession
+    public Uni<ApiResponse<SellerListResponse>> listSellers(Long adminId, int page, int limit, Long branchId,
+                                                            String status, String sort, String cursor) {
+        final int validatedLimit = (limit <= 0 || limit > 100) ? 20 : limit;
+        final int validatedPage = Math.max(page, 1);
+        final Boolean active = parseStatusFilter(status);
+        final SellerRepository.SellerSort sellerSort = SellerRepository.SellerSort.from(sort);
+        final SellerRepository.SellerCursor sellerCursor = SellerRepository.SellerCursor.decode(cursor, sellerSort);
+
+        return sellerRepository.findSellerPage(adminId, branchId, active, sellerSort, sellerCursor,
+                        (validatedPage - 1) * validatedLimit, validatedLimit)
+                .chain(rows -> countSellers(adminId, branchId, active).map(totalItems -> {
+                    boolean hasNext = rows.size() > validatedLimit;
+                    List<SellerEntity> pageRows = hasNext ? rows.subList(0, validatedLimit) : rows;
+
+                    List<SellerResponse> sellerResponses = pageRows.stream()
+                            .map(seller -> new SellerResponse(
+                                    seller.id, seller.sellerName, seller.email, seller.phone,
+                                    seller.branch.id, seller.branch.name, seller.isActive, seller.isOnline,
+                                    seller.totalPayments, seller.totalAmount, seller.lastPayment, seller.affiliationDate
+                            ))
+                            .collect(Collectors.toList());
+
+                    int totalPages = (int) Math.ceil((double) totalItems / validatedLimit);
+                    PaginationInfo pagination = new PaginationInfo(
+                            validatedPage, totalPages, totalItems, validatedLimit, hasNext, validatedPage > 1 || sellerCursor != null
+                    );
+                    String nextCursor = hasNext
+                            ? SellerRepository.SellerCursor.of(sellerSort, pageRows.get(pageRows.size() - 1)).encode()
+                            : null;
+
+                    SellerListResponse response = new SellerListResponse(sellerResponses, pagination, nextCursor);
+                    return ApiResponse.success("Vendedores obtenidos exitosamente", response);
+                }));
+    }
+
+    private Uni<Long> countSellers(Long adminId, Long branchId, Boolean active) {
         if (branchId != null) {
-            sellersUni = sellerRepository.findByBranchId(branchId);
-        } else {
-            sellersUni = sellerRepository.findByAdminId(adminId);
-        }
-        
-        return sellersUni.map(sellers -> {
-            // Filter by status
-            if (status != null && !status.equals("all")) {
-                boolean isActive = status.equals("active");
-                sellers = sellers.stream()
-                        .filter(seller -> seller.isActive.equals(isActive))
-                        .collect(Collectors.toList());
+            if (active == null) {
+                return sellerRepository.countByBranchId(branchId);
             }
-            
-            // Pagination
-            int totalItems = sellers.size();
-            int totalPages = (int) Math.ceil((double) totalItems / limit);
-            int startIndex = (page - 1) * limit;
-            int endIndex = Math.min(startIndex + limit, totalItems);
-            
-            List<SellerEntity> paginatedSellers = sellers.subList(startIndex, endIndex);
-            
-            List<SellerResponse> sellerResponses = paginatedSellers.stream()
-                    .map(seller -> new SellerResponse(
-                            seller.id, seller.sellerName, seller.email, seller.phone,
-                            seller.branch.id, seller.branch.name, seller.isActive, seller.isOnline,
-                            seller.totalPayments, seller.totalAmount, seller.lastPayment, seller.affiliationDate
-                    ))
-                    .collect(Collectors.toList());
-            
-              PaginationInfo pagination = new   PaginationInfo(
-                    page, totalPages, totalItems, limit, page < totalPages, page > 1
-            );
-            
-            SellerListResponse response = new SellerListResponse(sellerResponses, pagination);
-            
-            return ApiResponse.success("Vendedores obtenidos exitosamente", response);
-        });
+            if (active) {
+                return sellerRepository.countActiveByBranchId(branchId);
+            }
+            return sellerRepository.countByBranchId(branchId)
+                    .chain(total -> sellerRepository.countActiveByBranchId(branchId).map(activeCount -> total - activeCount));
+        }
+        return sellerCounterService.getCounts(adminId)
+                .map(counts -> active == null ? counts.total() : (active ? counts.active() : counts.inactive()));
+    }
+
+    private static Boolean parseStatusFilter(String status) {
+        if (status == null || status.equals("all")) {
+            return null;
+        }
+        return status.equals("active");
     }
     
-    @WithTransaction
     public Uni<ApiResponse<SellerResponse>> updateSeller(Long adminId, Long sellerId, String name, String phone, Boolean isActive) {
-        return sellerRepository.findById(sellerId)
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> sellerRepository.findById(sellerId)
                 .chain(seller -> {
                     if (seller == null) {
                         return Uni.createFrom().failure(
@@ -232,10 +256,14 @@ public class SellerService {
                         seller.phone = phone;
                     }
                     if (isActive != null) {
+                        boolean wasActive = Boolean.TRUE.equals(seller.isActive);
+                        afterCommit.add(() -> sellerCounterService.onSellerStatusChanged(adminId, wasActive, isActive));
                         seller.isActive = isActive;
                     }
+                    Long invalidatedUserId = isActive != null && seller.user != null ? seller.user.id : null;
                     
                     return sellerRepository.persist(seller)
+                            .call(persistedSeller -> cacheService.invalidateLoginForUser(invalidatedUserId))
                             .map(persistedSeller -> {
                                 SellerResponse response = new SellerResponse(
                                         persistedSeller.id, persistedSeller.sellerName, persistedSeller.email, persistedSeller.phone,
@@ -245,12 +273,13 @@ public class SellerService {
                                 
                                 return ApiResponse.success("Vendedor actualizado exitosamente", response);
                             });
-                });
+                }))
+                .invoke(afterCommit::run);
     }
     
-    @WithTransaction
     public Uni<ApiResponse<String>> deleteSeller(Long adminId, Long sellerId, String action, String reason) {
-        return sellerRepository.findById(sellerId)
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> sellerRepository.findById(sellerId)
                 .chain(seller -> {
                     if (seller == null) {
                         return Uni.createFrom().failure(
@@ -263,18 +292,27 @@ public class SellerService {
                         );
                     }
                     
+                    Long userId = seller.user != null ? seller.user.id : null;
+
+                    boolean wasActive = Boolean.TRUE.equals(seller.isActive);
                     if ("pause".equals(action)) {
                         seller.isActive = false;
                         return sellerRepository.persist(seller)
+                                .call(persistedSeller -> cacheService.invalidateLoginForUser(userId))
+                                .invoke(persistedSeller -> afterCommit.add(() -> sellerCounterService.onSellerStatusChanged(adminId, wasActive, false)))
                                 .map(persistedSeller -> ApiResponse.success("Vendedor dado de baja exitosamente (soft delete)"));
                     } else if ("delete".equals(action)) {
                         // Para hard delete, primero eliminamos el usuario asociado
                         if (seller.user != null) {
                             return userRepository.delete(seller.user)
                                     .chain(deletedUser -> sellerRepository.delete(seller))
+                                    .call(() -> cacheService.invalidateLoginForUser(userId))
+                                    .invoke(() -> afterCommit.add(() -> sellerCounterService.onSellerDeleted(adminId, wasActive)))
                                     .map(deletedSeller -> ApiResponse.success("Vendedor eliminado permanentemente de la base de datos"));
                         } else {
                             return sellerRepository.delete(seller)
+                                    .call(() -> cacheService.invalidateLoginForUser(userId))
+                                    .invoke(() -> afterCommit.add(() -> sellerCounterService.onSellerDeleted(adminId, wasActive)))
                                     .map(deletedSeller -> ApiResponse.success("Vendedor eliminado permanentemente de la base de datos"));
                         }
                     } else {
@@ -282,7 +320,8 @@ public class SellerService {
                             ValidationException.invalidField("action", action, "Acción inválida. Valores permitidos: 'pause' o 'delete'")
                         );
                     }
-                });
+                }))
+                .invoke(afterCommit::run);
     }
   public Uni<ApiResponse<SellerListResponse>> getSellersByAdmin(Long adminId, int page, int limit, LocalDate startDate, LocalDate endDate) {
 
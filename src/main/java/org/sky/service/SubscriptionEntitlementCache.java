@@ -0,0 +1,155 @@
+package org.sky.service;
+
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.sky.model.AdminSubscriptionEntity;
+import org.sky.repository.AdminSubscriptionRepository;
+import org.sky.service.billing.CatalogPlan;
+import org.sky.service.billing.PlanCatalog;
+import org.sky.service.cluster.CacheInvalidationBus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entitlements por admin: suscripción activa + límites del plan, en memoria.
+ * El número de vendedores no se guarda aquí, sale vivo de SellerCounterService,
+ * así el chequeo de límites al afiliar es una comparación sin ir a la base de datos.
+ * Se invalida al suscribir, cambiar, cancelar o renovar el plan (también en las demás réplicas)
+ * y cuando el catálogo de planes cambia de versión.
+ */
+@ApplicationScoped
+public class SubscriptionEntitlementCache {
+
+    static final String FREE_PLAN_NAME = "Plan Gratuito";
+    static final String NAMESPACE = "entitlements";
+    private static final int FALLBACK_MAX_SELLERS = 1;
+
+    @Inject
+    AdminSubscriptionRepository adminSubscriptionRepository;
+
+    @Inject
+    PlanCatalog planCatalog;
+
+    @Inject
+    SellerCounterService sellerCounterService;
+
+    @Inject
+    CacheInvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "yapechamo.subscriptions.entitlement-ttl-ms", defaultValue = "300000")
+    long ttlMs;
+
+    private final Map<Long, Entitlement> entitlementsByAdmin = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        invalidationBus.subscribe(NAMESPACE, this::evict);
+    }
+
+    /**
+     * Límites del plan junto con el conteo actual de vendedores
+     */
+    public Uni<SellerEntitlement> getSellerEntitlement(Long adminId) {
+        return getEntitlement(adminId)
+                .chain(entitlement -> sellerCounterService.getCounts(adminId)
+                        .map(counts -> new SellerEntitlement(entitlement, counts.total())));
+    }
+
+    public Uni<Entitlement> getEntitlement(Long adminId) {
+        Entitlement cached = entitlementsByAdmin.get(adminId);
+        if (cached != null && cached.isFresh(ttlMs) && Objects.equals(cached.catalogVersion(), planCatalog.currentVersion())) {
+            return Uni.createFrom().item(cached);
+        }
+        String catalogVersion = planCatalog.currentVersion();
+        long generation = invalidationBus.generation(NAMESPACE);
+        return load(adminId)
+                .map(loaded -> loaded.withCatalogVersion(catalogVersion))
+                .invoke(loaded -> {
+                    if (generation == invalidationBus.generation(NAMESPACE)) {
+                        entitlementsByAdmin.put(adminId, loaded);
+                    }
+                });
+    }
+
+    /**
+     * Debe correr dentro de la transacción que cambió la suscripción: el aviso sale al confirmar
+     */
+    public Uni<Void> invalidate(Long adminId) {
+        if (entitlementsByAdmin.remove(adminId) != null) {
+            Log.debug("🧹 Entitlement invalidado para adminId: " + adminId);
+        }
+        return invalidationBus.publish(NAMESPACE, adminId);
+    }
+
+    private void evict(Set<String> adminIds) {
+        if (adminIds.contains(CacheInvalidationBus.ALL)) {
+            entitlementsByAdmin.clear();
+            return;
+        }
+        adminIds.forEach(adminId -> entitlementsByAdmin.remove(Long.valueOf(adminId)));
+    }
+
+    private Uni<Entitlement> load(Long adminId) {
+        return adminSubscriptionRepository.findActiveByAdminId(adminId)
+                .chain(subscription -> {
+                    if (subscription == null) {
+                        return planCatalog.findByName(FREE_PLAN_NAME)
+                                .map(freePlan -> {
+                                    if (freePlan == null) {
+                                        Log.warn("⚠️ Plan Gratuito no encontrado, usando límite por defecto de " + FALLBACK_MAX_SELLERS + " vendedor");
+                                        return Entitlement.of(null, null, FREE_PLAN_NAME + " (Fallback)", FALLBACK_MAX_SELLERS, true, null);
+                                    }
+                                    return Entitlement.of(null, freePlan, true, null);
+                                });
+                    }
+                    return planCatalog.findById(subscription.planId)
+                            .map(plan -> Entitlement.of(subscription, plan, subscription.isActive(), subscription.endDate));
+                });
+    }
+
+    /**
+     * Foto inmutable de la suscripción y sus límites
+     */
+    public record Entitlement(Long subscriptionId, Long planId, String planName, int maxSellers,
+                              boolean active, LocalDateTime endDate, long loadedAt, String catalogVersion) {
+
+        static Entitlement of(AdminSubscriptionEntity subscription, CatalogPlan plan,
+                              boolean active, LocalDateTime endDate) {
+            if (plan == null) {
+                return of(subscription != null ? subscription.id : null, null, "Plan desconocido",
+                        FALLBACK_MAX_SELLERS, active, endDate);
+            }
+            return of(subscription != null ? subscription.id : null, plan.id(), plan.name(),
+                    plan.maxSellers(), active, endDate);
+        }
+
+        static Entitlement of(Long subscriptionId, Long planId, String planName, int maxSellers,
+                              boolean active, LocalDateTime endDate) {
+            return new Entitlement(subscriptionId, planId, planName, maxSellers, active, endDate,
+                    System.currentTimeMillis(), null);
+        }
+
+        Entitlement withCatalogVersion(String version) {
+            return new Entitlement(subscriptionId, planId, planName, maxSellers, active, endDate, loadedAt, version);
+        }
+
+        boolean isFresh(long ttlMs) {
+            // Una suscripción que vence dentro del TTL se recarga al vencer
+            if (endDate != null && !endDate.isAfter(LocalDateTime.now())) {
+                return false;
+            }
+            return System.currentTimeMillis() - loadedAt < ttlMs;
+        }
+    }
+
+    public record SellerEntitlement(Entitlement entitlement, long currentSellers) {
+    }
+}
@@ -1,5 +1,6 @@
 package org.sky.service;
 
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Uni;
@@ -8,7 +9,7 @@ import jakarta.inject.Inject;
 import org.sky.dto.response.billing.SubscriptionStatusResponse;
 import org.sky.model.AdminSubscriptionEntity;
 import org.sky.repository.AdminSubscriptionRepository;
-import org.sky.repository.SubscriptionPlanRepository;
+import org.sky.service.billing.PlanCatalog;
 
 import java.time.LocalDateTime;
 
@@ -16,11 +17,13 @@ import java.time.LocalDateTime;
 public class SubscriptionService {
 
     @Inject
-    SubscriptionPlanRepository subscriptionPlanRepository;
+    PlanCatalog planCatalog;
 
     @Inject
     AdminSubscriptionRepository adminSubscriptionRepository;
 
+    @Inject
+    SubscriptionEntitlementCache entitlementCache;
 
   @WithTransaction
     public Uni<SubscriptionStatusResponse> getSubscriptionStatus(Long adminId) {
@@ -45,16 +48,16 @@ public class SubscriptionService {
                         ));
                     }
                     
-                    return subscriptionPlanRepository.findById(subscription.planId)
+                    return planCatalog.findById(subscription.planId)
                             .map(plan -> new SubscriptionStatusResponse(
                                     subscription.id,
                                     subscription.status,
-                                    plan.name,
-                                    plan.description,
-                                    plan.pricePen.doubleValue(),
+                                    plan.name(),
+                                    plan.description(),
+                                    plan.pricePen().doubleValue(),
                                     "PEN",
-                                    plan.billingCycle,
-                                    plan.maxSellers,
+                                    plan.billingCycle(),
+                                    plan.maxSellers(),
                                     subscription.startDate,
                                     subscription.endDate,
                                     subscription.isActive(),
@@ -67,7 +70,7 @@ public class SubscriptionService {
     public Uni<SubscriptionStatusResponse> subscribeToPlan(Long adminId, Long planId) {
         Log.info("📋 SubscriptionService.subscribeToPlan() - AdminId: " + adminId + ", PlanId: " + planId);
         
-        return subscriptionPlanRepository.findById(planId)
+        return planCatalog.findById(planId)
                 .chain(plan -> {
                     if (plan == null) {
                         return Uni.createFrom().failure(new RuntimeException("Plan no encontrado"));
@@ -87,18 +90,19 @@ public class SubscriptionService {
                                 subscription.status = "active";
                                 subscription.startDate = LocalDateTime.now();
                                 // Calcular fecha de fin según el ciclo de facturación del plan
-                                subscription.endDate = calculateEndDate(plan.billingCycle);
+                                subscription.endDate = calculateEndDate(plan.billingCycle());
                                 
                                 return adminSubscriptionRepository.persist(subscription)
+                                        .call(savedSubscription -> entitlementCache.invalidate(adminId))
                                         .map(savedSubscription -> new SubscriptionStatusResponse(
                                                 savedSubscription.id,
                                                 savedSubscription.status,
-                                                plan.name,
-                                                plan.description,
-                                                plan.pricePen.doubleValue(),
+                                                plan.name(),
+                                                plan.description(),
+                                                plan.pricePen().doubleValue(),
                                                 "PEN",
-                                                plan.billingCycle,
-                                                plan.maxSellers,
+                                                plan.billingCycle(),
+                                                plan.maxSellers(),
                                                 savedSubscription.startDate,
                                                 savedSubscription.endDate,
                                                 true,
@@ -112,7 +116,7 @@ public class SubscriptionService {
     public Uni<SubscriptionStatusResponse> upgradePlan(Long adminId, Long newPlanId) {
         Log.info("⬆️ SubscriptionService.upgradePlan() - AdminId: " + adminId + ", NewPlanId: " + newPlanId);
         
-        return subscriptionPlanRepository.findById(newPlanId)
+        return planCatalog.findById(newPlanId)
                 .chain(newPlan -> {
                     if (newPlan == null) {
                         return Uni.createFrom().failure(new RuntimeException("Plan no encontrado"));
@@ -126,18 +130,19 @@ public class SubscriptionService {
                                 
                                 // Actualizar suscripción
                                 existingSubscription.planId = newPlanId;
-                                existingSubscription.endDate = calculateEndDate(newPlan.billingCycle);
+                                existingSubscription.endDate = calculateEndDate(newPlan.billingCycle());
                                 
                                 return adminSubscriptionRepository.persist(existingSubscription)
+                                        .call(updatedSubscription -> entitlementCache.invalidate(adminId))
                                         .map(updatedSubscription -> new SubscriptionStatusResponse(
                                                 updatedSubscription.id,
                                                 updatedSubscription.status,
-                                                newPlan.name,
-                                                newPlan.description,
-                                                newPlan.pricePen.doubleValue(),
+                                                newPlan.name(),
+                                                newPlan.description(),
+                                                newPlan.pricePen().doubleValue(),
                                                 "PEN",
-                                                newPlan.billingCycle,
-                                                newPlan.maxSellers,
+                                                newPlan.billingCycle(),
+                                                newPlan.maxSellers(),
                                                 updatedSubscription.startDate,
                                                 updatedSubscription.endDate,
                                                 true,
@@ -162,6 +167,7 @@ public class SubscriptionService {
                     subscription.endDate = LocalDateTime.now();
                     
                     return adminSubscriptionRepository.persist(subscription)
+                            .call(cancelledSubscription -> entitlementCache.invalidate(adminId))
                             .map(cancelledSubscription -> new SubscriptionStatusResponse(
                                     cancelledSubscription.id,
                                     cancelledSubscription.status,
@@ -183,7 +189,7 @@ public class SubscriptionService {
     public Uni<SubscriptionStatusResponse> subscribeToFreePlan(Long adminId) {
         Log.info("📋 SubscriptionService.subscribeToFreePlan() - AdminId: " + adminId);
         
-        return subscriptionPlanRepository.findByName("Plan Gratuito")
+        return planCatalog.findByName(SubscriptionEntitlementCache.FREE_PLAN_NAME)
                 .chain(freePlan -> {
                     if (freePlan == null) {
                         return Uni.createFrom().failure(new RuntimeException("Plan Gratuito no encontrado en la base de datos"));
@@ -194,16 +200,16 @@ public class SubscriptionService {
                             .chain(existingSubscription -> {
                                 if (existingSubscription != null) {
                                     // Ya tiene suscripción, retornar la existente
-                                    return subscriptionPlanRepository.findById(existingSubscription.planId)
+                                    return planCatalog.findById(existingSubscription.planId)
                                             .map(plan -> new SubscriptionStatusResponse(
                                                     existingSubscription.id,
                                                     existingSubscription.status,
-                                                    plan.name,
-                                                    plan.description,
-                                                    plan.pricePen.doubleValue(),
+                                                    plan.name(),
+                                                    plan.description(),
+                                                    plan.pricePen().doubleValue(),
                                                     "PEN",
-                                                    plan.billingCycle,
-                                                    plan.maxSellers,
+                                                    plan.billingCycle(),
+                                                    plan.maxSellers(),
                                                     existingSubscription.startDate,
                                                     existingSubscription.endDate,
                                                     existingSubscription.isActive(),
@@ -214,21 +220,22 @@ public class SubscriptionService {
                                 // Crear nueva suscripción gratuita
                                 AdminSubscriptionEntity subscription = new AdminSubscriptionEntity();
                                 subscription.adminId = adminId;
-                                subscription.planId = freePlan.id;
+                                subscription.planId = freePlan.id();
                                 subscription.status = "active";
                                 subscription.startDate = LocalDateTime.now();
                                 subscription.endDate = null; // Plan gratuito sin expiración
                                 
                                 return adminSubscriptionRepository.persist(subscription)
+                                        .call(savedSubscription -> entitlementCache.invalidate(adminId))
                                         .map(savedSubscription -> new SubscriptionStatusResponse(
                                                 savedSubscription.id,
                                                 savedSubscription.status,
-                                                freePlan.name,
-                                                freePlan.description,
-                                                freePlan.pricePen.doubleValue(),
+                                                freePlan.name(),
+                                                freePlan.description(),
+                                                freePlan.pricePen().doubleValue(),
                                                 "PEN",
-                                                freePlan.billingCycle,
-                                                freePlan.maxSellers,
+                                                freePlan.billingCycle(),
+                                                freePlan.maxSellers(),
                                                 savedSubscription.startDate,
                                                 savedSubscription.endDate,
                                                 true,
@@ -238,57 +245,13 @@ public class SubscriptionService {
                 });
     }
 
-    @WithTransaction
-    public Uni<Boolean> checkSubscriptionLimits(Long adminId, int sellersNeeded) {
-        Log.info("🔍 SubscriptionService.checkSubscriptionLimits() - AdminId: " + adminId + ", SellersNeeded: " + sellersNeeded);
-        
-        return adminSubscriptionRepository.findActiveByAdminId(adminId)
-                .chain(subscription -> {
-                    if (subscription == null) {
-                        // Buscar plan gratuito en la base de datos
-                        return subscriptionPlanRepository.findByName("Plan Gratuito")
-                                .map(freePlan -> {
-                                    if (freePlan == null) {
-                                        // Fallback: si no existe el plan gratuito, usar límite de 1
-                                        Log.warn("⚠️ Plan Gratuito no encontrado, usando límite por defecto de 1 vendedor");
-                                        return sellersNeeded <= 1;
-                                    }
-                                    Log.info("📋 Usando Plan Gratuito - Límite: " + freePlan.maxSellers + ", Necesarios: " + sellersNeeded);
-                                    return sellersNeeded <= freePlan.maxSellers;
-                                });
-                    }
-                    
-                    return subscriptionPlanRepository.findById(subscription.planId)
-                            .map(plan -> {
-                                Log.info("📋 Usando Plan: " + plan.name + " - Límite: " + plan.maxSellers + ", Necesarios: " + sellersNeeded);
-                                return sellersNeeded <= plan.maxSellers;
-                            });
-                });
-    }
-
     /**
      * Obtiene información detallada sobre los límites de vendedores para un admin
      */
-    @WithTransaction
+    @WithSession
     public Uni<SellerLimitsInfo> getSellerLimitsInfo(Long adminId) {
-        Log.info("📊 SubscriptionService.getSellerLimitsInfo() - AdminId: " + adminId);
-        
-        return adminSubscriptionRepository.findActiveByAdminId(adminId)
-                .chain(subscription -> {
-                    if (subscription == null) {
-                        // Buscar plan gratuito
-                        return subscriptionPlanRepository.findByName("Plan Gratuito")
-                                .map(freePlan -> {
-                                    if (freePlan == null) {
-                                        return new SellerLimitsInfo(1, 0, "Plan Gratuito (Fallback)", true);
-                                    }
-                                    return new SellerLimitsInfo(freePlan.maxSellers, 0, freePlan.name, true);
-                                });
-                    }
-                    
-                    return subscriptionPlanRepository.findById(subscription.planId)
-                            .map(plan -> new SellerLimitsInfo(plan.maxSellers, 0, plan.name, subscription.isActive()));
-                });
+        return entitlementCache.getSellerEntitlement(adminId)
+                .map(SellerLimitsInfo::from);
     }
 
     /**
@@ -299,7 +262,21 @@ public class SubscriptionService {
         int currentSellers,
         String planName,
         boolean isActive
-    ) {}
+    ) {
+        static SellerLimitsInfo from(SubscriptionEntitlementCache.SellerEntitlement sellerEntitlement) {
+            SubscriptionEntitlementCache.Entitlement entitlement = sellerEntitlement.entitlement();
+            return new SellerLimitsInfo(entitlement.maxSellers(), (int) sellerEntitlement.currentSellers(),
+                    entitlement.planName(), entitlement.active());
+        }
+
+        public boolean canAdd(int sellersToAdd) {
+            return currentSellers + sellersToAdd <= maxSellers;
+        }
+
+        public int remainingSlots() {
+            return Math.max(0, maxSellers - currentSellers);
+        }
+    }
 
     /**
      * Calcula la fecha de fin de la suscripción según el ciclo de facturación
@@ -329,21 +306,22 @@ public class SubscriptionService {
                         return Uni.createFrom().failure(new RuntimeException("No tienes una suscripción activa para renovar"));
                     }
                     
-                    return subscriptionPlanRepository.findById(subscription.planId)
+                    return planCatalog.findById(subscription.planId)
                             .chain(plan -> {
                                 // Extender la fecha de fin según el ciclo de facturación
-                                subscription.endDate = calculateEndDate(plan.billingCycle);
+                                subscription.endDate = calculateEndDate(plan.billingCycle());
                                 
                                 return adminSubscriptionRepository.persist(subscription)
+                                        .call(renewedSubscription -> entitlementCache.invalidate(adminId))
                                         .map(renewedSubscription -> new SubscriptionStatusResponse(
                                                 renewedSubscription.id,
                                                 renewedSubscription.status,
-                                                plan.name,
-                                                plan.description,
-                                                plan.pricePen.doubleValue(),
+                                                plan.name(),
+                                                plan.description(),
+                                                plan.pricePen().doubleValue(),
                                                 "PEN",
-                                                plan.billingCycle,
-                                                plan.maxSellers,
+                                                plan.billingCycle(),
+                                                plan.maxSellers(),
                                                 renewedSubscription.startDate,
                                                 renewedSubscription.endDate,
                                                 true,
@@ -0,0 +1,206 @@
+package org.sky.service.admission;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.logging.Logger;
+import org.sky.util.HotPathLog;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Control de admisión del contenedor (0.8 CPU, pool de 20 conexiones): un único límite de peticiones en vuelo
+ * que se adapta a la latencia observada (GradientLimit), repartido por prioridad.
+ * CRITICAL entra siempre pero cuenta en vuelo, STANDARD entra hasta el límite y BEST_EFFORT solo hasta
+ * best-effort-share del límite, así bajo un pico las estadísticas se rechazan antes de pedir conexión a la BD
+ * y dejan sitio a la ingesta de pagos.
+ * <p>
+ * Solo las peticiones CRITICAL y STANDARD alimentan el gradiente: las estadísticas tardan por su propio cálculo,
+ * y su efecto sobre la BD ya se ve en la latencia del resto.
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+    private static final Logger log = Logger.getLogger(AdmissionController.class);
+    private static final HotPathLog.Sampler shedLog = HotPathLog.get(AdmissionController.class).sampled(10, TimeUnit.SECONDS);
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "yapechamo.admission.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.admission.initial-limit", defaultValue = "20")
+    int initialLimit;
+
+    @ConfigProperty(name = "yapechamo.admission.min-limit", defaultValue = "4")
+    int minLimit;
+
+    @ConfigProperty(name = "yapechamo.admission.max-limit", defaultValue = "64")
+    int maxLimit;
+
+    /** Fracción del límite que pueden ocupar las peticiones BEST_EFFORT */
+    @ConfigProperty(name = "yapechamo.admission.best-effort-share", defaultValue = "0.5")
+    double bestEffortShare;
+
+    /** Cuánto puede subir la latencia sobre su promedio largo antes de recortar el límite */
+    @ConfigProperty(name = "yapechamo.admission.rtt-tolerance", defaultValue = "1.5")
+    double rttTolerance;
+
+    @ConfigProperty(name = "yapechamo.admission.smoothing", defaultValue = "0.2")
+    double smoothing;
+
+    /** Muestras que pesa el promedio largo de latencia */
+    @ConfigProperty(name = "yapechamo.admission.long-window", defaultValue = "600")
+    int longWindow;
+
+    @ConfigProperty(name = "yapechamo.admission.retry-after-seconds", defaultValue = "2")
+    int retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> admitted = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+    private volatile GradientLimit limit;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            log.info("🚦 Control de admisión deshabilitado");
+            return;
+        }
+        init();
+        registerMetrics();
+        log.infof("🚦 Control de admisión activo (límite inicial %d, rango %d-%d, best-effort %.0f%%)",
+                initialLimit, minLimit, maxLimit, bestEffortShare * 100);
+    }
+
+    void init() {
+        limit = new GradientLimit(initialLimit, minLimit, maxLimit, smoothing, rttTolerance, longWindow);
+    }
+
+    public boolean isEnabled() {
+        return limit != null;
+    }
+
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public int limit() {
+        GradientLimit current = limit;
+        return current != null ? current.limit() : 0;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return el permiso a liberar al terminar la petición, o null si la petición se descarta
+     */
+    public Permit tryAcquire(RequestPriority priority) {
+        GradientLimit current = limit;
+        if (current == null) {
+            return null;
+        }
+        int cap = capacity(priority, current.limit());
+        int started = inFlight.incrementAndGet();
+        if (started > cap) {
+            inFlight.decrementAndGet();
+            count(rejected, priority);
+            shedLog.warn(() -> "🚦 Petición " + priority.tag() + " descartada por carga (en vuelo " + (started - 1)
+                    + ", límite " + current.limit() + ")");
+            return null;
+        }
+        count(admitted, priority);
+        return new Permit(priority, started, System.nanoTime());
+    }
+
+    private int capacity(RequestPriority priority, int currentLimit) {
+        return switch (priority) {
+            case CRITICAL -> Integer.MAX_VALUE;
+            case STANDARD -> currentLimit;
+            case BEST_EFFORT -> Math.max(1, (int) (currentLimit * bestEffortShare));
+        };
+    }
+
+    private void count(Map<RequestPriority, Counter> counters, RequestPriority priority) {
+        Counter counter = counters.get(priority);
+        if (counter != null) {
+            counter.inc();
+        }
+    }
+
+    private void registerMetrics() {
+        registry.gauge(Metadata.builder()
+                        .withName("admission.limit")
+                        .withDescription("Límite adaptativo de peticiones en vuelo")
+                        .build(),
+                this, AdmissionController::limit);
+        registry.gauge(Metadata.builder()
+                        .withName("admission.in_flight")
+                        .withDescription("Peticiones admitidas que aún no terminan")
+                        .build(),
+                this, AdmissionController::inFlight);
+        registry.gauge(Metadata.builder()
+                        .withName("admission.rtt.long")
+                        .withDescription("Promedio largo de latencia con el que se compara cada muestra")
+                        .withUnit(MetricUnits.MILLISECONDS)
+                        .build(),
+                this, controller -> controller.limit.longRttMillis());
+        registry.gauge(Metadata.builder()
+                        .withName("admission.rtt.short")
+                        .withDescription("Latencia de la última muestra")
+                        .withUnit(MetricUnits.MILLISECONDS)
+                        .build(),
+                this, controller -> controller.limit.shortRttMillis());
+        for (RequestPriority priority : RequestPriority.values()) {
+            Tag tag = new Tag("priority", priority.tag());
+            admitted.put(priority, registry.counter(Metadata.builder()
+                    .withName("admission.admitted")
+                    .withDescription("Peticiones admitidas por prioridad")
+                    .build(), tag));
+            rejected.put(priority, registry.counter(Metadata.builder()
+                    .withName("admission.rejected")
+                    .withDescription("Peticiones descartadas con 503 por prioridad")
+                    .build(), tag));
+        }
+    }
+
+    public final class Permit {
+        private final RequestPriority priority;
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(RequestPriority priority, int inFlightAtStart, long startNanos) {
+            this.priority = priority;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param dropped true si la conexión se cerró antes de responder
+         */
+        public void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            GradientLimit current = limit;
+            if (current != null && priority != RequestPriority.BEST_EFFORT) {
+                current.onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
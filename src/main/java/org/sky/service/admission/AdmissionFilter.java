@@ -0,0 +1,44 @@
+package org.sky.service.admission;
+
+import io.vertx.ext.web.RoutingContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.sky.dto.response.ErrorResponse;
+
+import java.util.Map;
+
+/**
+ * Aplica el control de admisión antes de resolver el recurso REST: una petición descartada no llega a pedir
+ * conexión a la BD ni a ocupar el event loop con la deserialización del cuerpo.
+ * El permiso se libera al terminar la respuesta (o al cortarse la conexión), pase lo que pase en el recurso.
+ */
+public class AdmissionFilter {
+
+    @Inject
+    AdmissionController admissionController;
+
+    @ServerRequestFilter(preMatching = true)
+    public Response admit(RoutingContext routingContext) {
+        if (!admissionController.isEnabled()) {
+            return null;
+        }
+        RequestPriority priority = RequestPriority.of(routingContext.request().method().name(), routingContext.normalizedPath());
+        AdmissionController.Permit permit = admissionController.tryAcquire(priority);
+        if (permit == null) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, admissionController.retryAfterSeconds())
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse(
+                            "El servicio está saturado, intenta nuevamente en unos segundos",
+                            "OVERLOADED",
+                            Map.of("priority", priority.tag(), "retryAfterSeconds", admissionController.retryAfterSeconds()),
+                            null))
+                    .build();
+        }
+        routingContext.addEndHandler(result -> permit.release(result.failed()));
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package org.sky.service.admission;
+
+/**
+ * Límite de concurrencia adaptativo por gradiente de latencia (variante de Gradient2).
+ * Compara la latencia de cada muestra con un promedio largo: mientras no sube el límite crece de a sqrt(límite),
+ * y cuando la latencia corta supera a la larga el límite baja en proporción (como mucho a la mitad por muestra).
+ * Si no hay presión (menos de la mitad del límite en vuelo) no crece, para no inflarse mientras la app está ociosa.
+ * Una muestra descartada (el cliente cortó antes de la respuesta) recorta el límite un 10%.
+ */
+final class GradientLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance, int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: min=" + minLimit + " max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = Math.max(1, longWindow);
+        this.limit = clamp(initialLimit);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    synchronized double longRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+
+    synchronized double shortRttMillis() {
+        return shortRttNanos / 1_000_000.0;
+    }
+
+    /**
+     * @param inFlight peticiones en vuelo cuando empezó la muestra
+     * @return el límite resultante
+     */
+    synchronized int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * DROP_BACKOFF);
+            return limit();
+        }
+        double rtt = Math.max(1, rttNanos);
+        shortRttNanos = rtt;
+        if (longRttNanos == 0) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) / longWindow;
+        }
+        // Pasado un pico el promedio largo queda alto y el gradiente nunca bajaría; se lo acerca a la latencia actual
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inFlight < limit / 2) {
+            return limit();
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + target * smoothing);
+        return limit();
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,35 @@
+package org.sky.service.admission;
+
+/**
+ * Clase de prioridad de una petición HTTP para el control de admisión.
+ * CRITICAL: entrada de pagos Yape y claim/reject de vendedores, nunca se rechaza por carga.
+ * BEST_EFFORT: estadísticas y facturación, lo primero que se descarta cuando la latencia sube.
+ */
+public enum RequestPriority {
+    CRITICAL("critical"),
+    STANDARD("standard"),
+    BEST_EFFORT("best_effort");
+
+    private final String tag;
+
+    RequestPriority(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static RequestPriority of(String method, String path) {
+        if ("POST".equals(method) && (path.equals("/api/notifications/yape-notifications")
+                || path.equals("/api/payments/claim")
+                || path.equals("/api/payments/reject"))) {
+            return CRITICAL;
+        }
+        if (path.startsWith("/api/stats/") || path.startsWith("/api/billing/") || path.equals("/api/billing")
+                || path.startsWith("/api/admin/billing")) {
+            return BEST_EFFORT;
+        }
+        return STANDARD;
+    }
+}
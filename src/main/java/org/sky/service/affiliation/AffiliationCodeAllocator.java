@@ -0,0 +1,191 @@
+package org.sky.service.affiliation;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.repository.AffiliationCodeRepository;
+import org.sky.util.BackgroundTaskRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asignador de códigos de afiliación sin colisiones y sin locks.
+ * Reserva bloques de la secuencia affiliation_code_block_seq, los reparte desde memoria con CAS
+ * y los pasa por una permutación biyectiva: emitir un código no requiere comprobar unicidad en BD.
+ */
+@ApplicationScoped
+public class AffiliationCodeAllocator {
+
+    private static final Logger log = Logger.getLogger(AffiliationCodeAllocator.class);
+
+    static final String PREFIX = "AFF";
+    // Crockford base32 (sin I, L, O, U) para evitar confusiones al dictar el código
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    static final int CODE_CHARS = 7;
+    private static final int DOMAIN_BITS = CODE_CHARS * 5;
+
+    @Inject
+    AffiliationCodeRepository affiliationCodeRepository;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @ConfigProperty(name = "yapechamo.affiliation.block-size", defaultValue = "500")
+    int blockSize;
+
+    @ConfigProperty(name = "yapechamo.affiliation.refill-threshold", defaultValue = "100")
+    int refillThreshold;
+
+    @ConfigProperty(name = "yapechamo.affiliation.code-key", defaultValue = "yapechamo-affiliation-codes")
+    String codeKey;
+
+    private CodePermutation permutation;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private final AtomicReference<Block> spare = new AtomicReference<>(null);
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+    @PostConstruct
+    void init() {
+        permutation = new CodePermutation(DOMAIN_BITS, deriveKey(codeKey));
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        backgroundTaskRunner.run("affiliation-code-prefetch", this::refill);
+    }
+
+    /**
+     * Siguiente código único. Camino rápido: CAS sobre el bloque en memoria, sin I/O.
+     */
+    public Uni<String> nextCode() {
+        Long value = tryTake();
+        if (value != null) {
+            return Uni.createFrom().item(format(value));
+        }
+        // Pool agotado (arranque o ráfaga): reservar un bloque en línea y reintentar
+        return reserveBlock()
+            .map(block -> {
+                installSpare(block);
+                Long next = tryTake();
+                if (next == null) {
+                    throw new IllegalStateException("No se pudo reservar un bloque de códigos de afiliación");
+                }
+                return format(next);
+            });
+    }
+
+    public long available() {
+        Block block = current.get();
+        Block extra = spare.get();
+        return block.remaining() + (extra != null ? extra.remaining() : 0);
+    }
+
+    private Long tryTake() {
+        while (true) {
+            Block block = current.get();
+            long value = block.take();
+            if (value >= 0) {
+                if (block.remaining() + (spare.get() != null ? blockSize : 0) <= refillThreshold) {
+                    scheduleRefill();
+                }
+                return value;
+            }
+            Block next = spare.getAndSet(null);
+            if (next == null) {
+                scheduleRefill();
+                return null;
+            }
+            current.compareAndSet(block, next);
+        }
+    }
+
+    private void installSpare(Block block) {
+        if (!spare.compareAndSet(null, block)) {
+            // Ya había repuesto: el bloque actual se reemplaza si está agotado, si no se descarta (huecos permitidos)
+            Block exhausted = current.get();
+            if (exhausted.remaining() == 0) {
+                current.compareAndSet(exhausted, block);
+            }
+        }
+    }
+
+    private void scheduleRefill() {
+        if (spare.get() == null && refilling.compareAndSet(false, true)) {
+            backgroundTaskRunner.run("affiliation-code-refill", this::refill);
+        }
+    }
+
+    private Uni<Void> refill() {
+        refilling.set(true);
+        return Panache.withSession(this::reserveBlock)
+            .invoke(this::installSpare)
+            .invoke(block -> log.debugf("🎟️ Bloque de códigos reservado: [%d, %d)", block.start, block.end))
+            .replaceWithVoid()
+            .eventually(() -> refilling.set(false));
+    }
+
+    private Uni<Block> reserveBlock() {
+        return affiliationCodeRepository.nextCodeBlock()
+            .map(blockNumber -> {
+                long start = blockNumber * blockSize;
+                long end = Math.min(start + blockSize, permutation.domainSize());
+                if (start >= permutation.domainSize()) {
+                    throw new IllegalStateException("Espacio de códigos de afiliación agotado");
+                }
+                return new Block(start, end);
+            });
+    }
+
+    String format(long sequenceValue) {
+        long scrambled = permutation.permute(sequenceValue);
+        char[] chars = new char[CODE_CHARS];
+        for (int i = CODE_CHARS - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (scrambled & 31)];
+            scrambled >>>= 5;
+        }
+        return PREFIX + new String(chars);
+    }
+
+    private static long deriveKey(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        final long start;
+        final long end;
+        private final AtomicLong next;
+
+        Block(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(start);
+        }
+
+        long take() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+
+        long remaining() {
+            return Math.max(0, end - next.get());
+        }
+    }
+}
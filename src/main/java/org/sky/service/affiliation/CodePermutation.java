@@ -0,0 +1,70 @@
+package org.sky.service.affiliation;
+
+/**
+ * Permutación biyectiva sobre [0, 2^domainBits): red Feistel de 4 rondas con cycle-walking.
+ * Valores consecutivos de la secuencia producen códigos dispersos y no adivinables,
+ * y al ser biyectiva dos valores distintos nunca colisionan.
+ */
+public final class CodePermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final int domainBits;
+    private final int halfBits;
+    private final long halfMask;
+    private final long domainSize;
+    private final long[] roundKeys;
+
+    public CodePermutation(int domainBits, long key) {
+        if (domainBits < 2 || domainBits > 62) {
+            throw new IllegalArgumentException("domainBits fuera de rango: " + domainBits);
+        }
+        this.domainBits = domainBits;
+        this.halfBits = (domainBits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.domainSize = 1L << domainBits;
+        this.roundKeys = new long[ROUNDS];
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state = splitMix(state + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = state;
+        }
+    }
+
+    public long domainSize() {
+        return domainSize;
+    }
+
+    public int domainBits() {
+        return domainBits;
+    }
+
+    public long permute(long value) {
+        if (value < 0 || value >= domainSize) {
+            throw new IllegalArgumentException("Valor fuera del dominio: " + value);
+        }
+        // La red trabaja sobre 2*halfBits bits; si el resultado cae fuera del dominio se vuelve a cifrar
+        long result = feistel(value);
+        while (result >= domainSize) {
+            result = feistel(result);
+        }
+        return result;
+    }
+
+    private long feistel(long value) {
+        long left = (value >>> halfBits) & halfMask;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (splitMix(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static long splitMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -9,6 +9,7 @@ import org.jboss.logging.Logger;
 import org.sky.dto.response.stats.*;
 import org.sky.model.PaymentNotificationEntity;
 import org.sky.repository.PaymentNotificationRepository;
+import org.sky.util.HotPathLog;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -23,6 +24,7 @@ import java.util.Map;
 public class PaymentAnalyticsService {
     
     private static final Logger log = Logger.getLogger(PaymentAnalyticsService.class);
+    private static final HotPathLog hotLog = HotPathLog.get(PaymentAnalyticsService.class);
     
     @Inject
     PaymentNotificationRepository paymentNotificationRepository;
@@ -32,26 +34,17 @@ public class PaymentAnalyticsService {
      */
     @WithSession
     public Uni<PaymentMetrics> calculatePaymentMetrics(Long adminId, LocalDate startDate, LocalDate endDate) {
-        log.info("📊 Calculando métricas de pagos para adminId: " + adminId);
+        hotLog.debug(() -> "📊 Calculando métricas de pagos para adminId: " + adminId);
         
         return paymentNotificationRepository.findPaymentsForStatsByAdminId(
                 adminId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
             .map(payments -> {
-                // DEBUG: Verificar qué status tienen las transacciones
-                Map<String, Long> statusCount = payments.stream()
-                    .collect(java.util.stream.Collectors.groupingBy(
-                        p -> p.status != null ? p.status : "NULL", 
-                        java.util.stream.Collectors.counting()
-                    ));
-                log.info("🔍 Status de transacciones encontradas: " + statusCount);
-                
-                // DEBUG: Verificar montos por status
-                Map<String, Double> statusAmounts = payments.stream()
+                hotLog.debugAggregate("🔍 Status de transacciones encontradas", () -> countByStatus(payments));
+                hotLog.debugAggregate("💰 Montos por status", () -> payments.stream()
                     .collect(java.util.stream.Collectors.groupingBy(
                         p -> p.status != null ? p.status : "NULL",
                         java.util.stream.Collectors.summingDouble(p -> p.amount != null ? p.amount : 0.0)
-                    ));
-                log.info("💰 Montos por status: " + statusAmounts);
+                    )));
                 
                 double totalSales = calculateTotalSales(payments);
                 long totalTransactions = payments.size();
@@ -62,8 +55,8 @@ public class PaymentAnalyticsService {
                 double allSales = payments.stream().mapToDouble(p -> p.amount == null ? 0.0 : p.amount.doubleValue()).sum();
 
                 // Log detallado para depuración: muestra por qué totalSales puede ser 0
-                log.infof("🔎 PaymentAnalytics: fetched=%d, confirmed=%d, pending=%d, rejected=%d, totalSales=%.2f, allSales=%.2f",
-                    totalTransactions, confirmedTransactions, pendingTransactions, rejectedTransactions, totalSales, allSales);
+                hotLog.debug(() -> String.format("🔎 PaymentAnalytics: fetched=%d, confirmed=%d, pending=%d, rejected=%d, totalSales=%.2f, allSales=%.2f",
+                    totalTransactions, confirmedTransactions, pendingTransactions, rejectedTransactions, totalSales, allSales));
 
                 return new PaymentMetrics(
                     totalSales,
@@ -82,18 +75,12 @@ public class PaymentAnalyticsService {
      */
     @WithSession
     public Uni<PaymentMetricsWithData> calculatePaymentMetricsWithData(Long adminId, LocalDate startDate, LocalDate endDate) {
-        log.info("📊 Calculando métricas de pagos con datos para adminId: " + adminId);
+        hotLog.debug(() -> "📊 Calculando métricas de pagos con datos para adminId: " + adminId);
         
         return paymentNotificationRepository.findPaymentsForStatsByAdminId(
                 adminId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
             .map(payments -> {
-                // DEBUG: Verificar qué status tienen las transacciones
-                Map<String, Long> statusCount = payments.stream()
-                    .collect(java.util.stream.Collectors.groupingBy(
-                        p -> p.status != null ? p.status : "NULL", 
-                        java.util.stream.Collectors.counting()
-                    ));
-                log.info("🔍 Status de transacciones encontradas: " + statusCount);
+                hotLog.debugAggregate("🔍 Status de transacciones encontradas", () -> countByStatus(payments));
                 
                 double totalSales = calculateTotalSales(payments);
                 long totalTransactions = payments.size();
@@ -116,6 +103,14 @@ public class PaymentAnalyticsService {
             });
     }
     
+    private static Map<String, Long> countByStatus(List<PaymentNotificationEntity> payments) {
+        return payments.stream()
+            .collect(java.util.stream.Collectors.groupingBy(
+                p -> p.status != null ? p.status : "NULL",
+                java.util.stream.Collectors.counting()
+            ));
+    }
+
     /**
      * Genera reporte de transparencia de pagos
      */
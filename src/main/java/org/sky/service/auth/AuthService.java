@@ -1,5 +1,6 @@
 package org.sky.service.auth;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -26,12 +27,14 @@ import org.sky.repository.SellerRepository;
 import org.sky.repository.UserRepository;
 import org.sky.service.SubscriptionService;
 import org.sky.service.cache.CacheService;
+import org.sky.service.cache.LoginSnapshot;
 import org.jboss.logging.Logger;
 
 import org.sky.util.jwt.JwtExtractor;
 import org.sky.util.jwt.JwtGenerator;
 import org.sky.util.jwt.JwtValidator;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @ApplicationScoped
@@ -76,6 +79,9 @@ public class AuthService {
     @Inject
     LoginResponseBuilder loginResponseBuilder;
 
+    @Inject
+    LastLoginWriteBehind lastLoginWriteBehind;
+
   public AuthService(JwtGenerator jwtGenerator, JwtValidator jwtValidator, JwtExtractor jwtExtractor) {
     this.jwtGenerator = jwtGenerator;
     this.jwtValidator = jwtValidator;
@@ -142,16 +148,16 @@ public class AuthService {
                         })));
     }
     
-    @WithTransaction
+    /**
+     * Login escalonado: snapshot en caché (sin BD) y, si no hay, consulta a BD que repuebla la caché.
+     * Sin @WithTransaction aquí para que el camino caliente no abra conexión.
+     */
     public Uni<ApiResponse<LoginResponse>> login(LoginRequest request) {
-        return cacheService.getCachedUser(request.email(), request.role().toString())
-                .chain(cachedUser -> {
-                    if (cachedUser != null) {
-                        return cachedLoginStrategy.executeWithCachedUser(cachedUser, request);
-                    } else {
-                        return databaseLoginStrategy.execute(request);
-                    }
-                });
+        LoginSnapshot snapshot = cacheService.getLoginSnapshot(request.email(), request.role());
+        if (snapshot != null) {
+            return cachedLoginStrategy.executeWithSnapshot(snapshot, request);
+        }
+        return databaseLoginStrategy.execute(request);
     }
 
     @WithTransaction
@@ -189,17 +195,26 @@ public class AuthService {
                 });
     }
 
-    @WithTransaction
+    /**
+     * El lastLogin pendiente en el write-behind se escribe aquí mismo; loggedOutAt impide que un volcado
+     * posterior vuelva a poner el deviceFingerprint
+     */
     public Uni<ApiResponse<String>> logout(Long userId) {
-        return userRepository.findById(userId)
+        LastLoginWriteBehind.PendingLogin pendingLogin = lastLoginWriteBehind.takePending(userId);
+        return Panache.withTransaction(() -> userRepository.findById(userId)
                 .chain(user -> {
                     if (user != null) {
+                        if (pendingLogin != null && (user.lastLogin == null || user.lastLogin.isBefore(pendingLogin.lastLogin()))) {
+                            user.lastLogin = pendingLogin.lastLogin();
+                        }
                         user.deviceFingerprint = null;
+                        user.loggedOutAt = LocalDateTime.now();
                         return userRepository.persist(user)
                                 .map(u -> ApiResponse.success("exit logout"));
                     }
                     return Uni.createFrom().item(ApiResponse.success("exit logout"));
-                });
+                }))
+                .onFailure().invoke(() -> lastLoginWriteBehind.requeue(userId, pendingLogin));
     }
 
     @WithTransaction
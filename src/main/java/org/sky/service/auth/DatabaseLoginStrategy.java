@@ -1,5 +1,6 @@
 package org.sky.service.auth;
 
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -7,10 +8,16 @@ import jakarta.inject.Inject;
 import org.sky.dto.request.auth.LoginRequest;
 import org.sky.dto.response.ApiResponse;
 import org.sky.dto.response.auth.LoginResponse;
+import org.sky.exception.ValidationException;
 import org.sky.model.UserEntityEntity;
 import org.sky.model.UserRole;
 import org.sky.service.cache.CacheService;
+import org.sky.service.cache.LoginSnapshot;
 
+/**
+ * Login contra BD (cache MISS): usuario + admin/seller en dos consultas, sin escrituras síncronas.
+ * Deja el snapshot en caché para que el siguiente login no toque la BD.
+ */
 @ApplicationScoped
 public class DatabaseLoginStrategy implements LoginStrategy {
 
@@ -29,41 +36,46 @@ public class DatabaseLoginStrategy implements LoginStrategy {
     @Inject
     CacheService cacheService;
 
+    @Inject
+    LastLoginWriteBehind lastLoginWriteBehind;
+
     @Override
+    @WithSession
     public Uni<ApiResponse<LoginResponse>> execute(LoginRequest request) {
         return userLoginService.getUserForLogin(request)
                 .chain(user -> userValidationService.validateUserCredentials(user, request))
-                .chain(user -> {
-                    if (user.role == UserRole.SELLER) {
-                        return userLoginService.getSellerForUser(user)
-                                .chain(seller -> Uni.combine().all()
-                                        .unis(
-                                            userLoginService.updateUserLoginInfo(user, request),
-                                            tokenService.generateTokensForSeller(user, seller.id)
-                                        )
-                                        .asTuple()
-                                        .chain(tuple -> {
-                                            UserEntityEntity updatedUser = tuple.getItem1();
-                                            JwtTokenService.TokenData tokenData = tuple.getItem2();
+                .chain(user -> loadSnapshot(user, request))
+                .chain(snapshot -> tokenService.generateTokenPair(snapshot.userId(), snapshot.role(), snapshot.sellerId())
+                        .map(tokens -> {
+                            cacheService.cacheLoginSnapshot(snapshot);
+                            lastLoginWriteBehind.enqueue(snapshot.userId(), request.deviceFingerprint());
+                            return loginResponseBuilder.buildLoginResponse(tokens, snapshot.toUserInfo());
+                        }));
+    }
 
-                                            return cacheService.cacheUser(request.email(), request.role().toString(), updatedUser)
-                                                    .chain(v -> loginResponseBuilder.buildLoginResponse(tokenData));
-                                        }));
-                    } else {
-                        return Uni.combine().all()
-                                .unis(
-                                    userLoginService.updateUserLoginInfo(user, request),
-                                    tokenService.generateTokens(user)
-                                )
-                                .asTuple()
-                                .chain(tuple -> {
-                                    UserEntityEntity updatedUser = tuple.getItem1();
-                                    JwtTokenService.TokenData tokenData = tuple.getItem2();
+    private Uni<LoginSnapshot> loadSnapshot(UserEntityEntity user, LoginRequest request) {
+        if (user.role == UserRole.SELLER) {
+            return userLoginService.getSellerForUser(user)
+                    .onItem().ifNull().failWith(() -> ValidationException.invalidField("user", request.email(), "Vendedor no encontrado"))
+                    .map(seller -> snapshotOf(user, seller.id, seller.branch.admin.id, seller.branch.admin.businessName));
+        }
+        return userLoginService.getAdminForUser(user)
+                .onItem().ifNull().failWith(() -> ValidationException.invalidField("user", request.email(), "Administrador no encontrado"))
+                .map(admin -> snapshotOf(user, null, admin.id, admin.businessName));
+    }
 
-                                    return cacheService.cacheUser(request.email(), request.role().toString(), updatedUser)
-                                            .chain(v -> loginResponseBuilder.buildLoginResponse(tokenData));
-                                });
-                    }
-                });
+    private static LoginSnapshot snapshotOf(UserEntityEntity user, Long sellerId, Long businessId, String businessName) {
+        return new LoginSnapshot(
+            user.id,
+            user.email,
+            user.password,
+            user.role,
+            !Boolean.FALSE.equals(user.isActive),
+            user.isVerified,
+            sellerId,
+            businessId,
+            businessName,
+            System.currentTimeMillis()
+        );
     }
 }
@@ -4,6 +4,7 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.sky.model.UserEntityEntity;
+import org.sky.model.UserRole;
 import org.sky.util.jwt.JwtGenerator;
 
 @ApplicationScoped
@@ -28,5 +29,14 @@ public class JwtTokenService {
         });
     }
 
+    public Uni<TokenPair> generateTokenPair(Long userId, UserRole role, Long sellerId) {
+        return Uni.createFrom().item(() -> new TokenPair(
+            jwtGenerator.generateAccessToken(userId, role, sellerId),
+            jwtGenerator.generateRefreshToken(userId)
+        ));
+    }
+
   public record TokenData(UserEntityEntity user, String accessToken, String refreshToken) {}
+
+  public record TokenPair(String accessToken, String refreshToken) {}
 }
@@ -0,0 +1,182 @@
+package org.sky.service.auth;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.repository.UserRepository;
+import org.sky.util.BackgroundTaskRunner;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cola write-behind para lastLogin / deviceFingerprint.
+ * El login solo encola (último valor gana por usuario) y un timer lo vuelca en lotes,
+ * fuera del camino crítico de la petición. Al apagar se vuelca todo lo pendiente, esperando hasta shutdown-timeout-ms.
+ * El UPDATE no retrocede lastLogin y solo escribe el deviceFingerprint si el login es posterior al último logout
+ * (loggedOutAt): un volcado en curso, o pendiente en otra réplica, no deshace el logout.
+ */
+@ApplicationScoped
+public class LastLoginWriteBehind {
+
+    private static final Logger log = Logger.getLogger(LastLoginWriteBehind.class);
+    private static final long RETRY_PAUSE_MS = 50;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.login.write-behind.flush-interval-ms", defaultValue = "5000")
+    long flushIntervalMs;
+
+    @ConfigProperty(name = "yapechamo.login.write-behind.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "yapechamo.login.write-behind.shutdown-timeout-ms", defaultValue = "10000")
+    long shutdownTimeoutMs;
+
+    private final Map<Long, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        timerId = backgroundTaskRunner.schedulePeriodic(flushIntervalMs, "last-login-flush", this::flush);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            backgroundTaskRunner.cancel(timerId);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.infof("💾 Volcando %d actualizaciones de lastLogin pendientes al apagar", pending.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            int flushed = backgroundTaskRunner.call(() -> flushAll(deadline))
+                .await().atMost(Duration.ofMillis(shutdownTimeoutMs + 1_000));
+            log.infof("💾 lastLogin volcado para %d usuarios al apagar", flushed);
+        } catch (RuntimeException e) {
+            log.warnf("⚠️ No se pudo terminar de volcar lastLogin al apagar: %s", e.getMessage());
+        }
+        if (!pending.isEmpty()) {
+            log.warnf("⚠️ %d actualizaciones de lastLogin se pierden al apagar", pending.size());
+        }
+    }
+
+    public void enqueue(Long userId, String deviceFingerprint) {
+        if (userId == null) {
+            return;
+        }
+        pending.put(userId, new PendingLogin(LocalDateTime.now(), deviceFingerprint));
+    }
+
+    /**
+     * Quita el login pendiente del usuario para que el logout escriba su lastLogin en la misma transacción
+     *
+     * @return null si no había nada pendiente
+     */
+    PendingLogin takePending(Long userId) {
+        return userId != null ? pending.remove(userId) : null;
+    }
+
+    /**
+     * Devuelve a la cola lo que tomó takePending si el logout no confirmó, salvo que ya haya un login más reciente
+     */
+    void requeue(Long userId, PendingLogin login) {
+        if (userId != null && login != null) {
+            pending.putIfAbsent(userId, login);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Vuelca un lote de actualizaciones en una sola transacción.
+     * Si falla, las entradas se re-encolan salvo que ya exista un login más reciente.
+     */
+    public Uni<Integer> flush() {
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return Uni.createFrom().item(0);
+        }
+
+        List<Map.Entry<Long, PendingLogin>> batch = drainBatch();
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return Uni.createFrom().item(0);
+        }
+
+        return Panache.withTransaction(() -> Multi.createFrom().iterable(batch)
+                .onItem().transformToUniAndConcatenate(entry -> userRepository.update(
+                        "lastLogin = ?1, deviceFingerprint = case when loggedOutAt is null or loggedOutAt < ?1 then ?2 else deviceFingerprint end " +
+                        "where id = ?3 and (lastLogin is null or lastLogin < ?1)",
+                        entry.getValue().lastLogin(), entry.getValue().deviceFingerprint(), entry.getKey()))
+                .collect().asList()
+                .map(List::size))
+            .invoke(count -> log.debugf("💾 lastLogin volcado para %d usuarios", count))
+            .onFailure().invoke(failure -> {
+                log.warnf("⚠️ Error volcando lastLogin (%d usuarios), se reintentará: %s", batch.size(), failure.getMessage());
+                batch.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+            })
+            .eventually(() -> flushing.set(false));
+    }
+
+    /**
+     * Vuelca lote tras lote hasta vaciar la cola o llegar al plazo. Si hay un volcado del timer en curso,
+     * o el lote falló y se re-encoló, espera un poco antes de reintentar.
+     */
+    private Uni<Integer> flushAll(long deadlineNanos) {
+        if (pending.isEmpty() || System.nanoTime() > deadlineNanos) {
+            return Uni.createFrom().item(0);
+        }
+        return flush()
+            .onFailure().recoverWithItem(0)
+            .chain(flushed -> (flushed > 0 ? Uni.createFrom().voidItem() : pause(RETRY_PAUSE_MS))
+                .chain(() -> flushAll(deadlineNanos))
+                .map(rest -> flushed + rest));
+    }
+
+    /**
+     * Espera con un timer de Vert.x para seguir en el mismo contexto, que Hibernate Reactive exige
+     */
+    private Uni<Void> pause(long millis) {
+        return Uni.createFrom().emitter(emitter -> vertx.setTimer(millis, id -> emitter.complete(null)));
+    }
+
+    private List<Map.Entry<Long, PendingLogin>> drainBatch() {
+        List<Map.Entry<Long, PendingLogin>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (Long userId : pending.keySet()) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            PendingLogin value = pending.remove(userId);
+            if (value != null) {
+                batch.add(Map.entry(userId, value));
+            }
+        }
+        return batch;
+    }
+
+    record PendingLogin(LocalDateTime lastLogin, String deviceFingerprint) {}
+}
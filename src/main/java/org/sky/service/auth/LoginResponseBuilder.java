@@ -42,6 +42,14 @@ public class LoginResponseBuilder {
         }
     }
 
+    /**
+     * Respuesta de login sin acceso a BD: el UserInfo ya viene resuelto (snapshot de caché o entidad cargada)
+     */
+    public ApiResponse<LoginResponse> buildLoginResponse(JwtTokenService.TokenPair tokens, UserInfo userInfo) {
+        return ApiResponse.success("Login exitoso",
+            LoginResponse.create(tokens.accessToken(), tokens.refreshToken(), userInfo));
+    }
+
     private Uni<ApiResponse<LoginResponse>> buildAdminLoginResponse(JwtTokenService.TokenData tokenData) {
         return adminRepository.findByUserId(tokenData.user().id)
                 .map(UserInfo::fromAdmin)
@@ -4,13 +4,13 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.sky.dto.request.auth.LoginRequest;
+import org.sky.model.AdminEntity;
 import org.sky.model.SellerEntity;
 import org.sky.model.UserEntityEntity;
+import org.sky.repository.AdminRepository;
 import org.sky.repository.SellerRepository;
 import org.sky.repository.UserRepository;
 
-import java.time.LocalDateTime;
-
 @ApplicationScoped
 public class UserLoginService {
 
@@ -20,16 +20,17 @@ public class UserLoginService {
     @Inject
     SellerRepository sellerRepository;
 
+    @Inject
+    AdminRepository adminRepository;
+
     public Uni<UserEntityEntity> getUserForLogin(LoginRequest request) {
         return userRepository.findByEmailAndRoleForLogin(request.email(), request.role());
     }
 
-    public Uni<UserEntityEntity> updateUserLoginInfo(UserEntityEntity user, LoginRequest request) {
-        user.lastLogin = LocalDateTime.now();
-        user.deviceFingerprint = request.deviceFingerprint();
-        return userRepository.persist(user);
+    public Uni<AdminEntity> getAdminForUser(UserEntityEntity user) {
+        return adminRepository.findByUserId(user.id);
     }
-    
+
     public Uni<SellerEntity> getSellerForUser(UserEntityEntity user) {
         return sellerRepository.findByUserId(user.id);
     }
@@ -9,6 +9,7 @@ import org.sky.model.AffiliationCodeEntity;
 import org.sky.model.BranchEntity;
 import org.sky.model.SellerEntity;
 import org.sky.model.UserEntityEntity;
+import org.sky.service.cache.LoginSnapshot;
 
 import java.time.LocalDateTime;
 
@@ -83,5 +84,25 @@ public  class UserValidations {
     return Uni.createFrom().item(user);
   }
 
+  public Uni<LoginSnapshot> validateSnapshotCredentials(LoginSnapshot snapshot, LoginRequest request) {
+    if (snapshot.role() != request.role()) {
+      return Uni.createFrom().failure(
+          ValidationException.invalidField("credentials", request.email(), "Invalid email or password")
+      );
+    }
 
+    if (!snapshot.active()) {
+      return Uni.createFrom().failure(
+          ValidationException.invalidField("user", request.email(), "User account is inactive")
+      );
+    }
+
+    if (!BCrypt.checkpw(request.password(), snapshot.passwordHash())) {
+      return Uni.createFrom().failure(
+          ValidationException.invalidField("credentials", request.email(), "Invalid email or password")
+      );
+    }
+
+    return Uni.createFrom().item(snapshot);
+  }
 }
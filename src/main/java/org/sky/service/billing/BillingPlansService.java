@@ -19,12 +19,19 @@ public class BillingPlansService {
     
     
     @Inject
-    BillingResponseBuilder responseBuilder;
+    PlanCatalog planCatalog;
 
     public Uni<ApiResponse<List<Map<String, Object>>>> getAvailablePlans(String include) {
-        return subscriptionPlanRepository.findAll()
-                .list()
-                .map(plans -> responseBuilder.buildPlansResponse(plans));
+        return planCatalog.plansResponse();
+    }
+
+    public Uni<PlanCatalog.SerializedPlans> getSerializedPlans() {
+        return planCatalog.serializedPlans();
+    }
+
+    public Uni<ApiResponse<Map<String, Object>>> refreshPlans() {
+        return planCatalog.reloadEverywhere()
+                .map(count -> ApiResponse.success("Catálogo de planes recargado", Map.<String, Object>of("plans", count)));
     }
 
 
@@ -39,6 +46,7 @@ public class BillingPlansService {
                 .chain(savedPlan0 -> subscriptionPlanRepository.persist(planBasico))
                 .chain(savedPlan1 -> subscriptionPlanRepository.persist(planProfesional))
                 .chain(savedPlan2 -> subscriptionPlanRepository.persist(planEmpresarial))
+                .call(savedPlan3 -> planCatalog.reloadOnCommit())
                 .map(savedPlan3 -> ApiResponse.success("Plans created successfully", Map.of(
                         "plansCreated", 4,
                         "message", "Free, Basic, Professional and Enterprise plans created"
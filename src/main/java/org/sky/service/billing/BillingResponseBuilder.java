@@ -1,7 +1,6 @@
 package org.sky.service.billing;
 
 import org.sky.dto.response.ApiResponse;
-import org.sky.model.SubscriptionPlanEntity;
 
 import java.util.List;
 import java.util.Map;
@@ -9,7 +8,7 @@ import java.util.Map;
 @jakarta.enterprise.context.ApplicationScoped
 public class BillingResponseBuilder {
 
-    public ApiResponse<List<Map<String, Object>>> buildPlansResponse(List<SubscriptionPlanEntity> plans) {
+    public ApiResponse<List<Map<String, Object>>> buildPlansResponse(List<CatalogPlan> plans) {
         List<Map<String, Object>> planList = plans.stream()
                 .map(this::buildPlanMap)
                 .toList();
@@ -18,19 +17,19 @@ public class BillingResponseBuilder {
     }
 
 
-    private Map<String, Object> buildPlanMap(SubscriptionPlanEntity plan) {
+    private Map<String, Object> buildPlanMap(CatalogPlan plan) {
         Map<String, Object> planMap = new java.util.HashMap<>();
-        planMap.put("id", plan.id);
-        planMap.put("name", plan.name);
-        planMap.put("description", plan.description != null ? plan.description : "");
-        planMap.put("price", plan.pricePen.doubleValue());
+        planMap.put("id", plan.id());
+        planMap.put("name", plan.name());
+        planMap.put("description", plan.description() != null ? plan.description() : "");
+        planMap.put("price", plan.pricePen().doubleValue());
         planMap.put("currency", "PEN");
-        planMap.put("billingCycle", plan.billingCycle);
-        planMap.put("maxAdmins", plan.maxAdmins);
-        planMap.put("maxSellers", plan.maxSellers);
-        planMap.put("features", parseFeatures(plan.features));
-        planMap.put("isActive", plan.isActive);
-        planMap.put("createdAt", plan.createdAt != null ? plan.createdAt.toString() : "");
+        planMap.put("billingCycle", plan.billingCycle());
+        planMap.put("maxAdmins", plan.maxAdmins());
+        planMap.put("maxSellers", plan.maxSellers());
+        planMap.put("features", parseFeatures(plan.features()));
+        planMap.put("isActive", plan.isActive());
+        planMap.put("createdAt", plan.createdAt() != null ? plan.createdAt().toString() : "");
         return planMap;
     }
 
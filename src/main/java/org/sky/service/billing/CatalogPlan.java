@@ -0,0 +1,37 @@
+package org.sky.service.billing;
+
+import org.sky.model.SubscriptionPlanEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Copia inmutable de un plan de suscripción tal como vive en el catálogo en memoria
+ */
+public record CatalogPlan(
+    Long id,
+    String name,
+    String description,
+    BigDecimal pricePen,
+    String billingCycle,
+    int maxAdmins,
+    int maxSellers,
+    String features,
+    boolean isActive,
+    LocalDateTime createdAt
+) {
+    public static CatalogPlan from(SubscriptionPlanEntity plan) {
+        return new CatalogPlan(
+            plan.id,
+            plan.name,
+            plan.description,
+            plan.pricePen,
+            plan.billingCycle,
+            plan.maxAdmins != null ? plan.maxAdmins : 1,
+            plan.maxSellers != null ? plan.maxSellers : 0,
+            plan.features,
+            Boolean.TRUE.equals(plan.isActive),
+            plan.createdAt
+        );
+    }
+}
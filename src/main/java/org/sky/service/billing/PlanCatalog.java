@@ -0,0 +1,187 @@
+package org.sky.service.billing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.dto.response.ApiResponse;
+import org.sky.repository.SubscriptionPlanRepository;
+import org.sky.service.cluster.CacheInvalidationBus;
+import org.sky.util.BackgroundTaskRunner;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo inmutable de planes de suscripción, cargado al arrancar.
+ * Cada recarga construye un snapshot nuevo (índices por id y nombre + JSON de /api/billing/plans ya serializado)
+ * y lo publica de una sola vez: los lectores nunca ven un catálogo a medio construir ni tocan la base de datos.
+ * Se recarga bajo demanda (admin / load-data) o cuando cambia la huella de la tabla en la verificación periódica;
+ * una recarga bajo demanda avisa a las demás réplicas para que verifiquen su huella sin esperar al intervalo.
+ */
+@ApplicationScoped
+public class PlanCatalog {
+
+    private static final Logger log = Logger.getLogger(PlanCatalog.class);
+    static final String NAMESPACE = "plans";
+
+    @Inject
+    SubscriptionPlanRepository subscriptionPlanRepository;
+
+    @Inject
+    BillingResponseBuilder responseBuilder;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @Inject
+    CacheInvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "yapechamo.billing.plans.refresh-interval-ms", defaultValue = "60000")
+    long refreshIntervalMs;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        invalidationBus.subscribe(NAMESPACE, keys -> backgroundTaskRunner.run("plan-catalog-refresh", this::refreshIfChanged));
+        backgroundTaskRunner.run("plan-catalog-load", this::reload);
+        if (refreshIntervalMs > 0) {
+            timerId = backgroundTaskRunner.schedulePeriodic(refreshIntervalMs, "plan-catalog-refresh", this::refreshIfChanged);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            backgroundTaskRunner.cancel(timerId);
+        }
+    }
+
+    public Uni<CatalogPlan> findById(Long planId) {
+        if (planId == null) {
+            return Uni.createFrom().nullItem();
+        }
+        return current().map(catalog -> catalog.byId().get(planId));
+    }
+
+    public Uni<CatalogPlan> findByName(String name) {
+        return current().map(catalog -> catalog.byName().get(name));
+    }
+
+    public Uni<List<CatalogPlan>> listPlans() {
+        return current().map(Snapshot::plans);
+    }
+
+    public Uni<ApiResponse<List<Map<String, Object>>>> plansResponse() {
+        return current().map(Snapshot::plansResponse);
+    }
+
+    /**
+     * Versión del snapshot publicado (null si aún no cargó); sirve a las cachés derivadas para detectar cambios de planes
+     */
+    public String currentVersion() {
+        Snapshot loaded = snapshot.get();
+        return loaded != null ? loaded.version() : null;
+    }
+
+    /**
+     * Respuesta de /api/billing/plans ya serializada, con su versión para ETag
+     */
+    public Uni<SerializedPlans> serializedPlans() {
+        return current().map(catalog -> new SerializedPlans(catalog.plansJson(), "\"plans-" + catalog.version() + "\""));
+    }
+
+    /**
+     * Recarga incondicional: tras load-data o a petición de un admin
+     */
+    public Uni<Integer> reload() {
+        return Panache.withSession(session -> subscriptionPlanRepository.catalogVersion()
+                .chain(version -> subscriptionPlanRepository.findAllOrdered()
+                        .map(plans -> build(version, plans.stream().map(CatalogPlan::from).toList()))))
+                .invoke(this::publish)
+                .map(catalog -> catalog.plans().size());
+    }
+
+    /**
+     * Recarga aquí y avisa a las demás réplicas
+     */
+    public Uni<Integer> reloadEverywhere() {
+        return reload().invoke(count -> invalidationBus.publishNow(NAMESPACE, CacheInvalidationBus.ALL));
+    }
+
+    /**
+     * Para quien cambia planes dentro de una transacción: todas las réplicas, esta incluida, recargan al confirmar
+     */
+    public Uni<Void> reloadOnCommit() {
+        return invalidationBus.publish(NAMESPACE, CacheInvalidationBus.ALL);
+    }
+
+    /**
+     * Verificación periódica: una consulta de una fila y solo recarga si la huella cambió
+     */
+    Uni<Void> refreshIfChanged() {
+        Snapshot loaded = snapshot.get();
+        if (loaded == null) {
+            return reload().replaceWithVoid();
+        }
+        return Panache.withSession(session -> subscriptionPlanRepository.catalogVersion())
+                .chain(version -> {
+                    if (version.equals(loaded.version())) {
+                        return Uni.createFrom().voidItem();
+                    }
+                    log.infof("🔄 Planes de suscripción modificados (versión %s → %s), recargando catálogo", loaded.version(), version);
+                    return reload().replaceWithVoid();
+                });
+    }
+
+    private Uni<Snapshot> current() {
+        Snapshot loaded = snapshot.get();
+        if (loaded != null) {
+            return Uni.createFrom().item(loaded);
+        }
+        return reload().map(count -> snapshot.get());
+    }
+
+    private void publish(Snapshot next) {
+        Snapshot previous = snapshot.getAndSet(next);
+        if (previous == null || !previous.version().equals(next.version())) {
+            log.infof("📚 Catálogo de planes cargado: %d planes (versión %s)", next.plans().size(), next.version());
+        }
+    }
+
+    private Snapshot build(String version, List<CatalogPlan> plans) {
+        Map<Long, CatalogPlan> byId = new LinkedHashMap<>();
+        Map<String, CatalogPlan> byName = new LinkedHashMap<>();
+        for (CatalogPlan plan : plans) {
+            byId.put(plan.id(), plan);
+            byName.putIfAbsent(plan.name(), plan);
+        }
+        ApiResponse<List<Map<String, Object>>> plansResponse = responseBuilder.buildPlansResponse(plans);
+        try {
+            return new Snapshot(version, List.copyOf(plans), Map.copyOf(byId), Map.copyOf(byName),
+                    plansResponse, objectMapper.writeValueAsBytes(plansResponse));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo de planes", e);
+        }
+    }
+
+    private record Snapshot(String version, List<CatalogPlan> plans, Map<Long, CatalogPlan> byId,
+                            Map<String, CatalogPlan> byName, ApiResponse<List<Map<String, Object>>> plansResponse,
+                            byte[] plansJson) {
+    }
+
+    public record SerializedPlans(byte[] json, String etag) {
+    }
+}
@@ -0,0 +1,57 @@
+package org.sky.service.blob;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Almacén de binarios direccionado por contenido: la clave es el SHA-256 de los bytes,
+ * así el mismo archivo subido dos veces se guarda una sola vez y la fila solo guarda la referencia.
+ */
+public interface BlobStore {
+
+    /**
+     * Guarda el contenido (o reutiliza el existente con el mismo hash) y devuelve su referencia
+     */
+    Uni<BlobRef> put(byte[] content, String contentType);
+
+    /**
+     * Abre una subida por partes: los bytes se escriben a medida que llegan y el hash se calcula
+     * incrementalmente, sin tener el archivo completo en memoria
+     */
+    Uni<BlobUpload> beginUpload();
+
+    /**
+     * Ubica el blob para servirlo; emite null si no existe
+     */
+    Uni<BlobFile> open(String key);
+
+    interface BlobUpload {
+
+        Uni<Void> write(Buffer chunk);
+
+        long size();
+
+        /**
+         * Publica el contenido bajo su hash (deduplicando) y devuelve la referencia
+         */
+        Uni<BlobRef> commit(String contentType);
+
+        /**
+         * Descarta lo escrito; seguro de llamar más de una vez
+         */
+        Uni<Void> abort();
+    }
+
+    record BlobRef(String key, long size, String contentType) {
+    }
+
+    /**
+     * Blob ubicado en disco, listo para sendFile. La clave de contenido sirve de ETag fuerte.
+     */
+    record BlobFile(String key, String path, long size) {
+
+        public String etag() {
+            return "\"" + key + "\"";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.sky.service.blob;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.core.file.AsyncFile;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * BlobStore sobre el sistema de archivos local: root/ab/cd/abcd…(sha256).
+ * Escribe a un temporal y lo mueve atómicamente, así un lector nunca ve un archivo a medias.
+ * Todo el I/O pasa por el FileSystem asíncrono de Vert.x, sin bloquear el event loop.
+ */
+@ApplicationScoped
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final Logger log = Logger.getLogger(LocalFileBlobStore.class);
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String STAGING_DIR = "tmp";
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.blobs.local.root", defaultValue = "data/blobs")
+    String root;
+
+    @Override
+    public Uni<BlobRef> put(byte[] content, String contentType) {
+        String key = contentKey(content);
+        String target = pathFor(key);
+        BlobRef ref = new BlobRef(key, content.length, contentType);
+
+        return vertx.fileSystem().exists(target)
+                .chain(exists -> {
+                    if (exists) {
+                        log.debugf("♻️ Blob %s ya existe, reutilizando", key);
+                        return Uni.createFrom().item(ref);
+                    }
+                    String temp = target + "." + UUID.randomUUID() + ".tmp";
+                    return vertx.fileSystem().mkdirs(Path.of(target).getParent().toString())
+                            .chain(() -> vertx.fileSystem().writeFile(temp, Buffer.buffer(content)))
+                            .chain(() -> publish(temp, key))
+                            .replaceWith(ref);
+                });
+    }
+
+    @Override
+    public Uni<BlobUpload> beginUpload() {
+        String stagingDir = Path.of(root, STAGING_DIR).toString();
+        String temp = Path.of(stagingDir, UUID.randomUUID() + ".upload").toString();
+        return vertx.fileSystem().mkdirs(stagingDir)
+                .chain(() -> vertx.fileSystem().open(temp, new OpenOptions().setWrite(true).setCreateNew(true)))
+                .map(file -> new LocalUpload(temp, file));
+    }
+
+    @Override
+    public Uni<BlobFile> open(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return Uni.createFrom().nullItem();
+        }
+        String path = pathFor(key);
+        return vertx.fileSystem().exists(path)
+                .chain(exists -> exists
+                        ? vertx.fileSystem().props(path).map(props -> new BlobFile(key, path, props.size()))
+                        : Uni.createFrom().nullItem());
+    }
+
+    /**
+     * Mueve el temporal a su ruta definitiva; si otro ya publicó el mismo contenido, descarta el temporal
+     */
+    private Uni<Void> publish(String temp, String key) {
+        String target = pathFor(key);
+        return vertx.fileSystem().exists(target)
+                .chain(exists -> {
+                    if (exists) {
+                        return vertx.fileSystem().delete(temp);
+                    }
+                    return vertx.fileSystem().mkdirs(Path.of(target).getParent().toString())
+                            .chain(() -> vertx.fileSystem().move(temp, target,
+                                    new CopyOptions().setAtomicMove(true).setReplaceExisting(true)))
+                            .invoke(() -> log.debugf("💾 Blob %s guardado", key));
+                });
+    }
+
+    String pathFor(String key) {
+        return Path.of(root, key.substring(0, 2), key.substring(2, 4), key).toString();
+    }
+
+    static String contentKey(byte[] content) {
+        MessageDigest digest = sha256();
+        return HexFormat.of().formatHex(digest.digest(content));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private final class LocalUpload implements BlobUpload {
+
+        private final String temp;
+        private final AsyncFile file;
+        private final MessageDigest digest = sha256();
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private long size;
+
+        LocalUpload(String temp, AsyncFile file) {
+            this.temp = temp;
+            this.file = file;
+        }
+
+        @Override
+        public Uni<Void> write(io.vertx.core.buffer.Buffer chunk) {
+            digest.update(chunk.getBytes());
+            size += chunk.length();
+            return file.write(Buffer.newInstance(chunk));
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public Uni<BlobRef> commit(String contentType) {
+            if (!closed.compareAndSet(false, true)) {
+                return Uni.createFrom().failure(new IllegalStateException("Subida ya cerrada"));
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            return file.close()
+                    .chain(() -> publish(temp, key))
+                    .replaceWith(new BlobRef(key, size, contentType));
+        }
+
+        @Override
+        public Uni<Void> abort() {
+            Uni<Void> close = closed.compareAndSet(false, true)
+                    ? file.close().onFailure().recoverWithNull()
+                    : Uni.createFrom().voidItem();
+            return close
+                    .chain(() -> vertx.fileSystem().exists(temp))
+                    .chain(exists -> exists ? vertx.fileSystem().delete(temp) : Uni.createFrom().voidItem())
+                    .onFailure().invoke(e -> log.warnf("⚠️ No se pudo limpiar la subida temporal %s: %s", temp, e.getMessage()))
+                    .onFailure().recoverWithNull();
+        }
+    }
+}
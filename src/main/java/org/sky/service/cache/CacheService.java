@@ -1,12 +1,17 @@
 package org.sky.service.cache;
 
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.sky.model.UserEntityEntity;
+import org.sky.model.UserRole;
 import org.sky.repository.UserRepository;
+import org.sky.service.cluster.CacheInvalidationBus;
 
+import java.util.Comparator;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -21,13 +26,24 @@ public class CacheService {
     // Cache simple con ConcurrentHashMap - ultra eficiente
     private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Long> accessTimes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LoginSnapshot> loginSnapshots = new ConcurrentHashMap<>();
     
     private static final long CACHE_TTL = 300_000; // 5 minutos
     private static final int MAX_CACHE_SIZE = 200; // Máximo 200 entradas
     private static final long CLEANUP_THRESHOLD = 180_000; // 3 minutos de cleanup
+    /** Namespace de invalidación entre réplicas; la clave es el userId */
+    static final String USERS_NAMESPACE = "users";
     
     @Inject
     UserRepository userRepository;
+
+    @Inject
+    CacheInvalidationBus invalidationBus;
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        invalidationBus.subscribe(USERS_NAMESPACE, this::evictUsers);
+    }
     
     // ==================================================================================
     // CACHE DE USUARIOS OPTIMIZADO
@@ -62,8 +78,13 @@ public class CacheService {
                 return Uni.createFrom().item(cachedUser);
             }
             // Load from DB reactively
+            long generation = invalidationBus.generation(USERS_NAMESPACE);
             return userRepository.findByEmail(email)
                 .map(user -> {
+                    // Si llegó una invalidación durante la lectura, el usuario leído puede ser el viejo: no se guarda
+                    if (generation != invalidationBus.generation(USERS_NAMESPACE)) {
+                        return user;
+                    }
                     if (user != null && user.role != null && user.email != null && !user.email.trim().isEmpty()) { // Only cache valid users
                         cacheUser(cacheKey, user);
                     }
@@ -123,27 +144,71 @@ public class CacheService {
         log.debug("🧹 Cleaned expired cache entries");
     }
 
-    public Uni<UserEntityEntity> getCachedUser(String email, String role) {
-        return getUserByEmailCached(email)
-                .chain(cachedUser -> {
-                    // Validate cached user has complete data
-                    if (cachedUser != null && (cachedUser.role == null || cachedUser.email == null || cachedUser.email.trim().isEmpty())) {
-                        log.warn("⚠️ Corrupted user found in cache: ID=" + cachedUser.id + " email=" + email + " role=" + cachedUser.role);
-                        // Return null to force database reload instead of corrupted cache
-                        return Uni.createFrom().item((UserEntityEntity) null);
-                    }
-                    return Uni.createFrom().item(cachedUser);
-                });
+    // ==================================================================================
+    // CACHE DE LOGIN (sin fallback a BD: un MISS lo resuelve DatabaseLoginStrategy)
+    // ==================================================================================
+
+    public LoginSnapshot getLoginSnapshot(String email, UserRole role) {
+        if (email == null || role == null) {
+            return null;
+        }
+        String key = LoginSnapshot.key(email, role);
+        LoginSnapshot snapshot = loginSnapshots.get(key);
+        if (snapshot == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - snapshot.cachedAt() >= CACHE_TTL) {
+            loginSnapshots.remove(key, snapshot);
+            return null;
+        }
+        log.debug("🚀 Login cache HIT: " + key);
+        return snapshot;
     }
 
+    public void cacheLoginSnapshot(LoginSnapshot snapshot) {
+        if (snapshot == null || snapshot.userId() == null || snapshot.email() == null || snapshot.role() == null) {
+            return;
+        }
+        if (loginSnapshots.size() >= MAX_CACHE_SIZE) {
+            long now = System.currentTimeMillis();
+            loginSnapshots.values().removeIf(s -> now - s.cachedAt() >= CACHE_TTL);
+            if (loginSnapshots.size() >= MAX_CACHE_SIZE) {
+                loginSnapshots.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().cachedAt()))
+                    .ifPresent(oldest -> loginSnapshots.remove(oldest.getKey(), oldest.getValue()));
+            }
+        }
+        loginSnapshots.put(snapshot.key(), snapshot);
+        log.debug("💾 Login snapshot cached: " + snapshot.key());
+    }
 
-  public Uni<Void> cacheUser(String email, String role, UserEntityEntity user) {
-        // Solo usar email como clave, ignorar role duplicado
-        String cacheKey = "user:email:" + email;
-        return Uni.createFrom().item(() -> {
-            cacheUser(cacheKey, user);
-            return null;
-        });
+    /**
+     * Invalida los snapshots de login de un usuario (baja de vendedor, cambio de credenciales, etc.)
+     * aquí y, al confirmar la transacción en curso, en todas las réplicas
+     */
+    public Uni<Void> invalidateLoginForUser(Long userId) {
+        if (userId == null) {
+            return Uni.createFrom().voidItem();
+        }
+        evictUser(userId);
+        return invalidationBus.publish(USERS_NAMESPACE, userId);
+    }
+
+    private void evictUsers(Set<String> userIds) {
+        if (userIds.contains(CacheInvalidationBus.ALL)) {
+            cache.clear();
+            accessTimes.clear();
+            loginSnapshots.clear();
+            return;
+        }
+        for (String userId : userIds) {
+            evictUser(Long.valueOf(userId));
+        }
+    }
+
+    private void evictUser(Long userId) {
+        loginSnapshots.values().removeIf(s -> userId.equals(s.userId()));
+        cache.entrySet().removeIf(e -> e.getValue().user != null && userId.equals(e.getValue().user.id));
     }
 
     private static class CacheEntry {
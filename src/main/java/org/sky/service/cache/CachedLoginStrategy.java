@@ -6,15 +6,23 @@ import jakarta.inject.Inject;
 import org.sky.dto.response.ApiResponse;
 import org.sky.dto.request.auth.LoginRequest;
 import org.sky.dto.response.auth.LoginResponse;
-import org.sky.model.UserEntityEntity;
+import org.sky.exception.ValidationException;
 import org.sky.service.auth.JwtTokenService;
+import org.sky.service.auth.LastLoginWriteBehind;
 import org.sky.service.auth.LoginResponseBuilder;
 import org.sky.service.auth.LoginStrategy;
 import org.sky.service.auth.UserValidations;
 
+/**
+ * Login desde caché: valida el hash BCrypt contra el snapshot y firma los tokens.
+ * Cero consultas síncronas a BD; lastLogin se registra vía write-behind.
+ */
 @ApplicationScoped
 public class CachedLoginStrategy implements LoginStrategy {
 
+    @Inject
+    CacheService cacheService;
+
     @Inject
     UserValidations userValidationService;
     
@@ -24,16 +32,26 @@ public class CachedLoginStrategy implements LoginStrategy {
     @Inject
     LoginResponseBuilder loginResponseBuilder;
 
+    @Inject
+    LastLoginWriteBehind lastLoginWriteBehind;
+
     @Override
     public Uni<ApiResponse<LoginResponse>> execute(LoginRequest request) {
-        return userValidationService.validateUserCredentials(null, request)
-                .chain(user -> tokenService.generateTokens(user))
-                .chain(tokenData -> loginResponseBuilder.buildLoginResponseFromCachedUser(tokenData));
+        LoginSnapshot snapshot = cacheService.getLoginSnapshot(request.email(), request.role());
+        if (snapshot == null) {
+            return Uni.createFrom().failure(
+                ValidationException.invalidField("credentials", request.email(), "Invalid email or password")
+            );
+        }
+        return executeWithSnapshot(snapshot, request);
     }
 
-    public Uni<ApiResponse<LoginResponse>> executeWithCachedUser(UserEntityEntity cachedUser, LoginRequest request) {
-        return userValidationService.validateUserCredentials(cachedUser, request)
-                .chain(user -> tokenService.generateTokens(user))
-                .chain(tokenData -> loginResponseBuilder.buildLoginResponseFromCachedUser(tokenData));
+    public Uni<ApiResponse<LoginResponse>> executeWithSnapshot(LoginSnapshot snapshot, LoginRequest request) {
+        return userValidationService.validateSnapshotCredentials(snapshot, request)
+                .chain(valid -> tokenService.generateTokenPair(valid.userId(), valid.role(), valid.sellerId()))
+                .map(tokens -> {
+                    lastLoginWriteBehind.enqueue(snapshot.userId(), request.deviceFingerprint());
+                    return loginResponseBuilder.buildLoginResponse(tokens, snapshot.toUserInfo());
+                });
     }
 }
@@ -0,0 +1,34 @@
+package org.sky.service.cache;
+
+import org.sky.dto.response.common.UserInfo;
+import org.sky.model.UserRole;
+
+/**
+ * Foto inmutable de lo necesario para un login: credenciales, rol, sellerId y datos de negocio.
+ * No referencia entidades Hibernate, así que se puede leer fuera de cualquier sesión reactiva.
+ */
+public record LoginSnapshot(
+    Long userId,
+    String email,
+    String passwordHash,
+    UserRole role,
+    boolean active,
+    Boolean isVerified,
+    Long sellerId,
+    Long businessId,
+    String businessName,
+    long cachedAt
+) {
+
+    public UserInfo toUserInfo() {
+        return new UserInfo(userId, email, businessName, businessId, role.toString(), isVerified);
+    }
+
+    public static String key(String email, UserRole role) {
+        return "login:" + email.trim().toLowerCase() + ":" + role;
+    }
+
+    public String key() {
+        return key(email, role);
+    }
+}
@@ -0,0 +1,208 @@
+package org.sky.service.cluster;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.jboss.logging.Logger;
+import org.sky.util.HotPathLog;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Invalidación de cachés en memoria entre réplicas sobre NOTIFY (canal cache_invalidation).
+ * Quien modifica un dato actualiza su propia caché y publica (namespace, clave); los nodos juntan lo recibido
+ * durante coalesce-window-ms y lo entregan por lote al suscriptor del namespace (ALL = vaciar todo el namespace).
+ * <p>
+ * publish emite el NOTIFY en la sesión de la transacción en curso: Postgres solo lo entrega al confirmar y lo
+ * descarta con el rollback, así nadie recarga la fila antes del commit. Ese aviso también le llega al propio nodo,
+ * que vuelve a vaciar su caché después del commit. publishNow va por el pool, para quien ya confirmó o no escribe.
+ * <p>
+ * Cada namespace lleva una generación que sube con cada invalidación, local o remota: una caché que carga de BD
+ * anota la generación antes de leer y solo guarda el resultado si sigue igual, así una invalidación que llega
+ * durante la carga no queda tapada por el dato viejo.
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+
+    public static final String ALL = InvalidationBuffer.ALL;
+
+    private static final Logger log = Logger.getLogger(CacheInvalidationBus.class);
+    private static final HotPathLog hotLog = HotPathLog.get(CacheInvalidationBus.class);
+    private static final HotPathLog.Sampler publishFailedLog = hotLog.sampled(10, TimeUnit.SECONDS);
+    private static final String CHANNEL = "cache_invalidation";
+    /** Aplica en todos los nodos, el emisor incluido: se emitió dentro de la transacción */
+    private static final String ON_COMMIT = "c";
+    private static final String OTHERS_ONLY = "o";
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    PgListener listener;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "yapechamo.cluster.invalidation.coalesce-window-ms", defaultValue = "50")
+    long coalesceWindowMs;
+
+    /** Claves pendientes por namespace antes de colapsar a ALL */
+    @ConfigProperty(name = "yapechamo.cluster.invalidation.buffer-capacity", defaultValue = "1024")
+    int bufferCapacity;
+
+    private final Map<String, Consumer<Set<String>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, NamespaceMeters> meters = new ConcurrentHashMap<>();
+    private InvalidationBuffer buffer;
+    private Counter collapsed;
+
+    void onStart(@Observes StartupEvent event) {
+        buffer = new InvalidationBuffer(bufferCapacity);
+        collapsed = registry.counter(Metadata.builder()
+            .withName("cache.invalidation.collapsed")
+            .withDescription("Namespaces vaciados enteros por exceso de invalidaciones pendientes")
+            .build());
+        listener.listen(CHANNEL, this::onNotification, () -> log.info("🧹 Escuchando invalidaciones de caché de otras réplicas"));
+    }
+
+    /**
+     * Registra quién vacía las claves de un namespace cuando otra réplica las invalida
+     */
+    public void subscribe(String namespace, Consumer<Set<String>> invalidator) {
+        subscribers.put(namespace, invalidator);
+    }
+
+    public long generation(String namespace) {
+        AtomicLong generation = generations.get(namespace);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Avisa a todos los nodos, este incluido, cuando confirme la transacción en curso; la caché local ya la
+     * actualizó quien llama. Debe correr dentro de la sesión reactiva de esa transacción.
+     */
+    public Uni<Void> publish(String namespace, Object key) {
+        bump(namespace);
+        metersFor(namespace).published().inc();
+        if (!listener.isActive()) {
+            return Uni.createFrom().voidItem();
+        }
+        String payload = payload(ON_COMMIT, namespace, key);
+        return Panache.getSession()
+            .chain(session -> session.createNativeQuery("SELECT 1 FROM pg_notify(?1, ?2)", Integer.class)
+                .setParameter(1, CHANNEL)
+                .setParameter(2, payload)
+                .getSingleResult())
+            .replaceWithVoid();
+    }
+
+    /**
+     * Avisa solo a las demás réplicas, ya, por el pool: para cambios ya confirmados o que no pasan por la BD.
+     * No espera el NOTIFY.
+     */
+    public void publishNow(String namespace, Object key) {
+        bump(namespace);
+        metersFor(namespace).published().inc();
+        if (!listener.isActive()) {
+            return;
+        }
+        pool.preparedQuery("SELECT pg_notify('" + CHANNEL + "', $1)")
+            .execute(Tuple.of(payload(OTHERS_ONLY, namespace, key)))
+            .subscribe().with(
+                rows -> hotLog.debug(() -> "🧹 Invalidación " + namespace + ":" + key + " publicada"),
+                failure -> publishFailedLog.warn(() -> "⚠️ No se pudo publicar la invalidación " + namespace + ":" + key + ": " + failure.getMessage()));
+    }
+
+    private String payload(String scope, String namespace, Object key) {
+        return listener.nodeId() + "|" + scope + "|" + System.currentTimeMillis() + "|" + namespace + "|" + key;
+    }
+
+    private void onNotification(String payload) {
+        String[] parts = payload.split("\\|", 5);
+        if (parts.length < 5) {
+            return;
+        }
+        boolean own = listener.nodeId().equals(parts[0]);
+        if (own && !ON_COMMIT.equals(parts[1])) {
+            return;
+        }
+        String namespace = parts[3];
+        if (!own) {
+            NamespaceMeters namespaceMeters = metersFor(namespace);
+            namespaceMeters.received().inc();
+            // Mide con el reloj del nodo que publicó: incluye el desfase entre relojes de las réplicas
+            namespaceMeters.lag().update(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[2]))));
+        }
+
+        bump(namespace);
+        if (buffer.add(namespace, parts[4])) {
+            vertx.setTimer(Math.max(1, coalesceWindowMs), id -> drain());
+        }
+    }
+
+    private void drain() {
+        int collapsedNow = buffer.takeCollapsed();
+        if (collapsedNow > 0) {
+            collapsed.inc(collapsedNow);
+            log.warn("⚠️ Tormenta de invalidaciones: " + collapsedNow + " namespaces se vacían enteros");
+        }
+        for (Map.Entry<String, Set<String>> entry : buffer.drain().entrySet()) {
+            Consumer<Set<String>> invalidator = subscribers.get(entry.getKey());
+            if (invalidator == null) {
+                continue;
+            }
+            try {
+                invalidator.accept(entry.getValue());
+            } catch (Exception e) {
+                log.warn("⚠️ Error aplicando invalidaciones de " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void bump(String namespace) {
+        generations.computeIfAbsent(namespace, ns -> new AtomicLong()).incrementAndGet();
+    }
+
+    private NamespaceMeters metersFor(String namespace) {
+        return meters.computeIfAbsent(namespace, ns -> {
+            Tag tag = new Tag("namespace", ns);
+            return new NamespaceMeters(
+                registry.counter(Metadata.builder()
+                    .withName("cache.invalidation.published")
+                    .withDescription("Invalidaciones publicadas a las demás réplicas")
+                    .build(), tag),
+                registry.counter(Metadata.builder()
+                    .withName("cache.invalidation.received")
+                    .withDescription("Invalidaciones recibidas de otras réplicas")
+                    .build(), tag),
+                registry.timer(Metadata.builder()
+                    .withName("cache.invalidation.lag")
+                    .withDescription("Tiempo desde la publicación en otra réplica hasta la recepción aquí")
+                    .build(), tag));
+        });
+    }
+
+    private record NamespaceMeters(Counter published, Counter received, Timer lag) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.sky.service.cluster;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Invalidaciones recibidas de otros nodos pendientes de aplicar, agrupadas por namespace.
+ * La misma clave repetida cuenta una vez; si un namespace junta más de capacity claves (tormenta de invalidaciones)
+ * se colapsa en ALL y la caché se vacía entera de una sola vez en lugar de clave por clave.
+ */
+final class InvalidationBuffer {
+
+    static final String ALL = "*";
+
+    private final int capacity;
+    private Map<String, Set<String>> pending = new HashMap<>();
+    private int collapsed;
+
+    InvalidationBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return true si el buffer estaba vacío: quien agrega debe programar el drain
+     */
+    synchronized boolean add(String namespace, String key) {
+        boolean wasEmpty = pending.isEmpty();
+        Set<String> keys = pending.computeIfAbsent(namespace, ns -> new HashSet<>());
+        if (keys.contains(ALL)) {
+            return wasEmpty;
+        }
+        if (ALL.equals(key) || keys.size() >= capacity) {
+            if (!ALL.equals(key)) {
+                collapsed++;
+            }
+            keys.clear();
+            keys.add(ALL);
+        } else {
+            keys.add(key);
+        }
+        return wasEmpty;
+    }
+
+    synchronized Map<String, Set<String>> drain() {
+        Map<String, Set<String>> drained = pending;
+        pending = new HashMap<>();
+        return drained;
+    }
+
+    /**
+     * Namespaces colapsados a ALL por exceso de claves desde el último llamado
+     */
+    synchronized int takeCollapsed() {
+        int count = collapsed;
+        collapsed = 0;
+        return count;
+    }
+}
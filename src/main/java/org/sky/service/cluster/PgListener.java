@@ -0,0 +1,131 @@
+package org.sky.service.cluster;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgChannel;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Conexión LISTEN/NOTIFY de este nodo contra el mismo Postgres de la app: la infraestructura de mensajería
+ * entre réplicas sin agregar un broker. Usa una conexión propia (no del pool) que se reconecta sola y
+ * vuelve a hacer LISTEN de todos los canales; cada nodo se identifica con un nodeId aleatorio por arranque.
+ */
+@ApplicationScoped
+public class PgListener {
+
+    private static final Logger log = Logger.getLogger(PgListener.class);
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.cluster.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.cluster.reconnect-interval-ms", defaultValue = "1000")
+    long reconnectIntervalMs;
+
+    @ConfigProperty(name = "quarkus.datasource.reactive.url")
+    Optional<String> url;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, PgChannel> channels = new ConcurrentHashMap<>();
+    private volatile PgSubscriber subscriber;
+
+    /**
+     * El suscriptor se crea al construir el bean para que listen funcione sin importar el orden de los
+     * observadores de StartupEvent; la conexión se abre recién al arrancar
+     */
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("🛰️ LISTEN/NOTIFY deshabilitado: este nodo funciona aislado");
+            return;
+        }
+        if (url.isEmpty()) {
+            log.warn("⚠️ Sin quarkus.datasource.reactive.url no hay LISTEN/NOTIFY: este nodo funciona aislado");
+            return;
+        }
+        PgConnectOptions options = PgConnectOptions.fromUri(url.get().replaceFirst("^vertx-reactive:", ""));
+        username.ifPresent(options::setUser);
+        password.ifPresent(options::setPassword);
+
+        subscriber = PgSubscriber.subscriber(vertx, options)
+            .reconnectPolicy(retries -> reconnectIntervalMs);
+        subscriber.closeHandler(v -> log.warn("⚠️ Conexión LISTEN/NOTIFY cerrada, reconectando"));
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        connect();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        PgSubscriber current = subscriber;
+        subscriber = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isActive() {
+        return subscriber != null;
+    }
+
+    /**
+     * Escucha el canal mientras no se llame a unlisten. onSubscribed corre cada vez que el LISTEN queda activo,
+     * también después de una reconexión: es el momento de recuperar lo que se publicó mientras no se escuchaba.
+     */
+    public void listen(String channel, Consumer<String> handler, Runnable onSubscribed) {
+        PgSubscriber current = subscriber;
+        if (current == null) {
+            return;
+        }
+        channels.computeIfAbsent(channel, name -> current.channel(name)
+            .subscribeHandler(v -> onSubscribed.run())
+            .handler(handler::accept));
+    }
+
+    public void unlisten(String channel) {
+        PgChannel removed = channels.remove(channel);
+        if (removed != null) {
+            removed.handler(null);
+        }
+    }
+
+    private void connect() {
+        PgSubscriber current = subscriber;
+        if (current == null) {
+            return;
+        }
+        current.connect()
+            .onSuccess(v -> log.info("🛰️ LISTEN/NOTIFY conectado (nodo " + nodeId + ")"))
+            .onFailure(failure -> {
+                // La política de reconexión solo aplica a una conexión que se pierde, no al primer intento
+                log.warn("⚠️ No se pudo conectar LISTEN/NOTIFY: " + failure.getMessage());
+                vertx.setTimer(Math.max(reconnectIntervalMs, 1_000), id -> connect());
+            });
+    }
+}
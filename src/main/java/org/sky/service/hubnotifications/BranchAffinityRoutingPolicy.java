@@ -0,0 +1,31 @@
+package org.sky.service.hubnotifications;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Afinidad de sucursal: los pagos de un admin van primero a la sucursal que reclamó el último
+ * (donde está el cliente atendiendo en ese momento). La afinidad es blanda: un vendedor conectado con
+ * SPILL_PENDING pagos sin resolver cede el turno a las demás sucursales antes de que se forme cola.
+ */
+public class BranchAffinityRoutingPolicy implements SellerRoutingPolicy {
+
+    static final int SPILL_PENDING = 2;
+
+    @Override
+    public String name() {
+        return "branch-affinity";
+    }
+
+    @Override
+    public List<SellerCandidate> order(long adminId, List<SellerCandidate> candidates, SellerLoadTracker load) {
+        long preferredBranch = load.lastClaimBranch(adminId);
+        List<SellerCandidate> ordered = load.rotated(adminId, candidates);
+        ordered.sort(Comparator
+            .comparing((SellerCandidate candidate) -> !load.isOnline(candidate.sellerId()))
+            .thenComparing(candidate -> load.pending(candidate.sellerId()) >= SPILL_PENDING)
+            .thenComparing(candidate -> candidate.branchId() != preferredBranch)
+            .thenComparingInt(candidate -> load.pending(candidate.sellerId())));
+        return ordered;
+    }
+}
@@ -25,6 +25,9 @@ public class HubNotificationControllerService {
     @Inject
     PaymentNotificationService paymentNotificationService;
 
+    @Inject
+    PaymentNotificationProcessor paymentNotificationProcessor;
+
 
     @Inject
     SellerRepository sellerRepository;
@@ -63,12 +66,17 @@ public class HubNotificationControllerService {
         return Uni.createFrom().item(status);
     }
 
-    public Uni<PaymentNotificationResponse> claimPayment(PaymentClaimRequest request, Long adminId, Long sellerId) {
-        return paymentNotificationService.claimPayment(request.paymentId());
+    /**
+     * @param userId usuario del JWT ya validado; el servicio comprueba que sea el vendedor del cuerpo
+     */
+    public Uni<PaymentNotificationResponse> claimPayment(PaymentClaimRequest request, Long userId) {
+        return paymentNotificationService.claimPayment(request.paymentId(), userId, request.sellerId())
+            .call(claimed -> paymentNotificationProcessor.retract(request.paymentId(), PaymentNotificationProcessor.PAYMENT_CLAIMED, request.sellerId()));
     }
 
-    public Uni<PaymentNotificationResponse> rejectPayment(PaymentRejectRequest request, Long adminId, Long sellerId) {
-        return paymentNotificationService.rejectPayment(request.paymentId(), request.reason());
+    public Uni<PaymentNotificationResponse> rejectPayment(PaymentRejectRequest request, Long userId) {
+        return paymentNotificationService.rejectPayment(request.paymentId(), userId, request.sellerId(), request.reason())
+            .call(rejected -> paymentNotificationProcessor.retract(request.paymentId(), PaymentNotificationProcessor.PAYMENT_REJECTED, request.sellerId()));
     }
 
   public Uni<java.util.Map<String, Object>> getAllSellersStatusForAdmin(Long adminId) {
@@ -0,0 +1,22 @@
+package org.sky.service.hubnotifications;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Primero el vendedor con menos pagos asignados sin resolver; los empates se reparten por turnos
+ */
+public class LeastPendingRoutingPolicy implements SellerRoutingPolicy {
+
+    @Override
+    public String name() {
+        return "least-pending";
+    }
+
+    @Override
+    public List<SellerCandidate> order(long adminId, List<SellerCandidate> candidates, SellerLoadTracker load) {
+        List<SellerCandidate> ordered = load.rotated(adminId, candidates);
+        ordered.sort(Comparator.comparingInt(candidate -> load.pending(candidate.sellerId())));
+        return ordered;
+    }
+}
@@ -0,0 +1,25 @@
+package org.sky.service.hubnotifications;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Primero los vendedores con WebSocket abierto (el pago les llega al instante), dentro de ellos el de menos pendientes;
+ * los desconectados quedan al final y solo lo verían al consultar la lista
+ */
+public class OnlineFirstRoutingPolicy implements SellerRoutingPolicy {
+
+    @Override
+    public String name() {
+        return "online-first";
+    }
+
+    @Override
+    public List<SellerCandidate> order(long adminId, List<SellerCandidate> candidates, SellerLoadTracker load) {
+        List<SellerCandidate> ordered = load.rotated(adminId, candidates);
+        ordered.sort(Comparator
+            .comparing((SellerCandidate candidate) -> !load.isOnline(candidate.sellerId()))
+            .thenComparingInt(candidate -> load.pending(candidate.sellerId())));
+        return ordered;
+    }
+}
@@ -61,11 +61,23 @@ public class PaymentNotificationDataService {
         return paymentRepository.findById(paymentId);
     }
 
-    public Uni<PaymentNotificationEntity> updatePaymentStatus(Long paymentId, String status) {
-        return deadlockRetryService.executeWithRetry(
-            () -> paymentRepository.updatePaymentStatus(paymentId, status),
-            "updatePaymentStatus(id=" + paymentId + ", status=" + status + ")"
-        );
+    public Uni<PaymentNotificationEntity> claimIfPending(Long paymentId, Long sellerId, Long adminId) {
+        return paymentRepository.claimIfPending(paymentId, sellerId, adminId);
+    }
+
+    public Uni<PaymentNotificationEntity> rejectIfPending(Long paymentId, Long sellerId, Long adminId, String reason) {
+        return paymentRepository.rejectIfPending(paymentId, sellerId, adminId, reason);
+    }
+
+    public Uni<String> findPaymentStatus(Long paymentId, Long adminId) {
+        return paymentRepository.findStatusById(paymentId, adminId);
+    }
+
+    /**
+     * Vendedor del usuario autenticado, con su sucursal y admin
+     */
+    public Uni<SellerEntity> findSellerByUserId(Long userId) {
+        return sellerRepository.findByUserId(userId);
     }
 
     public Uni<PaymentRejectionEntity> savePaymentRejection(PaymentRejectionEntity rejection) {
@@ -101,6 +113,34 @@ public class PaymentNotificationDataService {
         return paymentRepository.countPendingPaymentsForAdmin(adminId, startDate, endDate);
     }
     
+    /**
+     * Todos los pagos pendientes (carga inicial de PendingPaymentsIndex)
+     */
+    public Uni<List<PaymentNotificationEntity>> findAllPendingPayments() {
+        return paymentRepository.findAllPending();
+    }
+    
+    /**
+     * Pendientes de un admin (corrección de PendingPaymentsIndex)
+     */
+    public Uni<List<PaymentNotificationEntity>> findAllPendingPaymentsForAdmin(Long adminId) {
+        return paymentRepository.findAllPendingForAdmin(adminId);
+    }
+    
+    /**
+     * Pago creado en otra réplica, si sigue pendiente
+     */
+    public Uni<PaymentNotificationEntity> findPendingPayment(Long paymentId) {
+        return paymentRepository.findPendingById(paymentId);
+    }
+    
+    /**
+     * Cantidad y suma de ids de pendientes por admin (verificación periódica de PendingPaymentsIndex)
+     */
+    public Uni<List<PaymentNotificationRepository.PendingDigest>> digestPendingPayments() {
+        return paymentRepository.digestPendingByAdmin();
+    }
+    
     /**
      * Busca pagos para un admin por estado específico
      */
@@ -82,4 +82,13 @@ public class PaymentNotificationMapper {
             notification.yapeCode(),
             notification.message()
         );
+
+
+    /**
+     * Frame de retracción: el pago ya fue resuelto por otro vendedor y los demás dispositivos deben quitarlo
+     */
+    public static String toRetractionJson(Long paymentId, String type, Long sellerId) {
+        return String.format("{\"type\":\"%s\",\"data\":{\"paymentId\":%d,\"sellerId\":%d}}",
+            type, paymentId, sellerId);
+    }
 }
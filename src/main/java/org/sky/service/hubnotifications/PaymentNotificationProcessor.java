@@ -1,99 +1,202 @@
 package org.sky.service.hubnotifications;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
 import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Tuple;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import org.sky.dto.response.payment.PaymentNotificationResponse;
-import org.sky.service.websocket.WebSocketNotificationService;
+import org.sky.service.cluster.PgListener;
+import org.sky.service.metrics.HotPathMetrics;
+import org.sky.service.metrics.HotPathMetrics.Stage;
+import org.sky.service.websocket.ClusterDeliveryBus;
+import org.sky.util.HotPathLog;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import static io.smallrye.config._private.ConfigLogging.log;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Despacho de pagos a los vendedores conectados del admin y retracción cuando uno de ellos lo resuelve.
+ * El frame se codifica una vez por pago y se escribe tal cual en cada sesión: el costo es O(vendedores en línea).
+ * Si el pago se resuelve en otra réplica, esa réplica avisa por el canal payment_resolved para que la que lo
+ * despachó libere la carga de SellerRoutingEngine sin esperar al TTL.
+ */
 @ApplicationScoped
 public class PaymentNotificationProcessor {
 
+    public static final String PAYMENT_CLAIMED = "PAYMENT_CLAIMED";
+    public static final String PAYMENT_REJECTED = "PAYMENT_REJECTED";
+
+    private static final Logger log = Logger.getLogger(PaymentNotificationProcessor.class);
+    private static final HotPathLog hotLog = HotPathLog.get(PaymentNotificationProcessor.class);
+    private static final HotPathLog.Sampler nobodyOnlineLog = hotLog.sampled(10, TimeUnit.SECONDS);
+    private static final String RESOLVED_CHANNEL = "payment_resolved";
+
     @Inject
-    WebSocketNotificationService webSocketNotificationService;
+    ClusterDeliveryBus deliveryBus;
 
-    private final Map<Long, List<PaymentNotificationResponse>> notificationQueue = new ConcurrentHashMap<>();
-    private final Map<Long, Long> timerIds = new ConcurrentHashMap<>();
-    private final AtomicInteger processedCount = new AtomicInteger(0);
+    @Inject
+    PaymentNotificationDataService dataService;
 
+    @Inject
+    HotPathMetrics hotPathMetrics;
 
-  public Uni<Void> processNotificationQueue(Long sellerId) {
-    return Uni.createFrom().item(() -> {
-      List<PaymentNotificationResponse> notifications = notificationQueue.remove(sellerId);
-      timerIds.remove(sellerId);
+    @Inject
+    SellerRoutingEngine routingEngine;
 
-      if (notifications != null && !notifications.isEmpty()) {
-        // Check WebSocket connection status
-        if (!webSocketNotificationService.isSellerConnected(sellerId)) {
-          log.warn("⚠️ Seller " + sellerId + " not connected. Storing notifications for later.");
-          return null;
-        }
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    PgListener listener;
+
+    @Inject
+    Pool pool;
+
+    /** Tiempo que se recuerdan los destinatarios de un pago sin resolver para enviarles la retracción */
+    @ConfigProperty(name = "yapechamo.payments.dispatch.recipients-ttl-ms", defaultValue = "3600000")
+    long recipientsTtlMs;
+
+    private final Map<Long, DispatchedPayment> dispatched = new ConcurrentHashMap<>();
+    private Long purgeTimerId;
 
-        try {
-          if (notifications.size() == 1) {
-            sendIndividualNotification(sellerId, notifications.get(0));
-          } else {
-            sendGroupedNotification(sellerId, notifications);
-          }
-          processedCount.incrementAndGet();
-        } catch (Exception e) {
-          log.error("❌ Error processing notification queue for seller " + sellerId, e);
+    void onStart(@Observes StartupEvent event) {
+        purgeTimerId = vertx.setPeriodic(Math.max(1_000, recipientsTtlMs / 4), id -> purgeExpired());
+        listener.listen(RESOLVED_CHANNEL, this::onResolvedElsewhere, () -> { });
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (purgeTimerId != null) {
+            vertx.cancelTimer(purgeTimerId);
         }
-      }
-      return null;
-    });
-  }
+    }
 
-    public Uni<Void> addToQueue(Long sellerId, PaymentNotificationResponse notification) {
+    /**
+     * Envía el pago a los vendedores que eligió SellerRoutingEngine.route y que están conectados.
+     * No espera las escrituras: el alta del pago no depende de los sockets.
+     *
+     * @param assigned destinatarios devueltos por route, el dueño primero
+     * @param receivedAt System.nanoTime() de llegada del pago, para la latencia de punta a punta
+     */
+    public Uni<Void> dispatch(Long adminId, List<Long> assigned, PaymentNotificationResponse notification, long receivedAt) {
         return Uni.createFrom().item(() -> {
-            notificationQueue.computeIfAbsent(sellerId, k -> new java.util.ArrayList<>()).add(notification);
-            scheduleNotificationDelivery(sellerId);
+            dispatched.put(notification.paymentId(), new DispatchedPayment(adminId, assigned, System.currentTimeMillis()));
+
+            List<Long> recipients = deliveryBus.reachable(assigned);
+            if (recipients.isEmpty()) {
+                nobodyOnlineLog.warn(() -> "⚠️ No hay vendedores conectados para el pago " + notification.paymentId()
+                    + ". Queda pendiente para consulta.");
+                return null;
+            }
+
+            long encodeStart = System.nanoTime();
+            String frame = PaymentNotificationMapper.TO_INDIVIDUAL_JSON.apply(notification);
+            hotPathMetrics.record(Stage.FRAME_ENCODE, encodeStart);
+
+            long fanOutStart = System.nanoTime();
+            deliveryBus.publish(adminId, recipients, frame)
+                .subscribe()
+                .with(
+                    delivered -> {
+                        hotPathMetrics.record(Stage.FAN_OUT, fanOutStart);
+                        if (delivered > 0) {
+                            hotPathMetrics.record(Stage.END_TO_END, receivedAt);
+                        }
+                        hotLog.debug(() -> "⚡ Pago " + notification.paymentId() + " enviado a " + delivered + "/" + recipients.size() + " vendedores");
+                    },
+                    failure -> log.error("❌ Error enviando el pago " + notification.paymentId() + ": " + failure.getMessage())
+                );
             return null;
         });
     }
 
-    private void sendIndividualNotification(Long sellerId, PaymentNotificationResponse notification) {
-        String notificationJson = PaymentNotificationMapper.TO_INDIVIDUAL_JSON.apply(notification);
-        webSocketNotificationService.sendNotificationReactive(sellerId, notificationJson)
-            .subscribe()
-            .with(
-                success -> {},
-                failure -> {}
-            );
-    }
+    /**
+     * Avisa a los demás destinatarios que el pago ya fue reclamado o rechazado, para que lo quiten de su lista.
+     * Si los destinatarios ya no están en memoria (reinicio, TTL vencido o pago despachado por otro nodo)
+     * se usan los vendedores del admin.
+     */
+    public Uni<Void> retract(Long paymentId, String type, Long sellerId) {
+        DispatchedPayment payment = dispatched.remove(paymentId);
+        if (payment != null) {
+            routingEngine.resolved(payment.adminId(), payment.sellerIds(), sellerId);
+        } else if (listener.isActive()) {
+            pool.preparedQuery("SELECT pg_notify('" + RESOLVED_CHANNEL + "', $1)")
+                .execute(Tuple.of(listener.nodeId() + "|" + paymentId + "|" + sellerId))
+                .subscribe().with(
+                    rows -> { },
+                    failure -> log.warn("⚠️ No se pudo avisar la resolución del pago " + paymentId + ": " + failure.getMessage()));
+        }
+        Uni<DispatchedPayment> recipients = payment != null
+            ? Uni.createFrom().item(payment)
+            : Panache.withSession(() -> dataService.findPaymentById(paymentId))
+                .chain(entity -> entity == null
+                    ? Uni.createFrom().<DispatchedPayment>nullItem()
+                    : dataService.findSellersByAdminId(entity.adminId)
+                        .map(sellers -> new DispatchedPayment(entity.adminId,
+                            sellers.stream().map(seller -> seller.id).toList(), System.currentTimeMillis())));
 
-    private void sendGroupedNotification(Long sellerId, List<PaymentNotificationResponse> notifications) {
-        String groupedJson = PaymentNotificationMapper.TO_GROUPED_JSON.apply(notifications);
-        webSocketNotificationService.sendNotificationReactive(sellerId, groupedJson)
-            .subscribe()
-            .with(
-                success -> {},
-                failure -> {}
-            );
+        return recipients
+            .invoke(resolved -> {
+                if (resolved == null) {
+                    return;
+                }
+                List<Long> others = new ArrayList<>(deliveryBus.reachable(resolved.sellerIds()));
+                others.remove(sellerId);
+                if (others.isEmpty()) {
+                    return;
+                }
+                String frame = PaymentNotificationMapper.toRetractionJson(paymentId, type, sellerId);
+                deliveryBus.publish(resolved.adminId(), others, frame)
+                    .subscribe()
+                    .with(
+                        delivered -> hotLog.debug(() -> "🧹 Retracción " + type + " del pago " + paymentId + " enviada a " + delivered + " vendedores"),
+                        failure -> log.warn("⚠️ Error enviando retracción del pago " + paymentId + ": " + failure.getMessage())
+                    );
+            })
+            .onFailure().invoke(failure -> log.warn("⚠️ No se pudo resolver destinatarios de la retracción del pago " + paymentId + ": " + failure.getMessage()))
+            .onFailure().recoverWithNull()
+            .replaceWithVoid();
     }
 
-    private void scheduleNotificationDelivery(Long sellerId) {
-        Long existingTimerId = timerIds.get(sellerId);
-        if (existingTimerId != null) {
-            // Cancel existing timer - actual implementation would cancel the Vertx timer
+    /**
+     * Otra réplica resolvió un pago: si lo despachó este nodo, se libera su carga
+     */
+    private void onResolvedElsewhere(String payload) {
+        String[] parts = payload.split("\\|");
+        if (parts.length != 3 || listener.nodeId().equals(parts[0])) {
+            return;
+        }
+        DispatchedPayment payment = dispatched.remove(Long.parseLong(parts[1]));
+        if (payment != null) {
+            routingEngine.resolved(payment.adminId(), payment.sellerIds(), Long.parseLong(parts[2]));
         }
-        
-        // Send notification immediately for real-time delivery
-        processNotificationQueue(sellerId)
-            .subscribe()
-            .with(
-                success -> {},
-                failure -> {}
-            );
-        
-        timerIds.remove(sellerId);
     }
 
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - recipientsTtlMs;
+        dispatched.entrySet().removeIf(entry -> {
+            DispatchedPayment payment = entry.getValue();
+            if (payment.dispatchedAt() >= cutoff) {
+                return false;
+            }
+            routingEngine.resolved(payment.adminId(), payment.sellerIds(), null);
+            return true;
+        });
+    }
+
+    /**
+     * Vendedores asignados a un pago todavía pendiente
+     */
+    private record DispatchedPayment(Long adminId, List<Long> sellerIds, long dispatchedAt) {
+    }
 }
@@ -1,5 +1,6 @@
 package org.sky.service.hubnotifications;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -21,15 +22,22 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.sky.service.metrics.HotPathMetrics;
+import org.sky.service.metrics.HotPathMetrics.Stage;
 import org.sky.service.websocket.WebSocketNotificationService;
-import org.sky.util.DeadlockRetryService;
+import org.sky.util.AfterCommit;
+import org.sky.util.HotPathLog;
 
 @ApplicationScoped
 public class PaymentNotificationService {
 
     private static final Logger log = Logger.getLogger(PaymentNotificationService.class);
+    private static final HotPathLog hotLog = HotPathLog.get(PaymentNotificationService.class);
+    private static final HotPathLog.Sampler claimRejectedLog = hotLog.sampled(5, TimeUnit.SECONDS);
+    private static final HotPathLog.Sampler claimedLog = hotLog.sampled(1, TimeUnit.SECONDS);
 
     @Inject
     PaymentNotificationDataService dataService;
@@ -37,24 +45,44 @@ public class PaymentNotificationService {
     @Inject
     PaymentNotificationProcessor processor;
 
+    @Inject
+    PendingPaymentsIndex pendingIndex;
+
+    @Inject
+    SellerRoutingEngine routingEngine;
+
 
     @Inject
     WebSocketNotificationService webSocketNotificationService;
-    
+
     @Inject
-    DeadlockRetryService deadlockRetryService;
+    HotPathMetrics hotPathMetrics;
 
 
     public Uni<PaymentNotificationResponse> processPaymentNotification(PaymentNotificationRequest request) {
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> processPaymentNotification(request, System.nanoTime(), afterCommit))
+            .invoke(afterCommit::run)
+            .onFailure().invoke(afterCommit::rollback);
+    }
+
+    /**
+     * Debe correr dentro de la transacción de quien llama; el índice de pendientes y el envío a los vendedores
+     * quedan en afterCommit
+     *
+     * @param receivedAt System.nanoTime() de llegada de la notificación, para medir la latencia de punta a punta
+     */
+    public Uni<PaymentNotificationResponse> processPaymentNotification(PaymentNotificationRequest request, long receivedAt,
+                                                                       AfterCommit afterCommit) {
         return PaymentNotificationValidator.validateRequest().apply(request)
             .chain(validRequest -> PaymentNotificationValidator.validateAdminId().apply(request.adminId()))
-            .chain(adminId -> dataService.findSellersByAdminId(adminId))
+            .chain(adminId -> hotPathMetrics.time(Stage.SELLER_LOOKUP, () -> dataService.findSellersByAdminId(adminId)))
             .chain(sellers -> {
                 if (sellers.isEmpty()) {
                     return Uni.createFrom().failure(new RuntimeException("No sellers found for admin"));
                 }
                 // Send notification to ALL sellers of the admin
-                return sendNotificationToAllSellers(request, sellers);
+                return sendNotificationToAllSellers(request, sellers, receivedAt, afterCommit);
             });
     }
 
@@ -105,117 +133,118 @@ public class PaymentNotificationService {
     }
 
 
-  @WithTransaction
-    public Uni<PaymentNotificationResponse> claimPayment(Long paymentId) {
-        log.info("🔍 Attempting to claim payment with ID: " + paymentId);
-        
-        return PaymentNotificationValidator.validatePaymentId().apply(paymentId)
-            .chain(validPaymentId -> {
-                log.info("✅ Payment ID validation passed: " + validPaymentId);
-                
-                // Usar retry automático para manejar deadlocks
-                return deadlockRetryService.executeWithRetry(
-                    () -> claimPaymentInternal(validPaymentId),
-                    "claimPayment(" + validPaymentId + ")"
-                );
-            });
-    }
-    
-    /**
-     * Implementación interna del claim payment con retry automático
+  /**
+     * Reclamo con semántica "el primero gana": un único UPDATE condicional sobre status = 'PENDING'.
+     * El índice de pendientes se actualiza recién después del commit.
+     * Los perdedores de la carrera no reintentan; reciben el mismo error que si el pago ya estuviera tomado.
+     * El vendedor sale del JWT (userId), no del cuerpo: el sellerId enviado solo se acepta si coincide,
+     * y el UPDATE exige que el pago sea del admin de ese vendedor.
      */
-    private Uni<PaymentNotificationResponse> claimPaymentInternal(Long paymentId) {
-        return dataService.findPaymentById(paymentId)
-            .chain(payment -> {
-                if (payment == null) {
-                    log.warn("❌ Payment not found with ID: " + paymentId);
-                    return Uni.createFrom().failure(org.sky.exception.ValidationException.requiredField("payment"));
-                }
-                
-                log.info("📊 Found payment: ID=" + payment.id + ", status=" + payment.status + 
-                        ", amount=" + payment.amount + ", adminId=" + payment.adminId);
-                
-                if (!"PENDING".equals(payment.status)) {
-                    log.warn("❌ Payment is not pending: ID=" + payment.id + ", status=" + payment.status);
-                    return Uni.createFrom().failure(org.sky.exception.ValidationException.invalidField("payment", payment.id.toString(), "is not pending"));
-                }
-                
-                log.info("✅ Payment is pending, proceeding to claim");
-                return dataService.updatePaymentStatus(paymentId, "CLAIMED");
-            })
+    public Uni<PaymentNotificationResponse> claimPayment(Long paymentId, Long userId, Long sellerId) {
+        hotLog.debug(() -> "🔍 Attempting to claim payment with ID: " + paymentId + " by seller " + sellerId);
+
+        return Panache.withTransaction(() -> PaymentNotificationValidator.validatePaymentId().apply(paymentId)
+                .chain(validPaymentId -> resolveActingSeller(userId, sellerId))
+                .chain(seller -> dataService.claimIfPending(paymentId, seller.id, seller.branch.admin.id)
+                    .chain(payment -> payment != null
+                        ? Uni.createFrom().item(payment)
+                        : notPendingFailure(paymentId, seller.branch.admin.id))))
+            // Ya confirmado: el índice (local y de las demás réplicas) no ve reclamos que terminan en rollback
             .onItem().transform(payment -> {
-                log.info("🎉 Payment claimed successfully: ID=" + payment.id);
+                pendingIndex.resolved(payment.adminId, payment.id);
+                claimedLog.info(() -> "🎉 Payment claimed successfully: ID=" + payment.id + ", seller=" + sellerId);
                 return PaymentNotificationMapper.ENTITY_TO_RESPONSE.apply(payment);
             })
-            .onFailure().invoke(throwable -> {
+            .onFailure(throwable -> !(throwable instanceof ValidationException) && !(throwable instanceof SecurityException)).invoke(throwable -> {
                 log.error("❌ Error claiming payment: " + throwable.getMessage());
             });
     }
 
 
-    @WithTransaction
-    public Uni<PaymentNotificationResponse> rejectPayment(Long paymentId, String reason) {
-        return PaymentNotificationValidator.validatePaymentId().apply(paymentId)
-            .chain(validPaymentId -> {
-                // Usar retry automático para manejar deadlocks
-                return deadlockRetryService.executeWithRetry(
-                    () -> rejectPaymentInternal(validPaymentId, reason),
-                    "rejectPayment(" + validPaymentId + ")"
-                );
-            });
+    /**
+     * Rechazo con la misma transición condicional y la misma verificación de vendedor que claimPayment;
+     * el registro de rechazo solo se inserta si este vendedor ganó la transición.
+     */
+    public Uni<PaymentNotificationResponse> rejectPayment(Long paymentId, Long userId, Long sellerId, String reason) {
+        return Panache.withTransaction(() -> PaymentNotificationValidator.validatePaymentId().apply(paymentId)
+                .chain(validPaymentId -> resolveActingSeller(userId, sellerId))
+                .chain(seller -> dataService.rejectIfPending(paymentId, seller.id, seller.branch.admin.id, reason)
+                    .chain(payment -> {
+                        if (payment == null) {
+                            return notPendingFailure(paymentId, seller.branch.admin.id);
+                        }
+                        PaymentRejectionEntity rejection = new PaymentRejectionEntity(payment.id, seller.id, reason);
+                        return dataService.savePaymentRejection(rejection).replaceWith(payment);
+                    })))
+            .invoke(payment -> pendingIndex.resolved(payment.adminId, payment.id))
+            .onItem().transform(PaymentNotificationMapper.ENTITY_TO_RESPONSE);
     }
-    
+
     /**
-     * Implementación interna del reject payment con retry automático
+     * Vendedor que actúa según el JWT; un sellerId distinto en el cuerpo es un intento de actuar como otro vendedor
      */
-    private Uni<PaymentNotificationResponse> rejectPaymentInternal(Long paymentId, String reason) {
-        return dataService.findPaymentById(paymentId)
-            .chain(payment -> {
-                if (payment == null) {
-                    return Uni.createFrom().failure(org.sky.exception.ValidationException.requiredField("payment"));
+    private Uni<SellerEntity> resolveActingSeller(Long userId, Long sellerId) {
+        return dataService.findSellerByUserId(userId)
+            .chain(seller -> {
+                if (seller == null) {
+                    return Uni.createFrom().failure(new SecurityException("Solo un vendedor puede reclamar o rechazar pagos"));
                 }
-                if (!"PENDING".equals(payment.status)) {
-                    return Uni.createFrom().failure(org.sky.exception.ValidationException.invalidField("payment", payment.id.toString(), "is not pending"));
+                if (!seller.id.equals(sellerId)) {
+                    claimRejectedLog.warn(() -> "❌ User " + userId + " (seller " + seller.id + ") attempted to act as seller " + sellerId);
+                    return Uni.createFrom().failure(new SecurityException("Not authorized for this sellerId"));
                 }
-                
-                PaymentRejectionEntity rejection = new PaymentRejectionEntity(
-                    payment.id,
-                    payment.adminId, // Using adminId as sellerId for now
-                    reason
-                );
-                
-                return dataService.savePaymentRejection(rejection)
-                    .chain(r -> dataService.updatePaymentStatus(paymentId, "REJECTED"));
-            })
-            .onItem().transform(PaymentNotificationMapper.ENTITY_TO_RESPONSE);
+                return Uni.createFrom().item(seller);
+            });
+    }
+
+    /**
+     * El UPDATE condicional no afectó filas: distinguir pago inexistente (o de otro admin) de pago ya resuelto
+     */
+    private Uni<PaymentNotificationEntity> notPendingFailure(Long paymentId, Long adminId) {
+        return dataService.findPaymentStatus(paymentId, adminId)
+            .chain(status -> {
+                if (status == null) {
+                    claimRejectedLog.warn(() -> "❌ Payment not found with ID: " + paymentId + " for admin " + adminId);
+                    return Uni.createFrom().failure(ValidationException.requiredField("payment"));
+                }
+                claimRejectedLog.warn(() -> "❌ Payment is not pending: ID=" + paymentId + ", status=" + status);
+                return Uni.createFrom().failure(ValidationException.invalidField("payment", paymentId.toString(), "is not pending"));
+            });
     }
 
 
-  private Uni<PaymentNotificationResponse> sendNotificationToAllSellers(PaymentNotificationRequest request, List<SellerEntity> sellers) {
+  /**
+   * Un solo pago por notificación: SellerRoutingEngine elige los destinatarios y el primero es el dueño
+   * con el que se guarda el pago; cualquiera de ellos puede reclamarlo y el primero que llega se lo queda.
+   */
+  private Uni<PaymentNotificationResponse> sendNotificationToAllSellers(PaymentNotificationRequest request, List<SellerEntity> sellers,
+                                                                       long receivedAt, AfterCommit afterCommit) {
       if(sellers.isEmpty()){
         return Uni.createFrom().failure(ValidationException.requiredField("sellers"));
       }
 
-     SellerEntity selectedSeller = sellers.stream()
-         .filter(seller -> seller.isActive)
-         .findFirst()
-         .orElse(sellers.getFirst());
-
+      List<Long> assigned = routingEngine.route(request.adminId(), sellers);
+      afterCommit.onRollback(() -> routingEngine.resolved(request.adminId(), assigned, null));
+      SellerEntity owner = sellers.stream()
+          .filter(seller -> seller.id.equals(assigned.getFirst()))
+          .findFirst()
+          .orElse(sellers.getFirst());
 
-
-      return createNotificationForSeller(request,selectedSeller);
+      return PaymentNotificationValidator.validateSeller().apply(owner)
+          .chain(validSeller -> hotPathMetrics.time(Stage.PAYMENT_INSERT, () -> dataService.createPaymentForSeller(request, validSeller)))
+          .map(savedPayment -> {
+              PaymentNotificationResponse response = PaymentNotificationMapper.ENTITY_TO_RESPONSE.apply(savedPayment);
+              afterCommit.add(() -> {
+                  pendingIndex.added(savedPayment);
+                  processor.dispatch(request.adminId(), assigned, response, receivedAt)
+                      .subscribe().with(
+                          v -> { },
+                          failure -> log.error("❌ Error despachando el pago " + savedPayment.id + ": " + failure.getMessage()));
+              });
+              return response;
+          });
   }
 
-    private Uni<PaymentNotificationResponse> createNotificationForSeller(PaymentNotificationRequest request, SellerEntity seller) {
-        return PaymentNotificationValidator.validateSeller().apply(seller)
-            .chain(validSeller -> dataService.createPaymentForSeller(request, validSeller))
-            .chain(savedPayment -> {
-                PaymentNotificationResponse response = PaymentNotificationMapper.ENTITY_TO_RESPONSE.apply(savedPayment);
-                return processor.addToQueue(seller.id, response)
-                    .onItem().transform(v -> response);
-            });
-    }
-
   public Uni<List<SellerEntity>> getAllSellersStatusForAdmin(Long adminId) {
         return dataService.findSellersByAdminId(adminId);
     }
@@ -249,6 +278,10 @@ public class PaymentNotificationService {
     @WithTransaction
     public Uni<AdminPaymentManagementResponse> getPaymentsForAdminByStatus(Long adminId, int page, int size, String status, LocalDate startDate, LocalDate endDate) {
         log.info("🔍 Getting payments for admin: " + adminId + " with status: " + status);
+
+        if (status != null && "PENDING".equalsIgnoreCase(status.trim()) && pendingIndex.isServing(adminId)) {
+            return Uni.createFrom().item(() -> getPendingPaymentsFromIndex(adminId, page, size, startDate, endDate));
+        }
         
         return dataService.findPaymentsForAdminByStatus(adminId, page, size, status, startDate, endDate)
             .chain(payments -> {
@@ -269,6 +302,34 @@ public class PaymentNotificationService {
             });
     }
     
+    /**
+     * Listado, conteo y resumen de PENDING desde PendingPaymentsIndex, sin consultas a Postgres
+     */
+    private AdminPaymentManagementResponse getPendingPaymentsFromIndex(Long adminId, int page, int size, LocalDate startDate, LocalDate endDate) {
+        PendingPaymentsIndex.PendingPage pending = pendingIndex.page(adminId, page, size, startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        List<PaymentDetail> paymentDetails = pending.payments().stream()
+            .map(payment -> new PaymentDetail(
+                payment.id(),
+                payment.amount(),
+                payment.senderName(),
+                payment.yapeCode(),
+                "PENDING",
+                payment.createdAt(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                "Seller Name",
+                "Branch Name"
+            ))
+            .toList();
+        PaymentSummary summary = createConsistentSummary("PENDING",
+            new PaymentCounts(pending.total(), 0L, 0L),
+            new PaymentAmounts(pending.amount(), 0.0, 0.0));
+        return new AdminPaymentManagementResponse(paymentDetails, summary, PaginationInfo.create(page, pending.total(), size));
+    }
+
     /**
      * Calcula el PaymentSummary completo independiente de la paginación
      * Este método obtiene TODOS los datos para el resumen, no solo los de la página actual
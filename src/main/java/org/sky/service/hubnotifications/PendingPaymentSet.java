@@ -0,0 +1,131 @@
+package org.sky.service.hubnotifications;
+
+import org.sky.service.hubnotifications.PendingPaymentsIndex.PendingPage;
+import org.sky.service.hubnotifications.PendingPaymentsIndex.PendingPayment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Pagos pendientes de un admin ordenados por id en un long[] con los pagos en un arreglo paralelo.
+ * Los ids son crecientes, así que el alta casi siempre es un append; la baja es búsqueda binaria + arraycopy.
+ * Recorrer de atrás hacia adelante da el mismo orden que "ORDER BY createdAt DESC".
+ */
+final class PendingPaymentSet {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private PendingPayment[] payments = new PendingPayment[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return false si el pago ya estaba (se reemplaza)
+     */
+    synchronized boolean add(PendingPayment payment) {
+        int index = Arrays.binarySearch(ids, 0, size, payment.id());
+        if (index >= 0) {
+            payments[index] = payment;
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            payments = Arrays.copyOf(payments, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(payments, insertAt, payments, insertAt + 1, size - insertAt);
+        ids[insertAt] = payment.id();
+        payments[insertAt] = payment;
+        size++;
+        return true;
+    }
+
+    synchronized boolean addIfAbsent(PendingPayment payment) {
+        return Arrays.binarySearch(ids, 0, size, payment.id()) < 0 && add(payment);
+    }
+
+    synchronized boolean remove(long paymentId) {
+        int index = Arrays.binarySearch(ids, 0, size, paymentId);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(payments, index + 1, payments, index, size - index - 1);
+        size--;
+        payments[size] = null;
+        if (ids.length > INITIAL_CAPACITY && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+            payments = Arrays.copyOf(payments, payments.length / 2);
+        }
+        return true;
+    }
+
+    /**
+     * Quita los pagos que cumplen la condición (verificación contra la base)
+     *
+     * @return cantidad quitada
+     */
+    synchronized int removeIf(LongPredicate stale, long indexedBefore) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (payments[i].indexedAt() < indexedBefore && stale.test(ids[i])) {
+                continue;
+            }
+            ids[kept] = ids[i];
+            payments[kept] = payments[i];
+            kept++;
+        }
+        int removed = size - kept;
+        Arrays.fill(payments, kept, size, null);
+        size = kept;
+        return removed;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Suma de los ids: junto con size se compara contra la base sin cargar entidades
+     */
+    synchronized long idSum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ids[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Página de pendientes creados en [from, to], más recientes primero, con el total y el monto de todo el rango
+     *
+     * @param page página base 0, igual que PanacheQuery.page
+     */
+    synchronized PendingPage page(int page, int pageSize, LocalDateTime from, LocalDateTime to) {
+        long skip = (long) page * pageSize;
+        List<PendingPayment> items = new ArrayList<>(Math.min(pageSize, size));
+        long total = 0;
+        double amount = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            PendingPayment payment = payments[i];
+            LocalDateTime createdAt = payment.createdAt();
+            if (createdAt == null || createdAt.isBefore(from) || createdAt.isAfter(to)) {
+                continue;
+            }
+            if (total >= skip && items.size() < pageSize) {
+                items.add(payment);
+            }
+            total++;
+            amount += payment.amount();
+        }
+        return new PendingPage(items, total, amount);
+    }
+}
@@ -0,0 +1,316 @@
+package org.sky.service.hubnotifications;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.model.PaymentNotificationEntity;
+import org.sky.repository.PaymentNotificationRepository.PendingDigest;
+import org.sky.service.cluster.CacheInvalidationBus;
+import org.sky.util.BackgroundTaskRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de los pagos PENDING de cada admin. Se carga al arrancar y se actualiza después del commit
+ * al crear, reclamar o rechazar un pago; cada cambio se avisa a las demás réplicas por CacheInvalidationBus
+ * (namespace pending-payments). Un pago creado en otra réplica se lee por id, y mientras esa lectura está en curso
+ * las consultas de ese admin van a Postgres. La verificación periódica compara cantidad y suma de ids por admin
+ * y solo recarga los admins que difieren. Mientras no termine la primera carga no responde.
+ */
+@ApplicationScoped
+public class PendingPaymentsIndex {
+
+    private static final Logger log = Logger.getLogger(PendingPaymentsIndex.class);
+    static final String NAMESPACE = "pending-payments";
+    static final char ADDED = '+';
+    static final char RESOLVED = '-';
+
+    @Inject
+    PaymentNotificationDataService dataService;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @Inject
+    CacheInvalidationBus invalidationBus;
+
+    @ConfigProperty(name = "yapechamo.payments.pending-index.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.payments.pending-index.consistency-check-interval-ms", defaultValue = "60000")
+    long consistencyCheckIntervalMs;
+
+    private final Map<Long, PendingPaymentSet> byAdmin = new ConcurrentHashMap<>();
+    /** Pagos resueltos desde la última verificación: la lectura de la base puede ser anterior al reclamo */
+    private final Map<Long, Long> recentlyResolved = new ConcurrentHashMap<>();
+    /** Admins con pagos creados en otra réplica que aún se están leyendo de la base */
+    private final Map<Long, Integer> catchingUp = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        invalidationBus.subscribe(NAMESPACE, this::onChangedElsewhere);
+        backgroundTaskRunner.run("pending-index-load", this::reconcile);
+        if (consistencyCheckIntervalMs > 0) {
+            timerId = backgroundTaskRunner.schedulePeriodic(consistencyCheckIntervalMs, "pending-index-check", this::reconcile);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            backgroundTaskRunner.cancel(timerId);
+        }
+    }
+
+    /**
+     * true cuando el índice está cargado y tiene al día los pendientes del admin, así puede responder en lugar
+     * de Postgres
+     */
+    public boolean isServing(Long adminId) {
+        return enabled && ready && !catchingUp.containsKey(adminId);
+    }
+
+    /**
+     * Pago creado, con la transacción ya confirmada: se agrega aquí y se avisa a las demás réplicas
+     */
+    public void added(PaymentNotificationEntity payment) {
+        if (!enabled || payment == null || payment.id == null || payment.adminId == null) {
+            return;
+        }
+        add(payment, System.currentTimeMillis());
+        invalidationBus.publishNow(NAMESPACE, ADDED + key(payment.adminId, payment.id));
+    }
+
+    /**
+     * Pago reclamado o rechazado, con la transacción ya confirmada: se quita aquí y se avisa a las demás réplicas
+     */
+    public void resolved(Long adminId, Long paymentId) {
+        if (!enabled || paymentId == null) {
+            return;
+        }
+        remove(adminId, paymentId);
+        if (adminId != null) {
+            invalidationBus.publishNow(NAMESPACE, RESOLVED + key(adminId, paymentId));
+        }
+    }
+
+    private static String key(Long adminId, Long paymentId) {
+        return adminId + ":" + paymentId;
+    }
+
+    /**
+     * Claves +adminId:paymentId (creado) y -adminId:paymentId (resuelto) de otra réplica; con ALL (tormenta de
+     * avisos) se reconcilia contra la base
+     */
+    private void onChangedElsewhere(Set<String> keys) {
+        if (keys.contains(CacheInvalidationBus.ALL)) {
+            backgroundTaskRunner.run("pending-index-check", this::reconcile);
+            return;
+        }
+        for (String key : keys) {
+            int separator = key.indexOf(':');
+            if (key.length() < 4 || separator < 2) {
+                continue;
+            }
+            Long adminId = Long.valueOf(key.substring(1, separator));
+            Long paymentId = Long.valueOf(key.substring(separator + 1));
+            if (key.charAt(0) == ADDED) {
+                loadAddedElsewhere(adminId, paymentId);
+            } else if (key.charAt(0) == RESOLVED) {
+                remove(adminId, paymentId);
+            }
+        }
+    }
+
+    /**
+     * El aviso solo trae ids: se lee el pago y, hasta tenerlo, ese admin se consulta en Postgres
+     */
+    private void loadAddedElsewhere(Long adminId, Long paymentId) {
+        catchingUp.merge(adminId, 1, Integer::sum);
+        long startedAt = System.currentTimeMillis();
+        backgroundTaskRunner.run("pending-index-added", () -> Panache.withSession(() -> dataService.findPendingPayment(paymentId))
+            .invoke(payment -> {
+                if (payment != null && !recentlyResolved.containsKey(payment.id)) {
+                    add(payment, startedAt);
+                }
+            })
+            .eventually(() -> catchingUp.computeIfPresent(adminId, (id, loads) -> loads > 1 ? loads - 1 : null)));
+    }
+
+    private void add(PaymentNotificationEntity payment, long indexedAt) {
+        PendingPayment pending = PendingPayment.from(payment, indexedAt);
+        byAdmin.compute(payment.adminId, (adminId, set) -> {
+            PendingPaymentSet target = set != null ? set : new PendingPaymentSet();
+            target.add(pending);
+            return target;
+        });
+    }
+
+    private void remove(Long adminId, Long paymentId) {
+        recentlyResolved.put(paymentId, System.currentTimeMillis());
+        PendingPaymentSet set = adminId != null ? byAdmin.get(adminId) : null;
+        if (set != null) {
+            set.remove(paymentId);
+        }
+    }
+
+    /**
+     * Pendientes del admin creados en [from, to], más recientes primero
+     *
+     * @param page página base 0, igual que la consulta paginada de Panache
+     */
+    public PendingPage page(Long adminId, int page, int size, LocalDateTime from, LocalDateTime to) {
+        PendingPaymentSet set = byAdmin.get(adminId);
+        return set != null ? set.page(page, size, from, to) : new PendingPage(List.of(), 0, 0.0);
+    }
+
+    public int pendingCount(Long adminId) {
+        PendingPaymentSet set = byAdmin.get(adminId);
+        return set != null ? set.size() : 0;
+    }
+
+    /**
+     * Carga inicial con todos los pendientes; después, verificación por admin. Solo se quitan pagos indexados
+     * antes de leer la base, y no se re-agregan los resueltos desde la verificación anterior, para no pisar
+     * eventos que ocurren durante la lectura.
+     */
+    Uni<Integer> reconcile() {
+        return ready ? check() : load();
+    }
+
+    private Uni<Integer> load() {
+        long startedAt = System.currentTimeMillis();
+        return Panache.withSession(() -> dataService.findAllPendingPayments())
+            .map(rows -> {
+                Set<Long> pendingIds = new HashSet<>(rows.size() * 2);
+                rows.forEach(row -> {
+                    pendingIds.add(row.id);
+                    addIfAbsent(row, startedAt);
+                });
+                for (Long adminId : byAdmin.keySet()) {
+                    removeStale(adminId, pendingIds, startedAt);
+                }
+                recentlyResolved.values().removeIf(resolvedAt -> resolvedAt < startedAt);
+                return 0;
+            })
+            .invoke(() -> {
+                ready = true;
+                log.info("📇 Índice de pagos pendientes cargado: " + rows() + " pagos de " + byAdmin.size() + " admins");
+            });
+    }
+
+    /**
+     * Compara cantidad y suma de ids por admin contra la base y recarga, de a uno, solo los admins que difieren
+     */
+    private Uni<Integer> check() {
+        long startedAt = System.currentTimeMillis();
+        return Panache.withSession(() -> dataService.digestPendingPayments())
+            .map(this::driftedAdmins)
+            .chain(admins -> Multi.createFrom().iterable(admins)
+                .onItem().transformToUniAndConcatenate(this::reloadAdmin)
+                .collect().with(Collectors.summingInt(Integer::intValue)))
+            .invoke(drift -> {
+                recentlyResolved.values().removeIf(resolvedAt -> resolvedAt < startedAt);
+                if (drift > 0) {
+                    log.warn("⚠️ Índice de pagos pendientes corregido contra la base: " + drift + " diferencias");
+                }
+            });
+    }
+
+    private List<Long> driftedAdmins(List<PendingDigest> digests) {
+        Set<Long> inDatabase = new HashSet<>(digests.size() * 2);
+        List<Long> drifted = new ArrayList<>();
+        for (PendingDigest digest : digests) {
+            inDatabase.add(digest.adminId());
+            PendingPaymentSet set = byAdmin.get(digest.adminId());
+            if (set == null || set.size() != digest.count() || set.idSum() != digest.idSum()) {
+                drifted.add(digest.adminId());
+            }
+        }
+        for (Long adminId : byAdmin.keySet()) {
+            if (!inDatabase.contains(adminId)) {
+                drifted.add(adminId);
+            }
+        }
+        return drifted;
+    }
+
+    private Uni<Integer> reloadAdmin(Long adminId) {
+        long startedAt = System.currentTimeMillis();
+        return Panache.withSession(() -> dataService.findAllPendingPaymentsForAdmin(adminId))
+            .map(rows -> {
+                Set<Long> pendingIds = new HashSet<>(rows.size() * 2);
+                int drift = 0;
+                for (PaymentNotificationEntity row : rows) {
+                    pendingIds.add(row.id);
+                    if (addIfAbsent(row, startedAt)) {
+                        drift++;
+                    }
+                }
+                return drift + removeStale(adminId, pendingIds, startedAt);
+            });
+    }
+
+    private boolean addIfAbsent(PaymentNotificationEntity row, long indexedAt) {
+        if (recentlyResolved.containsKey(row.id)) {
+            return false;
+        }
+        PendingPayment pending = PendingPayment.from(row, indexedAt);
+        boolean[] inserted = new boolean[1];
+        byAdmin.compute(row.adminId, (adminId, set) -> {
+            PendingPaymentSet target = set != null ? set : new PendingPaymentSet();
+            inserted[0] = target.addIfAbsent(pending);
+            return target;
+        });
+        return inserted[0];
+    }
+
+    private int removeStale(Long adminId, Set<Long> pendingIds, long startedAt) {
+        PendingPaymentSet set = byAdmin.get(adminId);
+        int removed = set != null ? set.removeIf(paymentId -> !pendingIds.contains(paymentId), startedAt) : 0;
+        byAdmin.computeIfPresent(adminId, (id, current) -> current.isEmpty() ? null : current);
+        return removed;
+    }
+
+    private int rows() {
+        return byAdmin.values().stream().mapToInt(PendingPaymentSet::size).sum();
+    }
+
+    /**
+     * Lo necesario para listar y resumir un pago pendiente, sin la entidad
+     *
+     * @param indexedAt epoch ms en que entró al índice
+     */
+    public record PendingPayment(long id, long adminId, double amount, String senderName, String yapeCode,
+                                 LocalDateTime createdAt, long indexedAt) {
+
+        static PendingPayment from(PaymentNotificationEntity payment, long indexedAt) {
+            return new PendingPayment(payment.id, payment.adminId, payment.amount != null ? payment.amount : 0.0,
+                payment.senderName, payment.yapeCode, payment.createdAt, indexedAt);
+        }
+    }
+
+    /**
+     * @param total  pendientes en el rango de fechas (todas las páginas)
+     * @param amount suma de sus montos
+     */
+    public record PendingPage(List<PendingPayment> payments, long total, double amount) {
+    }
+}
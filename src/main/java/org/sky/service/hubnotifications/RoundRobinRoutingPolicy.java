@@ -0,0 +1,19 @@
+package org.sky.service.hubnotifications;
+
+import java.util.List;
+
+/**
+ * Turnos fijos entre los vendedores del admin, sin mirar carga ni presencia
+ */
+public class RoundRobinRoutingPolicy implements SellerRoutingPolicy {
+
+    @Override
+    public String name() {
+        return "round-robin";
+    }
+
+    @Override
+    public List<SellerCandidate> order(long adminId, List<SellerCandidate> candidates, SellerLoadTracker load) {
+        return load.rotated(adminId, candidates);
+    }
+}
@@ -0,0 +1,7 @@
+package org.sky.service.hubnotifications;
+
+/**
+ * Vendedor visto por las políticas de ruteo: solo lo necesario para decidir, sin la entidad JPA
+ */
+public record SellerCandidate(long sellerId, long branchId) {
+}
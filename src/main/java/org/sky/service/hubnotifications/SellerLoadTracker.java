@@ -0,0 +1,104 @@
+package org.sky.service.hubnotifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+/**
+ * Estado en memoria que usan las políticas de ruteo: pagos pendientes por vendedor, cursor round-robin por admin,
+ * sucursal del último reclamo por admin y presencia WebSocket. Las actualizaciones son atómicas sin locks
+ * (el mapa solo sincroniza al crear la entrada de un vendedor nuevo).
+ */
+public class SellerLoadTracker {
+
+    private final Map<Long, AtomicInteger> pending = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final Map<Long, Long> sellerBranch = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastClaimBranch = new ConcurrentHashMap<>();
+    private final LongPredicate presence;
+
+    public SellerLoadTracker(LongPredicate presence) {
+        this.presence = presence;
+    }
+
+    public int pending(long sellerId) {
+        AtomicInteger counter = pending.get(sellerId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public boolean isOnline(long sellerId) {
+        return presence.test(sellerId);
+    }
+
+    /**
+     * Siguiente posición de rotación para el admin (crece sin límite; se usa módulo el tamaño de la lista)
+     */
+    public int nextCursor(long adminId) {
+        return cursors.computeIfAbsent(adminId, id -> new AtomicInteger()).getAndIncrement() & Integer.MAX_VALUE;
+    }
+
+    /**
+     * Sucursal del vendedor que reclamó el último pago del admin, o -1 si aún no hay reclamos
+     */
+    public long lastClaimBranch(long adminId) {
+        return lastClaimBranch.getOrDefault(adminId, -1L);
+    }
+
+    /**
+     * Recuerda la sucursal de los vendedores que pueden resolver el pago, para la afinidad por sucursal
+     */
+    public void located(List<SellerCandidate> sellers) {
+        for (SellerCandidate seller : sellers) {
+            sellerBranch.put(seller.sellerId(), seller.branchId());
+        }
+    }
+
+    /**
+     * El pago quedó asignado a estos vendedores: cada uno suma un pendiente
+     */
+    public void dispatched(List<SellerCandidate> recipients) {
+        located(recipients);
+        for (SellerCandidate recipient : recipients) {
+            pending.computeIfAbsent(recipient.sellerId(), id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * El pago se reclamó, rechazó o expiró: los destinatarios liberan su pendiente
+     *
+     * @param resolverSellerId vendedor que lo resolvió, o null si expiró sin respuesta
+     */
+    public void resolved(long adminId, List<Long> recipients, Long resolverSellerId) {
+        for (Long sellerId : recipients) {
+            AtomicInteger counter = pending.get(sellerId);
+            if (counter != null) {
+                counter.updateAndGet(value -> value > 0 ? value - 1 : 0);
+            }
+        }
+        if (resolverSellerId != null) {
+            Long branchId = sellerBranch.get(resolverSellerId);
+            if (branchId != null) {
+                lastClaimBranch.put(adminId, branchId);
+            }
+        }
+    }
+
+    /**
+     * Rotación de la lista a partir del cursor del admin, para repartir empates
+     */
+    List<SellerCandidate> rotated(long adminId, List<SellerCandidate> candidates) {
+        int size = candidates.size();
+        if (size <= 1) {
+            return new ArrayList<>(candidates);
+        }
+        int start = nextCursor(adminId) % size;
+        List<SellerCandidate> rotated = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rotated.add(candidates.get((start + i) % size));
+        }
+        return rotated;
+    }
+}
@@ -0,0 +1,118 @@
+package org.sky.service.hubnotifications;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.model.SellerEntity;
+import org.sky.service.websocket.ClusterDeliveryBus;
+import org.sky.service.websocket.WebSocketNotificationService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Elige a qué vendedores del admin se asigna cada pago según la política configurada
+ * (round-robin, least-pending, online-first o branch-affinity) y lleva la carga pendiente de cada uno.
+ * Los destinatarios son los vendedores conectados (en este nodo o en otro), en el orden de la política y
+ * recortados a max-recipients; el primero es el dueño del pago y el único que suma pendiente, los demás lo ven
+ * como respaldo y cualquiera puede reclamarlo. Sin nadie conectado el pago queda solo con su dueño.
+ */
+@ApplicationScoped
+public class SellerRoutingEngine {
+
+    private static final Logger log = Logger.getLogger(SellerRoutingEngine.class);
+
+    @Inject
+    WebSocketNotificationService webSocketNotificationService;
+
+    @Inject
+    ClusterDeliveryBus deliveryBus;
+
+    @ConfigProperty(name = "yapechamo.payments.routing.policy", defaultValue = "online-first")
+    String policyName;
+
+    /** Máximo de vendedores conectados a los que se envía cada pago, dueño incluido; 0 = todos */
+    @ConfigProperty(name = "yapechamo.payments.dispatch.max-recipients", defaultValue = "0")
+    int maxRecipients;
+
+    SellerLoadTracker load;
+    SellerRoutingPolicy policy;
+
+    @PostConstruct
+    void init() {
+        load = new SellerLoadTracker(webSocketNotificationService::isSellerConnected);
+        policy = policy(policyName);
+        log.info("🧭 Ruteo de pagos con política " + policy.name());
+    }
+
+    public static SellerRoutingPolicy policy(String name) {
+        return switch (name) {
+            case "round-robin" -> new RoundRobinRoutingPolicy();
+            case "least-pending" -> new LeastPendingRoutingPolicy();
+            case "online-first" -> new OnlineFirstRoutingPolicy();
+            case "branch-affinity" -> new BranchAffinityRoutingPolicy();
+            default -> throw new IllegalArgumentException("Política de ruteo desconocida: " + name);
+        };
+    }
+
+    /**
+     * Destinatarios del pago en orden de preferencia (el primero es el dueño) y registra el pendiente del dueño.
+     * Solo se consideran vendedores activos (si no hay ninguno, todos, como antes del ruteo).
+     */
+    public List<Long> route(Long adminId, List<SellerEntity> sellers) {
+        List<SellerCandidate> candidates = new ArrayList<>(sellers.size());
+        for (SellerEntity seller : sellers) {
+            if (!Boolean.FALSE.equals(seller.isActive)) {
+                candidates.add(toCandidate(seller));
+            }
+        }
+        if (candidates.isEmpty()) {
+            sellers.forEach(seller -> candidates.add(toCandidate(seller)));
+        }
+
+        List<SellerCandidate> ordered = policy.order(adminId, candidates, load);
+        List<SellerCandidate> recipients = reachable(ordered);
+        if (recipients.isEmpty()) {
+            recipients = List.of(ordered.getFirst());
+        } else if (maxRecipients > 0 && recipients.size() > maxRecipients) {
+            recipients = recipients.subList(0, maxRecipients);
+        }
+        load.located(recipients);
+        load.dispatched(List.of(recipients.getFirst()));
+        return recipients.stream().map(SellerCandidate::sellerId).toList();
+    }
+
+    /**
+     * @param recipients lo que devolvió route para el pago; libera el pendiente del dueño
+     * @param resolverSellerId vendedor que reclamó o rechazó; null si el pago expiró sin respuesta o no se guardó
+     */
+    public void resolved(Long adminId, List<Long> recipients, Long resolverSellerId) {
+        load.resolved(adminId, recipients.isEmpty() ? recipients : List.of(recipients.getFirst()), resolverSellerId);
+    }
+
+    public int pending(Long sellerId) {
+        return load.pending(sellerId);
+    }
+
+    /**
+     * Los candidatos conectados, sin alterar el orden de la política: el recorte a max-recipients va después
+     */
+    private List<SellerCandidate> reachable(List<SellerCandidate> ordered) {
+        Set<Long> connected = new HashSet<>(deliveryBus.reachable(ordered.stream().map(SellerCandidate::sellerId).toList()));
+        List<SellerCandidate> reachable = new ArrayList<>(connected.size());
+        for (SellerCandidate candidate : ordered) {
+            if (connected.contains(candidate.sellerId())) {
+                reachable.add(candidate);
+            }
+        }
+        return reachable;
+    }
+
+    private static SellerCandidate toCandidate(SellerEntity seller) {
+        return new SellerCandidate(seller.id, seller.branch != null && seller.branch.id != null ? seller.branch.id : -1L);
+    }
+}
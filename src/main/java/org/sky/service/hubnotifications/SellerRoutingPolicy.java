@@ -0,0 +1,17 @@
+package org.sky.service.hubnotifications;
+
+import java.util.List;
+
+/**
+ * Política de ruteo de pagos entrantes: decide qué vendedores del admin reciben primero cada pago.
+ * Las implementaciones no tienen estado propio; todo el estado mutable vive en SellerLoadTracker.
+ */
+public interface SellerRoutingPolicy {
+
+    String name();
+
+    /**
+     * Candidatos ordenados de mayor a menor preferencia (no se descarta ninguno)
+     */
+    List<SellerCandidate> order(long adminId, List<SellerCandidate> candidates, SellerLoadTracker load);
+}
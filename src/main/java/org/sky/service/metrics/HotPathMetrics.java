@@ -0,0 +1,177 @@
+package org.sky.service.metrics;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.logging.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Latencias del ciclo de vida de un pago, desde que llega la notificación Yape hasta que el frame sale por el socket.
+ * Cada etapa tiene su histograma HDR; cada intervalo se publican p50/p90/p99/p99.9/max como gauges de smallrye-metrics
+ * (application_hotpath_latency_p99_milliseconds{stage="decrypt"}, etc.).
+ * Registrar una muestra no asigna memoria, así que se puede dejar activo en producción.
+ */
+@ApplicationScoped
+public class HotPathMetrics {
+
+    private static final Logger log = Logger.getLogger(HotPathMetrics.class);
+
+    public enum Stage {
+        VALIDATE("validate"),
+        /** Alta del registro de auditoría: el unique de deduplication_hash es el filtro de duplicados */
+        DEDUP("dedup"),
+        DECRYPT("decrypt"),
+        AUDIT_PERSIST("audit_persist"),
+        SELLER_LOOKUP("seller_lookup"),
+        PAYMENT_INSERT("payment_insert"),
+        FRAME_ENCODE("frame_encode"),
+        SOCKET_WRITE("socket_write"),
+        /** Escritura del mismo frame a todos los vendedores destinatarios de un pago */
+        FAN_OUT("fan_out"),
+        END_TO_END("end_to_end");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    @Inject
+    MetricRegistry registry;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.metrics.hot-path.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.metrics.hot-path.roll-interval-ms", defaultValue = "10000")
+    long rollIntervalMs;
+
+    private final Map<Stage, LatencyRecorder> recorders = new EnumMap<>(Stage.class);
+    private final Map<Stage, LatencyRecorder.LatencySnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> processedByAdmin = new ConcurrentHashMap<>();
+    private Counter duplicatesRejected;
+    private Long timerId;
+
+    public HotPathMetrics() {
+        for (Stage stage : Stage.values()) {
+            recorders.put(stage, new LatencyRecorder());
+            snapshots.put(stage, LatencyRecorder.LatencySnapshot.empty(0));
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (Stage stage : Stage.values()) {
+            Tag tag = new Tag("stage", stage.tag());
+            registerGauge("hotpath.latency.p50", "p50 del último intervalo", stage, tag, LatencyRecorder.LatencySnapshot::p50Millis);
+            registerGauge("hotpath.latency.p90", "p90 del último intervalo", stage, tag, LatencyRecorder.LatencySnapshot::p90Millis);
+            registerGauge("hotpath.latency.p99", "p99 del último intervalo", stage, tag, LatencyRecorder.LatencySnapshot::p99Millis);
+            registerGauge("hotpath.latency.p999", "p99.9 del último intervalo", stage, tag, LatencyRecorder.LatencySnapshot::p999Millis);
+            registerGauge("hotpath.latency.max", "Máximo del último intervalo", stage, tag, LatencyRecorder.LatencySnapshot::maxMillis);
+            registry.gauge(Metadata.builder()
+                            .withName("hotpath.latency.count")
+                            .withDescription("Muestras registradas desde el arranque")
+                            .build(),
+                    this, metrics -> metrics.snapshots.get(stage).totalCount(), tag);
+        }
+        duplicatesRejected = registry.counter(Metadata.builder()
+                .withName("hotpath.notifications.duplicates")
+                .withDescription("Notificaciones Yape rechazadas por deduplication_hash repetido")
+                .build());
+        timerId = vertx.setPeriodic(rollIntervalMs, id -> roll());
+        log.infof("📈 Métricas de hot path activas (intervalo %d ms)", rollIntervalMs);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    public void record(Stage stage, long startNanos) {
+        if (enabled) {
+            recorders.get(stage).recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Mide una operación reactiva desde la suscripción hasta su item o fallo
+     */
+    public <T> Uni<T> time(Stage stage, Supplier<Uni<T>> operation) {
+        if (!enabled) {
+            return operation.get();
+        }
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return operation.get().onItemOrFailure().invoke((item, failure) -> record(stage, start));
+        });
+    }
+
+    /**
+     * Throughput por admin: una notificación procesada de punta a punta
+     */
+    public void paymentProcessed(Long adminId) {
+        if (!enabled || adminId == null) {
+            return;
+        }
+        Counter counter = processedByAdmin.get(adminId);
+        if (counter == null) {
+            counter = processedByAdmin.computeIfAbsent(adminId, id -> registry.counter(Metadata.builder()
+                    .withName("hotpath.notifications.processed")
+                    .withDescription("Notificaciones Yape procesadas por admin")
+                    .build(), new Tag("adminId", id.toString())));
+        }
+        counter.inc();
+    }
+
+    public void duplicateRejected() {
+        if (duplicatesRejected != null) {
+            duplicatesRejected.inc();
+        }
+    }
+
+    public LatencyRecorder.LatencySnapshot snapshot(Stage stage) {
+        return snapshots.get(stage);
+    }
+
+    void roll() {
+        for (Map.Entry<Stage, LatencyRecorder> entry : recorders.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().roll());
+        }
+    }
+
+    private void registerGauge(String name, String description, Stage stage, Tag tag,
+                               ToDoubleFunction<LatencyRecorder.LatencySnapshot> value) {
+        registry.gauge(Metadata.builder()
+                        .withName(name)
+                        .withDescription(description)
+                        .withUnit(MetricUnits.MILLISECONDS)
+                        .build(),
+                this, metrics -> value.applyAsDouble(metrics.snapshots.get(stage)), tag);
+    }
+}
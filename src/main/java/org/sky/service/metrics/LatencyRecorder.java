@@ -0,0 +1,83 @@
+package org.sky.service.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograma HDR de una etapa del hot path.
+ * Registrar es wait-free y sin asignaciones (el Recorder escribe en un array preasignado);
+ * roll() intercambia el histograma activo y devuelve los percentiles del intervalo, reciclando el anterior.
+ * Los valores se guardan en microsegundos con 3 dígitos significativos, hasta 60 s.
+ */
+public class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private Histogram recycled;
+    private long totalCount;
+
+    public void recordNanos(long elapsedNanos) {
+        long micros = elapsedNanos / 1_000;
+        if (micros < 0) {
+            micros = 0;
+        } else if (micros > HIGHEST_TRACKABLE_MICROS) {
+            micros = HIGHEST_TRACKABLE_MICROS;
+        }
+        recorder.recordValue(micros);
+    }
+
+    /**
+     * Cierra el intervalo actual; solo debe llamarlo un hilo a la vez (el timer de métricas)
+     */
+    public synchronized LatencySnapshot roll() {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        recycled = interval;
+        totalCount += interval.getTotalCount();
+        if (interval.getTotalCount() == 0) {
+            return LatencySnapshot.empty(totalCount);
+        }
+        return new LatencySnapshot(
+                interval.getTotalCount(),
+                totalCount,
+                interval.getValueAtPercentile(50.0),
+                interval.getValueAtPercentile(90.0),
+                interval.getValueAtPercentile(99.0),
+                interval.getValueAtPercentile(99.9),
+                interval.getMaxValue());
+    }
+
+    /**
+     * Percentiles (en microsegundos) del último intervalo cerrado
+     */
+    public record LatencySnapshot(long intervalCount, long totalCount, long p50Micros, long p90Micros,
+                                  long p99Micros, long p999Micros, long maxMicros) {
+
+        static LatencySnapshot empty(long totalCount) {
+            return new LatencySnapshot(0, totalCount, 0, 0, 0, 0, 0);
+        }
+
+        public double p50Millis() {
+            return p50Micros / 1_000.0;
+        }
+
+        public double p90Millis() {
+            return p90Micros / 1_000.0;
+        }
+
+        public double p99Millis() {
+            return p99Micros / 1_000.0;
+        }
+
+        public double p999Millis() {
+            return p999Micros / 1_000.0;
+        }
+
+        public double maxMillis() {
+            return maxMicros / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.sky.service.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Un archivo V{versión}__{descripción}.sql de db/migration, partido en sentencias.
+ * Las sentencias terminan en ';' al final de la línea, salvo dentro de un bloque $$ ... $$ (DO, funciones);
+ * las líneas que empiezan con "--" fuera de esos bloques se ignoran.
+ *
+ * @param checksum SHA-256 del archivo: una migración aplicada no se puede editar, se agrega otra
+ */
+public record MigrationScript(int version, String description, String resource, List<String> statements, String checksum) {
+
+    public static final String LOCATION = "db/migration/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    public static MigrationScript load(String fileName) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Nombre de migración inválido: " + fileName);
+        }
+        String resource = LOCATION + fileName;
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Migración no encontrada en el classpath: " + resource);
+            }
+            String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            return new MigrationScript(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                resource, statements(sql), checksum(sql));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la migración " + resource, e);
+        }
+    }
+
+    /**
+     * CREATE INDEX CONCURRENTLY no puede ir dentro de una transacción: esas migraciones corren en autocommit
+     * y deben ser idempotentes (IF NOT EXISTS) por si fallan a la mitad.
+     */
+    public boolean transactional() {
+        return statements.stream().noneMatch(sql -> sql.toUpperCase(Locale.ROOT).contains("CONCURRENTLY"));
+    }
+
+    static List<String> statements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inDollarQuote = false;
+        for (String line : sql.split("\n")) {
+            String trimmed = line.trim();
+            if (!inDollarQuote && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                continue;
+            }
+            if (!current.isEmpty()) {
+                current.append('\n');
+            }
+            current.append(line);
+            if (countDollarQuotes(line) % 2 == 1) {
+                inDollarQuote = !inDollarQuote;
+            }
+            if (!inDollarQuote && trimmed.endsWith(";")) {
+                current.setLength(current.lastIndexOf(";"));
+                statements.add(current.toString().trim());
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return List.copyOf(statements);
+    }
+
+    private static int countDollarQuotes(String line) {
+        int count = 0;
+        for (int i = line.indexOf("$$"); i >= 0; i = line.indexOf("$$", i + 2)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String checksum(String sql) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.sky.service.migration;
+
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Migraciones versionadas de esquema (db/migration/V{n}__*.sql), aplicadas al arrancar y antes que el resto
+ * de los observadores de StartupEvent. Lo aplicado queda en schema_migrations con su checksum; un advisory lock
+ * evita que dos nodos que arrancan a la vez apliquen la misma migración.
+ * Las migraciones asumen que las tablas existen (hibernate update en dev, esquema existente en prod).
+ */
+@ApplicationScoped
+public class SchemaMigrator {
+
+    private static final Logger log = Logger.getLogger(SchemaMigrator.class);
+
+    /** En orden de versión; agregar aquí cada archivo nuevo de src/main/resources/db/migration */
+    public static final List<String> MIGRATIONS = List.of(
+        "V1__payment_notification_indexes.sql",
+        "V2__notification_and_audit_indexes.sql",
+        "V3__manual_payment_image_columns.sql",
+        "V4__seller_branch_lookup_indexes.sql",
+        "V5__monthly_partitions.sql",
+        "V6__ws_outbox.sql",
+        "V7__affiliation_code_block_seq.sql",
+        "V8__ws_presence.sql",
+        "V9__user_logged_out_at.sql"
+    );
+
+    private static final long LOCK_KEY = 0x7961706531L;
+
+    private static final String CREATE_HISTORY = """
+        CREATE TABLE IF NOT EXISTS schema_migrations (
+            version INTEGER PRIMARY KEY,
+            description VARCHAR(200) NOT NULL,
+            checksum VARCHAR(64) NOT NULL,
+            execution_ms BIGINT NOT NULL,
+            applied_at TIMESTAMP NOT NULL DEFAULT now()
+        )""";
+
+    @Inject
+    Pool pool;
+
+    @ConfigProperty(name = "yapechamo.migrations.enabled", defaultValue = "true")
+    boolean enabled;
+
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+        if (!enabled) {
+            log.info("🗄️ Migraciones de esquema deshabilitadas");
+            return;
+        }
+        // Bloquea el arranque a propósito: la app no debe atender con el esquema a medio migrar
+        int applied = migrate().await().indefinitely();
+        log.info("🗄️ Esquema al día: " + applied + " migraciones aplicadas, " + MIGRATIONS.size() + " en total");
+    }
+
+    public Uni<Integer> migrate() {
+        List<MigrationScript> scripts = MIGRATIONS.stream().map(MigrationScript::load).toList();
+        return pool.withConnection(connection -> connection.query("SELECT pg_advisory_lock(" + LOCK_KEY + ")").execute()
+            .chain(() -> connection.query(CREATE_HISTORY).execute())
+            .chain(() -> connection.query("SELECT version, checksum FROM schema_migrations").execute())
+            .map(rows -> {
+                Map<Integer, String> applied = new HashMap<>();
+                for (Row row : rows) {
+                    applied.put(row.getInteger("version"), row.getString("checksum"));
+                }
+                return applied;
+            })
+            .chain(applied -> Multi.createFrom().iterable(scripts)
+                .onItem().transformToUniAndConcatenate(script -> applyIfPending(connection, script, applied))
+                .collect().with(Collectors.summingInt(Integer::intValue)))
+            .eventually(() -> connection.query("SELECT pg_advisory_unlock(" + LOCK_KEY + ")").execute()));
+    }
+
+    private Uni<Integer> applyIfPending(SqlConnection connection, MigrationScript script, Map<Integer, String> applied) {
+        String checksum = applied.get(script.version());
+        if (checksum != null) {
+            if (!checksum.equals(script.checksum())) {
+                return Uni.createFrom().failure(new IllegalStateException("La migración V" + script.version()
+                    + " ya aplicada fue modificada (checksum distinto). Agregue una migración nueva en lugar de editarla."));
+            }
+            return Uni.createFrom().item(0);
+        }
+
+        long start = System.currentTimeMillis();
+        Uni<Void> run = script.transactional()
+            ? connection.begin().chain(transaction -> execute(connection, script)
+                .chain(() -> record(connection, script, start))
+                .chain(transaction::commit)
+                .onFailure().call(transaction::rollback))
+            : execute(connection, script).chain(() -> record(connection, script, start));
+
+        return run
+            .invoke(() -> log.info("🗄️ Migración V" + script.version() + " aplicada (" + script.description() + ") en "
+                + (System.currentTimeMillis() - start) + " ms"))
+            .onFailure().invoke(failure -> log.error("❌ Falló la migración V" + script.version() + ": " + failure.getMessage()))
+            .replaceWith(1);
+    }
+
+    private Uni<Void> execute(SqlConnection connection, MigrationScript script) {
+        return Multi.createFrom().iterable(script.statements())
+            .onItem().transformToUniAndConcatenate(sql -> connection.query(sql).execute())
+            .collect().last()
+            .replaceWithVoid();
+    }
+
+    private Uni<Void> record(SqlConnection connection, MigrationScript script, long start) {
+        return connection.preparedQuery("INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES ($1, $2, $3, $4)")
+            .execute(Tuple.of(script.version(), script.description(), script.checksum(), System.currentTimeMillis() - start))
+            .replaceWithVoid();
+    }
+}
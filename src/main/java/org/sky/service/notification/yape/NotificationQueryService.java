@@ -3,10 +3,11 @@ package org.sky.service.notification.yape;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.sky.dto.response.ApiResponse;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import org.sky.dto.response.notification.NotificationResponse;
 import org.sky.model.NotificationEntity;
 import org.sky.repository.NotificationRepository;
+import org.sky.util.KeysetCursor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,18 +20,49 @@ public class NotificationQueryService {
 
     @Inject
     NotificationRepository notificationRepository;
+
+    @Inject
+    NotificationUnreadCounter unreadCounter;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-    public Uni<ApiResponse<List<NotificationResponse>>> getNotifications(Long userId, String userRole,
-                                                                         int page, int limit, Boolean unreadOnly, 
-                                                                         String startDateStr, String endDateStr) {
+    private static final int MAX_LIMIT = 100;
+
+    /**
+     * Página de notificaciones resuelta en BD. Con cursor (keyset) ignora page; sin cursor usa page como OFFSET.
+     */
+    @WithSession
+    public Uni<KeysetCursor.Page<NotificationResponse>> getNotifications(Long userId, String userRole,
+                                                                        int page, int limit, Boolean unreadOnly,
+                                                                        String startDateStr, String endDateStr,
+                                                                        String cursor) {
+        final int validatedLimit = (limit <= 0 || limit > MAX_LIMIT) ? 20 : limit;
+        final int offset = (Math.max(page, 1) - 1) * validatedLimit;
+        final KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+
         return parseDates(startDateStr, endDateStr)
-                .chain(dates -> getNotificationsFromRepository(userRole, userId, unreadOnly, dates.startDate(), dates.endDate())
-                        .map(notifications -> {
-                            List<NotificationResponse> paginatedResponses = paginateAndConvert(notifications, page, limit);
-                            return ApiResponse.success("Notifications retrieved successfully", paginatedResponses);
-                        }));
+                .chain(dates -> getNotificationsFromRepository(userRole, userId, unreadOnly, dates.startDate(), dates.endDate(),
+                                                               keysetCursor, offset, validatedLimit)
+                        .map(notifications -> KeysetCursor.page(notifications, validatedLimit,
+                                n -> new KeysetCursor(n.createdAt, n.id)))
+                        .map(result -> new KeysetCursor.Page<>(
+                                result.items().stream().map(this::convertToResponse).toList(),
+                                result.nextCursor())));
+    }
+
+    /**
+     * Badge de no leídas en O(1) (contador en memoria sembrado desde BD)
+     */
+    @WithSession
+    public Uni<Long> getUnreadCount(Long userId, String userRole) {
+        if ("ADMIN".equals(userRole)) {
+            return unreadCounter.getUnreadCount(NotificationEntity.TargetType.ADMIN, userId);
+        } else if ("SELLER".equals(userRole)) {
+            return unreadCounter.getUnreadCount(NotificationEntity.TargetType.SELLER, userId);
+        }
+        return unreadCounter.getUnreadCount(NotificationEntity.TargetType.ADMIN, userId)
+                .chain(adminCount -> unreadCounter.getUnreadCount(NotificationEntity.TargetType.SELLER, userId)
+                        .map(sellerCount -> adminCount + sellerCount));
     }
     
     private Uni<DateRange> parseDates(String startDateStr, String endDateStr) {
@@ -55,33 +87,22 @@ public class NotificationQueryService {
     private record DateRange(LocalDate startDate, LocalDate endDate) {}
 
     private Uni<List<NotificationEntity>> getNotificationsFromRepository(String userRole, Long userId, Boolean unreadOnly,
-                                                                         LocalDate startDate, LocalDate endDate) {
+                                                                         LocalDate startDate, LocalDate endDate,
+                                                                         KeysetCursor cursor, int offset, int limit) {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
         
         if ("ADMIN".equals(userRole)) {
-            return notificationRepository.findByTargetTypeAndUserId(
-                NotificationEntity.TargetType.ADMIN, userId, unreadOnly, startDateTime, endDateTime);
+            return notificationRepository.findPage(List.of(NotificationEntity.TargetType.ADMIN), userId, unreadOnly,
+                startDateTime, endDateTime, cursor, offset, limit);
         } else if ("SELLER".equals(userRole)) {
-            return notificationRepository.findByTargetTypeAndUserId(
-                NotificationEntity.TargetType.SELLER, userId, unreadOnly, startDateTime, endDateTime);
+            return notificationRepository.findPage(List.of(NotificationEntity.TargetType.SELLER), userId, unreadOnly,
+                startDateTime, endDateTime, cursor, offset, limit);
         } else {
-            return notificationRepository.findByUserIdForBothRoles(userId, unreadOnly, startDateTime, endDateTime);
+            return notificationRepository.findPageForBothRoles(userId, unreadOnly, startDateTime, endDateTime, cursor, offset, limit);
         }
     }
 
-    private List<NotificationResponse> paginateAndConvert(List<NotificationEntity> notifications, int page, int limit) {
-        int totalItems = notifications.size();
-        int startIndex = (page - 1) * limit;
-        int endIndex = Math.min(startIndex + limit, totalItems);
-
-        List<NotificationEntity> paginatedNotifications = notifications.subList(startIndex, endIndex);
-
-        return paginatedNotifications.stream()
-                .map(this::convertToResponse)
-                .toList();
-    }
-
     private NotificationResponse convertToResponse(NotificationEntity notification) {
         return new NotificationResponse(
             notification.id, notification.targetType, notification.targetId,
@@ -0,0 +1,101 @@
+package org.sky.service.notification.yape;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.sky.model.NotificationEntity;
+import org.sky.repository.NotificationRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador O(1) de notificaciones no leídas para el badge.
+ * Se siembra con un COUNT indexado la primera vez y se descuenta al marcar como leída. La aplicación no crea
+ * notificaciones (se insertan por fuera), así que las nuevas aparecen al re-sembrar tras el TTL.
+ * Los contadores vencidos se descartan cada TTL y hay un tope de max-entries: si se alcanza, los usuarios
+ * nuevos reciben el COUNT sin guardarlo hasta la próxima limpieza.
+ */
+@ApplicationScoped
+public class NotificationUnreadCounter {
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.notifications.unread-counter-ttl-ms", defaultValue = "300000")
+    long ttlMs;
+
+    @ConfigProperty(name = "yapechamo.notifications.unread-counter-max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        timerId = vertx.setPeriodic(ttlMs, id -> evictExpired(System.currentTimeMillis()));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    public Uni<Long> getUnreadCount(NotificationEntity.TargetType targetType, Long targetId) {
+        String key = key(targetType, targetId);
+        Counter counter = counters.get(key);
+        if (counter != null && System.currentTimeMillis() - counter.seededAt < ttlMs) {
+            return Uni.createFrom().item(counter.value.get());
+        }
+        return notificationRepository.countUnread(targetType, targetId)
+            .map(count -> {
+                if (counters.size() < maxEntries || counters.containsKey(key)) {
+                    counters.put(key, new Counter(count));
+                }
+                return count;
+            });
+    }
+
+    public void decrement(NotificationEntity.TargetType targetType, Long targetId) {
+        Counter counter = counters.get(key(targetType, targetId));
+        if (counter != null) {
+            counter.value.updateAndGet(v -> v > 0 ? v - 1 : 0);
+        }
+    }
+
+    /**
+     * Descarta los contadores vencidos; se volverían a sembrar igual en la próxima lectura
+     */
+    int evictExpired(long nowMillis) {
+        int before = counters.size();
+        counters.values().removeIf(counter -> nowMillis - counter.seededAt >= ttlMs);
+        return before - counters.size();
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private static String key(NotificationEntity.TargetType targetType, Long targetId) {
+        return targetType + ":" + targetId;
+    }
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long seededAt;
+
+        Counter(long initial) {
+            this.value = new AtomicLong(initial);
+            this.seededAt = System.currentTimeMillis();
+        }
+    }
+}
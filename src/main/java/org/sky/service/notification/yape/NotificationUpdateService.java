@@ -1,11 +1,12 @@
 package org.sky.service.notification.yape;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import org.sky.dto.response.ApiResponse;
 import org.sky.repository.NotificationRepository;
+import org.sky.util.AfterCommit;
 
 import java.time.LocalDateTime;
 
@@ -15,19 +16,31 @@ public class NotificationUpdateService {
     @Inject
     NotificationRepository notificationRepository;
 
-    @WithTransaction
+    @Inject
+    NotificationUnreadCounter unreadCounter;
+
+    /**
+     * El contador de no leídas se descuenta recién después del commit (AfterCommit): un rollback no lo desfasa
+     */
     public Uni<ApiResponse<String>> markNotificationAsRead(Long notificationId) {
-        return notificationRepository.findById(notificationId)
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> notificationRepository.findById(notificationId)
                 .chain(notification -> {
                     if (notification == null) {
                         return Uni.createFrom().item(ApiResponse.<String>error("Notification not found"));
                     }
+                    if (Boolean.TRUE.equals(notification.isRead)) {
+                        return Uni.createFrom().item(ApiResponse.success("Notification marked as read"));
+                    }
 
                     notification.isRead = true;
                     notification.readAt = LocalDateTime.now();
 
                     return notificationRepository.persist(notification)
+                            .invoke(persistedNotification -> afterCommit.add(
+                                    () -> unreadCounter.decrement(persistedNotification.targetType, persistedNotification.targetId)))
                             .map(persistedNotification -> ApiResponse.success("Notification marked as read"));
-                });
+                }))
+                .invoke(afterCommit::run);
     }
 }
@@ -0,0 +1,238 @@
+package org.sky.service.notification.yape;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.sky.dto.response.notification.YapeAuditResponse;
+import org.sky.service.blob.BlobStore;
+import org.sky.service.blob.BlobStore.BlobRef;
+import org.sky.service.blob.BlobStore.BlobUpload;
+import org.sky.service.partition.MonthlyPartitions;
+import org.sky.service.partition.MonthlyPartitions.Partition;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archivo de particiones viejas de yape_notification_audit: cada partición se vuelca a un gzip de líneas JSON
+ * (YapeAuditResponse) en el BlobStore, se registra en yape_audit_archives y recién entonces se separa y se borra.
+ * La lectura descomprime bajo demanda en un worker; es para consultas puntuales, no para el listado habitual.
+ * yape_notification_audit_dedup no se toca: el hash lo manda el dispositivo y no depende del timestamp, así que
+ * sin la clave una notificación vieja reenviada (p. ej. tras reinstalar el listener) volvería a entrar.
+ */
+@ApplicationScoped
+public class YapeAuditArchive {
+
+    private static final Logger log = Logger.getLogger(YapeAuditArchive.class);
+    private static final String PARENT = "yape_notification_audit";
+    private static final String CONTENT_TYPE = "application/gzip";
+    private static final int BATCH_SIZE = 1000;
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    BlobStore blobStore;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Vertx vertx;
+
+    /**
+     * Archiva la partición y la elimina; si algo falla antes del DETACH la partición queda intacta
+     */
+    public Uni<Long> archive(Partition partition) {
+        String table = MonthlyPartitions.identifier(partition.name());
+        ArchiveWriter writer = new ArchiveWriter();
+        return blobStore.beginUpload()
+            .chain(upload -> copyRows(table, upload, writer, 0L)
+                .chain(() -> vertx.executeBlocking(Uni.createFrom().item(writer::finish)))
+                .chain(tail -> upload.write(Buffer.buffer(tail)))
+                .chain(() -> upload.commit(CONTENT_TYPE))
+                .onFailure().call(upload::abort))
+            .chain(ref -> dropArchived(table, partition, writer, ref))
+            .invoke(() -> log.info("🗜️ Partición " + table + " archivada: " + writer.rows + " filas"))
+            .replaceWith(() -> writer.rows);
+    }
+
+    /**
+     * Auditoría archivada de un admin en [from, to), más reciente primero
+     */
+    public Uni<List<YapeAuditResponse>> find(Long adminId, LocalDateTime from, LocalDateTime to) {
+        return pool.preparedQuery("SELECT blob_key FROM yape_audit_archives WHERE range_start < $2 AND range_end > $1 ORDER BY range_start")
+            .execute(Tuple.of(from, to))
+            .chain(rows -> {
+                List<Uni<List<YapeAuditResponse>>> reads = new ArrayList<>();
+                for (Row row : rows) {
+                    reads.add(read(row.getString("blob_key"), adminId, from, to));
+                }
+                if (reads.isEmpty()) {
+                    return Uni.createFrom().item(List.<YapeAuditResponse>of());
+                }
+                return Uni.join().all(reads).andFailFast()
+                    .map(results -> results.stream()
+                        .flatMap(List::stream)
+                        .sorted(Comparator.comparing(YapeAuditResponse::createdAt)
+                            .thenComparing(YapeAuditResponse::auditId)
+                            .reversed())
+                        .toList());
+            });
+    }
+
+    private Uni<Void> copyRows(String table, BlobUpload upload, ArchiveWriter writer, long afterId) {
+        return pool.preparedQuery("SELECT * FROM " + table + " WHERE id > $1 ORDER BY id LIMIT " + BATCH_SIZE)
+            .execute(Tuple.of(afterId))
+            .chain(rows -> {
+                if (rows.size() == 0) {
+                    return Uni.createFrom().voidItem();
+                }
+                List<YapeAuditResponse> batch = toResponses(rows);
+                long lastId = batch.get(batch.size() - 1).auditId();
+                return vertx.executeBlocking(Uni.createFrom().item(() -> writer.append(batch)))
+                    .chain(compressed -> upload.write(Buffer.buffer(compressed)))
+                    .chain(() -> rows.size() < BATCH_SIZE
+                        ? Uni.createFrom().voidItem()
+                        : copyRows(table, upload, writer, lastId));
+            });
+    }
+
+    private Uni<Void> dropArchived(String table, Partition partition, ArchiveWriter writer, BlobRef ref) {
+        LocalDateTime rangeStart = partition.from() != null ? partition.from()
+            : writer.oldest != null ? writer.oldest : partition.to();
+        return pool.withTransaction(connection -> connection.preparedQuery("""
+                INSERT INTO yape_audit_archives (partition_name, range_start, range_end, blob_key, row_count, compressed_bytes)
+                VALUES ($1, $2, $3, $4, $5, $6)
+                ON CONFLICT (partition_name) DO UPDATE SET blob_key = EXCLUDED.blob_key, row_count = EXCLUDED.row_count,
+                    compressed_bytes = EXCLUDED.compressed_bytes, archived_at = localtimestamp""")
+            .execute(Tuple.from(List.of(table, rangeStart, partition.to(), ref.key(), writer.rows, ref.size())))
+            .chain(() -> connection.query("ALTER TABLE " + PARENT + " DETACH PARTITION " + table).execute())
+            .chain(() -> connection.query("DROP TABLE " + table).execute())
+            .replaceWithVoid());
+    }
+
+    private Uni<List<YapeAuditResponse>> read(String blobKey, Long adminId, LocalDateTime from, LocalDateTime to) {
+        return blobStore.open(blobKey)
+            .chain(file -> {
+                if (file == null) {
+                    log.warn("⚠️ Archivo de auditoría " + blobKey + " no encontrado en el BlobStore");
+                    return Uni.createFrom().item(List.<YapeAuditResponse>of());
+                }
+                return vertx.executeBlocking(Uni.createFrom().item(() -> scan(Path.of(file.path()), adminId, from, to)));
+            });
+    }
+
+    private List<YapeAuditResponse> scan(Path path, Long adminId, LocalDateTime from, LocalDateTime to) {
+        List<YapeAuditResponse> matches = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                YapeAuditResponse audit = objectMapper.readValue(line, YapeAuditResponse.class);
+                if (adminId.equals(audit.adminId()) && !audit.createdAt().isBefore(from) && audit.createdAt().isBefore(to)) {
+                    matches.add(audit);
+                }
+            }
+            return matches;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de auditoría " + path, e);
+        }
+    }
+
+    private static List<YapeAuditResponse> toResponses(RowSet<Row> rows) {
+        List<YapeAuditResponse> batch = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            batch.add(new YapeAuditResponse(
+                row.getLong("id"),
+                row.getLong("admin_id"),
+                row.getString("encrypted_notification"),
+                row.getString("device_fingerprint"),
+                row.getLong("timestamp"),
+                row.getString("deduplication_hash"),
+                row.getString("decryption_status"),
+                row.getString("decryption_error"),
+                row.getDouble("extracted_amount"),
+                row.getString("extracted_sender_name"),
+                row.getString("extracted_yape_code"),
+                row.getString("transaction_id"),
+                row.getLong("payment_notification_id"),
+                row.getLocalDateTime("created_at"),
+                row.getLocalDateTime("updated_at")
+            ));
+        }
+        return batch;
+    }
+
+    /**
+     * Un único stream gzip escrito por lotes: cada append devuelve lo comprimido hasta ahora para subirlo
+     */
+    private final class ArchiveWriter {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+        private long rows;
+        private LocalDateTime oldest;
+
+        ArchiveWriter() {
+            try {
+                gzip = new GZIPOutputStream(buffer, 64 * 1024);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] append(List<YapeAuditResponse> batch) {
+            try {
+                for (YapeAuditResponse audit : batch) {
+                    gzip.write(objectMapper.writeValueAsBytes(audit));
+                    gzip.write('\n');
+                    rows++;
+                    if (oldest == null || audit.createdAt().isBefore(oldest)) {
+                        oldest = audit.createdAt();
+                    }
+                }
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] finish() {
+            try {
+                gzip.finish();
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] drain() {
+            byte[] compressed = buffer.toByteArray();
+            buffer.reset();
+            return compressed;
+        }
+    }
+}
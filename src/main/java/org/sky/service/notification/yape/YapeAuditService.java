@@ -3,12 +3,16 @@ package org.sky.service.notification.yape;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
-import org.sky.dto.response.ApiResponse;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
 import org.sky.dto.response.notification.YapeAuditResponse;
+import org.sky.exception.ValidationException;
 import org.sky.model.YapeNotificationAuditEntity;
 import org.sky.repository.YapeNotificationAuditRepository;
+import org.sky.util.KeysetCursor;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @ApplicationScoped
@@ -17,28 +21,53 @@ public class YapeAuditService {
     @Inject
     YapeNotificationAuditRepository yapeNotificationAuditRepository;
 
-    @WithTransaction
-    public Uni<ApiResponse<List<YapeAuditResponse>>> getYapeNotificationAudit(Long adminId, int page, int size) {
+    @Inject
+    YapeAuditArchive yapeAuditArchive;
+
+    /**
+     * Auditoría paginada en BD. Con cursor (keyset) ignora page; sin cursor page (base 0) se traduce a OFFSET.
+     */
+    @WithSession
+    public Uni<KeysetCursor.Page<YapeAuditResponse>> getYapeNotificationAudit(Long adminId, int page, int size, String cursor) {
         final int validatedPage = Math.max(0, page);
         final int validatedSize = (size <= 0 || size > 100) ? 20 : size;
+        final KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
         
-        return yapeNotificationAuditRepository.findByAdminId(adminId)
-                .map(auditRecords -> {
-                    List<YapeAuditResponse> paginatedResponses = paginateAndConvert(auditRecords, validatedPage, validatedSize);
-                    return ApiResponse.success("Yape audit retrieved successfully", paginatedResponses);
+        return yapeNotificationAuditRepository.findPageByAdminId(adminId, keysetCursor, validatedPage * validatedSize, validatedSize)
+                .map(auditRecords -> KeysetCursor.page(auditRecords, validatedSize, a -> new KeysetCursor(a.createdAt, a.id)))
+                .map(result -> new KeysetCursor.Page<>(
+                        result.items().stream().map(this::convertToResponse).toList(),
+                        result.nextCursor()));
+    }
+
+    /**
+     * Auditoría de un mes (yyyy-MM) ya archivada fuera de la BD; misma paginación que la auditoría en línea
+     */
+    public Uni<KeysetCursor.Page<YapeAuditResponse>> getArchivedYapeNotificationAudit(Long adminId, String month, int page, int size, String cursor) {
+        final YearMonth archivedMonth;
+        try {
+            archivedMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return Uni.createFrom().failure(ValidationException.invalidField("archivedMonth", month, "Use el formato yyyy-MM"));
+        }
+        final int validatedPage = Math.max(0, page);
+        final int validatedSize = (size <= 0 || size > 100) ? 20 : size;
+        final KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        final LocalDateTime from = archivedMonth.atDay(1).atStartOfDay();
+
+        return yapeAuditArchive.find(adminId, from, from.plusMonths(1))
+                .map(audits -> {
+                    List<YapeAuditResponse> remaining = keysetCursor != null
+                            ? audits.stream().filter(a -> isAfterCursor(a, keysetCursor)).toList()
+                            : audits.stream().skip((long) validatedPage * validatedSize).toList();
+                    return KeysetCursor.page(remaining.stream().limit(validatedSize + 1L).toList(), validatedSize,
+                            a -> new KeysetCursor(a.createdAt(), a.auditId()));
                 });
     }
 
-    private List<YapeAuditResponse> paginateAndConvert(List<YapeNotificationAuditEntity> auditRecords, int page, int size) {
-        int totalCount = auditRecords.size();
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalCount);
-        
-        List<YapeNotificationAuditEntity> paginatedRecords = auditRecords.subList(startIndex, endIndex);
-        
-        return paginatedRecords.stream()
-                .map(this::convertToResponse)
-                .toList();
+    private static boolean isAfterCursor(YapeAuditResponse audit, KeysetCursor cursor) {
+        int byDate = audit.createdAt().compareTo(cursor.createdAt());
+        return byDate < 0 || (byDate == 0 && audit.auditId() < cursor.id());
     }
 
     private YapeAuditResponse convertToResponse(YapeNotificationAuditEntity audit) {
@@ -1,9 +1,9 @@
 package org.sky.service.notification.yape;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import org.sky.dto.response.ApiResponse;
 import org.sky.dto.request.notification.YapeNotificationRequest;
 import org.sky.dto.response.notification.YapeNotificationResponse;
@@ -13,8 +13,11 @@ import org.sky.model.YapeNotificationAuditEntity;
 import org.sky.repository.YapeNotificationAuditRepository;
 import org.sky.service.DeviceFingerprintService;
 import org.sky.service.hubnotifications.PaymentNotificationService;
+import org.sky.service.metrics.HotPathMetrics;
+import org.sky.service.metrics.HotPathMetrics.Stage;
 import org.sky.service.YapeDecryptionService;
 import org.sky.exception.ValidationException;
+import org.sky.util.AfterCommit;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -33,10 +36,32 @@ public class YapeNotificationProcessor {
     @Inject
     PaymentNotificationService paymentNotificationService;
 
-    @WithTransaction
+    @Inject
+    HotPathMetrics hotPathMetrics;
+
+    /**
+     * El índice de pendientes y el envío a los vendedores esperan al commit (AfterCommit): un vendedor no recibe
+     * un pago que todavía no puede reclamar ni uno que termina en rollback
+     */
     public Uni<ApiResponse<YapeNotificationResponse>> processYapeNotification(YapeNotificationRequest request) {
-        return createAuditRecord(request)
-                .chain(auditRecord -> validateAndProcess(request, auditRecord));
+        long receivedAt = System.nanoTime();
+        AfterCommit afterCommit = new AfterCommit();
+        return Panache.withTransaction(() -> hotPathMetrics.time(Stage.DEDUP, () -> createAuditRecord(request))
+                .onFailure(YapeNotificationProcessor::isDuplicate).invoke(hotPathMetrics::duplicateRejected)
+                .chain(auditRecord -> validateAndProcess(request, auditRecord, receivedAt, afterCommit)))
+                .invoke(afterCommit::run)
+                .onFailure().invoke(afterCommit::rollback)
+                .invoke(response -> hotPathMetrics.paymentProcessed(request.adminId()));
+    }
+
+    private static boolean isDuplicate(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.contains("deduplication_hash")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Uni<YapeNotificationAuditEntity> createAuditRecord(YapeNotificationRequest request) {
@@ -52,11 +77,13 @@ public class YapeNotificationProcessor {
     }
 
     private Uni<ApiResponse<YapeNotificationResponse>> validateAndProcess(YapeNotificationRequest request, 
-                                                                         YapeNotificationAuditEntity auditRecord) {
-        return validateTimestamp(request)
-                .chain(v -> validateDeviceFingerprint(request))
-                .chain(v -> decryptNotification(request))
-                .chain(decryptedResponse -> processPaymentAndUpdateAudit(request, decryptedResponse, auditRecord));
+                                                                         YapeNotificationAuditEntity auditRecord,
+                                                                         long receivedAt,
+                                                                         AfterCommit afterCommit) {
+        return hotPathMetrics.time(Stage.VALIDATE, () -> validateTimestamp(request)
+                        .chain(v -> validateDeviceFingerprint(request)))
+                .chain(v -> hotPathMetrics.time(Stage.DECRYPT, () -> decryptNotification(request)))
+                .chain(decryptedResponse -> processPaymentAndUpdateAudit(request, decryptedResponse, auditRecord, receivedAt, afterCommit));
     }
 
     private Uni<Void> validateTimestamp(YapeNotificationRequest request) {
@@ -104,10 +131,12 @@ public class YapeNotificationProcessor {
     private Uni<ApiResponse<YapeNotificationResponse>> processPaymentAndUpdateAudit(
             YapeNotificationRequest request, 
             YapeNotificationResponse decryptedResponse, 
-            YapeNotificationAuditEntity auditRecord) {
+            YapeNotificationAuditEntity auditRecord,
+            long receivedAt,
+            AfterCommit afterCommit) {
         
-        return updateAuditWithDecryptedData(auditRecord, decryptedResponse)
-                .chain(updatedAudit -> processPaymentNotification(request, decryptedResponse)
+        return hotPathMetrics.time(Stage.AUDIT_PERSIST, () -> updateAuditWithDecryptedData(auditRecord, decryptedResponse))
+                .chain(updatedAudit -> processPaymentNotification(request, decryptedResponse, receivedAt, afterCommit)
                         .chain(paymentResponse -> finalizeAuditAndCreateResponse(updatedAudit, paymentResponse, decryptedResponse)));
     }
 
@@ -124,7 +153,9 @@ public class YapeNotificationProcessor {
 
     private Uni<PaymentNotificationResponse> processPaymentNotification(
             YapeNotificationRequest request,
-            YapeNotificationResponse decryptedResponse) {
+            YapeNotificationResponse decryptedResponse,
+            long receivedAt,
+            AfterCommit afterCommit) {
         
         PaymentNotificationRequest paymentRequest = new PaymentNotificationRequest(
             request.adminId(),
@@ -134,7 +165,7 @@ public class YapeNotificationProcessor {
             request.deduplicationHash()
         );
 
-        return paymentNotificationService.processPaymentNotification(paymentRequest);
+        return paymentNotificationService.processPaymentNotification(paymentRequest, receivedAt, afterCommit);
     }
 
     private Uni<ApiResponse<YapeNotificationResponse>> finalizeAuditAndCreateResponse(
@@ -144,7 +175,7 @@ public class YapeNotificationProcessor {
         
         auditRecord.paymentNotificationId = paymentResponse.paymentId();
         
-        return yapeNotificationAuditRepository.persist(auditRecord)
+        return hotPathMetrics.time(Stage.AUDIT_PERSIST, () -> yapeNotificationAuditRepository.persist(auditRecord))
                 .map(updatedAudit -> {
                     YapeNotificationResponse yapeResponse = new YapeNotificationResponse(
                         paymentResponse.paymentId(),
@@ -0,0 +1,106 @@
+package org.sky.service.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reglas de las particiones mensuales por created_at: nombre parent_pAAAAMM, límites [inicio de mes, inicio del siguiente),
+ * qué meses faltan crear y qué particiones ya superaron la retención.
+ */
+public final class MonthlyPartitions {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    /** Salida de pg_get_expr(relpartbound): FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00') */
+    private static final Pattern RANGE = Pattern.compile("FROM \\((MINVALUE|'([^']+)')\\) TO \\((MAXVALUE|'([^']+)')\\)");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private MonthlyPartitions() {
+    }
+
+    /**
+     * Partición existente; from/to null = MINVALUE/MAXVALUE
+     */
+    public record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+
+    public static String partitionName(String parent, YearMonth month) {
+        return identifier(parent) + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * @return null si la expresión no es un rango (partición DEFAULT)
+     */
+    public static Partition parse(String name, String boundExpression) {
+        Matcher matcher = RANGE.matcher(boundExpression == null ? "" : boundExpression);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new Partition(name, bound(matcher.group(2)), bound(matcher.group(4)));
+    }
+
+    /**
+     * Meses a crear para cubrir desde el fin de la última partición hasta monthsAhead meses después del actual
+     */
+    public static List<YearMonth> missingMonths(List<Partition> existing, YearMonth current, int monthsAhead) {
+        LocalDateTime coveredUntil = existing.stream()
+            .map(Partition::to)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+        boolean unbounded = existing.stream().anyMatch(partition -> partition.to() == null);
+        YearMonth last = current.plusMonths(monthsAhead);
+        if (unbounded) {
+            return List.of();
+        }
+
+        YearMonth first = coveredUntil != null ? YearMonth.from(coveredUntil) : current;
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Particiones cuyo rango terminó hace más de keepMonths meses completos
+     */
+    public static List<Partition> expired(List<Partition> existing, YearMonth current, int keepMonths) {
+        LocalDateTime cutoff = current.minusMonths(keepMonths).atDay(1).atStartOfDay();
+        return existing.stream()
+            .filter(partition -> partition.to() != null && !partition.to().isAfter(cutoff))
+            .sorted(Comparator.comparing(Partition::to))
+            .toList();
+    }
+
+    public static String createPartitionSql(String parent, YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(parent, month) + " PARTITION OF " + identifier(parent)
+            + " FOR VALUES FROM ('" + month.atDay(1).atStartOfDay().format(BOUND) + "') TO ('"
+            + month.plusMonths(1).atDay(1).atStartOfDay().format(BOUND) + "')";
+    }
+
+    /**
+     * Los nombres van concatenados en DDL: solo se aceptan identificadores simples en minúscula
+     */
+    public static String identifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Identificador de tabla inválido: " + name);
+        }
+        return name;
+    }
+
+    private static LocalDateTime bound(String literal) {
+        if (literal == null) {
+            return null;
+        }
+        String value = literal.length() > 19 ? literal.substring(0, 19) : literal;
+        return LocalDateTime.parse(value.length() == 10 ? value + " 00:00:00" : value, BOUND);
+    }
+}
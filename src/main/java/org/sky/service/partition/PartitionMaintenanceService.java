@@ -0,0 +1,151 @@
+package org.sky.service.partition;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.service.notification.yape.YapeAuditArchive;
+import org.sky.service.partition.MonthlyPartitions.Partition;
+import org.sky.util.BackgroundTaskRunner;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantenimiento de las tablas particionadas por mes (migración V5): crea por adelantado las particiones de los
+ * próximos meses y archiva las de auditoría que superan la retención. Corre al arrancar y luego periódicamente;
+ * un advisory lock hace que en un clúster lo ejecute un solo nodo a la vez.
+ */
+@ApplicationScoped
+public class PartitionMaintenanceService {
+
+    private static final Logger log = Logger.getLogger(PartitionMaintenanceService.class);
+
+    private static final List<String> PARENTS = List.of("payment_notifications", "yape_notification_audit");
+    private static final String AUDIT_PARENT = "yape_notification_audit";
+    private static final long LOCK_KEY = 0x7961706532L;
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    YapeAuditArchive yapeAuditArchive;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @ConfigProperty(name = "yapechamo.partitions.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.partitions.months-ahead", defaultValue = "3")
+    int monthsAhead;
+
+    @ConfigProperty(name = "yapechamo.partitions.maintenance-interval-ms", defaultValue = "21600000")
+    long maintenanceIntervalMs;
+
+    /** 0 = no archivar */
+    @ConfigProperty(name = "yapechamo.partitions.audit-archive-after-months", defaultValue = "6")
+    int auditArchiveAfterMonths;
+
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        backgroundTaskRunner.run("partition-maintenance", this::maintain);
+        if (maintenanceIntervalMs > 0) {
+            timerId = backgroundTaskRunner.schedulePeriodic(maintenanceIntervalMs, "partition-maintenance", this::maintain);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            backgroundTaskRunner.cancel(timerId);
+        }
+    }
+
+    public Uni<Void> maintain() {
+        return pool.withConnection(connection -> connection.query("SELECT pg_try_advisory_lock(" + LOCK_KEY + ") AS locked").execute()
+            .chain(rows -> {
+                if (!rows.iterator().next().getBoolean("locked")) {
+                    log.debug("🗓️ Mantenimiento de particiones en curso en otro nodo");
+                    return Uni.createFrom().voidItem();
+                }
+                YearMonth current = YearMonth.now();
+                return Multi.createFrom().iterable(PARENTS)
+                    .onItem().transformToUniAndConcatenate(parent -> createUpcoming(parent, current))
+                    .collect().last()
+                    .chain(() -> archiveExpiredAudit(current))
+                    .eventually(() -> connection.query("SELECT pg_advisory_unlock(" + LOCK_KEY + ")").execute());
+            }));
+    }
+
+    private Uni<Void> createUpcoming(String parent, YearMonth current) {
+        return partitionsOf(parent).chain(existing -> {
+            if (existing == null) {
+                return Uni.createFrom().voidItem();
+            }
+            List<YearMonth> missing = MonthlyPartitions.missingMonths(existing, current, monthsAhead);
+            return Multi.createFrom().iterable(missing)
+                .onItem().transformToUniAndConcatenate(month -> pool.query(MonthlyPartitions.createPartitionSql(parent, month)).execute()
+                    .invoke(() -> log.info("🗓️ Partición " + MonthlyPartitions.partitionName(parent, month) + " creada")))
+                .collect().last()
+                .replaceWithVoid();
+        });
+    }
+
+    private Uni<Void> archiveExpiredAudit(YearMonth current) {
+        if (auditArchiveAfterMonths <= 0) {
+            return Uni.createFrom().voidItem();
+        }
+        return partitionsOf(AUDIT_PARENT).chain(existing -> {
+            if (existing == null) {
+                return Uni.createFrom().voidItem();
+            }
+            List<Partition> expired = MonthlyPartitions.expired(existing, current, auditArchiveAfterMonths);
+            return Multi.createFrom().iterable(expired)
+                .onItem().transformToUniAndConcatenate(yapeAuditArchive::archive)
+                .collect().last()
+                .replaceWithVoid();
+        });
+    }
+
+    /**
+     * Particiones de rango del padre; null si la tabla no está particionada (V5 aún no aplicada)
+     */
+    private Uni<List<Partition>> partitionsOf(String parent) {
+        return pool.preparedQuery("SELECT relkind::text AS relkind FROM pg_class WHERE oid = to_regclass($1::text)")
+            .execute(Tuple.of(parent))
+            .chain(kind -> {
+                if (kind.size() == 0 || !"p".equals(kind.iterator().next().getString("relkind"))) {
+                    log.warn("⚠️ La tabla " + parent + " no está particionada; se omite su mantenimiento");
+                    return Uni.createFrom().nullItem();
+                }
+                return pool.preparedQuery("""
+                        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+                        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = to_regclass($1::text)""")
+                    .execute(Tuple.of(parent))
+                    .map(rows -> {
+                        List<Partition> partitions = new ArrayList<>();
+                        for (Row row : rows) {
+                            Partition partition = MonthlyPartitions.parse(row.getString("relname"), row.getString("bound"));
+                            if (partition != null) {
+                                partitions.add(partition);
+                            }
+                        }
+                        return partitions;
+                    });
+            });
+    }
+}
@@ -0,0 +1,100 @@
+package org.sky.service.qr;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de PNGs de QR direccionada por contenido (SHA-256 del payload).
+ * El mismo payload siempre produce la misma imagen, así que no hace falta TTL.
+ */
+@ApplicationScoped
+public class QrImageCache {
+
+    private static final Logger log = Logger.getLogger(QrImageCache.class);
+
+    @ConfigProperty(name = "yapechamo.qr.cache.max-entries", defaultValue = "256")
+    int maxEntries;
+
+    @ConfigProperty(name = "yapechamo.qr.size", defaultValue = "300")
+    int qrSize;
+
+    @Inject
+    QrRenderer qrRenderer;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RenderedQr getOrRender(String payload) {
+        String key = contentKey(payload);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+            entry.lastAccess = System.nanoTime();
+            return entry.qr;
+        }
+
+        misses.incrementAndGet();
+        byte[] png = qrRenderer.renderPng(payload, qrSize);
+        RenderedQr rendered = new RenderedQr(png, "\"" + key + "-" + qrSize + "\"");
+        evictIfFull();
+        entries.putIfAbsent(key, new Entry(rendered));
+        log.debug("🖼️ QR renderizado y cacheado: " + key);
+        return rendered;
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.entrySet().stream()
+            .min((a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess))
+            .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+    }
+
+    static String contentKey(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static final class Entry {
+        final RenderedQr qr;
+        volatile long lastAccess;
+
+        Entry(RenderedQr qr) {
+            this.qr = qr;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    /**
+     * PNG listo para servir; el ETag se deriva del payload y del tamaño
+     */
+    public record RenderedQr(byte[] png, String etag) {}
+}
@@ -0,0 +1,113 @@
+package org.sky.service.qr;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Codificador BitMatrix → PNG sin AWT (escala de grises de 1 bit).
+ * Empaqueta cada fila directamente desde los bits de la matriz, sin pasar por BufferedImage.
+ */
+public final class QrPngEncoder {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte BIT_DEPTH = 1;
+    private static final byte COLOR_TYPE_GRAYSCALE = 0;
+    private static final byte FILTER_NONE = 0;
+
+    private QrPngEncoder() {
+    }
+
+    public static byte[] encode(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int rowBytes = (width + 7) >>> 3;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + height * 8);
+        try {
+            out.write(PNG_SIGNATURE);
+            writeChunk(out, "IHDR", ihdr(width, height));
+            writeChunk(out, "IDAT", idat(matrix, width, height, rowBytes));
+            writeChunk(out, "IEND", new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] ihdr(int width, int height) {
+        byte[] data = new byte[13];
+        putInt(data, 0, width);
+        putInt(data, 4, height);
+        data[8] = BIT_DEPTH;
+        data[9] = COLOR_TYPE_GRAYSCALE;
+        data[10] = 0; // compresión deflate
+        data[11] = 0; // filtro adaptativo estándar
+        data[12] = 0; // sin entrelazado
+        return data;
+    }
+
+    private static byte[] idat(BitMatrix matrix, int width, int height, int rowBytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(height * 4);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater, 8192)) {
+            byte[] line = new byte[rowBytes + 1];
+            BitArray row = new BitArray(width);
+            for (int y = 0; y < height; y++) {
+                row = matrix.getRow(y, row);
+                packRow(row, width, line);
+                deflate.write(line);
+            }
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * En escala de grises 0 = negro: un módulo encendido en la matriz se escribe como bit 0
+     */
+    private static void packRow(BitArray row, int width, byte[] line) {
+        line[0] = FILTER_NONE;
+        int[] words = row.getBitArray();
+        for (int i = 1; i < line.length; i++) {
+            line[i] = 0;
+        }
+        for (int x = 0; x < width; x++) {
+            boolean dark = (words[x >>> 5] & (1 << (x & 31))) != 0;
+            if (!dark) {
+                line[1 + (x >>> 3)] |= (byte) (0x80 >>> (x & 7));
+            }
+        }
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[4];
+        putInt(header, 0, data.length);
+        out.write(header);
+        out.write(typeBytes);
+        out.write(data);
+
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        byte[] crcBytes = new byte[4];
+        putInt(crcBytes, 0, (int) crc.getValue());
+        out.write(crcBytes);
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,23 @@
+package org.sky.service.qr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Renderiza payloads a PNG: ZXing solo para la matriz, QrPngEncoder para los bytes.
+ */
+@ApplicationScoped
+public class QrRenderer {
+
+    public byte[] renderPng(String payload, int size) {
+        try {
+            BitMatrix matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, size, size);
+            return QrPngEncoder.encode(matrix);
+        } catch (WriterException e) {
+            throw new RuntimeException("Error generando imagen QR: " + e.getMessage(), e);
+        }
+    }
+}
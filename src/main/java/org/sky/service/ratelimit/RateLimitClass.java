@@ -0,0 +1,21 @@
+package org.sky.service.ratelimit;
+
+/**
+ * Endpoints con bucket propio por admin: agotar uno no afecta al otro
+ */
+public enum RateLimitClass {
+    /** POST /api/notifications/yape-notifications */
+    YAPE_INGESTION("yape_ingestion"),
+    /** GET /api/stats/analytics */
+    STATS_ANALYTICS("stats_analytics");
+
+    private final String tag;
+
+    RateLimitClass(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,207 @@
+package org.sky.service.ratelimit;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.logging.Logger;
+import org.sky.exception.RateLimitedException;
+import org.sky.util.HotPathLog;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limit por admin (el userId del JWT ya validado) con un token bucket por endpoint: un dispositivo
+ * listener descontrolado o un dashboard refrescando sin parar solo agotan su propio bucket.
+ * Los buckets inactivos (llenos desde hace idle-ttl-ms) se descartan periódicamente junto con su contador
+ * ratelimit.throttled, y hay un tope de buckets por endpoint; si se alcanza, los admins nuevos pasan sin límite
+ * antes que rechazar tráfico legítimo. Con el tope alcanzado, la petición solo barre los inactivos una vez por segundo.
+ */
+@ApplicationScoped
+public class TenantRateLimiter {
+
+    private static final Logger log = Logger.getLogger(TenantRateLimiter.class);
+    private static final HotPathLog.Sampler throttledLog = HotPathLog.get(TenantRateLimiter.class).sampled(10, TimeUnit.SECONDS);
+    private static final HotPathLog.Sampler overflowLog = HotPathLog.get(TenantRateLimiter.class).sampled(60, TimeUnit.SECONDS);
+    private static final String THROTTLED_METRIC = "ratelimit.throttled";
+    private static final long OVERFLOW_SCAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Inject
+    MetricRegistry registry;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.max-buckets", defaultValue = "10000")
+    int maxBuckets;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.idle-ttl-ms", defaultValue = "300000")
+    long idleTtlMs;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.eviction-interval-ms", defaultValue = "60000")
+    long evictionIntervalMs;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.yape-ingestion.per-second", defaultValue = "10")
+    double yapeIngestionPerSecond;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.yape-ingestion.burst", defaultValue = "30")
+    int yapeIngestionBurst;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.stats-analytics.per-second", defaultValue = "0.2")
+    double statsAnalyticsPerSecond;
+
+    @ConfigProperty(name = "yapechamo.rate-limit.stats-analytics.burst", defaultValue = "5")
+    int statsAnalyticsBurst;
+
+    private final Map<RateLimitClass, TokenBucket.Policy> policies = new EnumMap<>(RateLimitClass.class);
+    private final Map<RateLimitClass, Map<Long, TokenBucket>> buckets = new EnumMap<>(RateLimitClass.class);
+    private final Map<String, Counter> throttledCounters = new ConcurrentHashMap<>();
+    private final AtomicLong lastOverflowScan = new AtomicLong();
+    private Long timerId;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            log.info("🪣 Rate limit por admin deshabilitado");
+            return;
+        }
+        init();
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            registry.gauge(Metadata.builder()
+                            .withName("ratelimit.buckets")
+                            .withDescription("Buckets de admins activos por endpoint")
+                            .build(),
+                    this, limiter -> limiter.bucketCount(limitClass), new Tag("endpoint", limitClass.tag()));
+        }
+        timerId = vertx.setPeriodic(evictionIntervalMs, id -> evictIdle(System.nanoTime()));
+        log.infof("🪣 Rate limit por admin activo (ingesta %.1f/s ráfaga %d, analytics %.1f/s ráfaga %d)",
+                yapeIngestionPerSecond, yapeIngestionBurst, statsAnalyticsPerSecond, statsAnalyticsBurst);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId != null) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    void init() {
+        policies.put(RateLimitClass.YAPE_INGESTION, TokenBucket.Policy.of(yapeIngestionPerSecond, yapeIngestionBurst));
+        policies.put(RateLimitClass.STATS_ANALYTICS, TokenBucket.Policy.of(statsAnalyticsPerSecond, statsAnalyticsBurst));
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            buckets.put(limitClass, new ConcurrentHashMap<>());
+        }
+        lastOverflowScan.set(System.nanoTime() - OVERFLOW_SCAN_INTERVAL_NANOS);
+    }
+
+    /**
+     * Consume un token del admin para ese endpoint
+     *
+     * @throws RateLimitedException si el bucket está vacío, con los segundos a esperar para el Retry-After
+     */
+    public void acquire(RateLimitClass limitClass, Long adminId) {
+        if (!enabled || adminId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(limitClass, adminId, now);
+        if (bucket == null) {
+            return;
+        }
+        long waitNanos = bucket.tryAcquire(policies.get(limitClass), now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throttledCounter(limitClass, adminId).inc();
+            throttledLog.warn(() -> "🪣 Admin " + adminId + " limitado en " + limitClass.tag() + " (reintentar en " + retryAfterSeconds + " s)");
+            throw RateLimitedException.tooManyRequests(limitClass.tag(), retryAfterSeconds);
+        }
+    }
+
+    int bucketCount(RateLimitClass limitClass) {
+        return buckets.get(limitClass).size();
+    }
+
+    int throttledCounterCount() {
+        return throttledCounters.size();
+    }
+
+    /**
+     * Descarta los buckets llenos desde hace idle-ttl-ms y sus contadores; volver a crearlos da el mismo resultado
+     */
+    int evictIdle(long nowNanos) {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+        int evicted = 0;
+        for (Map.Entry<RateLimitClass, Map<Long, TokenBucket>> perClass : buckets.entrySet()) {
+            Map<Long, TokenBucket> perAdmin = perClass.getValue();
+            for (Map.Entry<Long, TokenBucket> entry : perAdmin.entrySet()) {
+                if (entry.getValue().isIdle(nowNanos, idleNanos) && perAdmin.remove(entry.getKey(), entry.getValue())) {
+                    removeThrottledCounter(perClass.getKey(), entry.getKey());
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private TokenBucket bucketFor(RateLimitClass limitClass, Long adminId, long now) {
+        Map<Long, TokenBucket> perAdmin = buckets.get(limitClass);
+        TokenBucket bucket = perAdmin.get(adminId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (perAdmin.size() >= maxBuckets && !(tryOverflowScan(now) && perAdmin.size() < maxBuckets)) {
+            overflowLog.warn(() -> "⚠️ Tope de " + maxBuckets + " buckets en " + limitClass.tag() + ": admins nuevos pasan sin límite");
+            return null;
+        }
+        return perAdmin.computeIfAbsent(adminId, id -> new TokenBucket(now));
+    }
+
+    /**
+     * Barre los inactivos desde la petición como mucho una vez por segundo entre todos los hilos
+     *
+     * @return true si este hilo hizo el barrido
+     */
+    private boolean tryOverflowScan(long now) {
+        long last = lastOverflowScan.get();
+        if (now - last < OVERFLOW_SCAN_INTERVAL_NANOS || !lastOverflowScan.compareAndSet(last, now)) {
+            return false;
+        }
+        evictIdle(now);
+        return true;
+    }
+
+    private Counter throttledCounter(RateLimitClass limitClass, Long adminId) {
+        return throttledCounters.computeIfAbsent(counterKey(limitClass, adminId), key -> registry.counter(Metadata.builder()
+                        .withName(THROTTLED_METRIC)
+                        .withDescription("Peticiones rechazadas con 429 por admin y endpoint")
+                        .build(),
+                throttledTags(limitClass, adminId)));
+    }
+
+    private void removeThrottledCounter(RateLimitClass limitClass, Long adminId) {
+        if (throttledCounters.remove(counterKey(limitClass, adminId)) != null) {
+            registry.remove(new MetricID(THROTTLED_METRIC, throttledTags(limitClass, adminId)));
+        }
+    }
+
+    private static String counterKey(RateLimitClass limitClass, Long adminId) {
+        return limitClass.tag() + ":" + adminId;
+    }
+
+    private static Tag[] throttledTags(RateLimitClass limitClass, Long adminId) {
+        return new Tag[]{new Tag("endpoint", limitClass.tag()), new Tag("adminId", String.valueOf(adminId))};
+    }
+}
@@ -0,0 +1,59 @@
+package org.sky.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin locks expresado como GCRA: en lugar de tokens y última recarga guarda un único instante,
+ * el momento en que el bucket volvería a estar lleno, y cada petición lo adelanta un intervalo con CAS.
+ * Un bucket ocupa un AtomicLong; la política (ritmo y ráfaga) se pasa en cada llamada.
+ */
+final class TokenBucket {
+
+    /**
+     * @param intervalNanos tiempo que tarda en reponerse un token
+     * @param capacity      ráfaga máxima (tokens con el bucket lleno)
+     */
+    record Policy(long intervalNanos, int capacity) {
+
+        static Policy of(double perSecond, int capacity) {
+            if (perSecond <= 0 || capacity < 1) {
+                throw new IllegalArgumentException("Política de rate limit inválida: " + perSecond + "/s, ráfaga " + capacity);
+            }
+            return new Policy(Math.max(1, (long) (1_000_000_000L / perSecond)), capacity);
+        }
+
+        long burstNanos() {
+            return intervalNanos * capacity;
+        }
+    }
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 si se consumió un token, o los nanos que faltan para que haya uno
+     */
+    long tryAcquire(Policy policy, long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + policy.intervalNanos();
+            long overflow = next - nowNanos - policy.burstNanos();
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Lleno y sin uso desde hace al menos idleNanos: se puede descartar sin cambiar el resultado de nadie
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - fullAt.get() >= idleNanos;
+    }
+}
@@ -1,6 +1,7 @@
 package org.sky.service.security;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import org.sky.dto.response.ErrorResponse;
 
@@ -41,6 +42,23 @@ public class SecurityErrorHandler {
             );
         }
         
+        if (throwable instanceof org.sky.exception.RateLimitedException rateLimited) {
+            return Response.fromResponse(createSecurityErrorResponse(
+                    rateLimited.getMessage(),
+                    rateLimited.getErrorCode(),
+                    rateLimited.getStatus().getStatusCode()))
+                .header(HttpHeaders.RETRY_AFTER, rateLimited.getRetryAfterSeconds())
+                .build();
+        }
+
+        if (throwable instanceof org.sky.exception.DomainException domainException) {
+            return createSecurityErrorResponse(
+                domainException.getMessage(),
+                domainException.getErrorCode(),
+                domainException.getStatus().getStatusCode()
+            );
+        }
+        
         if (throwable.getMessage() != null && 
             throwable.getMessage().contains("duplicate key value violates unique constraint")) {
             return createSecurityErrorResponse(
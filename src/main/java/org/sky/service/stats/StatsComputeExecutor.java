@@ -0,0 +1,145 @@
+package org.sky.service.stats;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado exclusivo para cálculos de analytics (CPU), separado del event loop de Vert.x
+ * y del ForkJoin common pool. Dimensionado por la cuota de CPU del contenedor
+ * (availableProcessors ya respeta cgroups), con cola acotada, deadline y cancelación.
+ */
+@ApplicationScoped
+public class StatsComputeExecutor {
+
+    private static final Logger log = Logger.getLogger(StatsComputeExecutor.class);
+
+    @ConfigProperty(name = "yapechamo.stats.compute.threads", defaultValue = "0")
+    int configuredThreads;
+
+    @ConfigProperty(name = "yapechamo.stats.compute.queue-size", defaultValue = "256")
+    int queueSize;
+
+    @ConfigProperty(name = "yapechamo.stats.compute.deadline-ms", defaultValue = "15000")
+    long deadlineMs;
+
+    private ThreadPoolExecutor executor;
+
+    public StatsComputeExecutor() {
+    }
+
+    /**
+     * Construcción fuera de CDI (tests de carga, benchmarks)
+     */
+    public StatsComputeExecutor(int threads, int queueSize, long deadlineMs) {
+        this.configuredThreads = threads;
+        this.queueSize = queueSize;
+        this.deadlineMs = deadlineMs;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = configuredThreads > 0 ? configuredThreads : Math.max(1, Runtime.getRuntime().availableProcessors());
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)), new ComputeThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        log.infof("🧮 Pool de cálculo de stats: %d hilos, cola %d, deadline %dms", threads, queueSize, deadlineMs);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        shutdown();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ejecuta el cálculo en el pool. Si el suscriptor cancela (deadline, cliente desconectado)
+     * la tarea se retira de la cola o se interrumpe. El resultado se re-emite en el contexto
+     * Vert.x del llamador para no romper la sesión reactiva de Hibernate.
+     */
+    public <T> Uni<T> submit(String taskName, Supplier<T> work) {
+        return Uni.createFrom().emitter(emitter -> {
+            Context callerContext = Vertx.currentContext();
+            Future<?> future;
+            try {
+                future = executor.submit(() -> {
+                    try {
+                        T result = work.get();
+                        complete(callerContext, () -> emitter.complete(result));
+                    } catch (Throwable failure) {
+                        complete(callerContext, () -> emitter.fail(failure));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                emitter.fail(new StatsComputeRejectedException("Pool de cálculo saturado: " + taskName));
+                return;
+            }
+            emitter.onTermination(() -> {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                }
+            });
+        });
+    }
+
+    /**
+     * Aplica el deadline por petición configurado; al vencer cancela los cálculos pendientes
+     */
+    public <T> Uni<T> withDeadline(Uni<T> computation, String taskName) {
+        return computation.ifNoItem().after(Duration.ofMillis(deadlineMs))
+            .failWith(() -> new TimeoutException("Deadline de " + deadlineMs + "ms excedido en " + taskName));
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    private static void complete(Context context, Runnable completion) {
+        if (context != null) {
+            context.runOnContext(v -> completion.run());
+        } else {
+            completion.run();
+        }
+    }
+
+    public static class StatsComputeRejectedException extends RuntimeException {
+        public StatsComputeRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class ComputeThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "stats-compute-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.sky.service.stats;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publica el costo de cada estrategia de stats como métricas etiquetadas por estrategia
+ * (application_stats_strategy_wall_seconds{strategy="Top Sellers"}, etc.).
+ */
+@ApplicationScoped
+public class StatsStrategyMetrics {
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "yapechamo.stats.timing.metrics-enabled", defaultValue = "true")
+    boolean enabled;
+
+    private final Map<String, StrategyMeters> metersByStrategy = new ConcurrentHashMap<>();
+
+    public void record(StrategyTiming timing) {
+        if (!enabled) {
+            return;
+        }
+        StrategyMeters meters = metersByStrategy.computeIfAbsent(timing.strategy(), this::register);
+        meters.wall().update(Duration.ofNanos(timing.wallNanos()));
+        if (timing.cpuNanos() >= 0) {
+            meters.cpu().update(Duration.ofNanos(timing.cpuNanos()));
+        }
+        meters.inputRows().update(timing.inputRows());
+        meters.outputSize().update(timing.outputSize());
+        if (timing.allocatedBytes() >= 0) {
+            meters.allocatedBytes().update(timing.allocatedBytes());
+        }
+    }
+
+    private StrategyMeters register(String strategy) {
+        Tag tag = new Tag("strategy", strategy);
+        return new StrategyMeters(
+            registry.timer(Metadata.builder()
+                .withName("stats.strategy.wall")
+                .withDescription("Tiempo de pared por estrategia")
+                .build(), tag),
+            registry.timer(Metadata.builder()
+                .withName("stats.strategy.cpu")
+                .withDescription("Tiempo de CPU del hilo por estrategia")
+                .build(), tag),
+            registry.histogram(Metadata.builder()
+                .withName("stats.strategy.input.rows")
+                .withDescription("Pagos recibidos por la estrategia")
+                .build(), tag),
+            registry.histogram(Metadata.builder()
+                .withName("stats.strategy.output.size")
+                .withDescription("Elementos del resultado de la estrategia")
+                .build(), tag),
+            registry.histogram(Metadata.builder()
+                .withName("stats.strategy.allocated")
+                .withDescription("Bytes asignados por la estrategia")
+                .withUnit(MetricUnits.BYTES)
+                .build(), tag));
+    }
+
+    private record StrategyMeters(Timer wall, Timer cpu, Histogram inputRows, Histogram outputSize,
+                                  Histogram allocatedBytes) {
+    }
+}
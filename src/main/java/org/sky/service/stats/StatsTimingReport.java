@@ -0,0 +1,66 @@
+package org.sky.service.stats;
+
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Tiempos por estrategia de una petición de analytics, para el header de depuración X-Stats-Timing.
+ * El controlador lo asocia al contexto Vert.x de la petición y StatsCalculationTemplate lo llena
+ * desde el pool de cálculo; fuera de una petición no hay reporte y solo se publican las métricas.
+ */
+public class StatsTimingReport {
+
+    public static final String HEADER = "X-Stats-Timing";
+    private static final String CONTEXT_KEY = "stats-timing-report";
+
+    private final Queue<StrategyTiming> timings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Crea un reporte y lo deja disponible para el resto de la petición
+     */
+    public static StatsTimingReport bind() {
+        StatsTimingReport report = new StatsTimingReport();
+        if (VertxContext.isOnDuplicatedContext()) {
+            ContextLocals.put(CONTEXT_KEY, report);
+        }
+        return report;
+    }
+
+    /**
+     * Reporte de la petición en curso, o null si nadie lo pidió
+     */
+    public static StatsTimingReport current() {
+        if (!VertxContext.isOnDuplicatedContext()) {
+            return null;
+        }
+        return ContextLocals.<StatsTimingReport>get(CONTEXT_KEY).orElse(null);
+    }
+
+    public void add(StrategyTiming timing) {
+        timings.add(timing);
+    }
+
+    public boolean isEmpty() {
+        return timings.isEmpty();
+    }
+
+    public List<StrategyTiming> timings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * Estrategias de la más lenta a la más rápida
+     */
+    public String headerValue() {
+        return timings.stream()
+            .sorted(Comparator.comparingLong(StrategyTiming::wallNanos).reversed())
+            .map(StrategyTiming::headerEntry)
+            .collect(Collectors.joining(", "));
+    }
+}
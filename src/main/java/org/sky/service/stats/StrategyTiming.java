@@ -0,0 +1,121 @@
+package org.sky.service.stats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Costo de una estrategia de stats en una petición: tiempo de pared, CPU del hilo, filas de entrada,
+ * tamaño del resultado y bytes asignados. CPU y asignación salen de ThreadMXBean y valen -1
+ * si la JVM no los soporta; se miden en el hilo que ejecuta la estrategia (el pool de cálculo).
+ */
+public record StrategyTiming(String strategy, long wallNanos, long cpuNanos, int inputRows,
+                             int outputSize, long allocatedBytes) {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+        THREADS instanceof com.sun.management.ThreadMXBean hotspot ? hotspot : null;
+
+    public static <T> Measured<T> measure(String strategy, int inputRows, Supplier<T> work) {
+        long cpuStart = currentThreadCpuNanos();
+        long allocatedStart = currentThreadAllocatedBytes();
+        long wallStart = System.nanoTime();
+
+        T result = work.get();
+
+        long wallNanos = System.nanoTime() - wallStart;
+        long cpuEnd = currentThreadCpuNanos();
+        long allocatedEnd = currentThreadAllocatedBytes();
+        StrategyTiming timing = new StrategyTiming(strategy, wallNanos,
+            cpuStart >= 0 && cpuEnd >= 0 ? cpuEnd - cpuStart : -1,
+            inputRows, outputSize(result),
+            allocatedStart >= 0 && allocatedEnd >= 0 ? allocatedEnd - allocatedStart : -1);
+        return new Measured<>(result, timing);
+    }
+
+    /**
+     * Filas u entradas del resultado: tamaño para listas y mapas, 1 para un objeto suelto
+     */
+    static int outputSize(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return 1;
+    }
+
+    /**
+     * Entrada del header X-Stats-Timing, en el formato de Server-Timing (dur y cpu en ms). El nombre de la
+     * métrica tiene que ser un token, así que va como slug ("Daily Sales" → daily_sales) y el legible en desc.
+     */
+    public String headerEntry() {
+        StringBuilder entry = new StringBuilder(metricName(strategy))
+            .append(";desc=\"").append(strategy.replace("\\", "\\\\").replace("\"", "\\\"")).append('"')
+            .append(";dur=").append(millis(wallNanos));
+        if (cpuNanos >= 0) {
+            entry.append(";cpu=").append(millis(cpuNanos));
+        }
+        entry.append(";rows=").append(inputRows)
+            .append(";out=").append(outputSize);
+        if (allocatedBytes >= 0) {
+            entry.append(";alloc=").append(allocatedBytes);
+        }
+        return entry.toString();
+    }
+
+    /**
+     * Slug en minúsculas con guion bajo: separa palabras y cambios de minúscula a mayúscula (TopSellers → top_sellers)
+     */
+    static String metricName(String strategy) {
+        StringBuilder slug = new StringBuilder(strategy.length() + 4);
+        boolean pendingSeparator = false;
+        char previous = ' ';
+        for (int i = 0; i < strategy.length(); i++) {
+            char c = strategy.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                if (Character.isUpperCase(c) && Character.isLowerCase(previous)) {
+                    pendingSeparator = true;
+                }
+                if (pendingSeparator && !slug.isEmpty()) {
+                    slug.append('_');
+                }
+                pendingSeparator = false;
+                slug.append(Character.toLowerCase(c));
+            } else {
+                pendingSeparator = true;
+            }
+            previous = c;
+        }
+        return slug.isEmpty() ? "strategy" : slug.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static long currentThreadCpuNanos() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (HOTSPOT_THREADS == null || !HOTSPOT_THREADS.isThreadAllocatedMemorySupported()
+            || !HOTSPOT_THREADS.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return HOTSPOT_THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    public record Measured<T>(T result, StrategyTiming timing) {
+    }
+}
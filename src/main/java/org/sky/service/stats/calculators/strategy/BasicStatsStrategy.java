@@ -17,7 +17,6 @@ import java.util.List;
 public class BasicStatsStrategy implements CalculationStrategy<BasicStats> {
     
     private static final Logger log = Logger.getLogger(BasicStatsStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     
     @Override
     public Uni<BasicStats> calculate(List<PaymentNotificationEntity> payments, 
@@ -27,8 +26,7 @@ public class BasicStatsStrategy implements CalculationStrategy<BasicStats> {
         return Uni.createFrom().item(() -> {
             log.debug("🔄 BasicStatsStrategy: Calculando estadísticas básicas para " + payments.size() + " pagos");
             
-            var stream = shouldUseParallelStream(payments.size()) ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
             
             double totalSales = calculateTotalSales(stream);
             long totalTransactions = payments.size();
@@ -53,10 +51,6 @@ public class BasicStatsStrategy implements CalculationStrategy<BasicStats> {
     }
     
     // Métodos privados para mejorar legibilidad y reutilización
-    private boolean shouldUseParallelStream(int size) {
-        return size > PARALLEL_THRESHOLD;
-    }
-    
     private double calculateTotalSales(java.util.stream.Stream<PaymentNotificationEntity> stream) {
         return stream
             .filter(this::isValidPayment)
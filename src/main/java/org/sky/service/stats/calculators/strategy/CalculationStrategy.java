@@ -9,6 +9,8 @@ import java.util.List;
 /**
  * Strategy Pattern: Define la interfaz común para diferentes tipos de cálculos
  * Clean Code: Principio de responsabilidad única - cada estrategia tiene una responsabilidad específica
+ * Las implementaciones son cálculo puro y síncrono: StatsCalculationTemplate las ejecuta en StatsComputeExecutor,
+ * por eso no deben usar parallelStream (common pool) ni bloquear en I/O.
  */
 public interface CalculationStrategy<T> {
     
@@ -17,7 +17,6 @@ import java.util.Map;
 public class ComplianceSecurityStrategy implements CalculationStrategy<Map<String, Object>> {
 
     private static final Logger log = Logger.getLogger(ComplianceSecurityStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
 
     @Override
     public Uni<Map<String, Object>> calculate(List<PaymentNotificationEntity> payments,
@@ -46,8 +45,7 @@ public class ComplianceSecurityStrategy implements CalculationStrategy<Map<Strin
                 );
             }
 
-            var stream = payments.size() > PARALLEL_THRESHOLD ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
 
             // Calcular métricas de seguridad
             long totalPayments = payments.size();
@@ -20,7 +20,6 @@ import java.util.stream.Collectors;
 public class DailySalesStrategy implements CalculationStrategy<List<DailySalesData>> {
     
     private static final Logger log = Logger.getLogger(DailySalesStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     
     @Override
     public Uni<List<DailySalesData>> calculate(List<PaymentNotificationEntity> payments, 
@@ -62,8 +61,7 @@ public class DailySalesStrategy implements CalculationStrategy<List<DailySalesDa
                                Map<LocalDate, Double> dailySales, 
                                Map<LocalDate, Long> dailyTransactions) {
         
-        var stream = payments.size() > PARALLEL_THRESHOLD ? 
-            payments.parallelStream() : payments.stream();
+        var stream = payments.stream();
             
         stream.filter(payment -> isInDateRange(payment.createdAt.toLocalDate(), startDate, endDate))
               .forEach(payment -> {
@@ -90,7 +88,7 @@ public class DailySalesStrategy implements CalculationStrategy<List<DailySalesDa
         List<LocalDate> dateRange = startDate.datesUntil(endDate.plusDays(1))
             .collect(Collectors.toList());
         
-        return dateRange.parallelStream()
+        return dateRange.stream()
             .map(currentDate -> createDailySalesData(currentDate, dailySales, dailyTransactions))
             .collect(Collectors.toList());
     }
@@ -18,7 +18,6 @@ import java.util.stream.Collectors;
 public class FinancialOverviewStrategy implements CalculationStrategy<Map<String, Object>> {
 
     private static final Logger log = Logger.getLogger(FinancialOverviewStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
 
     @Override
     public Uni<Map<String, Object>> calculate(List<PaymentNotificationEntity> payments,
@@ -52,8 +51,7 @@ public class FinancialOverviewStrategy implements CalculationStrategy<Map<String
                 );
             }
 
-            var stream = payments.size() > PARALLEL_THRESHOLD ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
 
             // Calcular ingresos totales
             double totalRevenue = stream
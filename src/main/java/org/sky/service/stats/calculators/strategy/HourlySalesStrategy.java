@@ -20,7 +20,6 @@ import java.util.stream.IntStream;
 public class HourlySalesStrategy implements CalculationStrategy<List<HourlySalesData>> {
     
     private static final Logger log = Logger.getLogger(HourlySalesStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     
     @Override
     public Uni<List<HourlySalesData>> calculate(List<PaymentNotificationEntity> payments, 
@@ -58,8 +57,7 @@ public class HourlySalesStrategy implements CalculationStrategy<List<HourlySales
                                Map<Integer, Double> hourlySales,
                                Map<Integer, Long> hourlyTransactions) {
         
-        var stream = payments.size() > PARALLEL_THRESHOLD ? 
-            payments.parallelStream() : payments.stream();
+        var stream = payments.stream();
             
         stream.filter(this::isValidPayment)
               .forEach(payment -> {
@@ -82,7 +80,6 @@ public class HourlySalesStrategy implements CalculationStrategy<List<HourlySales
                                                         Map<Integer, Long> hourlyTransactions) {
         
         return IntStream.range(0, 24)
-            .parallel()
             .mapToObj(hour -> {
                 double sales = hourlySales.getOrDefault(hour, 0.0);
                 long transactions = hourlyTransactions.getOrDefault(hour, 0L);
@@ -20,7 +20,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MonthlySalesStrategy implements CalculationStrategy<List<MonthlySalesData>> {
     
     private static final Logger log = Logger.getLogger(MonthlySalesStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     
     @Override
     public Uni<List<MonthlySalesData>> calculate(List<PaymentNotificationEntity> payments, 
@@ -61,8 +60,7 @@ public class MonthlySalesStrategy implements CalculationStrategy<List<MonthlySal
                                Map<String, Double> monthlySales,
                                Map<String, Long> monthlyTransactions) {
         
-        var stream = payments.size() > PARALLEL_THRESHOLD ? 
-            payments.parallelStream() : payments.stream();
+        var stream = payments.stream();
             
         stream.filter(payment -> isInDateRange(payment.createdAt.toLocalDate(), startDate, endDate))
               .forEach(payment -> {
@@ -95,7 +93,7 @@ public class MonthlySalesStrategy implements CalculationStrategy<List<MonthlySal
             currentMonth = currentMonth.plusMonths(1);
         }
         
-        return monthRange.parallelStream()
+        return monthRange.stream()
             .map(monthKey -> {
                 double sales = monthlySales.getOrDefault(monthKey, 0.0);
                 long transactions = monthlyTransactions.getOrDefault(monthKey, 0L);
@@ -18,7 +18,6 @@ import java.util.List;
 public class PerformanceMetricsStrategy implements CalculationStrategy<PerformanceMetrics> {
     
     private static final Logger log = Logger.getLogger(PerformanceMetricsStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     private static final String CONFIRMED_STATUS = "CONFIRMED";
     private static final String REJECTED_STATUS = "REJECTED";
     private static final String PENDING_STATUS = "PENDING";
@@ -109,7 +108,7 @@ public class PerformanceMetricsStrategy implements CalculationStrategy<Performan
     
     // Métodos auxiliares
     private java.util.stream.Stream<PaymentNotificationEntity> getStream(List<PaymentNotificationEntity> payments) {
-        return payments.size() > PARALLEL_THRESHOLD ? payments.parallelStream() : payments.stream();
+        return payments.stream();
     }
     
     private boolean isConfirmedWithUpdateTime(PaymentNotificationEntity payment) {
@@ -17,7 +17,6 @@ import java.util.Map;
 public class SellerGoalsStrategy implements CalculationStrategy<Map<String, Object>> {
 
     private static final Logger log = Logger.getLogger(SellerGoalsStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
 
     @Override
     public Uni<Map<String, Object>> calculate(List<PaymentNotificationEntity> payments,
@@ -42,8 +41,7 @@ public class SellerGoalsStrategy implements CalculationStrategy<Map<String, Obje
                 );
             }
 
-            var stream = payments.size() > PARALLEL_THRESHOLD ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
 
             // Calcular objetivos basados en datos históricos
             double totalSales = stream
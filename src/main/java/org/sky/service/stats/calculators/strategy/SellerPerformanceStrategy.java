@@ -19,7 +19,6 @@ import java.util.stream.Collectors;
 public class SellerPerformanceStrategy implements CalculationStrategy<Map<String, Object>> {
 
     private static final Logger log = Logger.getLogger(SellerPerformanceStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
 
     @Override
     public Uni<Map<String, Object>> calculate(List<PaymentNotificationEntity> payments,
@@ -44,8 +43,7 @@ public class SellerPerformanceStrategy implements CalculationStrategy<Map<String
                 );
             }
 
-            var stream = payments.size() > PARALLEL_THRESHOLD ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
 
             // Calcular métricas de rendimiento
             Map<LocalDate, Double> dailySales = new ConcurrentHashMap<>();
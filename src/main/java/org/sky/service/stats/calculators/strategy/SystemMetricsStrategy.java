@@ -17,7 +17,6 @@ import java.util.Map;
 public class SystemMetricsStrategy implements CalculationStrategy<Map<String, Object>> {
 
     private static final Logger log = Logger.getLogger(SystemMetricsStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
 
     @Override
     public Uni<Map<String, Object>> calculate(List<PaymentNotificationEntity> payments,
@@ -62,8 +61,7 @@ public class SystemMetricsStrategy implements CalculationStrategy<Map<String, Ob
                 );
             }
 
-            var stream = payments.size() > PARALLEL_THRESHOLD ? 
-                payments.parallelStream() : payments.stream();
+            var stream = payments.stream();
 
             // Calcular métricas del sistema
             double totalSystemSales = stream
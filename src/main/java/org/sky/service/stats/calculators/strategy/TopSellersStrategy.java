@@ -2,14 +2,15 @@ package org.sky.service.stats.calculators.strategy;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.jboss.logging.Logger;
 import org.sky.dto.response.stats.TopSellerData;
 import org.sky.model.PaymentNotificationEntity;
+import org.sky.util.HotPathLog;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Strategy Pattern: Implementación específica para datos de top sellers
@@ -18,8 +19,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @ApplicationScoped
 public class TopSellersStrategy implements CalculationStrategy<List<TopSellerData>> {
     
-    private static final Logger log = Logger.getLogger(TopSellersStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
+    private static final HotPathLog hotLog = HotPathLog.get(TopSellersStrategy.class);
+    private static final HotPathLog.Sampler noValidPaymentsLog = hotLog.sampled(1, TimeUnit.MINUTES);
     private static final int TOP_SELLERS_LIMIT = 10;
     
     @Override
@@ -28,22 +29,16 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
                                             LocalDate endDate, 
                                             Long adminId) {
         return Uni.createFrom().item(() -> {
-            log.info("🔄 TopSellersStrategy: Calculando top sellers para " + payments.size() + " pagos");
-            
-            // DEBUG: Analizar los pagos recibidos
-            Map<String, Long> statusCount = payments.stream()
+            hotLog.debug(() -> "🔄 TopSellersStrategy: Calculando top sellers para " + payments.size() + " pagos");
+            hotLog.debugAggregate("🔍 TopSellers - Status de pagos", () -> payments.stream()
                 .collect(java.util.stream.Collectors.groupingBy(
                     p -> p.status != null ? p.status : "NULL", 
                     java.util.stream.Collectors.counting()
-                ));
-            log.info("🔍 TopSellers - Status de pagos: " + statusCount);
-            
-            // DEBUG: Contar cuántos tienen confirmedBy
-            long paymentsWithConfirmedBy = payments.stream()
+                )));
+            hotLog.debugAggregate("🔍 TopSellers - Pagos CLAIMED con confirmedBy", () -> payments.stream()
                 .filter(p -> "CLAIMED".equals(p.status))
                 .filter(p -> p.confirmedBy != null)
-                .count();
-            log.info("🔍 TopSellers - Pagos CLAIMED con confirmedBy: " + paymentsWithConfirmedBy);
+                .count());
             
             Map<Long, Double> sellerSales = new ConcurrentHashMap<>();
             Map<Long, Long> sellerTransactions = new ConcurrentHashMap<>();
@@ -51,7 +46,7 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
             processPayments(payments, adminId, sellerSales, sellerTransactions);
             List<TopSellerData> result = generateTopSellersData(sellerSales, sellerTransactions);
             
-            log.info("✅ TopSellersStrategy: " + result.size() + " top sellers calculados");
+            hotLog.debug(() -> "✅ TopSellersStrategy: " + result.size() + " top sellers calculados");
             return result;
         });
     }
@@ -74,47 +69,31 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
                                Map<Long, Double> sellerSales,
                                Map<Long, Long> sellerTransactions) {
         
-        // DEBUG: Contar pagos válidos antes del procesamiento
-        long validPayments = payments.stream()
-            .filter(payment -> isValidPayment(payment, adminId))
-            .count();
-        log.info("🔍 TopSellers - Pagos válidos para procesar: " + validPayments + " de " + payments.size());
+        long validPayments = 0;
+        for (PaymentNotificationEntity payment : payments) {
+            if (!isValidPayment(payment, adminId)) {
+                continue;
+            }
+            validPayments++;
+            // Estrategia mejorada para identificar sellers:
+            // 1. Si confirmedBy existe, usarlo
+            // 2. Si no, usar adminId (el admin es el seller principal)
+            Long sellerId = payment.confirmedBy != null ? payment.confirmedBy : adminId;
+            if (sellerId == null) {
+                continue;
+            }
+            double amount = getValidAmount(payment.amount);
+            sellerSales.merge(sellerId, amount, Double::sum);
+            sellerTransactions.merge(sellerId, 1L, Long::sum);
+        }
         
         if (validPayments == 0) {
-            log.warn("⚠️ No hay pagos válidos (CLAIMED) para procesar en TopSellers");
+            noValidPaymentsLog.warn(() -> "⚠️ No hay pagos válidos (CLAIMED) para procesar en TopSellers");
             return;
         }
-        
-        var stream = payments.size() > PARALLEL_THRESHOLD ? 
-            payments.parallelStream() : payments.stream();
-            
-        stream.filter(payment -> isValidPayment(payment, adminId))
-              .forEach(payment -> {
-                  try {
-                      // Estrategia mejorada para identificar sellers:
-                      // 1. Si confirmedBy existe, usarlo
-                      // 2. Si no, usar adminId (el admin es el seller principal)
-                      Long sellerId = payment.confirmedBy != null ? payment.confirmedBy : adminId;
-                      
-                      double amount = getValidAmount(payment.amount);
-                      sellerSales.merge(sellerId, amount, Double::sum);
-                      sellerTransactions.merge(sellerId, 1L, Long::sum);
-                      
-                      log.info("💰 Procesado: Seller " + sellerId + " += $" + amount + 
-                              " (confirmedBy: " + payment.confirmedBy + ", paymentId: " + payment.id + ")");
-                  } catch (Exception e) {
-                      log.warn("⚠️ Error procesando pago ID " + payment.id + ": " + e.getMessage());
-                  }
-              });
-        
-        log.info("🔍 TopSellers procesados: " + sellerSales.size() + " sellers únicos encontrados");
-        if (sellerSales.isEmpty()) {
-            log.error("❌ PROBLEMA: No se procesaron sellers a pesar de tener " + validPayments + " pagos válidos");
-        } else {
-            sellerSales.forEach((sellerId, sales) -> 
-                log.info("  ✅ Seller " + sellerId + ": $" + sales + " (" + sellerTransactions.get(sellerId) + " transacciones)")
-            );
-        }
+        long processed = validPayments;
+        hotLog.debug(() -> "🔍 TopSellers procesados: " + processed + " pagos válidos de " + payments.size() +
+                ", " + sellerSales.size() + " sellers únicos");
     }
     
     private boolean isValidPayment(PaymentNotificationEntity payment, Long adminId) {
@@ -131,14 +110,10 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
                                                      Map<Long, Long> sellerTransactions) {
         
         if (sellerSales.isEmpty()) {
-            log.error("❌ CRÍTICO: No hay datos de sellers para generar top sellers - esto no debería pasar si hay pagos CLAIMED");
             return List.of();
         }
         
-        log.info("🔄 Generando TopSellers con " + sellerSales.size() + " sellers:");
-        sellerSales.forEach((id, sales) -> 
-            log.info("  - Seller " + id + ": $" + sales + " (" + sellerTransactions.get(id) + " transacciones)")
-        );
+        hotLog.debugAggregate("🔄 Generando TopSellers, ventas por seller", () -> sellerSales);
         
         List<TopSellerData> result = sellerSales.entrySet().stream()
             .filter(entry -> entry.getKey() != null && entry.getValue() != null && entry.getValue() > 0)
@@ -160,7 +135,6 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
                     transactions
                 );
                 
-                log.info("📊 Creado TopSeller: " + seller);
                 return seller;
             })
             .sorted((a, b) -> Double.compare(b.totalSales(), a.totalSales()))
@@ -180,8 +154,7 @@ public class TopSellersStrategy implements CalculationStrategy<List<TopSellerDat
             ));
         }
         
-        log.info("✅ TopSellers generados exitosamente: " + result.size() + " sellers en el ranking");
-        result.forEach(seller -> log.info("  🏆 #" + seller.rank() + " " + seller.sellerName() + ": $" + seller.totalSales()));
+        hotLog.debug(() -> "✅ TopSellers generados exitosamente: " + result.size() + " sellers en el ranking");
         
         return result;
     }
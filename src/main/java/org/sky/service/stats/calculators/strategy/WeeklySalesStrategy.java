@@ -21,7 +21,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class WeeklySalesStrategy implements CalculationStrategy<List<WeeklySalesData>> {
     
     private static final Logger log = Logger.getLogger(WeeklySalesStrategy.class);
-    private static final int PARALLEL_THRESHOLD = 1000;
     
     @Override
     public Uni<List<WeeklySalesData>> calculate(List<PaymentNotificationEntity> payments, 
@@ -62,8 +61,7 @@ public class WeeklySalesStrategy implements CalculationStrategy<List<WeeklySales
                                Map<LocalDate, Double> weeklySales,
                                Map<LocalDate, Long> weeklyTransactions) {
         
-        var stream = payments.size() > PARALLEL_THRESHOLD ? 
-            payments.parallelStream() : payments.stream();
+        var stream = payments.stream();
             
         stream.filter(payment -> isInDateRange(payment.createdAt.toLocalDate(), startDate, endDate))
               .forEach(payment -> {
@@ -95,7 +93,7 @@ public class WeeklySalesStrategy implements CalculationStrategy<List<WeeklySales
             currentWeek = currentWeek.plusWeeks(1);
         }
         
-        return weekRange.parallelStream()
+        return weekRange.stream()
             .map(weekStart -> {
                 double sales = weeklySales.getOrDefault(weekStart, 0.0);
                 long transactions = weeklyTransactions.getOrDefault(weekStart, 0L);
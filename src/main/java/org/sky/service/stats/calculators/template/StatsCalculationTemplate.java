@@ -5,9 +5,14 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.sky.model.PaymentNotificationEntity;
+import org.sky.service.stats.StatsComputeExecutor;
+import org.sky.service.stats.StatsStrategyMetrics;
+import org.sky.service.stats.StatsTimingReport;
+import org.sky.service.stats.StrategyTiming;
 import org.sky.service.stats.calculators.builder.StatsResultBuilder;
 import org.sky.service.stats.calculators.factory.StatsCalculatorFactory;
 import org.sky.service.stats.calculators.strategy.BasicStatsStrategy;
+import org.sky.service.stats.calculators.strategy.CalculationStrategy;
 import org.sky.service.stats.calculators.strategy.DailySalesStrategy;
 import org.sky.service.stats.calculators.strategy.HourlySalesStrategy;
 import org.sky.service.stats.calculators.strategy.MonthlySalesStrategy;
@@ -35,6 +40,12 @@ public class StatsCalculationTemplate {
     
     @Inject
     StatsCalculatorFactory calculatorFactory;
+
+    @Inject
+    StatsComputeExecutor computeExecutor;
+
+    @Inject
+    StatsStrategyMetrics strategyMetrics;
     
     @Inject
     BasicStatsStrategy basicStatsStrategy;
@@ -82,7 +93,7 @@ public class StatsCalculationTemplate {
         
         log.info("🚀 StatsCalculationTemplate: Iniciando cálculos para " + payments.size() + " pagos");
         
-        return Uni.combine()
+        Uni<ParallelStatsResult> combined = Uni.combine()
             .all()
             .unis(
                 calculateBasicStats(payments, startDate, endDate, adminId),
@@ -106,6 +117,7 @@ public class StatsCalculationTemplate {
                 log.error("❌ StatsCalculationTemplate: Error type: " + throwable.getClass().getSimpleName());
                 log.error("❌ StatsCalculationTemplate: Error stack trace: ", throwable);
             });
+        return computeExecutor.withDeadline(combined, "calculateAllStats(adminId=" + adminId + ")");
     }
     
     // Métodos específicos que pueden ser sobrescritos por subclases
@@ -113,84 +125,107 @@ public class StatsCalculationTemplate {
                                             LocalDate startDate, 
                                             LocalDate endDate, 
                                             Long adminId) {
-        return basicStatsStrategy.calculate(payments, startDate, endDate, adminId).map(basicStats -> (Object) basicStats);
+        return offload(basicStatsStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculatePerformanceMetrics(List<PaymentNotificationEntity> payments, 
                                                     LocalDate startDate, 
                                                     LocalDate endDate, 
                                                     Long adminId) {
-        return performanceMetricsStrategy.calculate(payments, startDate, endDate, adminId).map(performanceMetrics -> (Object) performanceMetrics);
+        return offload(performanceMetricsStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateDailySales(List<PaymentNotificationEntity> payments, 
                                             LocalDate startDate, 
                                             LocalDate endDate, 
                                             Long adminId) {
-        return dailySalesStrategy.calculate(payments, startDate, endDate, adminId).map(dailySales -> (Object) dailySales);
+        return offload(dailySalesStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateHourlySales(List<PaymentNotificationEntity> payments, 
                                              LocalDate startDate, 
                                              LocalDate endDate, 
                                              Long adminId) {
-        return hourlySalesStrategy.calculate(payments, startDate, endDate, adminId).map(hourlySales -> (Object) hourlySales);
+        return offload(hourlySalesStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateWeeklySales(List<PaymentNotificationEntity> payments, 
                                              LocalDate startDate, 
                                              LocalDate endDate, 
                                              Long adminId) {
-        return weeklySalesStrategy.calculate(payments, startDate, endDate, adminId).map(weeklySales -> (Object) weeklySales);
+        return offload(weeklySalesStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateMonthlySales(List<PaymentNotificationEntity> payments, 
                                               LocalDate startDate, 
                                               LocalDate endDate, 
                                               Long adminId) {
-        return monthlySalesStrategy.calculate(payments, startDate, endDate, adminId).map(monthlySales -> (Object) monthlySales);
+        return offload(monthlySalesStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateTopSellers(List<PaymentNotificationEntity> payments, 
                                             LocalDate startDate, 
                                             LocalDate endDate, 
                                             Long adminId) {
-        return topSellersStrategy.calculate(payments, startDate, endDate, adminId).map(topSellers -> (Object) topSellers);
+        return offload(topSellersStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateSellerGoals(List<PaymentNotificationEntity> payments, 
                                              LocalDate startDate, 
                                              LocalDate endDate, 
                                              Long adminId) {
-        return sellerGoalsStrategy.calculate(payments, startDate, endDate, adminId).map(sellerGoals -> (Object) sellerGoals);
+        return offload(sellerGoalsStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateSellerPerformance(List<PaymentNotificationEntity> payments, 
                                                    LocalDate startDate, 
                                                    LocalDate endDate, 
                                                    Long adminId) {
-        return sellerPerformanceStrategy.calculate(payments, startDate, endDate, adminId).map(sellerPerformance -> (Object) sellerPerformance);
+        return offload(sellerPerformanceStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateSystemMetrics(List<PaymentNotificationEntity> payments, 
                                                LocalDate startDate, 
                                                LocalDate endDate, 
                                                Long adminId) {
-        return systemMetricsStrategy.calculate(payments, startDate, endDate, adminId).map(systemMetrics -> (Object) systemMetrics);
+        return offload(systemMetricsStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateFinancialOverview(List<PaymentNotificationEntity> payments, 
                                                    LocalDate startDate, 
                                                    LocalDate endDate, 
                                                    Long adminId) {
-        return financialOverviewStrategy.calculate(payments, startDate, endDate, adminId).map(financialOverview -> (Object) financialOverview);
+        return offload(financialOverviewStrategy, payments, startDate, endDate, adminId);
     }
     
     protected Uni<Object> calculateComplianceSecurity(List<PaymentNotificationEntity> payments, 
                                                     LocalDate startDate, 
                                                     LocalDate endDate, 
                                                     Long adminId) {
-        return complianceSecurityStrategy.calculate(payments, startDate, endDate, adminId).map(complianceSecurity -> (Object) complianceSecurity);
+        return offload(complianceSecurityStrategy, payments, startDate, endDate, adminId);
+    }
+
+    /**
+     * Cada estrategia corre en el pool de cálculo (no en el event loop); las 12 avanzan en paralelo.
+     * Se mide en el hilo del pool (pared, CPU, asignación) y se publica en métricas y en el reporte de la petición.
+     */
+    private <T> Uni<Object> offload(CalculationStrategy<T> strategy,
+                                    List<PaymentNotificationEntity> payments,
+                                    LocalDate startDate,
+                                    LocalDate endDate,
+                                    Long adminId) {
+        String strategyName = strategy.getStrategyName();
+        StatsTimingReport timingReport = StatsTimingReport.current();
+        return computeExecutor.submit(strategyName, () -> {
+                StrategyTiming.Measured<T> measured = StrategyTiming.measure(strategyName, payments.size(),
+                    () -> strategy.calculate(payments, startDate, endDate, adminId).await().indefinitely());
+                strategyMetrics.record(measured.timing());
+                if (timingReport != null) {
+                    timingReport.add(measured.timing());
+                }
+                return measured.result();
+            })
+            .map(result -> (Object) result);
     }
 
     @SuppressWarnings("unchecked")
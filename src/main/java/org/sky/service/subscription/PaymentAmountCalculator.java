@@ -3,13 +3,13 @@ package org.sky.service.subscription;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.sky.repository.SubscriptionPlanRepository;
+import org.sky.service.billing.PlanCatalog;
 
 @ApplicationScoped
 public class PaymentAmountCalculator {
 
     @Inject
-    SubscriptionPlanRepository subscriptionPlanRepository;
+    PlanCatalog planCatalog;
     
 
     public Uni<Double> calculateAmount(Long planId) {
@@ -20,8 +20,8 @@ public class PaymentAmountCalculator {
     }
 
     private Uni<Double> calculatePlanAmount(Long planId) {
-        return subscriptionPlanRepository.findById(planId)
-                .map(plan -> plan.pricePen.doubleValue())
+        return planCatalog.findById(planId)
+                .map(plan -> plan != null ? plan.pricePen().doubleValue() : 0.0)
                 .onFailure().recoverWithItem(0.0);
     }
 
@@ -0,0 +1,108 @@
+package org.sky.service.subscription;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.sky.exception.UploadRejectedException;
+import org.sky.service.blob.BlobStore;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Recibe el cuerpo binario de una subida y lo escribe al BlobStore chunk a chunk.
+ * Valida la firma de imagen con los primeros bytes y corta en cuanto se pasa del límite;
+ * el request se pausa mientras cada chunk se escribe, así en memoria nunca hay más de un chunk por subida.
+ */
+@ApplicationScoped
+public class PaymentImageStreamReceiver {
+
+    private static final Logger log = Logger.getLogger(PaymentImageStreamReceiver.class);
+
+    @Inject
+    BlobStore blobStore;
+
+    public Uni<BlobStore.BlobRef> receive(ReadStream<Buffer> body, long maxBytes) {
+        body.pause();
+        return blobStore.beginUpload()
+                .chain(upload -> Uni.createFrom().<BlobStore.BlobRef>emitter(emitter -> {
+                    StreamState state = new StreamState();
+
+                    Consumer<Throwable> fail = failure -> {
+                        if (state.done.compareAndSet(false, true)) {
+                            upload.abort().subscribe().with(ignored -> emitter.fail(failure), ignored -> emitter.fail(failure));
+                        }
+                    };
+
+                    body.handler(chunk -> {
+                        if (state.done.get()) {
+                            return;
+                        }
+                        state.received += chunk.length();
+                        if (state.received > maxBytes) {
+                            fail.accept(UploadRejectedException.tooLarge(maxBytes));
+                            return;
+                        }
+                        if (state.contentType == null && !state.sniff(chunk)) {
+                            fail.accept(UploadRejectedException.unsupportedImage());
+                            return;
+                        }
+                        body.pause();
+                        upload.write(chunk).subscribe().with(
+                                ignored -> body.resume(),
+                                fail::accept);
+                    });
+                    body.exceptionHandler(fail::accept);
+                    body.endHandler(ignored -> {
+                        if (state.done.get()) {
+                            return;
+                        }
+                        if (state.contentType == null) {
+                            fail.accept(UploadRejectedException.unsupportedImage());
+                            return;
+                        }
+                        state.done.set(true);
+                        upload.commit(state.contentType).subscribe().with(
+                                ref -> {
+                                    log.debugf("📥 Comprobante recibido por streaming: %d bytes (%s)", ref.size(), ref.contentType());
+                                    emitter.complete(ref);
+                                },
+                                failure -> upload.abort().subscribe().with(
+                                        v -> emitter.fail(failure), v -> emitter.fail(failure)));
+                    });
+                    // Cliente desconectado o petición cancelada: se limpia el temporal
+                    emitter.onTermination(() -> {
+                        if (state.done.compareAndSet(false, true)) {
+                            upload.abort().subscribe().with(v -> { }, e -> { });
+                        }
+                    });
+                    body.resume();
+                }));
+    }
+
+    /**
+     * Estado de una subida; solo se toca desde el contexto Vert.x del request
+     */
+    private static final class StreamState {
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final byte[] header = new byte[PaymentImageValidator.SIGNATURE_BYTES];
+        int headerLength;
+        long received;
+        String contentType;
+
+        /**
+         * Acumula cabecera hasta poder decidir el formato
+         * @return false si la cabecera ya es concluyente y no es una imagen soportada
+         */
+        boolean sniff(Buffer chunk) {
+            int take = Math.min(header.length - headerLength, chunk.length());
+            chunk.getBytes(0, take, header, headerLength);
+            headerLength += take;
+            contentType = PaymentImageValidator.detectImageType(header, headerLength);
+            return contentType != null || headerLength < header.length;
+        }
+    }
+}
@@ -2,34 +2,92 @@ package org.sky.service.subscription;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.sky.exception.UploadRejectedException;
+
+import java.util.Base64;
 
 @ApplicationScoped
 public class PaymentImageValidator {
 
+    /**
+     * Bytes de cabecera necesarios para reconocer el formato (WEBP es el más largo: RIFF....WEBP)
+     */
+    public static final int SIGNATURE_BYTES = 12;
+
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+
+    @Inject
+    UploadBudget uploadBudget;
+
     public Uni<Boolean> validateImage(String base64String) {
-        return isValidBase64(base64String)
-                .chain(isValid -> Boolean.TRUE.equals(isValid) ? 
-                    Uni.createFrom().item(true) : 
-                    Uni.createFrom().failure(new RuntimeException("Invalid base64 image format")));
+        return decodeImage(base64String).replaceWith(true);
     }
 
-    private Uni<Boolean> isValidBase64(String base64String) {
+    /**
+     * Valida el data URL (data:image/...;base64,...) y devuelve los bytes ya decodificados para el BlobStore.
+     * El tipo se toma de la firma (magic bytes), no del data URL que declara el cliente.
+     */
+    public Uni<DecodedImage> decodeImage(String dataUrl) {
         return Uni.createFrom().item(() -> {
-            if (base64String == null || base64String.trim().isEmpty()) {
-                return false;
+            byte[] bytes = decodeDataUrl(dataUrl);
+            if (bytes == null) {
+                throw new RuntimeException("Invalid base64 image format");
+            }
+            if (bytes.length > uploadBudget.maxBytesPerRequest()) {
+                throw UploadRejectedException.tooLarge(uploadBudget.maxBytesPerRequest());
             }
-            
-            try {
-                java.util.Base64.getDecoder().decode(base64String);
-                
-                if (!base64String.startsWith("data:image/")) {
-                    return false;
-                }
-
-                return base64String.contains(";base64,");
-            } catch (IllegalArgumentException e) {
-                return false;
+            String contentType = detectImageType(bytes, bytes.length);
+            if (contentType == null) {
+                throw UploadRejectedException.unsupportedImage();
             }
+            return new DecodedImage(contentType, bytes);
         });
     }
+
+    private byte[] decodeDataUrl(String dataUrl) {
+        if (dataUrl == null || dataUrl.trim().isEmpty() || !dataUrl.startsWith(DATA_URL_PREFIX + "image/")) {
+            return null;
+        }
+        int marker = dataUrl.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        String payload = dataUrl.substring(marker + BASE64_MARKER.length());
+        // Rechazo antes de decodificar: el tamaño decodificado es ~3/4 del texto base64
+        if ((long) payload.length() / 4 * 3 > uploadBudget.maxBytesPerRequest() + 3) {
+            throw UploadRejectedException.tooLarge(uploadBudget.maxBytesPerRequest());
+        }
+        try {
+            byte[] bytes = Base64.getDecoder().decode(payload);
+            return bytes.length == 0 ? null : bytes;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reconoce PNG, JPEG y WEBP por su firma
+     * @return el content type, o null si la cabecera no corresponde a ninguno
+     */
+    public static String detectImageType(byte[] header, int length) {
+        if (length >= 8
+                && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return "image/png";
+        }
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 12
+                && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    public record DecodedImage(String contentType, byte[] bytes) {
+    }
 }
@@ -1,13 +1,16 @@
 package org.sky.service.subscription;
 
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.sky.dto.response.billing.PaymentUploadResponse;
 import org.sky.model.ManualPaymentEntity;
 import org.sky.model.PaymentCodeEntity;
 import org.sky.repository.ManualPaymentRepository;
+import org.sky.service.blob.BlobStore;
 
 @ApplicationScoped
 public class PaymentUploadService {
@@ -21,26 +24,53 @@ public class PaymentUploadService {
     @Inject
     PaymentImageValidator imageValidator;
 
+    @Inject
+    BlobStore blobStore;
+
+    @Inject
+    PaymentImageStreamReceiver streamReceiver;
+
+    @Inject
+    UploadBudget uploadBudget;
+
+    /**
+     * Subida JSON (data URL base64). Primero se valida el código, así un código inválido no paga la decodificación.
+     */
     public Uni<PaymentUploadResponse> uploadPaymentImage(Long adminId, String paymentCode, String imageBase64) {
-        return Uni.combine().all().unis(
-                imageValidator.validateImage(imageBase64),
-                paymentCodeService.findValidCode(paymentCode)
-        ).asTuple()
-        .chain(tuple -> {
-            PaymentCodeEntity code = tuple.getItem2();
-            if (code == null) {
-                return Uni.createFrom().failure(new RuntimeException("Invalid or expired payment code"));
-            }
-            return createManualPayment(adminId, code, imageBase64);
-        });
+        return findUsableCode(paymentCode)
+                .chain(code -> imageValidator.decodeImage(imageBase64)
+                        .chain(image -> blobStore.put(image.bytes(), image.contentType()))
+                        .chain(blob -> createManualPayment(adminId, code, blob)));
+    }
+
+    /**
+     * Subida binaria por streaming: el cuerpo va directo al BlobStore sin pasar entero por memoria.
+     * No mantiene sesión de base de datos abierta mientras llegan los bytes (una subida lenta no retiene una conexión).
+     */
+    public Uni<PaymentUploadResponse> uploadPaymentImageStream(Long adminId, String paymentCode,
+                                                               ReadStream<Buffer> body, Long contentLength) {
+        return Panache.withSession(session -> findUsableCode(paymentCode))
+                .chain(code -> {
+                    UploadBudget.Reservation reservation = uploadBudget.reserve(contentLength);
+                    return streamReceiver.receive(body, reservation.limit())
+                            .eventually(reservation::release)
+                            .chain(blob -> Panache.withTransaction(() -> createManualPayment(adminId, code, blob)));
+                });
+    }
+
+    private Uni<PaymentCodeEntity> findUsableCode(String paymentCode) {
+        return paymentCodeService.findValidCode(paymentCode)
+                .onItem().ifNull().failWith(() -> new RuntimeException("Invalid or expired payment code"));
     }
 
 
-    private Uni<PaymentUploadResponse> createManualPayment(Long adminId, PaymentCodeEntity code, String imageBase64) {
+    private Uni<PaymentUploadResponse> createManualPayment(Long adminId, PaymentCodeEntity code, BlobStore.BlobRef blob) {
         ManualPaymentEntity payment = new ManualPaymentEntity();
         payment.paymentCodeId = code.id;
         payment.adminId = adminId;
-        payment.imageBase64 = imageBase64;
+        payment.imageBlobKey = blob.key();
+        payment.imageContentType = blob.contentType();
+        payment.imageSize = blob.size();
         payment.amountPen = code.amountPen;
         payment.yapeNumber = code.yapeNumber;
         payment.status = "pending";
@@ -0,0 +1,71 @@
+package org.sky.service.subscription;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.sky.exception.UploadRejectedException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presupuesto de bytes de subida: tope por petición y tope global de bytes en vuelo.
+ * Cada subida reserva su tamaño declarado (o el máximo si llega sin Content-Length) antes de leer el cuerpo,
+ * así un pico de subidas concurrentes se rechaza con 503 en vez de crecer el heap.
+ */
+@ApplicationScoped
+public class UploadBudget {
+
+    @ConfigProperty(name = "yapechamo.uploads.max-bytes", defaultValue = "5242880")
+    long maxBytesPerRequest;
+
+    @ConfigProperty(name = "yapechamo.uploads.max-in-flight-bytes", defaultValue = "33554432")
+    long maxInFlightBytes;
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public long maxBytesPerRequest() {
+        return maxBytesPerRequest;
+    }
+
+    public long inFlightBytes() {
+        return inFlight.get();
+    }
+
+    /**
+     * @param declaredBytes Content-Length de la petición, o null si viene en chunked
+     */
+    public Reservation reserve(Long declaredBytes) {
+        if (declaredBytes != null && declaredBytes > maxBytesPerRequest) {
+            throw UploadRejectedException.tooLarge(maxBytesPerRequest);
+        }
+        long bytes = declaredBytes != null && declaredBytes > 0 ? declaredBytes : maxBytesPerRequest;
+        long after = inFlight.addAndGet(bytes);
+        if (after > maxInFlightBytes) {
+            inFlight.addAndGet(-bytes);
+            throw UploadRejectedException.budgetExhausted();
+        }
+        return new Reservation(bytes);
+    }
+
+    public final class Reservation {
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Bytes que esta subida puede recibir como máximo
+         */
+        public long limit() {
+            return bytes;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.addAndGet(-bytes);
+            }
+        }
+    }
+}
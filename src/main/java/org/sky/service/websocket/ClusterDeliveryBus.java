@@ -0,0 +1,389 @@
+package org.sky.service.websocket;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.sky.service.cluster.PgListener;
+import org.sky.util.BackgroundTaskRunner;
+import org.sky.util.HotPathLog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrega de frames WebSocket entre réplicas. Los vendedores conectados a este nodo reciben el frame directo;
+ * para el resto se inserta una fila en ws_outbox y se avisa por NOTIFY en el canal del admin (ws_admin_{id}).
+ * Cada nodo escucha solo los canales de los admins con vendedores conectados localmente, lee la fila por su
+ * secuencia y la escribe a sus sesiones. Como NOTIFY se pierde si la conexión de LISTEN está caída, cada nodo
+ * además repasa periódicamente el outbox reciente de sus admins (al menos una vez); la secuencia ya entregada
+ * se descarta, así que el vendedor no recibe el mismo frame dos veces desde este nodo.
+ * Solo se encola para vendedores que otro nodo vivo tiene conectados (ws_sessions + latido en ws_nodes, avisos por
+ * el canal ws_presence): con una sola réplica o con el vendedor desconectado no hay INSERT ni NOTIFY. Una sesión
+ * abierta en otro nodo hace milisegundos puede no verse todavía; ese pago queda pendiente para consulta.
+ */
+@ApplicationScoped
+public class ClusterDeliveryBus {
+
+    private static final Logger log = Logger.getLogger(ClusterDeliveryBus.class);
+    private static final HotPathLog hotLog = HotPathLog.get(ClusterDeliveryBus.class);
+    private static final HotPathLog.Sampler enqueueFailedLog = hotLog.sampled(10, TimeUnit.SECONDS);
+    private static final String CHANNEL_PREFIX = "ws_admin_";
+    private static final String PRESENCE_CHANNEL = "ws_presence";
+
+    private static final String ENQUEUE = """
+        WITH entry AS (
+            INSERT INTO ws_outbox (admin_id, seller_ids, frame, origin_node) VALUES ($1, $2, $3, $4) RETURNING seq
+        )
+        SELECT seq, pg_notify('ws_admin_' || $1, seq || ':' || $4) FROM entry""";
+
+    private static final String OPEN_SESSION = """
+        WITH opened AS (
+            INSERT INTO ws_sessions (seller_id, node_id, admin_id)
+            SELECT s.id, $2, b.admin_id FROM sellers s JOIN branches b ON b.id = s.branch_id WHERE s.id = $1
+            ON CONFLICT (seller_id, node_id) DO UPDATE SET admin_id = excluded.admin_id, opened_at = localtimestamp
+            RETURNING admin_id
+        )
+        SELECT admin_id, pg_notify('ws_presence', $2) FROM opened""";
+
+    private static final String CLOSE_SESSION = """
+        WITH closed AS (DELETE FROM ws_sessions WHERE seller_id = $1 AND node_id = $2 RETURNING seller_id)
+        SELECT pg_notify('ws_presence', $2) FROM closed""";
+
+    private static final String HEARTBEAT =
+        "INSERT INTO ws_nodes (node_id) VALUES ($1) ON CONFLICT (node_id) DO UPDATE SET seen_at = localtimestamp";
+
+    private static final String REMOTE_SESSIONS = """
+        SELECT DISTINCT s.seller_id FROM ws_sessions s JOIN ws_nodes n ON n.node_id = s.node_id
+        WHERE s.node_id <> $1 AND n.seen_at > localtimestamp - make_interval(secs => $2)""";
+
+    /** Público para QueryPlanRegressionTest */
+    public static final String CATCH_UP = """
+        SELECT seq, seller_ids, frame FROM ws_outbox
+        WHERE admin_id = ANY($1) AND origin_node <> $2 AND created_at > localtimestamp - make_interval(secs => $3)
+        ORDER BY seq""";
+
+    @Inject
+    Pool pool;
+
+    @Inject
+    PgListener listener;
+
+    @Inject
+    WebSocketNotificationService webSocketNotificationService;
+
+    @Inject
+    BackgroundTaskRunner backgroundTaskRunner;
+
+    @ConfigProperty(name = "yapechamo.cluster.delivery.catch-up-interval-ms", defaultValue = "5000")
+    long catchUpIntervalMs;
+
+    /** Antigüedad máxima de lo que se recupera del outbox; debe superar holgadamente catch-up-interval-ms */
+    @ConfigProperty(name = "yapechamo.cluster.delivery.catch-up-window-ms", defaultValue = "30000")
+    long catchUpWindowMs;
+
+    @ConfigProperty(name = "yapechamo.cluster.delivery.outbox-retention-ms", defaultValue = "600000")
+    long outboxRetentionMs;
+
+    @ConfigProperty(name = "yapechamo.cluster.delivery.dedup-capacity", defaultValue = "10000")
+    int dedupCapacity;
+
+    /** Sin latido en este tiempo las sesiones de un nodo dejan de contar; el latido va cada presence-ttl-ms / 3 */
+    @ConfigProperty(name = "yapechamo.cluster.delivery.presence-ttl-ms", defaultValue = "15000")
+    long presenceTtlMs;
+
+    /** Registro local: vendedor conectado a este nodo → su admin, y admin → vendedores locales */
+    private final Map<Long, Long> adminBySeller = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> sellersByAdmin = new ConcurrentHashMap<>();
+    /** Vendedores conectados a otros nodos vivos, según la última lectura de ws_sessions */
+    private volatile Set<Long> remoteSellers = Set.of();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private RecentSequences delivered;
+    private Long catchUpTimerId;
+    private Long purgeTimerId;
+    private Long heartbeatTimerId;
+
+    void onStart(@Observes StartupEvent event) {
+        delivered = new RecentSequences(dedupCapacity);
+        if (listener.isActive()) {
+            listener.listen(PRESENCE_CHANNEL, this::onPresence, this::refreshPresence);
+            heartbeatTimerId = backgroundTaskRunner.schedulePeriodic(Math.max(1_000, presenceTtlMs / 3),
+                "ws-presence-heartbeat", this::heartbeat);
+            backgroundTaskRunner.run("ws-presence-heartbeat", this::heartbeat);
+        }
+        if (catchUpIntervalMs > 0) {
+            catchUpTimerId = backgroundTaskRunner.schedulePeriodic(catchUpIntervalMs, "ws-outbox-catch-up", this::catchUpAll);
+        }
+        purgeTimerId = backgroundTaskRunner.schedulePeriodic(Math.max(60_000, outboxRetentionMs / 2), "ws-outbox-purge", this::purge);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (catchUpTimerId != null) {
+            backgroundTaskRunner.cancel(catchUpTimerId);
+        }
+        if (purgeTimerId != null) {
+            backgroundTaskRunner.cancel(purgeTimerId);
+        }
+        if (heartbeatTimerId != null) {
+            backgroundTaskRunner.cancel(heartbeatTimerId);
+        }
+        if (listener.isActive()) {
+            // Sin esto las demás réplicas seguirían encolando para este nodo hasta que venza presence-ttl-ms
+            try {
+                pool.preparedQuery("DELETE FROM ws_nodes WHERE node_id = $1")
+                    .execute(Tuple.of(listener.nodeId()))
+                    .chain(() -> pool.preparedQuery("DELETE FROM ws_sessions WHERE node_id = $1").execute(Tuple.of(listener.nodeId())))
+                    .await().atMost(Duration.ofSeconds(2));
+            } catch (RuntimeException e) {
+                log.warn("⚠️ No se pudo retirar la presencia de este nodo: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Vendedores a los que tiene sentido enviar: los conectados aquí y los que otro nodo vivo tiene conectados
+     */
+    public List<Long> reachable(List<Long> sellerIds) {
+        Set<Long> remote = remoteSellers;
+        List<Long> connected = new ArrayList<>(sellerIds.size());
+        for (Long sellerId : sellerIds) {
+            if (webSocketNotificationService.isSellerConnected(sellerId) || remote.contains(sellerId)) {
+                connected.add(sellerId);
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Escribe el frame a los vendedores conectados aquí y deja en el outbox los que están conectados a otro nodo.
+     * Completa con la cantidad entregada localmente; el encolado no se espera.
+     */
+    public Uni<Integer> publish(Long adminId, List<Long> sellerIds, String frame) {
+        Set<Long> remoteConnected = remoteSellers;
+        List<Long> local = new ArrayList<>(sellerIds.size());
+        List<Long> remote = new ArrayList<>();
+        for (Long sellerId : sellerIds) {
+            if (webSocketNotificationService.isSellerConnected(sellerId)) {
+                local.add(sellerId);
+            } else if (remoteConnected.contains(sellerId)) {
+                remote.add(sellerId);
+            }
+        }
+        if (!remote.isEmpty() && listener.isActive()) {
+            pool.preparedQuery(ENQUEUE)
+                .execute(Tuple.of(adminId, remote.toArray(new Long[0]), frame, listener.nodeId()))
+                .subscribe().with(
+                    rows -> hotLog.debug(() -> "🛰️ Frame para " + remote.size() + " vendedores del admin " + adminId + " encolado"),
+                    failure -> enqueueFailedLog.warn(() -> "⚠️ No se pudo encolar el frame del admin " + adminId + ": " + failure.getMessage()));
+        }
+        return webSocketNotificationService.broadcast(local, frame);
+    }
+
+    /**
+     * Sesión autenticada en este nodo: la registra en ws_sessions para las demás réplicas y empieza a escuchar
+     * el canal de su admin si es el primer vendedor local
+     */
+    public Uni<Void> sessionOpened(Long sellerId) {
+        if (!listener.isActive()) {
+            return Uni.createFrom().voidItem();
+        }
+        return pool.preparedQuery(OPEN_SESSION)
+            .execute(Tuple.of(sellerId, listener.nodeId()))
+            .invoke(rows -> {
+                if (rows.size() == 0) {
+                    return;
+                }
+                Long adminId = rows.iterator().next().getLong("admin_id");
+                adminBySeller.put(sellerId, adminId);
+                sellersByAdmin.compute(adminId, (id, sellers) -> {
+                    Set<Long> updated = sellers != null ? sellers : ConcurrentHashMap.newKeySet();
+                    if (updated.isEmpty()) {
+                        listener.listen(CHANNEL_PREFIX + id, this::onNotification,
+                            () -> backgroundTaskRunner.run("ws-outbox-catch-up", () -> catchUp(List.of(id))));
+                    }
+                    updated.add(sellerId);
+                    return updated;
+                });
+            })
+            .onFailure().invoke(failure -> log.warn("⚠️ No se pudo resolver el admin del vendedor " + sellerId + ": " + failure.getMessage()))
+            .onFailure().recoverWithNull()
+            .replaceWithVoid();
+    }
+
+    public void sessionClosed(Long sellerId) {
+        Long adminId = adminBySeller.remove(sellerId);
+        if (adminId == null) {
+            return;
+        }
+        pool.preparedQuery(CLOSE_SESSION)
+            .execute(Tuple.of(sellerId, listener.nodeId()))
+            .subscribe().with(
+                rows -> { },
+                failure -> log.warn("⚠️ No se pudo retirar la sesión del vendedor " + sellerId + ": " + failure.getMessage()));
+        sellersByAdmin.computeIfPresent(adminId, (id, sellers) -> {
+            sellers.remove(sellerId);
+            if (!sellers.isEmpty()) {
+                return sellers;
+            }
+            listener.unlisten(CHANNEL_PREFIX + id);
+            return null;
+        });
+    }
+
+    private void onNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || listener.nodeId().equals(payload.substring(separator + 1))) {
+            return;
+        }
+        long seq = Long.parseLong(payload.substring(0, separator));
+        if (delivered.contains(seq)) {
+            return;
+        }
+        pool.preparedQuery("SELECT seq, seller_ids, frame FROM ws_outbox WHERE seq = $1")
+            .execute(Tuple.of(seq))
+            .chain(this::deliver)
+            .subscribe().with(
+                count -> { },
+                failure -> log.warn("⚠️ No se pudo entregar la entrada " + seq + " del outbox: " + failure.getMessage()));
+    }
+
+    private void onPresence(String nodeId) {
+        if (!listener.nodeId().equals(nodeId)) {
+            refreshPresence();
+        }
+    }
+
+    /**
+     * Relee los vendedores conectados a otros nodos. Las ráfagas de aperturas se agrupan: si ya hay una lectura
+     * en curso se hace una más al terminar, no una por aviso.
+     */
+    private void refreshPresence() {
+        refreshPending.set(true);
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshPending.set(false);
+        pool.preparedQuery(REMOTE_SESSIONS)
+            .execute(Tuple.of(listener.nodeId(), presenceTtlMs / 1000.0))
+            .subscribe().with(
+                rows -> {
+                    Set<Long> sellers = new HashSet<>(rows.size());
+                    for (Row row : rows) {
+                        sellers.add(row.getLong("seller_id"));
+                    }
+                    remoteSellers = Set.copyOf(sellers);
+                    refreshDone();
+                },
+                failure -> {
+                    log.warn("⚠️ No se pudo leer la presencia de las demás réplicas: " + failure.getMessage());
+                    refreshDone();
+                });
+    }
+
+    private void refreshDone() {
+        refreshing.set(false);
+        if (refreshPending.get()) {
+            refreshPresence();
+        }
+    }
+
+    /**
+     * Renueva el latido de este nodo y relee la presencia de los demás, por si se perdió algún aviso
+     */
+    private Uni<Void> heartbeat() {
+        return pool.preparedQuery(HEARTBEAT)
+            .execute(Tuple.of(listener.nodeId()))
+            .invoke(rows -> refreshPresence())
+            .replaceWithVoid();
+    }
+
+    /**
+     * Recupera del outbox lo que otros nodos publicaron para estos admins y no llegó por NOTIFY
+     */
+    private Uni<Integer> catchUp(List<Long> adminIds) {
+        if (adminIds.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        return pool.preparedQuery(CATCH_UP)
+            .execute(Tuple.of(adminIds.toArray(new Long[0]), listener.nodeId(), catchUpWindowMs / 1000.0))
+            .chain(this::deliver)
+            .invoke(count -> {
+                if (count > 0) {
+                    log.info("🛰️ " + count + " frames recuperados del outbox sin NOTIFY");
+                }
+            });
+    }
+
+    private Uni<Integer> catchUpAll() {
+        if (!listener.isActive()) {
+            return Uni.createFrom().item(0);
+        }
+        // Las sesiones que WebSocketNotificationService cerró por su cuenta dejan de escucharse aquí
+        for (Long sellerId : List.copyOf(adminBySeller.keySet())) {
+            if (!webSocketNotificationService.isSellerConnected(sellerId)) {
+                sessionClosed(sellerId);
+            }
+        }
+        return catchUp(List.copyOf(sellersByAdmin.keySet()));
+    }
+
+    /**
+     * @return cantidad de entradas nuevas para este nodo (cada una se escribe a los vendedores conectados aquí)
+     */
+    private Uni<Integer> deliver(RowSet<Row> rows) {
+        List<Uni<Integer>> writes = new ArrayList<>();
+        for (Row row : rows) {
+            if (!delivered.add(row.getLong("seq"))) {
+                continue;
+            }
+            List<Long> local = new ArrayList<>();
+            for (Long sellerId : row.getArrayOfLongs("seller_ids")) {
+                if (webSocketNotificationService.isSellerConnected(sellerId)) {
+                    local.add(sellerId);
+                }
+            }
+            writes.add(webSocketNotificationService.broadcast(local, row.getString("frame")));
+        }
+        if (writes.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        int entries = writes.size();
+        return Uni.join().all(writes).andCollectFailures().replaceWith(entries);
+    }
+
+    private Uni<Void> purge() {
+        if (!listener.isActive()) {
+            return Uni.createFrom().voidItem();
+        }
+        return pool.preparedQuery("DELETE FROM ws_outbox WHERE created_at < localtimestamp - make_interval(secs => $1)")
+            .execute(Tuple.of(outboxRetentionMs / 1000.0))
+            .invoke(rows -> {
+                if (rows.rowCount() > 0) {
+                    log.debug("🧹 " + rows.rowCount() + " entradas viejas del outbox eliminadas");
+                }
+            })
+            // Nodos que se cayeron sin retirar su presencia
+            .chain(() -> pool.preparedQuery("DELETE FROM ws_nodes WHERE seen_at < localtimestamp - make_interval(secs => $1)")
+                .execute(Tuple.of(Math.max(outboxRetentionMs, presenceTtlMs) / 1000.0)))
+            .chain(() -> pool.preparedQuery(
+                    "DELETE FROM ws_sessions s WHERE NOT EXISTS (SELECT 1 FROM ws_nodes n WHERE n.node_id = s.node_id)")
+                .execute())
+            .replaceWithVoid();
+    }
+}
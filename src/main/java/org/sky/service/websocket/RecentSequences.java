@@ -0,0 +1,42 @@
+package org.sky.service.websocket;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Últimos números de secuencia del outbox ya entregados en este nodo: la misma entrada puede llegar por NOTIFY
+ * y por la recuperación periódica, y solo la primera se escribe a los sockets. Acotado a capacity entradas.
+ */
+final class RecentSequences {
+
+    private final int capacity;
+    private final Set<Long> seen = new HashSet<>();
+    private final ArrayDeque<Long> order = new ArrayDeque<>();
+
+    RecentSequences(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false si la secuencia ya estaba registrada
+     */
+    synchronized boolean add(long seq) {
+        if (!seen.add(seq)) {
+            return false;
+        }
+        order.addLast(seq);
+        if (order.size() > capacity) {
+            seen.remove(order.removeFirst());
+        }
+        return true;
+    }
+
+    synchronized boolean contains(long seq) {
+        return seen.contains(seq);
+    }
+
+    synchronized int size() {
+        return seen.size();
+    }
+}
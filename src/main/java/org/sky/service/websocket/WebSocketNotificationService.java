@@ -6,9 +6,15 @@ import jakarta.websocket.Session;
 import org.jboss.logging.Logger;
 import io.vertx.core.Vertx;
 import io.smallrye.mutiny.Uni;
+import org.sky.service.metrics.HotPathMetrics;
+import org.sky.service.metrics.HotPathMetrics.Stage;
+import org.sky.util.HotPathLog;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -18,7 +24,13 @@ public class WebSocketNotificationService {
   @Inject
   Vertx vertx;
 
+  @Inject
+  HotPathMetrics hotPathMetrics;
+
   private static final Logger log = Logger.getLogger(WebSocketNotificationService.class);
+  private static final HotPathLog hotLog = HotPathLog.get(WebSocketNotificationService.class);
+  private static final HotPathLog.Sampler noSessionLog = hotLog.sampled(10, TimeUnit.SECONDS);
+  private static final HotPathLog.Sampler writeFailedLog = hotLog.sampled(10, TimeUnit.SECONDS);
 
   private final Map<Long, Session> webSocketSessions = new ConcurrentHashMap<>();
   private final Map<Long, AtomicLong> lastActivityTime = new ConcurrentHashMap<>();
@@ -57,13 +69,14 @@ public class WebSocketNotificationService {
   }
 
   /**
-   * Optimized real-time notification sending with immediate delivery and robust error handling
+   * Optimized real-time notification sending with immediate delivery and robust error handling.
+   * Completes once the frame has been written to the socket (or right away if the seller is not connected).
    */
   public Uni<Void> sendNotificationReactive(Long sellerId, String message) {
-    return Uni.createFrom().item(() -> {
+    return Uni.createFrom().emitter(emitter -> {
       try {
-        log.info("🔍 Attempting to send notification to seller " + sellerId);
-        log.info("📋 Current WebSocket sessions: " +
+        hotLog.debug(() -> "🔍 Attempting to send notification to seller " + sellerId);
+        hotLog.debugAggregate("📋 Current WebSocket sessions", () ->
             webSocketSessions.entrySet().stream()
                 .map(entry -> "Seller " + entry.getKey() + ": " +
                     (entry.getValue() != null && entry.getValue().isOpen() ? "OPEN" : "CLOSED"))
@@ -73,19 +86,30 @@ public class WebSocketNotificationService {
 
         // Enhanced logging for connection status
         if (session == null) {
-          log.warn("⚠️ No WebSocket session found for seller " + sellerId +
-              ". Available sessions: " + webSocketSessions.keySet());
-          return null;
+          noSessionLog.warn(() -> "⚠️ No WebSocket session found for seller " + sellerId +
+              ". Open sessions: " + webSocketSessions.size());
+          emitter.complete(null);
+          return;
         }
 
         if (!session.isOpen()) {
           log.warn("⚠️ WebSocket session for seller " + sellerId + " is not open");
           unregisterSession(sellerId);
-          return null;
+          emitter.complete(null);
+          return;
         }
 
         // Send message
-        session.getAsyncRemote().sendText(message);
+        long writeStart = System.nanoTime();
+        session.getAsyncRemote().sendText(message, result -> {
+          hotPathMetrics.record(Stage.SOCKET_WRITE, writeStart);
+          if (result.isOK()) {
+            emitter.complete(null);
+          } else {
+            writeFailedLog.warn(() -> "⚠️ WebSocket write failed for seller " + sellerId + ": " + result.getException().getMessage());
+            emitter.fail(result.getException());
+          }
+        });
 
         // Update last activity
         AtomicLong lastActivity = lastActivityTime.get(sellerId);
@@ -93,8 +117,7 @@ public class WebSocketNotificationService {
           lastActivity.set(System.currentTimeMillis());
         }
 
-        log.debug("⚡ Real-time notification sent to seller " + sellerId);
-        return null;
+        hotLog.debug(() -> "⚡ Real-time notification sent to seller " + sellerId);
 
       } catch (Exception e) {
         log.error("❌ Comprehensive error sending notification to seller " + sellerId +
@@ -104,11 +127,29 @@ public class WebSocketNotificationService {
         unregisterSession(sellerId);
 
         // Potential fallback mechanisms could be added here
-        return null;
+        emitter.complete(null);
       }
     });
   }
 
+  /**
+   * Envía el mismo frame ya codificado a varios vendedores: una escritura asíncrona por sesión, sin recodificar.
+   * Completa cuando terminaron todas las escrituras, con la cantidad de vendedores que lo recibieron.
+   */
+  public Uni<Integer> broadcast(List<Long> sellerIds, String frame) {
+    if (sellerIds.isEmpty()) {
+      return Uni.createFrom().item(0);
+    }
+    List<Uni<Boolean>> writes = new ArrayList<>(sellerIds.size());
+    for (Long sellerId : sellerIds) {
+      writes.add(sendNotificationReactive(sellerId, frame)
+          .replaceWith(Boolean.TRUE)
+          .onFailure().recoverWithItem(Boolean.FALSE));
+    }
+    return Uni.join().all(writes).andFailFast()
+        .map(results -> (int) results.stream().filter(Boolean::booleanValue).count());
+  }
+
   private void startCleanupTimer() {
     if (cleanupTimerId != null) return;
 
@@ -158,7 +199,7 @@ public class WebSocketNotificationService {
 
   public boolean isSellerConnected(Long sellerId) {
     Session session = webSocketSessions.get(sellerId);
-    log.info("🔍 Checking connection status for seller " + sellerId +
+    hotLog.debug(() -> "🔍 Checking connection status for seller " + sellerId +
         ". Session: " + session +
         ", Is Open: " + (session != null && session.isOpen()));
     return session != null && session.isOpen();
@@ -15,6 +15,9 @@ public class WebSocketSessionManager {
     @Inject
     WebSocketNotificationService webSocketNotificationService;
 
+    @Inject
+    ClusterDeliveryBus clusterDeliveryBus;
+
     @Inject
     WebSocketTokenExtractor tokenExtractor;
 
@@ -35,11 +38,13 @@ public class WebSocketSessionManager {
 
     public void unregisterSession(Long sellerId) {
         webSocketNotificationService.unregisterSession(sellerId);
+        clusterDeliveryBus.sessionClosed(sellerId);
     }
 
     public Uni<Void> registerSessionAndSendWelcome(Long sellerId, Session session) {
         registerSession(sellerId, session);
-        return sendWelcomeMessage(session, sellerId);
+        return clusterDeliveryBus.sessionOpened(sellerId)
+            .chain(() -> sendWelcomeMessage(session, sellerId));
     }
 
     public Uni<Void> sendWelcomeMessage(Session session, Long sellerId) {
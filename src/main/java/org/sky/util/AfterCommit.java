@@ -0,0 +1,38 @@
+package org.sky.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Efectos en memoria (contadores, índices) que solo deben aplicarse si la transacción confirmó.
+ * Se acumulan dentro de la cadena de Panache.withTransaction y se ejecutan con .invoke(afterCommit::run)
+ * sobre el Uni de la transacción; si hay rollback el Uni falla y no se aplica nada.
+ * Lo que hay que deshacer si la transacción no confirma (p. ej. una reserva en memoria hecha antes del INSERT)
+ * se registra con onRollback y se ejecuta con .onFailure().invoke(afterCommit::rollback).
+ * La cadena reactiva es secuencial, así que no necesita sincronización.
+ */
+public final class AfterCommit {
+
+    private final List<Runnable> actions = new ArrayList<>();
+    private final List<Runnable> rollbackActions = new ArrayList<>();
+
+    public void add(Runnable action) {
+        actions.add(action);
+    }
+
+    public void onRollback(Runnable action) {
+        rollbackActions.add(action);
+    }
+
+    public void run() {
+        rollbackActions.clear();
+        actions.forEach(Runnable::run);
+        actions.clear();
+    }
+
+    public void rollback() {
+        actions.clear();
+        rollbackActions.forEach(Runnable::run);
+        rollbackActions.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package org.sky.util;
+
+import io.quarkus.vertx.core.runtime.context.VertxContextSafetyToggle;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta trabajo reactivo en segundo plano (timers, jobs) sobre un sub-contexto Vert.x seguro,
+ * que es lo que Hibernate Reactive exige fuera de una petición HTTP.
+ */
+@ApplicationScoped
+public class BackgroundTaskRunner {
+
+    private static final Logger log = Logger.getLogger(BackgroundTaskRunner.class);
+
+    @Inject
+    Vertx vertx;
+
+    public long schedulePeriodic(long intervalMs, String taskName, Supplier<Uni<?>> task) {
+        return vertx.setPeriodic(intervalMs, timerId -> run(taskName, task));
+    }
+
+    public void cancel(long timerId) {
+        vertx.cancelTimer(timerId);
+    }
+
+    public void run(String taskName, Supplier<Uni<?>> task) {
+        Context context = safeContext();
+        context.runOnContext(v -> {
+            try {
+                task.get().subscribe().with(
+                    ignored -> { },
+                    failure -> log.warnf("⚠️ Tarea en segundo plano %s falló: %s", taskName, failure.getMessage())
+                );
+            } catch (Exception e) {
+                log.warnf("⚠️ Tarea en segundo plano %s falló: %s", taskName, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Como run, pero devuelve el resultado para quien tiene que esperarlo (p. ej. al apagar, con await)
+     */
+    public <T> Uni<T> call(Supplier<Uni<T>> task) {
+        Context context = safeContext();
+        return Uni.createFrom().emitter(emitter -> context.runOnContext(v -> {
+            try {
+                task.get().subscribe().with(emitter::complete, emitter::fail);
+            } catch (Exception e) {
+                emitter.fail(e);
+            }
+        }));
+    }
+
+    private Context safeContext() {
+        Context context = VertxContext.getOrCreateDuplicatedContext(vertx);
+        VertxContextSafetyToggle.setContextSafe(context, true);
+        return context;
+    }
+}
@@ -0,0 +1,56 @@
+package org.sky.util;
+
+/**
+ * Rango de bytes de una cabecera HTTP Range (solo un rango: "bytes=a-b", "bytes=a-" o "bytes=-n").
+ * Varios rangos o sintaxis desconocida se ignoran y se sirve el recurso completo, como permite RFC 9110.
+ */
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String contentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    /**
+     * @return el rango pedido, o null si no hay cabecera / no se entiende
+     * @throws Unsatisfiable si el rango cae fuera del recurso (responder 416)
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    throw new Unsatisfiable();
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size || end < start) {
+                throw new Unsatisfiable();
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static class Unsatisfiable extends RuntimeException {
+        public Unsatisfiable() {
+            super("Rango no satisfacible", null, false, false);
+        }
+    }
+}
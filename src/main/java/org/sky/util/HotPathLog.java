@@ -0,0 +1,106 @@
+package org.sky.util;
+
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Logging para hot paths (pagos, WebSocket, analytics).
+ * Los mensajes se pasan como Supplier y solo se construyen si el nivel está activo;
+ * los de info/warn repetitivos van por un Sampler por punto de llamada, que deja pasar
+ * como mucho uno por intervalo y anota cuántos se omitieron.
+ * La escritura en sí es asíncrona: quarkus.log.console.async encola en un buffer acotado
+ * y descarta si se llena, así un pico de logs nunca frena el event loop.
+ */
+public final class HotPathLog {
+
+    private final Logger logger;
+
+    private HotPathLog(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static HotPathLog get(Class<?> type) {
+        return new HotPathLog(Logger.getLogger(type));
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    /**
+     * Agregado solo para depurar (conteos, agrupaciones): ni se calcula si debug está apagado
+     */
+    public <T> void debugAggregate(String label, Supplier<T> aggregate) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("%s: %s", label, aggregate.get());
+        }
+    }
+
+    /**
+     * Sampler para un punto de llamada; crear una vez (campo static final) y reutilizar
+     */
+    public Sampler sampled(long interval, TimeUnit unit) {
+        return new Sampler(logger, unit.toNanos(interval), System::nanoTime);
+    }
+
+    public static final class Sampler {
+
+        private final Logger logger;
+        private final long intervalNanos;
+        private final LongSupplier clock;
+        private final AtomicLong nextAllowed;
+        private final LongAdder suppressed = new LongAdder();
+
+        Sampler(Logger logger, long intervalNanos, LongSupplier clock) {
+            this.logger = logger;
+            this.intervalNanos = intervalNanos;
+            this.clock = clock;
+            this.nextAllowed = new AtomicLong(clock.getAsLong());
+        }
+
+        public void info(Supplier<String> message) {
+            log(Logger.Level.INFO, message);
+        }
+
+        public void warn(Supplier<String> message) {
+            log(Logger.Level.WARN, message);
+        }
+
+        private void log(Logger.Level level, Supplier<String> message) {
+            if (!logger.isEnabled(level)) {
+                return;
+            }
+            if (!tryAcquire()) {
+                suppressed.increment();
+                return;
+            }
+            long skipped = suppressed.sumThenReset();
+            if (skipped > 0) {
+                logger.logf(level, "%s (+%d similares omitidos)", message.get(), skipped);
+            } else {
+                logger.log(level, message.get());
+            }
+        }
+
+        boolean tryAcquire() {
+            long now = clock.getAsLong();
+            long next = nextAllowed.get();
+            return now - next >= 0 && nextAllowed.compareAndSet(next, now + intervalNanos);
+        }
+
+        long suppressedCount() {
+            return suppressed.sum();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Índices de payment_notifications para las consultas calientes de PaymentNotificationRepository.
+-- CONCURRENTLY no bloquea escrituras mientras se construye; si una construcción falla queda un índice
+-- INVALID que IF NOT EXISTS no vuelve a crear: hay que borrarlo (DROP INDEX CONCURRENTLY) y reiniciar.
+
+-- Estadísticas y listados por admin en un rango de fechas (findPaymentsForStatsByAdminId, countPaymentsByAdminId,
+-- findPaymentsForQuickSummary, findPaymentsForAnalytics, getPaymentTrends)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_notifications_admin_created
+    ON payment_notifications (admin_id, created_at);
+
+-- Listado, conteo y suma por admin y estado (findPaymentsForAdminByStatus, countPaymentsForAdminByStatus,
+-- sumAmountForAdminByStatus, countPaymentsByStatus)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_notifications_admin_status_created
+    ON payment_notifications (admin_id, status, created_at);
+
+-- Pendientes: una fracción pequeña de la tabla (findPendingPaymentsForSeller, findAllPendingPayments,
+-- findPendingPaymentsForAdmin, findAllPending)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_notifications_pending_created
+    ON payment_notifications (created_at)
+    WHERE status = 'PENDING';
+
+-- Pagos confirmados por un vendedor (findPaymentsConfirmedBySeller, findByConfirmedByAndDateRange)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_notifications_confirmed_by_created
+    ON payment_notifications (confirmed_by, created_at)
+    WHERE confirmed_by IS NOT NULL;
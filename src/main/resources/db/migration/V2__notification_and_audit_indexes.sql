@@ -0,0 +1,11 @@
+-- Índices de la paginación por keyset de notificaciones y auditoría Yape.
+-- Ya están declarados con @Index en las entidades (los crea hibernate update en dev); aquí quedan versionados para prod.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_target_created
+    ON notifications (target_type, target_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_target_unread
+    ON notifications (target_type, target_id, is_read);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_yape_audit_admin_created
+    ON yape_notification_audit (admin_id, created_at, id);
@@ -0,0 +1,13 @@
+-- Comprobantes de pago en el BlobStore: la imagen deja de guardarse en image_base64 y solo se guarda su clave.
+-- Columnas nullable sin default: el ALTER no reescribe la tabla.
+
+ALTER TABLE manual_payments ADD COLUMN IF NOT EXISTS image_blob_key VARCHAR(64);
+ALTER TABLE manual_payments ADD COLUMN IF NOT EXISTS image_content_type VARCHAR(50);
+ALTER TABLE manual_payments ADD COLUMN IF NOT EXISTS image_size BIGINT;
+
+-- Listados de ManualPaymentRepository: por admin y por estado en un rango de fechas
+CREATE INDEX IF NOT EXISTS idx_manual_payments_admin_created
+    ON manual_payments (admin_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_manual_payments_status_created
+    ON manual_payments (status, created_at);
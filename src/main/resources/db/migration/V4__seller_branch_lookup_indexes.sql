@@ -0,0 +1,9 @@
+-- Postgres no indexa las claves foráneas: el despacho de cada pago busca los vendedores del admin
+-- (SellerRepository.findByAdminId: sellers JOIN branches por admin_id). sellers.user_id y admins.user_id
+-- ya tienen el índice de su restricción UNIQUE (@OneToOne).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_branches_admin
+    ON branches (admin_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sellers_branch
+    ON sellers (branch_id);
@@ -0,0 +1,118 @@
+-- Particionado mensual por created_at de payment_notifications y yape_notification_audit.
+-- La tabla existente no se copia: se renombra a *_legacy y se adjunta como la partición que cubre todo
+-- hasta el fin del mes en curso. Las particiones de los meses siguientes las crea PartitionMaintenanceService.
+-- La PK pasa a (id, created_at) porque Postgres exige la clave de partición en toda restricción única; por lo
+-- mismo la unicidad de deduplication_hash queda en tablas *_dedup que llena un trigger al insertar.
+
+CREATE FUNCTION record_deduplication_hash() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    EXECUTE format('INSERT INTO %I (deduplication_hash, created_at) VALUES ($1, $2)', TG_ARGV[0])
+        USING NEW.deduplication_hash, NEW.created_at;
+    RETURN NEW;
+END
+$$;
+
+-- payment_notifications ---------------------------------------------------------------------------------
+
+UPDATE payment_notifications SET created_at = COALESCE(updated_at, localtimestamp) WHERE created_at IS NULL;
+
+ALTER TABLE payment_notifications RENAME TO payment_notifications_legacy;
+ALTER INDEX IF EXISTS idx_payment_notifications_admin_created RENAME TO idx_payment_notifications_legacy_admin_created;
+ALTER INDEX IF EXISTS idx_payment_notifications_admin_status_created RENAME TO idx_payment_notifications_legacy_admin_status_created;
+ALTER INDEX IF EXISTS idx_payment_notifications_pending_created RENAME TO idx_payment_notifications_legacy_pending_created;
+ALTER INDEX IF EXISTS idx_payment_notifications_confirmed_by_created RENAME TO idx_payment_notifications_legacy_confirmed_by_created;
+
+CREATE SEQUENCE payment_notifications_partitioned_id_seq;
+SELECT setval('payment_notifications_partitioned_id_seq', COALESCE((SELECT max(id) FROM payment_notifications_legacy), 0) + 1, false);
+ALTER TABLE payment_notifications_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payment_notifications_legacy ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE payment_notifications_legacy ALTER COLUMN created_at SET NOT NULL;
+
+CREATE TABLE payment_notifications (LIKE payment_notifications_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE payment_notifications ALTER COLUMN id SET DEFAULT nextval('payment_notifications_partitioned_id_seq');
+ALTER SEQUENCE payment_notifications_partitioned_id_seq OWNED BY payment_notifications.id;
+ALTER TABLE payment_notifications ADD CONSTRAINT payment_notifications_part_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_payment_notifications_admin_created
+    ON payment_notifications (admin_id, created_at);
+CREATE INDEX idx_payment_notifications_admin_status_created
+    ON payment_notifications (admin_id, status, created_at);
+CREATE INDEX idx_payment_notifications_pending_created
+    ON payment_notifications (created_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_payment_notifications_confirmed_by_created
+    ON payment_notifications (confirmed_by, created_at)
+    WHERE confirmed_by IS NOT NULL;
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE payment_notifications ATTACH PARTITION payment_notifications_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   date_trunc('month', localtimestamp) + interval '1 month');
+END
+$$;
+
+CREATE TABLE payment_notification_dedup (
+    deduplication_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT payment_dedup_deduplication_hash_pkey PRIMARY KEY (deduplication_hash)
+);
+INSERT INTO payment_notification_dedup (deduplication_hash, created_at)
+SELECT deduplication_hash, created_at FROM payment_notifications_legacy
+ON CONFLICT DO NOTHING;
+
+CREATE TRIGGER payment_notifications_dedup
+    BEFORE INSERT ON payment_notifications
+    FOR EACH ROW EXECUTE FUNCTION record_deduplication_hash('payment_notification_dedup');
+
+-- yape_notification_audit -------------------------------------------------------------------------------
+
+UPDATE yape_notification_audit SET created_at = COALESCE(updated_at, localtimestamp) WHERE created_at IS NULL;
+
+ALTER TABLE yape_notification_audit RENAME TO yape_notification_audit_legacy;
+ALTER INDEX IF EXISTS idx_yape_audit_admin_created RENAME TO idx_yape_audit_legacy_admin_created;
+
+CREATE SEQUENCE yape_notification_audit_partitioned_id_seq;
+SELECT setval('yape_notification_audit_partitioned_id_seq', COALESCE((SELECT max(id) FROM yape_notification_audit_legacy), 0) + 1, false);
+ALTER TABLE yape_notification_audit_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE yape_notification_audit_legacy ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE yape_notification_audit_legacy ALTER COLUMN created_at SET NOT NULL;
+
+CREATE TABLE yape_notification_audit (LIKE yape_notification_audit_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE yape_notification_audit ALTER COLUMN id SET DEFAULT nextval('yape_notification_audit_partitioned_id_seq');
+ALTER SEQUENCE yape_notification_audit_partitioned_id_seq OWNED BY yape_notification_audit.id;
+ALTER TABLE yape_notification_audit ADD CONSTRAINT yape_notification_audit_part_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_yape_audit_admin_created
+    ON yape_notification_audit (admin_id, created_at, id);
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE yape_notification_audit ATTACH PARTITION yape_notification_audit_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   date_trunc('month', localtimestamp) + interval '1 month');
+END
+$$;
+
+CREATE TABLE yape_notification_audit_dedup (
+    deduplication_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT yape_audit_dedup_deduplication_hash_pkey PRIMARY KEY (deduplication_hash)
+);
+INSERT INTO yape_notification_audit_dedup (deduplication_hash, created_at)
+SELECT deduplication_hash, created_at FROM yape_notification_audit_legacy
+ON CONFLICT DO NOTHING;
+
+CREATE TRIGGER yape_notification_audit_dedup
+    BEFORE INSERT ON yape_notification_audit
+    FOR EACH ROW EXECUTE FUNCTION record_deduplication_hash('yape_notification_audit_dedup');
+
+-- Particiones de auditoría archivadas (gzip de líneas JSON en el BlobStore), consultables con YapeAuditService
+CREATE TABLE yape_audit_archives (
+    partition_name VARCHAR(63) PRIMARY KEY,
+    range_start TIMESTAMP NOT NULL,
+    range_end TIMESTAMP NOT NULL,
+    blob_key VARCHAR(64) NOT NULL,
+    row_count BIGINT NOT NULL,
+    compressed_bytes BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT localtimestamp
+);
+CREATE INDEX idx_yape_audit_archives_range ON yape_audit_archives (range_start, range_end);
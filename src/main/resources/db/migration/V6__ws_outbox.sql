@@ -0,0 +1,13 @@
+-- Outbox de frames WebSocket entre réplicas (ClusterDeliveryBus): el NOTIFY solo lleva "seq:nodo",
+-- el frame se lee de aquí. Las filas viven minutos; las borra cada nodo pasada la retención.
+CREATE TABLE IF NOT EXISTS ws_outbox (
+    seq BIGSERIAL PRIMARY KEY,
+    admin_id BIGINT NOT NULL,
+    seller_ids BIGINT[] NOT NULL,
+    frame TEXT NOT NULL,
+    origin_node VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT localtimestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_ws_outbox_admin_created ON ws_outbox (admin_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_ws_outbox_created ON ws_outbox (created_at);
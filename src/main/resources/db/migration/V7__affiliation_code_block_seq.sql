@@ -0,0 +1,3 @@
+-- Bloques del asignador de códigos de afiliación (AffiliationCodeRepository.nextCodeBlock): cada nodo reserva
+-- block-size códigos por nextval. Antes lo creaba la app en la primera reserva; IF NOT EXISTS respeta esa secuencia.
+CREATE SEQUENCE IF NOT EXISTS affiliation_code_block_seq START WITH 1 INCREMENT BY 1;
@@ -0,0 +1,18 @@
+-- Presencia WebSocket entre réplicas (ClusterDeliveryBus): cada nodo renueva su fila en ws_nodes en cada
+-- repaso del outbox y registra en ws_sessions los vendedores conectados a él. Un nodo solo encola en ws_outbox
+-- los frames de vendedores que otro nodo vivo tiene conectados; las sesiones de nodos caídos se ignoran
+-- pasado presence-ttl-ms y se borran en la purga.
+CREATE TABLE IF NOT EXISTS ws_nodes (
+    node_id VARCHAR(36) PRIMARY KEY,
+    seen_at TIMESTAMP NOT NULL DEFAULT localtimestamp
+);
+
+CREATE TABLE IF NOT EXISTS ws_sessions (
+    seller_id BIGINT NOT NULL,
+    node_id VARCHAR(36) NOT NULL,
+    admin_id BIGINT NOT NULL,
+    opened_at TIMESTAMP NOT NULL DEFAULT localtimestamp,
+    PRIMARY KEY (seller_id, node_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ws_sessions_node ON ws_sessions (node_id);
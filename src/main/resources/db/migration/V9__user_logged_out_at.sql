@@ -0,0 +1,4 @@
+-- Momento del último logout (AuthService.logout). El volcado write-behind de lastLogin solo escribe el
+-- deviceFingerprint de un login posterior a esa marca, así un volcado en curso, o pendiente en otra réplica,
+-- no repone el dispositivo que el logout acaba de borrar.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS logged_out_at TIMESTAMP;
@@ -0,0 +1,43 @@
+package org.sky.repository;
+
+import org.junit.jupiter.api.Test;
+import org.sky.model.SellerEntity;
+import org.sky.repository.SellerRepository.SellerCursor;
+import org.sky.repository.SellerRepository.SellerSort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SellerCursorTest {
+
+    private static SellerEntity seller(long id, String name, LocalDateTime affiliationDate) {
+        SellerEntity seller = new SellerEntity();
+        seller.id = id;
+        seller.sellerName = name;
+        seller.affiliationDate = affiliationDate;
+        return seller;
+    }
+
+    @Test
+    void testCursorRoundTripsSortValue() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 10, 12, 30);
+        SellerCursor cursor = SellerCursor.decode(SellerCursor.of(SellerSort.NEWEST, seller(42, "Ana", date)).encode(), SellerSort.NEWEST);
+
+        assertEquals(42L, cursor.id());
+        assertEquals(date, SellerSort.NEWEST.parseCursorValue(cursor.value()));
+    }
+
+    @Test
+    void testNullSortValuesSurviveTheCursor() {
+        SellerEntity unnamed = seller(7, null, null);
+
+        SellerCursor byName = SellerCursor.decode(SellerCursor.of(SellerSort.NAME, unnamed).encode(), SellerSort.NAME);
+        SellerCursor byDate = SellerCursor.decode(SellerCursor.of(SellerSort.NEWEST, unnamed).encode(), SellerSort.NEWEST);
+
+        assertEquals(7L, byName.id());
+        assertNull(byName.value());
+        assertNull(byDate.value());
+        assertNull(SellerSort.NEWEST.parseCursorValue(byDate.value()));
+    }
+}
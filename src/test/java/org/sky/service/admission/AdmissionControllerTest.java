@@ -0,0 +1,64 @@
+package org.sky.service.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        admissionController = new AdmissionController();
+        admissionController.initialLimit = 10;
+        admissionController.minLimit = 2;
+        admissionController.maxLimit = 10;
+        admissionController.bestEffortShare = 0.5;
+        admissionController.smoothing = 0.2;
+        admissionController.rttTolerance = 1.5;
+        admissionController.longWindow = 100;
+        admissionController.init();
+    }
+
+    @Test
+    void testBestEffortIsShedFirstAndCriticalAlwaysEnters() {
+        List<AdmissionController.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(admissionController.tryAcquire(RequestPriority.BEST_EFFORT));
+        }
+        assertNull(admissionController.tryAcquire(RequestPriority.BEST_EFFORT));
+
+        for (int i = 0; i < 5; i++) {
+            permits.add(admissionController.tryAcquire(RequestPriority.STANDARD));
+        }
+        assertNull(admissionController.tryAcquire(RequestPriority.STANDARD));
+
+        assertNotNull(admissionController.tryAcquire(RequestPriority.CRITICAL));
+        assertEquals(11, admissionController.inFlight());
+        assertTrue(permits.stream().allMatch(permit -> permit != null));
+    }
+
+    @Test
+    void testPermitIsReleasedOnce() {
+        AdmissionController.Permit permit = admissionController.tryAcquire(RequestPriority.STANDARD);
+
+        permit.release(false);
+        permit.release(false);
+
+        assertEquals(0, admissionController.inFlight());
+    }
+
+    @Test
+    void testRequestsAreClassifiedByEndpoint() {
+        assertEquals(RequestPriority.CRITICAL, RequestPriority.of("POST", "/api/notifications/yape-notifications"));
+        assertEquals(RequestPriority.CRITICAL, RequestPriority.of("POST", "/api/payments/claim"));
+        assertEquals(RequestPriority.BEST_EFFORT, RequestPriority.of("GET", "/api/stats/analytics"));
+        assertEquals(RequestPriority.BEST_EFFORT, RequestPriority.of("GET", "/api/admin/billing/dashboard"));
+        assertEquals(RequestPriority.STANDARD, RequestPriority.of("GET", "/api/notifications/yape-audit"));
+    }
+}
@@ -0,0 +1,55 @@
+package org.sky.service.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysFlatUnderLoad() {
+        GradientLimit limit = new GradientLimit(10, 2, 50, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(20 * MS, limit.limit(), false);
+        }
+
+        assertEquals(50, limit.limit());
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhileIdle() {
+        GradientLimit limit = new GradientLimit(10, 2, 50, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(20 * MS, 1, false);
+        }
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void testLatencySpikeShrinksLimitToMinimum() {
+        GradientLimit limit = new GradientLimit(40, 4, 50, 0.2, 1.5, 600);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(20 * MS, 40, false);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(400 * MS, limit.limit(), false);
+        }
+
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void testDroppedSampleBacksOff() {
+        GradientLimit limit = new GradientLimit(20, 4, 50, 0.2, 1.5, 100);
+
+        limit.onSample(0, 0, true);
+
+        assertEquals(18, limit.limit());
+    }
+}
@@ -0,0 +1,61 @@
+package org.sky.service.affiliation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodePermutationTest {
+
+    @Test
+    void testIsBijectiveOnOddDomain() {
+        CodePermutation permutation = new CodePermutation(13, 42L);
+        BitSet seen = new BitSet((int) permutation.domainSize());
+
+        for (long i = 0; i < permutation.domainSize(); i++) {
+            long value = permutation.permute(i);
+            assertTrue(value >= 0 && value < permutation.domainSize());
+            assertFalse(seen.get((int) value), "colisión en " + i);
+            seen.set((int) value);
+        }
+        assertEquals(permutation.domainSize(), seen.cardinality());
+    }
+
+    @Test
+    void testIsBijectiveOnEvenDomain() {
+        CodePermutation permutation = new CodePermutation(12, 7L);
+        Set<Long> seen = new HashSet<>();
+        for (long i = 0; i < permutation.domainSize(); i++) {
+            assertTrue(seen.add(permutation.permute(i)));
+        }
+    }
+
+    @Test
+    void testConsecutiveValuesAreScattered() {
+        CodePermutation permutation = new CodePermutation(35, 123456789L);
+        int adjacent = 0;
+        for (long i = 0; i < 1000; i++) {
+            if (Math.abs(permutation.permute(i + 1) - permutation.permute(i)) < 1000) {
+                adjacent++;
+            }
+        }
+        assertTrue(adjacent < 5, "demasiados códigos consecutivos: " + adjacent);
+    }
+
+    @Test
+    void testDifferentKeysGiveDifferentSequences() {
+        CodePermutation a = new CodePermutation(35, 1L);
+        CodePermutation b = new CodePermutation(35, 2L);
+        assertNotEquals(a.permute(1), b.permute(1));
+    }
+
+    @Test
+    void testRejectsValuesOutsideDomain() {
+        CodePermutation permutation = new CodePermutation(10, 1L);
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(1024));
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(-1));
+    }
+}
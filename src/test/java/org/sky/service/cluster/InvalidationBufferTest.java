@@ -0,0 +1,49 @@
+package org.sky.service.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationBufferTest {
+
+    @Test
+    void testCoalescesRepeatedKeysAndSignalsOnlyFirstAdd() {
+        InvalidationBuffer buffer = new InvalidationBuffer(10);
+
+        assertTrue(buffer.add("users", "1"));
+        assertFalse(buffer.add("users", "1"));
+        assertFalse(buffer.add("users", "2"));
+        assertFalse(buffer.add("entitlements", "7"));
+
+        assertEquals(Map.of("users", Set.of("1", "2"), "entitlements", Set.of("7")), buffer.drain());
+        assertTrue(buffer.drain().isEmpty());
+        assertTrue(buffer.add("users", "3"));
+    }
+
+    @Test
+    void testStormCollapsesNamespaceToAll() {
+        InvalidationBuffer buffer = new InvalidationBuffer(3);
+        for (int key = 0; key < 50; key++) {
+            buffer.add("users", String.valueOf(key));
+        }
+        buffer.add("plans", "1");
+
+        assertEquals(Map.of("users", Set.of(InvalidationBuffer.ALL), "plans", Set.of("1")), buffer.drain());
+        assertEquals(1, buffer.takeCollapsed());
+        assertEquals(0, buffer.takeCollapsed());
+    }
+
+    @Test
+    void testExplicitAllIsNotCountedAsCollapse() {
+        InvalidationBuffer buffer = new InvalidationBuffer(3);
+        buffer.add("plans", "1");
+        buffer.add("plans", InvalidationBuffer.ALL);
+        buffer.add("plans", "2");
+
+        assertEquals(Map.of("plans", Set.of(InvalidationBuffer.ALL)), buffer.drain());
+        assertEquals(0, buffer.takeCollapsed());
+    }
+}
@@ -0,0 +1,98 @@
+package org.sky.service.hubnotifications;
+
+import org.junit.jupiter.api.Test;
+import org.sky.service.hubnotifications.PendingPaymentsIndex.PendingPage;
+import org.sky.service.hubnotifications.PendingPaymentsIndex.PendingPayment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingPaymentSetTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 0, 0);
+    private static final LocalDateTime FROM = DAY;
+    private static final LocalDateTime TO = DAY.withHour(23).withMinute(59).withSecond(59);
+
+    private static PendingPayment payment(long id, double amount, LocalDateTime createdAt) {
+        return new PendingPayment(id, 1L, amount, "Sender " + id, "Y" + id, createdAt, 0L);
+    }
+
+    private static List<Long> ids(PendingPage page) {
+        return page.payments().stream().map(PendingPayment::id).toList();
+    }
+
+    @Test
+    void testPagesNewestFirstAcrossOutOfOrderInserts() {
+        PendingPaymentSet set = new PendingPaymentSet();
+        for (long id : new long[]{5, 1, 9, 3, 7, 2, 8, 4, 6, 10}) {
+            assertTrue(set.add(payment(id, id, DAY.plusMinutes(id))));
+        }
+
+        assertEquals(List.of(10L, 9L, 8L, 7L), ids(set.page(0, 4, FROM, TO)));
+        assertEquals(List.of(6L, 5L, 4L, 3L), ids(set.page(1, 4, FROM, TO)));
+        assertEquals(List.of(2L, 1L), ids(set.page(2, 4, FROM, TO)));
+
+        PendingPage page = set.page(0, 4, FROM, TO);
+        assertEquals(10, page.total());
+        assertEquals(55.0, page.amount());
+    }
+
+    @Test
+    void testRemoveShrinksAndKeepsOrder() {
+        PendingPaymentSet set = new PendingPaymentSet();
+        for (long id = 1; id <= 100; id++) {
+            set.add(payment(id, 1.0, DAY.plusMinutes(id)));
+        }
+        for (long id = 1; id <= 100; id++) {
+            if (id % 10 != 0) {
+                assertTrue(set.remove(id));
+            }
+        }
+        assertFalse(set.remove(1));
+
+        assertEquals(10, set.size());
+        assertEquals(List.of(100L, 90L, 80L), ids(set.page(0, 3, FROM, TO)));
+    }
+
+    @Test
+    void testDateRangeFiltersTotalsAndPages() {
+        PendingPaymentSet set = new PendingPaymentSet();
+        set.add(payment(1, 10.0, DAY.minusDays(1)));
+        set.add(payment(2, 20.0, DAY.plusHours(1)));
+        set.add(payment(3, 30.0, TO));
+        set.add(payment(4, 40.0, TO.plusNanos(1)));
+
+        PendingPage page = set.page(0, 10, FROM, TO);
+        assertEquals(List.of(3L, 2L), ids(page));
+        assertEquals(2, page.total());
+        assertEquals(50.0, page.amount());
+    }
+
+    @Test
+    void testRemoveIfOnlyDropsEntriesIndexedBeforeTheCheck() {
+        PendingPaymentSet set = new PendingPaymentSet();
+        set.add(new PendingPayment(1, 1L, 1.0, "a", "Y1", DAY, 100L));
+        set.add(new PendingPayment(2, 1L, 1.0, "b", "Y2", DAY, 300L));
+        set.add(new PendingPayment(3, 1L, 1.0, "c", "Y3", DAY, 100L));
+
+        int removed = set.removeIf(paymentId -> paymentId != 3, 200L);
+
+        assertEquals(1, removed);
+        assertEquals(List.of(3L, 2L), ids(set.page(0, 10, FROM, TO)));
+        assertFalse(set.addIfAbsent(new PendingPayment(2, 1L, 1.0, "b", "Y2", DAY, 400L)));
+    }
+
+    @Test
+    void testIdSumFollowsAddsAndRemoves() {
+        PendingPaymentSet set = new PendingPaymentSet();
+        set.add(payment(4, 1.0, DAY));
+        set.add(payment(9, 1.0, DAY));
+        set.add(payment(4, 2.0, DAY));
+
+        assertEquals(13L, set.idSum());
+        set.remove(9);
+        assertEquals(4L, set.idSum());
+    }
+}
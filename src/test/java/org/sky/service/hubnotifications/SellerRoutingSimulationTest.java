@@ -0,0 +1,167 @@
+package org.sky.service.hubnotifications;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulación de eventos discretos del ruteo con un destinatario por pago (max-recipients = 1):
+ * 6 vendedores en 2 sucursales, 2 de ellos desconectados (solo ven pagos al consultar la lista cada 60 s),
+ * llegadas Poisson cada ~3 s y atención exponencial de ~8 s por vendedor, uno a la vez.
+ * Mide la latencia de reclamo (llegada → reclamo) bajo cada política.
+ */
+class SellerRoutingSimulationTest {
+
+    private static final Logger log = Logger.getLogger(SellerRoutingSimulationTest.class);
+
+    private static final long ADMIN_ID = 1L;
+    private static final int PAYMENTS = 5_000;
+    private static final double MEAN_ARRIVAL_SECONDS = 3.0;
+    private static final double MEAN_SERVICE_SECONDS = 8.0;
+    private static final double POLL_INTERVAL_SECONDS = 60.0;
+    private static final List<SellerCandidate> SELLERS = List.of(
+        new SellerCandidate(11, 1), new SellerCandidate(12, 1), new SellerCandidate(13, 1),
+        new SellerCandidate(21, 2), new SellerCandidate(22, 2), new SellerCandidate(23, 2));
+    private static final Set<Long> OFFLINE = Set.of(13L, 23L);
+
+    private record Claim(double at, long sellerId, List<Long> recipients) {
+    }
+
+    private record Distribution(double p50, double p90, double p99, double max) {
+        static Distribution of(double[] latencies) {
+            double[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Distribution(percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]);
+        }
+
+        private static double percentile(double[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+
+    private static double[] simulate(SellerRoutingPolicy policy) {
+        Random random = new Random(42);
+        SellerLoadTracker load = new SellerLoadTracker(sellerId -> !OFFLINE.contains(sellerId));
+        Map<Long, Double> busyUntil = new HashMap<>();
+        PriorityQueue<Claim> claims = new PriorityQueue<>((a, b) -> Double.compare(a.at(), b.at()));
+        double[] latencies = new double[PAYMENTS];
+
+        double now = 0;
+        for (int i = 0; i < PAYMENTS; i++) {
+            now += exponential(random, MEAN_ARRIVAL_SECONDS);
+            while (!claims.isEmpty() && claims.peek().at() <= now) {
+                Claim claim = claims.poll();
+                load.resolved(ADMIN_ID, claim.recipients(), claim.sellerId());
+            }
+
+            List<SellerCandidate> ordered = policy.order(ADMIN_ID, SELLERS, load);
+            SellerCandidate recipient = ordered.getFirst();
+            load.dispatched(List.of(recipient));
+
+            long sellerId = recipient.sellerId();
+            double seenAt = OFFLINE.contains(sellerId)
+                ? Math.ceil(now / POLL_INTERVAL_SECONDS) * POLL_INTERVAL_SECONDS
+                : now;
+            double startAt = Math.max(seenAt, busyUntil.getOrDefault(sellerId, 0.0));
+            double claimedAt = startAt + exponential(random, MEAN_SERVICE_SECONDS);
+            busyUntil.put(sellerId, claimedAt);
+            claims.add(new Claim(claimedAt, sellerId, List.of(sellerId)));
+            latencies[i] = claimedAt - now;
+        }
+        return latencies;
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    @Test
+    void testClaimLatencyDistributionPerPolicy() {
+        Map<String, Distribution> results = new LinkedHashMap<>();
+        for (String name : List.of("round-robin", "least-pending", "online-first", "branch-affinity")) {
+            results.put(name, Distribution.of(simulate(SellerRoutingEngine.policy(name))));
+        }
+
+        results.forEach((name, d) -> log.infof("%-16s p50=%6.1fs p90=%6.1fs p99=%6.1fs max=%6.1fs",
+            name, d.p50(), d.p90(), d.p99(), d.max()));
+
+        Distribution roundRobin = results.get("round-robin");
+        Distribution onlineFirst = results.get("online-first");
+        Distribution leastPending = results.get("least-pending");
+        // Round-robin manda un tercio de los pagos a vendedores desconectados: la cola espera el polling
+        assertTrue(onlineFirst.p90() < roundRobin.p90(), "online-first debería recortar la cola de round-robin");
+        assertTrue(onlineFirst.p99() < roundRobin.p99(), "online-first debería recortar la cola de round-robin");
+        // Con la carga pendiente, los desconectados acumulan pendientes y dejan de recibir
+        assertTrue(leastPending.p99() < roundRobin.p99(), "least-pending debería esquivar a los vendedores saturados");
+    }
+
+    @Test
+    void testLeastPendingSpreadsEvenlyAmongIdleSellers() {
+        SellerLoadTracker load = new SellerLoadTracker(sellerId -> true);
+        SellerRoutingPolicy policy = new LeastPendingRoutingPolicy();
+        Map<Long, Integer> assigned = new HashMap<>();
+
+        for (int i = 0; i < 600; i++) {
+            SellerCandidate recipient = policy.order(ADMIN_ID, SELLERS, load).getFirst();
+            load.dispatched(List.of(recipient));
+            assigned.merge(recipient.sellerId(), 1, Integer::sum);
+        }
+
+        for (SellerCandidate seller : SELLERS) {
+            assertEquals(100, assigned.get(seller.sellerId()));
+            assertEquals(100, load.pending(seller.sellerId()));
+        }
+    }
+
+    @Test
+    void testBranchAffinityFollowsLastClaimingBranch() {
+        SellerLoadTracker load = new SellerLoadTracker(sellerId -> true);
+        SellerRoutingPolicy policy = new BranchAffinityRoutingPolicy();
+
+        load.dispatched(List.of(SELLERS.get(4)));
+        load.resolved(ADMIN_ID, List.of(22L), 22L);
+
+        for (int i = 0; i < 10; i++) {
+            SellerCandidate recipient = policy.order(ADMIN_ID, SELLERS, load).getFirst();
+            assertEquals(2L, recipient.branchId());
+            load.dispatched(List.of(recipient));
+            load.resolved(ADMIN_ID, List.of(recipient.sellerId()), recipient.sellerId());
+        }
+    }
+
+    @Test
+    void testBranchAffinitySpillsOverWhenBranchIsSaturated() {
+        SellerLoadTracker load = new SellerLoadTracker(sellerId -> true);
+        SellerRoutingPolicy policy = new BranchAffinityRoutingPolicy();
+        load.dispatched(List.of(SELLERS.get(4)));
+        load.resolved(ADMIN_ID, List.of(22L), 22L);
+
+        List<SellerCandidate> branchTwo = SELLERS.subList(3, 6);
+        for (int i = 0; i < BranchAffinityRoutingPolicy.SPILL_PENDING; i++) {
+            load.dispatched(branchTwo);
+        }
+
+        assertEquals(1L, policy.order(ADMIN_ID, SELLERS, load).getFirst().branchId());
+    }
+
+    @Test
+    void testResolvedNeverDropsBelowZero() {
+        SellerLoadTracker load = new SellerLoadTracker(sellerId -> true);
+        load.dispatched(List.of(SELLERS.getFirst()));
+        load.resolved(ADMIN_ID, List.of(11L), 11L);
+        load.resolved(ADMIN_ID, List.of(11L), null);
+
+        assertEquals(0, load.pending(11L));
+    }
+}
@@ -0,0 +1,55 @@
+package org.sky.service.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testPercentilesOfInterval() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int millis = 1; millis <= 1_000; millis++) {
+            recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencyRecorder.LatencySnapshot snapshot = recorder.roll();
+
+        assertEquals(1_000, snapshot.intervalCount());
+        assertEquals(500.0, snapshot.p50Millis(), 1.0);
+        assertEquals(990.0, snapshot.p99Millis(), 1.0);
+        assertEquals(1_000.0, snapshot.maxMillis(), 1.0);
+    }
+
+    @Test
+    void testRollStartsNewIntervalAndKeepsTotal() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.roll();
+
+        LatencyRecorder.LatencySnapshot empty = recorder.roll();
+        assertEquals(0, empty.intervalCount());
+        assertEquals(1, empty.totalCount());
+        assertEquals(0.0, empty.p99Millis());
+
+        recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(7));
+        LatencyRecorder.LatencySnapshot next = recorder.roll();
+        assertEquals(1, next.intervalCount());
+        assertEquals(2, next.totalCount());
+        assertEquals(7.0, next.maxMillis(), 0.01);
+    }
+
+    @Test
+    void testOutOfRangeValuesAreClamped() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.recordNanos(-10);
+        recorder.recordNanos(TimeUnit.MINUTES.toNanos(5));
+
+        LatencyRecorder.LatencySnapshot snapshot = recorder.roll();
+
+        assertEquals(2, snapshot.intervalCount());
+        assertEquals(LatencyRecorder.HIGHEST_TRACKABLE_MICROS, snapshot.maxMicros(), LatencyRecorder.HIGHEST_TRACKABLE_MICROS / 1_000);
+    }
+}
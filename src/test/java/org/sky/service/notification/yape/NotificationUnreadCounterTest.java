@@ -0,0 +1,46 @@
+package org.sky.service.notification.yape;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sky.model.NotificationEntity.TargetType;
+import org.sky.repository.NotificationRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationUnreadCounterTest {
+
+    private NotificationUnreadCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new NotificationUnreadCounter();
+        counter.ttlMs = 1_000;
+        counter.maxEntries = 2;
+        counter.notificationRepository = new NotificationRepository() {
+            @Override
+            public Uni<Long> countUnread(TargetType targetType, Long userId) {
+                return Uni.createFrom().item(5L);
+            }
+        };
+    }
+
+    @Test
+    void testUsersPastTheCapGetTheCountWithoutCaching() {
+        for (long userId = 1; userId <= 3; userId++) {
+            assertEquals(5L, counter.getUnreadCount(TargetType.ADMIN, userId).await().indefinitely());
+        }
+
+        assertEquals(2, counter.size());
+    }
+
+    @Test
+    void testExpiredCountersAreEvicted() {
+        counter.getUnreadCount(TargetType.SELLER, 1L).await().indefinitely();
+        long now = System.currentTimeMillis();
+
+        assertEquals(0, counter.evictExpired(now));
+        assertEquals(1, counter.evictExpired(now + 1_000));
+        assertEquals(0, counter.size());
+    }
+}
@@ -0,0 +1,66 @@
+package org.sky.service.partition;
+
+import org.junit.jupiter.api.Test;
+import org.sky.service.partition.MonthlyPartitions.Partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyPartitionsTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    private static Partition month(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return new Partition(MonthlyPartitions.partitionName("payment_notifications", yearMonth),
+            yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Test
+    void testParsesPgGetExprBounds() {
+        Partition legacy = MonthlyPartitions.parse("payment_notifications_legacy",
+            "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')");
+        assertNull(legacy.from());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), legacy.to());
+
+        Partition monthly = MonthlyPartitions.parse("payment_notifications_p202611",
+            "FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00')");
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), monthly.from());
+        assertEquals(LocalDateTime.of(2026, 12, 1, 0, 0), monthly.to());
+
+        assertNull(MonthlyPartitions.parse("payment_notifications_default", "DEFAULT"));
+    }
+
+    @Test
+    void testMissingMonthsContinueFromLastCoveredMonth() {
+        Partition legacy = new Partition("payment_notifications_legacy", null, LocalDateTime.of(2026, 11, 1, 0, 0));
+
+        assertEquals(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1)),
+            MonthlyPartitions.missingMonths(List.of(legacy), CURRENT, 3));
+        assertEquals(List.of(YearMonth.of(2027, 1)),
+            MonthlyPartitions.missingMonths(List.of(legacy, month(2026, 11), month(2026, 12)), CURRENT, 3));
+        assertEquals(List.of(), MonthlyPartitions.missingMonths(List.of(legacy, month(2026, 11), month(2026, 12), month(2027, 1)), CURRENT, 3));
+    }
+
+    @Test
+    void testExpiredOnlyIncludesRangesEndedBeforeRetention() {
+        Partition legacy = new Partition("payment_notifications_legacy", null, LocalDateTime.of(2026, 4, 1, 0, 0));
+
+        List<Partition> expired = MonthlyPartitions.expired(List.of(month(2026, 5), legacy, month(2026, 4), month(2026, 3)), CURRENT, 6);
+
+        assertEquals(List.of("payment_notifications_legacy", "payment_notifications_p202603"),
+            expired.stream().map(Partition::name).toList());
+    }
+
+    @Test
+    void testCreatePartitionSqlAndRejectsUnsafeNames() {
+        assertEquals("CREATE TABLE IF NOT EXISTS payment_notifications_p202612 PARTITION OF payment_notifications"
+                + " FOR VALUES FROM ('2026-12-01 00:00:00') TO ('2027-01-01 00:00:00')",
+            MonthlyPartitions.createPartitionSql("payment_notifications", YearMonth.of(2026, 12)));
+        assertThrows(IllegalArgumentException.class,
+            () -> MonthlyPartitions.createPartitionSql("payments; DROP TABLE admins", YearMonth.of(2026, 12)));
+    }
+}
@@ -0,0 +1,55 @@
+package org.sky.service.qr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrPngEncoderTest {
+
+    @Test
+    void testEncodedPngMatchesMatrixPixelByPixel() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode(
+            "{\"affiliationCode\":\"AFF123456\",\"branchId\":1,\"adminId\":1,\"expiresAt\":\"null\",\"maxUses\":1}",
+            BarcodeFormat.QR_CODE, 300, 300);
+
+        byte[] png = QrPngEncoder.encode(matrix);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        assertNotNull(image);
+        assertEquals(matrix.getWidth(), image.getWidth());
+        assertEquals(matrix.getHeight(), image.getHeight());
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                boolean dark = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+                assertEquals(matrix.get(x, y), dark, "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testWidthNotMultipleOfEight() throws Exception {
+        BitMatrix matrix = new BitMatrix(13, 5);
+        matrix.set(0, 0);
+        matrix.set(12, 4);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrPngEncoder.encode(matrix)));
+
+        assertEquals(13, image.getWidth());
+        assertEquals(0, image.getRGB(0, 0) & 0xFFFFFF);
+        assertEquals(0, image.getRGB(12, 4) & 0xFFFFFF);
+        assertEquals(0xFFFFFF, image.getRGB(11, 4) & 0xFFFFFF);
+    }
+
+    @Test
+    void testContentKeyIsStablePerPayload() {
+        assertEquals(QrImageCache.contentKey("abc"), QrImageCache.contentKey("abc"));
+        assertNotEquals(QrImageCache.contentKey("abc"), QrImageCache.contentKey("abd"));
+    }
+}
@@ -0,0 +1,109 @@
+package org.sky.service.ratelimit;
+
+import io.smallrye.metrics.MetricRegistries;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.metrics.MetricFilter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sky.exception.RateLimitedException;
+import org.sky.service.security.SecurityErrorHandler;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRateLimiterTest {
+
+    private TenantRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new TenantRateLimiter();
+        limiter.registry = MetricRegistries.get(MetricRegistry.Type.APPLICATION);
+        limiter.enabled = true;
+        limiter.maxBuckets = 2;
+        limiter.idleTtlMs = 1_000;
+        limiter.yapeIngestionPerSecond = 10;
+        limiter.yapeIngestionBurst = 30;
+        limiter.statsAnalyticsPerSecond = 0.2;
+        limiter.statsAnalyticsBurst = 5;
+        limiter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiter.registry.removeMatching(MetricFilter.ALL);
+    }
+
+    private static long throttledMetrics(MetricRegistry registry) {
+        return registry.getCounters((id, metric) -> id.getName().equals("ratelimit.throttled")).size();
+    }
+
+    @Test
+    void testBucketsAreKeptPerEndpointAndAdmin() {
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 1L);
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 2L);
+        limiter.acquire(RateLimitClass.STATS_ANALYTICS, 1L);
+
+        assertEquals(2, limiter.bucketCount(RateLimitClass.YAPE_INGESTION));
+        assertEquals(1, limiter.bucketCount(RateLimitClass.STATS_ANALYTICS));
+    }
+
+    @Test
+    void testNewAdminsPassUntrackedWhenBucketCapIsReached() {
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 1L);
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 2L);
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 3L);
+
+        assertEquals(2, limiter.bucketCount(RateLimitClass.YAPE_INGESTION));
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        limiter.acquire(RateLimitClass.YAPE_INGESTION, 1L);
+        limiter.acquire(RateLimitClass.STATS_ANALYTICS, 1L);
+
+        assertEquals(0, limiter.evictIdle(System.nanoTime()));
+        // analytics repone un token cada 5 s: a los 3 s aún no está lleno
+        assertEquals(1, limiter.evictIdle(System.nanoTime() + TimeUnit.SECONDS.toNanos(3)));
+        assertEquals(0, limiter.bucketCount(RateLimitClass.YAPE_INGESTION));
+        assertEquals(1, limiter.bucketCount(RateLimitClass.STATS_ANALYTICS));
+    }
+
+    @Test
+    void testEmptyBucketAnswers429WithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(RateLimitClass.STATS_ANALYTICS, 1L);
+        }
+
+        RateLimitedException rejected = assertThrows(RateLimitedException.class,
+                () -> limiter.acquire(RateLimitClass.STATS_ANALYTICS, 1L));
+        // 0.2 tokens/s: el próximo llega en 5 s
+        assertEquals(5, rejected.getRetryAfterSeconds());
+
+        Response response = new SecurityErrorHandler().handleSecurityException(rejected);
+        assertEquals(429, response.getStatus());
+        assertEquals("5", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, throttledMetrics(limiter.registry));
+    }
+
+    @Test
+    void testThrottledCountersGoAwayWithTheirBucket() {
+        for (int i = 0; i < 6; i++) {
+            try {
+                limiter.acquire(RateLimitClass.STATS_ANALYTICS, 1L);
+            } catch (RateLimitedException expected) {
+                // el sexto se rechaza
+            }
+        }
+        assertEquals(1, limiter.throttledCounterCount());
+
+        // 25 s para volver a llenarse más el idle-ttl de 1 s
+        assertEquals(1, limiter.evictIdle(System.nanoTime() + TimeUnit.SECONDS.toNanos(30)));
+        assertEquals(0, limiter.throttledCounterCount());
+        assertEquals(0, throttledMetrics(limiter.registry));
+    }
+}
@@ -0,0 +1,81 @@
+package org.sky.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstIsAllowedThenRequestsWaitForRefill() {
+        TokenBucket.Policy policy = TokenBucket.Policy.of(2, 3);
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(0, bucket.tryAcquire(policy, 0));
+        assertEquals(0, bucket.tryAcquire(policy, 0));
+        assertEquals(0, bucket.tryAcquire(policy, 0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(policy, 0));
+
+        assertEquals(0, bucket.tryAcquire(policy, SECOND / 2));
+        assertTrue(bucket.tryAcquire(policy, SECOND / 2) > 0);
+    }
+
+    @Test
+    void testBucketRefillsToCapacityOnly() {
+        TokenBucket.Policy policy = TokenBucket.Policy.of(1, 2);
+        TokenBucket bucket = new TokenBucket(0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryAcquire(policy, later));
+        assertEquals(0, bucket.tryAcquire(policy, later));
+        assertTrue(bucket.tryAcquire(policy, later) > 0);
+    }
+
+    @Test
+    void testIdleOnlyOnceFullForTheWholeTtl() {
+        TokenBucket.Policy policy = TokenBucket.Policy.of(1, 5);
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(policy, 0);
+
+        assertFalse(bucket.isIdle(10 * SECOND, 10 * SECOND));
+        assertTrue(bucket.isIdle(11 * SECOND, 10 * SECOND));
+    }
+
+    @Test
+    void testConcurrentAcquiresNeverExceedCapacity() throws InterruptedException {
+        TokenBucket.Policy policy = TokenBucket.Policy.of(0.001, 100);
+        TokenBucket bucket = new TokenBucket(0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    if (bucket.tryAcquire(policy, 0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
@@ -0,0 +1,28 @@
+package org.sky.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsComputeExecutorTest {
+
+    @Test
+    void testDeadlineCancelsPendingComputation() {
+        StatsComputeExecutor tight = new StatsComputeExecutor(1, 4, 50);
+        try {
+            var slow = tight.submit("slow", () -> {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            });
+            assertThrows(Exception.class, () -> tight.withDeadline(slow, "slow").await().atMost(Duration.ofSeconds(2)));
+        } finally {
+            tight.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.sky.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategyTimingTest {
+
+    @Test
+    void testMeasureReturnsResultAndSizes() {
+        StrategyTiming.Measured<List<Integer>> measured = StrategyTiming.measure("Daily Sales", 500,
+            () -> List.of(1, 2, 3));
+
+        assertEquals(List.of(1, 2, 3), measured.result());
+        StrategyTiming timing = measured.timing();
+        assertEquals("Daily Sales", timing.strategy());
+        assertEquals(500, timing.inputRows());
+        assertEquals(3, timing.outputSize());
+        assertTrue(timing.wallNanos() >= 0);
+    }
+
+    @Test
+    void testOutputSize() {
+        assertEquals(0, StrategyTiming.outputSize(null));
+        assertEquals(2, StrategyTiming.outputSize(Map.of("a", 1, "b", 2)));
+        assertEquals(1, StrategyTiming.outputSize("basic stats"));
+    }
+
+    @Test
+    void testHeaderOrdersSlowestFirstAndOmitsUnsupportedCounters() {
+        StatsTimingReport report = new StatsTimingReport();
+        report.add(new StrategyTiming("Basic", 1_000_000, -1, 10, 1, -1));
+        report.add(new StrategyTiming("TopSellers", 12_500_000, 12_000_000, 10, 5, 2048));
+
+        assertEquals("top_sellers;desc=\"TopSellers\";dur=12.500;cpu=12.000;rows=10;out=5;alloc=2048, "
+                + "basic;desc=\"Basic\";dur=1.000;rows=10;out=1",
+            report.headerValue());
+    }
+
+    @Test
+    void testMetricNamesAreServerTimingTokens() {
+        assertEquals("daily_sales", StrategyTiming.metricName("Daily Sales"));
+        assertEquals("top_sellers", StrategyTiming.metricName("TopSellers"));
+        assertEquals("sales_by_hour_24h", StrategyTiming.metricName("Sales by Hour (24h)"));
+        assertEquals("daily_sales;desc=\"Daily Sales\";dur=1.000;rows=0;out=0",
+            new StrategyTiming("Daily Sales", 1_000_000, -1, 0, 0, -1).headerEntry());
+    }
+}
@@ -0,0 +1,71 @@
+package org.sky.service.subscription;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sky.exception.UploadRejectedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadBudgetTest {
+
+    private UploadBudget uploadBudget;
+
+    @BeforeEach
+    void setUp() {
+        uploadBudget = new UploadBudget();
+        uploadBudget.maxBytesPerRequest = 1_000;
+        uploadBudget.maxInFlightBytes = 2_500;
+    }
+
+    @Test
+    void testDeclaredSizeIsReservedAndReleasedOnce() {
+        UploadBudget.Reservation reservation = uploadBudget.reserve(400L);
+        assertEquals(400, reservation.limit());
+        assertEquals(400, uploadBudget.inFlightBytes());
+
+        reservation.release();
+        reservation.release();
+        assertEquals(0, uploadBudget.inFlightBytes());
+    }
+
+    @Test
+    void testChunkedUploadReservesPerRequestMaximum() {
+        UploadBudget.Reservation reservation = uploadBudget.reserve(null);
+        assertEquals(1_000, reservation.limit());
+        assertEquals(1_000, uploadBudget.inFlightBytes());
+    }
+
+    @Test
+    void testOversizedUploadIsRejectedWithoutReserving() {
+        UploadRejectedException error = assertThrows(UploadRejectedException.class, () -> uploadBudget.reserve(1_001L));
+        assertEquals(413, error.getStatus().getStatusCode());
+        assertEquals(0, uploadBudget.inFlightBytes());
+    }
+
+    @Test
+    void testGlobalBudgetRejectsWhenExhausted() {
+        uploadBudget.reserve(null);
+        UploadBudget.Reservation second = uploadBudget.reserve(null);
+
+        UploadRejectedException error = assertThrows(UploadRejectedException.class, () -> uploadBudget.reserve(600L));
+        assertEquals(503, error.getStatus().getStatusCode());
+        assertEquals(2_000, uploadBudget.inFlightBytes());
+
+        second.release();
+        assertNotNull(uploadBudget.reserve(600L));
+    }
+
+    @Test
+    void testImageSignatures() {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0};
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+        byte[] webp = {'R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'E', 'B', 'P'};
+        byte[] pdf = {'%', 'P', 'D', 'F', '-', '1', '.', '4', 0, 0, 0, 0};
+
+        assertEquals("image/png", PaymentImageValidator.detectImageType(png, png.length));
+        assertEquals("image/jpeg", PaymentImageValidator.detectImageType(jpeg, jpeg.length));
+        assertEquals("image/webp", PaymentImageValidator.detectImageType(webp, webp.length));
+        assertNull(PaymentImageValidator.detectImageType(pdf, pdf.length));
+        assertNull(PaymentImageValidator.detectImageType(png, 4));
+    }
+}
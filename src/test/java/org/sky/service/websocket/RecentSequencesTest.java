@@ -0,0 +1,31 @@
+package org.sky.service.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentSequencesTest {
+
+    @Test
+    void testSecondDeliveryOfTheSameSequenceIsRejected() {
+        RecentSequences sequences = new RecentSequences(10);
+
+        assertTrue(sequences.add(42));
+        assertFalse(sequences.add(42));
+        assertTrue(sequences.contains(42));
+    }
+
+    @Test
+    void testOldestSequencesAreForgottenPastCapacity() {
+        RecentSequences sequences = new RecentSequences(3);
+        for (long seq = 1; seq <= 5; seq++) {
+            sequences.add(seq);
+        }
+
+        assertEquals(3, sequences.size());
+        assertFalse(sequences.contains(1));
+        assertFalse(sequences.contains(2));
+        assertTrue(sequences.contains(5));
+        assertTrue(sequences.add(1));
+    }
+}
@@ -0,0 +1,37 @@
+package org.sky.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AfterCommitTest {
+
+    @Test
+    void testCommitRunsActionsAndDropsRollbackActions() {
+        List<String> applied = new ArrayList<>();
+        AfterCommit afterCommit = new AfterCommit();
+        afterCommit.onRollback(() -> applied.add("release"));
+        afterCommit.add(() -> applied.add("index"));
+
+        afterCommit.run();
+        afterCommit.rollback();
+
+        assertEquals(List.of("index"), applied);
+    }
+
+    @Test
+    void testRollbackRunsOnlyRollbackActions() {
+        List<String> applied = new ArrayList<>();
+        AfterCommit afterCommit = new AfterCommit();
+        afterCommit.onRollback(() -> applied.add("release"));
+        afterCommit.add(() -> applied.add("index"));
+
+        afterCommit.rollback();
+        afterCommit.run();
+
+        assertEquals(List.of("release"), applied);
+    }
+}
@@ -0,0 +1,46 @@
+package org.sky.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTest {
+
+    @Test
+    void testExplicitRange() {
+        ByteRange range = ByteRange.parse("bytes=0-99", 1000);
+        assertEquals(0, range.start());
+        assertEquals(99, range.end());
+        assertEquals(100, range.length());
+        assertEquals("bytes 0-99/1000", range.contentRange(1000));
+    }
+
+    @Test
+    void testOpenEndedAndSuffixRanges() {
+        ByteRange openEnded = ByteRange.parse("bytes=900-", 1000);
+        assertEquals(900, openEnded.start());
+        assertEquals(999, openEnded.end());
+
+        ByteRange suffix = ByteRange.parse("bytes=-100", 1000);
+        assertEquals(900, suffix.start());
+        assertEquals(999, suffix.end());
+
+        ByteRange clamped = ByteRange.parse("bytes=500-5000", 1000);
+        assertEquals(999, clamped.end());
+    }
+
+    @Test
+    void testIgnoredHeadersServeWholeResource() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-9", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+    }
+
+    @Test
+    void testUnsatisfiableRanges() {
+        assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=1000-", 1000));
+        assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=50-10", 1000));
+        assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=-0", 1000));
+    }
+}
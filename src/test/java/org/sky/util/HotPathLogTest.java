@@ -0,0 +1,79 @@
+package org.sky.util;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathLogTest {
+
+    private static final Logger log = Logger.getLogger(HotPathLogTest.class);
+
+    @Test
+    void testSamplerAllowsOneMessagePerInterval() {
+        AtomicLong now = new AtomicLong(0);
+        HotPathLog.Sampler sampler = new HotPathLog.Sampler(log, TimeUnit.SECONDS.toNanos(1), now::get);
+
+        assertTrue(sampler.tryAcquire());
+        assertFalse(sampler.tryAcquire());
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(999));
+        assertFalse(sampler.tryAcquire());
+
+        now.set(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(sampler.tryAcquire());
+        assertFalse(sampler.tryAcquire());
+    }
+
+    @Test
+    void testSuppressedMessagesAreNotBuilt() {
+        AtomicLong now = new AtomicLong(0);
+        HotPathLog.Sampler sampler = new HotPathLog.Sampler(log, TimeUnit.HOURS.toNanos(1), now::get);
+        AtomicInteger built = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            sampler.warn(() -> "⚠️ mensaje " + built.incrementAndGet());
+        }
+
+        if (log.isEnabled(Logger.Level.WARN)) {
+            assertEquals(1, built.get());
+            assertEquals(999, sampler.suppressedCount());
+        } else {
+            assertEquals(0, built.get());
+        }
+    }
+
+    @Test
+    void testDebugAggregateSkippedWhenDebugDisabled() {
+        HotPathLog hotLog = HotPathLog.get(HotPathLogTest.class);
+        AtomicInteger computed = new AtomicInteger();
+
+        hotLog.debugAggregate("agregado", () -> {
+            computed.incrementAndGet();
+            return List.of(1, 2, 3);
+        });
+
+        assertEquals(hotLog.isDebugEnabled() ? 1 : 0, computed.get());
+    }
+
+    @Test
+    void testLazyDebugMessagesAreBuiltOnlyWhenDebugEnabled() {
+        HotPathLog hotLog = HotPathLog.get(HotPathLogTest.class);
+        AtomicInteger built = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            int attempt = i;
+            hotLog.debug(() -> {
+                built.incrementAndGet();
+                return "🔍 Attempting to send notification to seller 42 #" + attempt;
+            });
+        }
+
+        assertEquals(hotLog.isDebugEnabled() ? 1_000 : 0, built.get());
+    }
+}